@@ -0,0 +1,35 @@
+package com.bankinghub.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the transaction archive.
+ * <p>
+ * Binds the {@code app.transactions.archive} prefix: whether old months are
+ * moved out of the {@code transactions} table, where the archive files live and
+ * how many months stay in the table.
+ * </p>
+ *
+ * @author Melvin Musonda Chibanda
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.transactions.archive")
+public class ArchiveProperties {
+
+    /** Move closed months out of the transactions table; archived months are read either way */
+    private boolean enabled = false;
+
+    /** Directory holding the archive files; must be durable and shared by every node */
+    private String dir = System.getProperty("java.io.tmpdir") + "/bankinghub-archive";
+
+    /**
+     * Months kept in the transactions table, counting the current one. At least
+     * 13, so every active yearly budget window is still summed from the table.
+     */
+    private int hotMonths = 13;
+}
@@ -0,0 +1,78 @@
+package com.bankinghub.backend.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Caffeine-backed cache configuration.
+ * <p>
+ * Every cache is size- and time-bounded according to {@link CacheProperties}
+ * and records statistics, so hit ratio, evictions and size are exported to
+ * Micrometer per cache ({@code cache.gets}, {@code cache.evictions},
+ * {@code cache.size} tagged with the cache name). The manager is wrapped to be
+ * transaction-aware: puts and evictions issued inside a transaction only take
+ * effect after commit, so a concurrent read cannot repopulate a cache with
+ * data that is about to change.
+ * </p>
+ * <p>
+ * Any code path that changes an account balance must evict
+ * {@link #ACTIVE_ACCOUNTS} for the account owner, and any change to a user's
+ * completed transactions evicts their {@link #SPENDING_CUBES} entry. Updates
+ * to a user evict their {@link #USER_SECURITY_STATES} entry; other instances
+ * see the change once the short entry lifetime runs out.
+ * </p>
+ *
+ * @author Melvin Musonda Chibanda
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+@Configuration
+@RequiredArgsConstructor
+public class CacheConfig {
+
+    /** Current-user profile, keyed by user id */
+    public static final String USER_PROFILES = "user-profiles";
+
+    /** Active accounts of a user, keyed by user id */
+    public static final String ACTIVE_ACCOUNTS = "active-accounts";
+
+    /** Active budgets of a user, keyed by user id */
+    public static final String ACTIVE_BUDGETS = "active-budgets";
+
+    /** Unpaid bills of a user, keyed by user id */
+    public static final String ACTIVE_BILLS = "active-bills";
+
+    /** In-memory spending cube of a user, keyed by user id */
+    public static final String SPENDING_CUBES = "spending-cubes";
+
+    /** Token version and account flags of a user, keyed by user id; kept briefly */
+    public static final String USER_SECURITY_STATES = "user-security-states";
+
+    private final CacheProperties cacheProperties;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.from(cacheProperties.getDefaultSpec()).recordStats());
+
+        // Register the known caches up front so they are bound to Micrometer at startup
+        Set<String> cacheNames = new LinkedHashSet<>(List.of(USER_PROFILES, ACTIVE_ACCOUNTS, ACTIVE_BUDGETS, ACTIVE_BILLS, SPENDING_CUBES,
+                USER_SECURITY_STATES));
+        cacheNames.addAll(cacheProperties.getSpecs().keySet());
+        for (String cacheName : cacheNames) {
+            String spec = cacheProperties.getSpecs().getOrDefault(cacheName, cacheProperties.getDefaultSpec());
+            cacheManager.registerCustomCache(cacheName, Caffeine.from(spec).recordStats().build());
+        }
+
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -0,0 +1,32 @@
+package com.bankinghub.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for the application caches.
+ * <p>
+ * Binds the {@code app.cache} prefix. Each named cache takes a Caffeine
+ * specification string (for example {@code maximumSize=10000,expireAfterWrite=10m});
+ * caches created on demand without their own entry use the default specification.
+ * </p>
+ *
+ * @author Melvin Musonda Chibanda
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.cache")
+public class CacheProperties {
+
+    /** Caffeine specification for caches without an explicit entry */
+    private String defaultSpec = "maximumSize=1000,expireAfterWrite=5m";
+
+    /** Caffeine specification per cache name */
+    private Map<String, String> specs = new LinkedHashMap<>();
+}
@@ -0,0 +1,34 @@
+package com.bankinghub.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the dashboard.
+ * <p>
+ * Binds the {@code app.dashboard} prefix: the size of the worker pool that
+ * reads the dashboard sections in parallel and how long a request waits for
+ * each section.
+ * </p>
+ *
+ * @author Melvin Musonda Chibanda
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.dashboard")
+public class DashboardProperties {
+
+    /** Threads reading dashboard sections; also the most database connections dashboards hold at once */
+    private int workerThreads = 8;
+
+    /** Section reads allowed to wait for a worker before dashboard requests are rejected */
+    private int queueCapacity = 500;
+
+    /** How long after the request started a section may take before it is left out of the response */
+    private Duration sectionTimeout = Duration.ofSeconds(2);
+}
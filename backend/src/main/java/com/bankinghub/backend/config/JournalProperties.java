@@ -0,0 +1,49 @@
+package com.bankinghub.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the posting journal.
+ * <p>
+ * Binds the {@code app.ledger.journal} prefix: whether journaled posting is
+ * on, where the memory-mapped segments live, and how appends are grouped into
+ * commits and applied to the database.
+ * </p>
+ *
+ * @author Melvin Musonda Chibanda
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.ledger.journal")
+public class JournalProperties {
+
+    /** Accept postings into the journal and apply them asynchronously */
+    private boolean enabled = false;
+
+    /** Directory holding the segment files; must be on durable local storage */
+    private String dir = System.getProperty("java.io.tmpdir") + "/bankinghub-journal";
+
+    /** Name the applied position is stored under; every node needs its own name and directory */
+    private String name = "default";
+
+    /** Size of each segment file in bytes */
+    private int segmentSize = 64 * 1024 * 1024;
+
+    /** Most appends made durable by one flush */
+    private int groupCommitMaxEntries = 1000;
+
+    /** Appends allowed to wait for the writer before postings are rejected */
+    private int queueCapacity = 10000;
+
+    /** Journal entries applied to the database per transaction */
+    private int applyBatchSize = 1000;
+
+    /** Pause between apply runs once the journal has been drained */
+    private Duration applyInterval = Duration.ofMillis(50);
+}
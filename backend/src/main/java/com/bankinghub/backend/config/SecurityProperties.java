@@ -55,6 +55,22 @@ public class SecurityProperties {
         /** JWT refresh token expiration time in milliseconds (default: 7 days) */
         @Min(value = 600000, message = "Refresh expiration must be at least 10 minutes")
         private long refreshExpiration = 604800000;
+
+        /** Whether authenticated requests build the principal from token claims instead of loading the user */
+        private boolean claimsPrincipal = true;
+
+        /** Verified-token cache configuration */
+        private VerifiedCache verifiedCache = new VerifiedCache();
+
+        /**
+         * Bounds for the cache of already-verified tokens.
+         */
+        @Data
+        public static class VerifiedCache {
+            /** Maximum number of verified tokens kept in memory */
+            @Min(value = 1, message = "Verified-token cache size must be positive")
+            private long maxSize = 10000;
+        }
     }
 
     /**
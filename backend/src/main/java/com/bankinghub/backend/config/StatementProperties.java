@@ -0,0 +1,40 @@
+package com.bankinghub.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for statement generation.
+ * <p>
+ * Binds the {@code app.statements} prefix: where rendered statement files are
+ * kept, how long they and their jobs are retained, and the size of the worker
+ * pool that renders them.
+ * </p>
+ *
+ * @author Melvin Musonda Chibanda
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.statements")
+public class StatementProperties {
+
+    /** Directory holding rendered statement files */
+    private String storageDir = System.getProperty("java.io.tmpdir") + "/bankinghub-statements";
+
+    /** Threads rendering statements */
+    private int workerThreads = 2;
+
+    /** Jobs allowed to wait for a worker before submissions are rejected */
+    private int queueCapacity = 50;
+
+    /** How long a finished job can be looked up by id */
+    private Duration jobRetention = Duration.ofHours(1);
+
+    /** How long an unused statement file is kept on disk */
+    private Duration artifactRetention = Duration.ofDays(7);
+}
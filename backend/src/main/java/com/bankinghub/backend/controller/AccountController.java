@@ -2,27 +2,28 @@ package com.bankinghub.backend.controller;
 
 import com.bankinghub.backend.dto.request.AccountRequestDTO;
 import com.bankinghub.backend.dto.response.AccountResponseDTO;
-import com.bankinghub.backend.dto.response.TransactionResponseDTO;
+import com.bankinghub.backend.dto.response.BalanceAsOfResponseDTO;
 import com.bankinghub.backend.service.AccountService;
-import com.bankinghub.backend.service.StatementExportService;
+import com.bankinghub.backend.service.BalanceCheckpointService;
+import com.bankinghub.backend.service.StatementExportService.StatementFormat;
+import com.bankinghub.backend.service.StatementJobService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
 import org.springframework.format.annotation.DateTimeFormat;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
 
 @Slf4j
@@ -34,7 +35,8 @@ import java.util.List;
 public class AccountController {
 
     private final AccountService accountService;
-    private final StatementExportService statementExportService;
+    private final BalanceCheckpointService balanceCheckpointService;
+    private final StatementJobService statementJobService;
 
     @Operation(summary = "Create new account", description = "Create a new bank account for the authenticated user")
     @ApiResponses(value = {
@@ -79,90 +81,71 @@ public class AccountController {
         return ResponseEntity.noContent().build();
     }
 
+    @Operation(summary = "Get balance as of",
+               description = "Balance of the account at a past moment, counting transactions posted up to that moment")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Balance returned"),
+        @ApiResponse(responseCode = "400", description = "Date is in the future"),
+        @ApiResponse(responseCode = "404", description = "Account not found")
+    })
+    @GetMapping("/{accountId}/balance")
+    public ResponseEntity<BalanceAsOfResponseDTO> getBalanceAsOf(
+            @PathVariable Long accountId,
+            @Parameter(description = "Moment to report the balance at")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
+        return ResponseEntity.ok(balanceCheckpointService.getBalanceAsOf(accountId, asOf));
+    }
+
     // Statement Export Endpoints
-    @Operation(summary = "Export statement to PDF", description = "Generate and download account statement in PDF format")
+    @Operation(summary = "Export statement to PDF",
+               description = "Download account statement in PDF format; supports Range and If-None-Match")
     @GetMapping("/{accountId}/statement/pdf")
-    public ResponseEntity<byte[]> exportStatementToPDF(
+    public ResponseEntity<Resource> exportStatementToPDF(
             @PathVariable Long accountId,
             @Parameter(description = "Start date for statement period")
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fromDate,
             @Parameter(description = "End date for statement period")
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toDate) {
-        
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toDate,
+            HttpServletRequest request) {
+
         log.info("PDF statement export requested for account: {}", accountId);
-        
-        AccountResponseDTO account = accountService.getAccountById(accountId);
-        List<TransactionResponseDTO> transactions = getTransactionsForPeriod(accountId, fromDate, toDate);
-        
-        byte[] pdfContent = statementExportService.exportToPDF(account, transactions, fromDate, toDate);
-        
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_PDF);
-        headers.setContentDispositionFormData("attachment", 
-            "statement_" + account.getMaskedAccountNumber() + "_" + System.currentTimeMillis() + ".pdf");
-        
-        return ResponseEntity.ok()
-                .headers(headers)
-                .body(pdfContent);
+        return downloadStatement(accountId, StatementFormat.PDF, fromDate, toDate, request);
     }
 
-    @Operation(summary = "Export statement to CSV", description = "Generate and download account statement in CSV format")
+    @Operation(summary = "Export statement to CSV",
+               description = "Download account statement in CSV format; supports Range and If-None-Match")
     @GetMapping("/{accountId}/statement/csv")
-    public ResponseEntity<String> exportStatementToCSV(
+    public ResponseEntity<Resource> exportStatementToCSV(
             @PathVariable Long accountId,
             @Parameter(description = "Start date for statement period")
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fromDate,
             @Parameter(description = "End date for statement period")
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toDate) {
-        
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toDate,
+            HttpServletRequest request) {
+
         log.info("CSV statement export requested for account: {}", accountId);
-        
-        AccountResponseDTO account = accountService.getAccountById(accountId);
-        List<TransactionResponseDTO> transactions = getTransactionsForPeriod(accountId, fromDate, toDate);
-        
-        String csvContent = statementExportService.exportToCSV(account, transactions, fromDate, toDate);
-        
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType("text/csv"));
-        headers.setContentDispositionFormData("attachment", 
-            "statement_" + account.getMaskedAccountNumber() + "_" + System.currentTimeMillis() + ".csv");
-        
-        return ResponseEntity.ok()
-                .headers(headers)
-                .body(csvContent);
+        return downloadStatement(accountId, StatementFormat.CSV, fromDate, toDate, request);
     }
 
-    @Operation(summary = "Export statement to Text", description = "Generate and download account statement in Text format")
+    @Operation(summary = "Export statement to Text",
+               description = "Download account statement in Text format; supports Range and If-None-Match")
     @GetMapping("/{accountId}/statement/text")
-    public ResponseEntity<String> exportStatementToText(
+    public ResponseEntity<Resource> exportStatementToText(
             @PathVariable Long accountId,
             @Parameter(description = "Start date for statement period")
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fromDate,
             @Parameter(description = "End date for statement period")
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toDate) {
-        
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toDate,
+            HttpServletRequest request) {
+
         log.info("Text statement export requested for account: {}", accountId);
-        
-        AccountResponseDTO account = accountService.getAccountById(accountId);
-        List<TransactionResponseDTO> transactions = getTransactionsForPeriod(accountId, fromDate, toDate);
-        
-        String textContent = statementExportService.exportToText(account, transactions, fromDate, toDate);
-        
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.TEXT_PLAIN);
-        headers.setContentDispositionFormData("attachment", 
-            "statement_" + account.getMaskedAccountNumber() + "_" + System.currentTimeMillis() + ".txt");
-        
-        return ResponseEntity.ok()
-                .headers(headers)
-                .body(textContent);
+        return downloadStatement(accountId, StatementFormat.TEXT, fromDate, toDate, request);
     }
 
-    // Helper method - In a real application, this would be implemented in TransactionService
-    private List<TransactionResponseDTO> getTransactionsForPeriod(Long accountId, LocalDateTime fromDate, LocalDateTime toDate) {
-        // For demo purposes, return empty list. 
-        // In production, implement TransactionService.getTransactionsByAccountAndPeriod()
-        log.info("Getting transactions for account {} from {} to {}", accountId, fromDate, toDate);
-        return new ArrayList<>();
+    // Spools the statement to the on-disk store (unless an identical one is there) and serves the file
+    private ResponseEntity<Resource> downloadStatement(Long accountId, StatementFormat format, LocalDateTime fromDate,
+                                                       LocalDateTime toDate, HttpServletRequest request) {
+        return StatementDownloads.serve(
+                statementJobService.getOrRenderStatement(accountId, format, fromDate, toDate), request);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,84 @@
+package com.bankinghub.backend.controller;
+
+import com.bankinghub.backend.dto.response.MerchantBreakdownResponseDTO;
+import com.bankinghub.backend.dto.response.SpendingComparisonResponseDTO;
+import com.bankinghub.backend.dto.response.SpendingTrendResponseDTO;
+import com.bankinghub.backend.service.SpendingAnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.YearMonth;
+
+@RestController
+@RequestMapping("/analytics")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+@Tag(name = "Spending Analytics", description = "Spending trends, merchant breakdowns and period comparisons")
+public class AnalyticsController {
+
+    private final SpendingAnalyticsService spendingAnalyticsService;
+
+    @Operation(summary = "Get spending trend",
+               description = "The authenticated user's spending per category and month, up to the current month")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Trend returned"),
+        @ApiResponse(responseCode = "400", description = "Trend longer than the analytics history")
+    })
+    @GetMapping("/trends")
+    public ResponseEntity<SpendingTrendResponseDTO> getSpendingTrend(
+            @Parameter(description = "Number of months, counting the current one")
+            @RequestParam(defaultValue = "12") int months,
+            @Parameter(description = "Only this category; omit for all categories")
+            @RequestParam(required = false) String category) {
+        return ResponseEntity.ok(spendingAnalyticsService.getTrend(months, category));
+    }
+
+    @Operation(summary = "Get merchant breakdown",
+               description = "The merchants the authenticated user spent most at, with their share of all spending")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Breakdown returned"),
+        @ApiResponse(responseCode = "400", description = "Invalid period or period outside the analytics history")
+    })
+    @GetMapping("/merchants")
+    public ResponseEntity<MerchantBreakdownResponseDTO> getMerchantBreakdown(
+            @Parameter(description = "First month (yyyy-MM); defaults to the current month")
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth fromMonth,
+            @Parameter(description = "Last month (yyyy-MM); defaults to the current month")
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth toMonth,
+            @Parameter(description = "Number of merchants (max 50)")
+            @RequestParam(defaultValue = "10") int limit) {
+        YearMonth to = toMonth != null ? toMonth : YearMonth.now();
+        YearMonth from = fromMonth != null ? fromMonth : to;
+        return ResponseEntity.ok(spendingAnalyticsService.getMerchantBreakdown(from, to, limit));
+    }
+
+    @Operation(summary = "Compare spending periods",
+               description = "The authenticated user's spending per category against an earlier period of the same length")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Comparison returned"),
+        @ApiResponse(responseCode = "400", description = "Invalid period or period outside the analytics history")
+    })
+    @GetMapping("/comparison")
+    public ResponseEntity<SpendingComparisonResponseDTO> compareSpending(
+            @Parameter(description = "First month (yyyy-MM); defaults to the current month")
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth fromMonth,
+            @Parameter(description = "Last month (yyyy-MM); defaults to the current month")
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth toMonth,
+            @Parameter(description = "First month of the period compared against (yyyy-MM); defaults to the period just before")
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth previousFromMonth) {
+        YearMonth to = toMonth != null ? toMonth : YearMonth.now();
+        YearMonth from = fromMonth != null ? fromMonth : to;
+        return ResponseEntity.ok(spendingAnalyticsService.compare(from, to, previousFromMonth));
+    }
+}
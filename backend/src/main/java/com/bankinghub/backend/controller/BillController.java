@@ -0,0 +1,31 @@
+package com.bankinghub.backend.controller;
+
+import com.bankinghub.backend.dto.response.BillResponseDTO;
+import com.bankinghub.backend.service.BillService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/bills")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+@Tag(name = "Bill Management", description = "Bill payment and tracking endpoints")
+public class BillController {
+
+    private final BillService billService;
+
+    @Operation(summary = "Get active bills", description = "Get unpaid bills for the authenticated user, earliest due first")
+    @GetMapping
+    public ResponseEntity<List<BillResponseDTO>> getActiveBills() {
+        List<BillResponseDTO> bills = billService.getActiveBills();
+        return ResponseEntity.ok(bills);
+    }
+}
@@ -70,7 +70,7 @@ public class BudgetController {
         return ResponseEntity.noContent().build();
     }
 
-    @Operation(summary = "Get budget alerts", description = "Get budgets that are exceeding alert thresholds")
+    @Operation(summary = "Get budget alerts", description = "Get the authenticated user's budgets that are exceeding alert thresholds")
     @GetMapping("/alerts")
     public ResponseEntity<List<BudgetResponseDTO>> getBudgetAlerts() {
         List<BudgetResponseDTO> alertBudgets = budgetService.getBudgetsExceedingAlert();
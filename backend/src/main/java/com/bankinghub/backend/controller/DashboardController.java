@@ -0,0 +1,36 @@
+package com.bankinghub.backend.controller;
+
+import com.bankinghub.backend.dto.response.DashboardResponseDTO;
+import com.bankinghub.backend.service.DashboardService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/dashboard")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+@Tag(name = "Dashboard", description = "Combined first-screen data")
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    @Operation(summary = "Get dashboard",
+               description = "Accounts, recent transactions per account, active budgets, over-budgets and upcoming bills "
+                       + "of the authenticated user, read in parallel. Sections that fail or time out are listed as unavailable")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Dashboard returned"),
+        @ApiResponse(responseCode = "503", description = "Dashboard workers are busy")
+    })
+    @GetMapping
+    public ResponseEntity<DashboardResponseDTO> getDashboard() {
+        return ResponseEntity.ok(dashboardService.getDashboard());
+    }
+}
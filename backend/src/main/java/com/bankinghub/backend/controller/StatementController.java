@@ -0,0 +1,57 @@
+package com.bankinghub.backend.controller;
+
+import com.bankinghub.backend.dto.request.StatementJobRequestDTO;
+import com.bankinghub.backend.dto.response.StatementJobResponseDTO;
+import com.bankinghub.backend.service.StatementJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Slf4j
+@RestController
+@RequestMapping("/statements")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+@Tag(name = "Statements", description = "Asynchronous statement generation endpoints")
+public class StatementController {
+
+    private final StatementJobService statementJobService;
+
+    @Operation(summary = "Submit statement job", description = "Queue a statement for generation and return its job id")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Job accepted"),
+        @ApiResponse(responseCode = "404", description = "Account not found"),
+        @ApiResponse(responseCode = "503", description = "Statement workers are busy")
+    })
+    @PostMapping("/jobs")
+    public ResponseEntity<StatementJobResponseDTO> submitStatementJob(@Valid @RequestBody StatementJobRequestDTO request) {
+        log.info("Statement job requested for account: {}", request.getAccountId());
+        return new ResponseEntity<>(statementJobService.submit(request), HttpStatus.ACCEPTED);
+    }
+
+    @Operation(summary = "Get statement job", description = "Get the status of a statement job")
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<StatementJobResponseDTO> getStatementJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(statementJobService.getJob(jobId));
+    }
+
+    @Operation(summary = "Download statement",
+               description = "Download the file of a completed statement job; supports Range and If-None-Match")
+    @GetMapping("/jobs/{jobId}/download")
+    public ResponseEntity<Resource> downloadStatement(
+            @Parameter(description = "Statement job ID") @PathVariable String jobId,
+            HttpServletRequest request) {
+        return StatementDownloads.serve(statementJobService.getArtifact(jobId), request);
+    }
+}
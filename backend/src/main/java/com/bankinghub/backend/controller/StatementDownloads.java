@@ -0,0 +1,106 @@
+package com.bankinghub.backend.controller;
+
+import com.bankinghub.backend.service.StatementJobService.StatementArtifact;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourceRegion;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Builds download responses for stored statement files.
+ * <p>
+ * The file is never read into the heap. When the servlet container supports
+ * sendfile (Tomcat NIO), a full or single-range download is handed to the
+ * container, which transfers it from the page cache straight to the socket.
+ * Otherwise the file is returned as a {@link Resource}, and Spring MVC streams it
+ * and serves {@code Range} requests itself. In both cases a matching
+ * {@code If-None-Match} is answered with 304 from the ETag on the response.
+ * </p>
+ */
+final class StatementDownloads {
+
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private StatementDownloads() {
+    }
+
+    static ResponseEntity<Resource> serve(StatementArtifact artifact, HttpServletRequest request) {
+        Resource resource = new FileSystemResource(artifact.path());
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(artifact.eTag());
+        headers.setCacheControl(CacheControl.noCache().cachePrivate());
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        headers.setContentType(MediaType.parseMediaType(artifact.format().getContentType()));
+        headers.setContentDisposition(ContentDisposition.attachment().filename(artifact.downloadFileName()).build());
+
+        if (!Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED)) || isNotModified(artifact, request)) {
+            return ResponseEntity.ok().headers(headers).body(resource);
+        }
+
+        long length = contentLength(resource);
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null) {
+            sendfile(request, artifact, 0, length);
+            headers.setContentLength(length);
+            return ResponseEntity.ok().headers(headers).build();
+        }
+
+        ResourceRegion region = singleRegion(rangeHeader, resource);
+        if (region == null) {
+            // Multiple or unsatisfiable ranges: let Spring MVC produce the multipart or 416 response
+            return ResponseEntity.ok().headers(headers).body(resource);
+        }
+        long start = region.getPosition();
+        long end = start + region.getCount();
+        sendfile(request, artifact, start, end);
+        headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (end - 1) + "/" + length);
+        headers.setContentLength(region.getCount());
+        return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT).headers(headers).build();
+    }
+
+    private static boolean isNotModified(StatementArtifact artifact, HttpServletRequest request) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        return ifNoneMatch != null
+                && (ifNoneMatch.contains(artifact.eTag()) || ifNoneMatch.trim().equals("*"));
+    }
+
+    private static ResourceRegion singleRegion(String rangeHeader, Resource resource) {
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            if (ranges.size() != 1) {
+                return null;
+            }
+            return ranges.get(0).toResourceRegion(resource);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static void sendfile(HttpServletRequest request, StatementArtifact artifact, long start, long endExclusive) {
+        request.setAttribute(SENDFILE_FILENAME, artifact.path().toAbsolutePath().toString());
+        request.setAttribute(SENDFILE_START, start);
+        request.setAttribute(SENDFILE_END, endExclusive);
+    }
+
+    private static long contentLength(Resource resource) {
+        try {
+            return resource.contentLength();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.bankinghub.backend.controller;
+
+import com.bankinghub.backend.dto.request.BulkTransactionRequestDTO;
+import com.bankinghub.backend.dto.request.TransactionCategoryRequestDTO;
+import com.bankinghub.backend.dto.request.TransactionRequestDTO;
+import com.bankinghub.backend.dto.response.BulkPostingResponseDTO;
+import com.bankinghub.backend.dto.response.CursorPageResponseDTO;
+import com.bankinghub.backend.dto.response.PostingReceiptDTO;
+import com.bankinghub.backend.dto.response.SpendingSummaryResponseDTO;
+import com.bankinghub.backend.dto.response.SpendingSummaryResponseDTO.Granularity;
+import com.bankinghub.backend.dto.response.TransactionResponseDTO;
+import com.bankinghub.backend.security.CurrentUserProvider;
+import com.bankinghub.backend.security.IdempotencyFilter;
+import com.bankinghub.backend.service.BulkPostingService;
+import com.bankinghub.backend.service.PostingJournalService;
+import com.bankinghub.backend.service.PostingService;
+import com.bankinghub.backend.service.SpendRollupService;
+import com.bankinghub.backend.service.TransactionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@Slf4j
+@RestController
+@RequestMapping("/transactions")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+@Tag(name = "Transactions", description = "Transaction posting, history and categorization endpoints")
+public class TransactionController {
+
+    private final TransactionService transactionService;
+    private final PostingService postingService;
+    private final BulkPostingService bulkPostingService;
+    private final PostingJournalService postingJournalService;
+    private final SpendRollupService spendRollupService;
+    private final CurrentUserProvider currentUserProvider;
+
+    @Operation(summary = "Post transaction",
+               description = "Post a debit or credit on one of the authenticated user's accounts")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Transaction posted"),
+        @ApiResponse(responseCode = "400", description = "Invalid input or insufficient funds"),
+        @ApiResponse(responseCode = "404", description = "Account not found")
+    })
+    @Parameter(name = IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, in = ParameterIn.HEADER,
+               description = "Optional client-generated key; retries with the same key replay the first response")
+    @PostMapping
+    public ResponseEntity<TransactionResponseDTO> postTransaction(@Valid @RequestBody TransactionRequestDTO request) {
+        log.info("Transaction posting requested for account: {}", request.getAccountId());
+        TransactionResponseDTO transaction = postingService.post(currentUserProvider.getCurrentUserId(), request);
+        return new ResponseEntity<>(transaction, HttpStatus.CREATED);
+    }
+
+    @Operation(summary = "Post transaction through the journal",
+               description = "Accept a debit or credit into the posting journal; it is applied to the ledger "
+                       + "shortly after, and a debit that is not covered is recorded as FAILED")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Posting durably accepted"),
+        @ApiResponse(responseCode = "400", description = "Invalid input or journaled posting not enabled"),
+        @ApiResponse(responseCode = "404", description = "Account not found"),
+        @ApiResponse(responseCode = "503", description = "Journal busy, retry shortly")
+    })
+    @Parameter(name = IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, in = ParameterIn.HEADER,
+               description = "Optional client-generated key; retries with the same key replay the first response")
+    @PostMapping("/journal")
+    public ResponseEntity<PostingReceiptDTO> journalTransaction(@Valid @RequestBody TransactionRequestDTO request) {
+        return new ResponseEntity<>(postingJournalService.accept(request), HttpStatus.ACCEPTED);
+    }
+
+    @Operation(summary = "Bulk post transactions",
+               description = "Post up to " + BulkTransactionRequestDTO.MAX_POSTINGS + " debits and credits on the "
+                       + "authenticated user's accounts in one all-or-nothing request")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "All transactions posted"),
+        @ApiResponse(responseCode = "400", description = "Invalid input or a posting with insufficient funds; nothing is posted"),
+        @ApiResponse(responseCode = "404", description = "Account not found")
+    })
+    @Parameter(name = IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, in = ParameterIn.HEADER,
+               description = "Optional client-generated key; retries with the same key replay the first response")
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkPostingResponseDTO> postTransactions(@Valid @RequestBody BulkTransactionRequestDTO request) {
+        log.info("Bulk posting of {} transactions requested", request.getPostings().size());
+        BulkPostingResponseDTO result = bulkPostingService.post(currentUserProvider.getCurrentUserId(), request);
+        return new ResponseEntity<>(result, HttpStatus.CREATED);
+    }
+
+    @Operation(summary = "Get transaction history",
+               description = "Get the authenticated user's transactions, newest first, using cursor pagination")
+    @GetMapping("/history")
+    public ResponseEntity<CursorPageResponseDTO<TransactionResponseDTO>> getTransactionHistory(
+            @Parameter(description = "Continuation token from the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max 100)")
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(transactionService.getTransactionHistory(cursor, size));
+    }
+
+    @Operation(summary = "Get spending summary",
+               description = "Totals of the authenticated user's completed transactions per month, quarter or year, "
+                       + "split by category and type")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Summary returned"),
+        @ApiResponse(responseCode = "400", description = "Invalid date range")
+    })
+    @GetMapping("/spending-summary")
+    public ResponseEntity<SpendingSummaryResponseDTO> getSpendingSummary(
+            @Parameter(description = "First day of the summary; defaults to the start of the month eleven months ago")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @Parameter(description = "Last day of the summary; defaults to today")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @Parameter(description = "Period length: MONTH, QUARTER or YEAR")
+            @RequestParam(defaultValue = "MONTH") Granularity granularity) {
+        LocalDate to = toDate != null ? toDate : LocalDate.now();
+        LocalDate from = fromDate != null ? fromDate : to.withDayOfMonth(1).minusMonths(11);
+        return ResponseEntity.ok(spendRollupService.summarize(from, to, granularity));
+    }
+
+    @Operation(summary = "Reverse transaction",
+               description = "Undo a completed transaction by posting a compensating transaction that references it")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Transaction reversed; the compensating transaction is returned"),
+        @ApiResponse(responseCode = "400", description = "Transaction not completed, already reversed, or insufficient funds to reverse it"),
+        @ApiResponse(responseCode = "404", description = "Transaction not found")
+    })
+    @PostMapping("/{transactionId}/reversal")
+    public ResponseEntity<TransactionResponseDTO> reverseTransaction(
+            @Parameter(description = "Transaction ID") @PathVariable Long transactionId) {
+        return ResponseEntity.ok(postingService.reverse(currentUserProvider.getCurrentUserId(), transactionId));
+    }
+
+    @Operation(summary = "Recategorize transaction", description = "Move a transaction to another spending category")
+    @PutMapping("/{transactionId}/category")
+    public ResponseEntity<TransactionResponseDTO> recategorizeTransaction(
+            @Parameter(description = "Transaction ID") @PathVariable Long transactionId,
+            @Valid @RequestBody TransactionCategoryRequestDTO request) {
+        return ResponseEntity.ok(transactionService.recategorizeTransaction(transactionId, request.getCategory()));
+    }
+}
@@ -0,0 +1,65 @@
+package com.bankinghub.backend.controller;
+
+import com.bankinghub.backend.dto.request.TransferRequestDTO;
+import com.bankinghub.backend.dto.response.CursorPageResponseDTO;
+import com.bankinghub.backend.dto.response.TransferResponseDTO;
+import com.bankinghub.backend.security.IdempotencyFilter;
+import com.bankinghub.backend.service.TransferService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Slf4j
+@RestController
+@RequestMapping("/transfers")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+@Tag(name = "Transfers", description = "Money transfer endpoints")
+public class TransferController {
+
+    private final TransferService transferService;
+
+    @Operation(summary = "Create transfer",
+               description = "Transfer money from one of the authenticated user's accounts. Transfers without a future scheduled date are executed immediately")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Transfer created; status shows whether it completed, failed or is pending"),
+        @ApiResponse(responseCode = "400", description = "Invalid transfer request"),
+        @ApiResponse(responseCode = "404", description = "Account not found"),
+        @ApiResponse(responseCode = "409", description = "Accounts are busy, the transfer stays pending")
+    })
+    @Parameter(name = IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, in = ParameterIn.HEADER,
+               description = "Optional client-generated key; retries with the same key replay the first response")
+    @PostMapping
+    public ResponseEntity<TransferResponseDTO> createTransfer(@Valid @RequestBody TransferRequestDTO request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(transferService.createTransfer(request));
+    }
+
+    @Operation(summary = "Cancel transfer", description = "Cancel a pending scheduled transfer")
+    @Parameter(name = IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, in = ParameterIn.HEADER,
+               description = "Optional client-generated key; retries with the same key replay the first response")
+    @PostMapping("/{transferId}/cancel")
+    public ResponseEntity<TransferResponseDTO> cancelTransfer(@PathVariable Long transferId) {
+        return ResponseEntity.ok(transferService.cancelTransfer(transferId));
+    }
+
+    @Operation(summary = "Get transfer history",
+               description = "Get transfers sent or received by the authenticated user, newest first, using cursor pagination")
+    @GetMapping("/history")
+    public ResponseEntity<CursorPageResponseDTO<TransferResponseDTO>> getTransferHistory(
+            @Parameter(description = "Continuation token from the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max 100)")
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(transferService.getTransferHistory(cursor, size));
+    }
+}
@@ -0,0 +1,19 @@
+package com.bankinghub.backend.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkTransactionRequestDTO {
+
+    public static final int MAX_POSTINGS = 5000;
+
+    @Valid
+    @NotEmpty(message = "At least one posting is required")
+    @Size(max = MAX_POSTINGS, message = "At most " + MAX_POSTINGS + " postings per request")
+    private List<TransactionRequestDTO> postings;
+}
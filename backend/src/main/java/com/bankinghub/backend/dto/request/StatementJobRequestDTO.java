@@ -0,0 +1,21 @@
+package com.bankinghub.backend.dto.request;
+
+import com.bankinghub.backend.service.StatementExportService.StatementFormat;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class StatementJobRequestDTO {
+
+    @NotNull(message = "Account ID is required")
+    private Long accountId;
+
+    @NotNull(message = "Statement format is required")
+    private StatementFormat format;
+
+    private LocalDateTime fromDate;
+
+    private LocalDateTime toDate;
+}
@@ -39,20 +39,4 @@ public class AccountResponseDTO {
         }
         return balance;
     }
-
-    public void setAccountNumber(String accountNumber) {
-        throw new UnsupportedOperationException("Not supported yet.");
-    }
-
-    public void setAccountType(AccountType accountType) {
-        throw new UnsupportedOperationException("Not supported yet.");
-    }
-
-    public void setAccountName(String accountName) {
-        throw new UnsupportedOperationException("Not supported yet.");
-    }
-
-    public void setBalance(BigDecimal balance) {
-        throw new UnsupportedOperationException("Not supported yet.");
-    }
-}
\ No newline at end of file
+}
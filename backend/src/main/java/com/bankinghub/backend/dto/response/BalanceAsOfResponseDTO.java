@@ -0,0 +1,19 @@
+package com.bankinghub.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceAsOfResponseDTO {
+    private Long accountId;
+    private LocalDateTime asOf;
+    private BigDecimal balance;
+    /** Checkpoint the balance was derived from, or null if it came from the live balance */
+    private LocalDateTime checkpointAsOf;
+}
@@ -0,0 +1,26 @@
+package com.bankinghub.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkPostingResponseDTO {
+    private int postedCount;
+    private BigDecimal totalDebits;
+    private BigDecimal totalCredits;
+    private List<AccountBalance> balances;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AccountBalance {
+        private Long accountId;
+        private BigDecimal balance;
+    }
+}
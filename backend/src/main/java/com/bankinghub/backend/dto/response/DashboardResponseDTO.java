@@ -0,0 +1,33 @@
+package com.bankinghub.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardResponseDTO {
+    private List<AccountResponseDTO> accounts;
+    /** Ten most recent transactions per account, keyed by account id */
+    private Map<Long, List<TransactionResponseDTO>> recentTransactions;
+    private List<BudgetResponseDTO> activeBudgets;
+    private List<BudgetResponseDTO> overBudgets;
+    private List<BillResponseDTO> upcomingBills;
+    /** Sections that failed or did not finish in time; they are {@code null} above */
+    private List<Section> unavailableSections;
+
+    /**
+     * Independently loaded parts of the dashboard.
+     */
+    public enum Section {
+        ACCOUNTS,
+        RECENT_TRANSACTIONS,
+        ACTIVE_BUDGETS,
+        OVER_BUDGETS,
+        UPCOMING_BILLS
+    }
+}
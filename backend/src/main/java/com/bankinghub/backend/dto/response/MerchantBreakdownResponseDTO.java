@@ -0,0 +1,31 @@
+package com.bankinghub.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MerchantBreakdownResponseDTO {
+    private YearMonth fromMonth;
+    private YearMonth toMonth;
+    /** All spending in the period, including transactions without a merchant */
+    private BigDecimal totalSpent;
+    private List<MerchantTotal> merchants;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class MerchantTotal {
+        private String merchant;
+        private BigDecimal amount;
+        private long transactionCount;
+        /** Share of {@code totalSpent}, in percent */
+        private BigDecimal sharePercent;
+    }
+}
@@ -0,0 +1,16 @@
+package com.bankinghub.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostingReceiptDTO {
+    private long journalSequence;
+    private String referenceNumber;
+    private LocalDateTime acceptedAt;
+}
@@ -0,0 +1,51 @@
+package com.bankinghub.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpendingComparisonResponseDTO {
+    private Period current;
+    private Period previous;
+    private Change totalSpent;
+    private List<CategoryChange> categories;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Period {
+        private YearMonth fromMonth;
+        private YearMonth toMonth;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Change {
+        private BigDecimal current;
+        private BigDecimal previous;
+        private BigDecimal difference;
+        /** Change against the previous period, in percent; {@code null} when nothing was spent then */
+        private BigDecimal changePercent;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CategoryChange {
+        /** Category, or {@code null} for uncategorised transactions */
+        private String category;
+        private BigDecimal current;
+        private BigDecimal previous;
+        private BigDecimal difference;
+        /** Change against the previous period, in percent; {@code null} when nothing was spent then */
+        private BigDecimal changePercent;
+    }
+}
@@ -0,0 +1,70 @@
+package com.bankinghub.backend.dto.response;
+
+import com.bankinghub.backend.model.Transaction.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpendingSummaryResponseDTO {
+    private LocalDate fromDate;
+    private LocalDate toDate;
+    private Granularity granularity;
+    private List<PeriodSummary> periods;
+
+    /**
+     * Length of the periods a summary is split into.
+     */
+    public enum Granularity {
+        MONTH(1),
+        QUARTER(3),
+        YEAR(12);
+
+        private final int months;
+
+        Granularity(int months) {
+            this.months = months;
+        }
+
+        /** First day of the period holding {@code date} */
+        public LocalDate periodStart(LocalDate date) {
+            int monthIndex = (date.getMonthValue() - 1) / months * months;
+            return LocalDate.of(date.getYear(), monthIndex + 1, 1);
+        }
+
+        public LocalDate nextPeriodStart(LocalDate periodStart) {
+            return periodStart.plusMonths(months);
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PeriodSummary {
+        /** First day of the period, or of the summary if that is later */
+        private LocalDate periodStart;
+        /** Last day of the period, or of the summary if that is earlier */
+        private LocalDate periodEnd;
+        private BigDecimal totalDebits;
+        private BigDecimal totalCredits;
+        private long transactionCount;
+        private List<CategoryTotal> categories;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CategoryTotal {
+        /** Category, or {@code null} for uncategorised transactions */
+        private String category;
+        private TransactionType type;
+        private BigDecimal amount;
+        private long transactionCount;
+    }
+}
@@ -0,0 +1,34 @@
+package com.bankinghub.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpendingTrendResponseDTO {
+    private YearMonth fromMonth;
+    private YearMonth toMonth;
+    /** Months of the trend, oldest first; every series below has one value per month */
+    private List<YearMonth> months;
+    private List<BigDecimal> totalDebits;
+    private List<BigDecimal> totalCredits;
+    private List<CategoryTrend> categories;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CategoryTrend {
+        /** Category, or {@code null} for uncategorised transactions */
+        private String category;
+        private BigDecimal totalSpent;
+        private long transactionCount;
+        /** Spending per month, aligned with {@link SpendingTrendResponseDTO#getMonths()} */
+        private List<BigDecimal> monthlySpent;
+    }
+}
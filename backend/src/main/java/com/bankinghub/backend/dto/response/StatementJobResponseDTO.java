@@ -0,0 +1,20 @@
+package com.bankinghub.backend.dto.response;
+
+import com.bankinghub.backend.service.StatementExportService.StatementFormat;
+import com.bankinghub.backend.service.StatementJobService.JobStatus;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class StatementJobResponseDTO {
+
+    private String jobId;
+    private Long accountId;
+    private StatementFormat format;
+    private JobStatus status;
+    private String etag;
+    private String errorMessage;
+    private LocalDateTime submittedAt;
+    private LocalDateTime completedAt;
+}
@@ -22,4 +22,5 @@ public class TransactionResponseDTO {
     private LocalDateTime createdAt;
     private Long accountId;
     private String accountName;
+    private Long reversalOfId;
 }
\ No newline at end of file
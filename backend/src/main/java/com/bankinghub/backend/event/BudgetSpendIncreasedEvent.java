@@ -0,0 +1,14 @@
+package com.bankinghub.backend.event;
+
+import java.time.LocalDate;
+
+/**
+ * Published when spend was added to a user's budgets for a category, identifying
+ * the budgets whose alert threshold may just have been crossed.
+ *
+ * @param userId   owner of the budgets
+ * @param category budget category that received spend
+ * @param date     date of the spend, selecting the budget period
+ */
+public record BudgetSpendIncreasedEvent(Long userId, String category, LocalDate date) {
+}
@@ -0,0 +1,11 @@
+package com.bankinghub.backend.event;
+
+import com.bankinghub.backend.model.Transaction;
+
+/**
+ * Published inside the posting transaction once a transaction has been written.
+ *
+ * @param transaction the transaction that was posted
+ */
+public record TransactionPostedEvent(Transaction transaction) {
+}
@@ -0,0 +1,12 @@
+package com.bankinghub.backend.event;
+
+import com.bankinghub.backend.model.Transaction;
+
+/**
+ * Published inside the updating transaction when a transaction moves to another category.
+ *
+ * @param transaction      the transaction, already carrying its new category
+ * @param previousCategory the category it was counted under before
+ */
+public record TransactionRecategorizedEvent(Transaction transaction, String previousCategory) {
+}
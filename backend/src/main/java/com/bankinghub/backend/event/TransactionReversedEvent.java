@@ -0,0 +1,14 @@
+package com.bankinghub.backend.event;
+
+import com.bankinghub.backend.model.Transaction;
+
+/**
+ * Published inside the reversing transaction once the compensating row for a
+ * previously posted transaction has been written. The original keeps its
+ * status; listeners take its effect back out of derived totals.
+ *
+ * @param transaction the transaction whose effect is being undone
+ * @param reversal    the compensating row that undoes it
+ */
+public record TransactionReversedEvent(Transaction transaction, Transaction reversal) {
+}
@@ -0,0 +1,15 @@
+package com.bankinghub.backend.event;
+
+import com.bankinghub.backend.model.Transaction;
+
+import java.util.List;
+
+/**
+ * Published inside the posting transaction once a bulk posting has been written,
+ * instead of one {@link TransactionPostedEvent} per row.
+ *
+ * @param userId       owner of every posted transaction
+ * @param transactions the transactions that were posted; may be detached
+ */
+public record TransactionsPostedEvent(Long userId, List<Transaction> transactions) {
+}
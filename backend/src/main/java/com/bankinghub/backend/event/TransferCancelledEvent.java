@@ -0,0 +1,9 @@
+package com.bankinghub.backend.event;
+
+/**
+ * Published inside the cancelling transaction when a pending transfer is cancelled.
+ *
+ * @param transferId the cancelled transfer
+ */
+public record TransferCancelledEvent(Long transferId) {
+}
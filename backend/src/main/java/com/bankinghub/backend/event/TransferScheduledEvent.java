@@ -0,0 +1,12 @@
+package com.bankinghub.backend.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published inside the creating transaction when a transfer is scheduled for a future date.
+ *
+ * @param transferId    the pending transfer
+ * @param scheduledDate when the transfer becomes due
+ */
+public record TransferScheduledEvent(Long transferId, LocalDateTime scheduledDate) {
+}
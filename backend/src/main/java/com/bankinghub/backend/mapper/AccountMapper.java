@@ -18,6 +18,7 @@ public interface AccountMapper {
     @Mapping(target = "transactions", ignore = true)
     @Mapping(target = "fromTransfers", ignore = true)
     @Mapping(target = "toTransfers", ignore = true)
+    @Mapping(target = "version", ignore = true) // Managed by Hibernate for optimistic locking
     Account toEntity(AccountRequestDTO dto);
 
     @Mapping(target = "maskedAccountNumber", ignore = true) // Calculated in DTO
@@ -34,5 +35,6 @@ public interface AccountMapper {
     @Mapping(target = "transactions", ignore = true)
     @Mapping(target = "fromTransfers", ignore = true)
     @Mapping(target = "toTransfers", ignore = true)
+    @Mapping(target = "version", ignore = true) // Managed by Hibernate for optimistic locking
     void updateEntityFromDTO(AccountRequestDTO dto, @MappingTarget Account account);
 }
\ No newline at end of file
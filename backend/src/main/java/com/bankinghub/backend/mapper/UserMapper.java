@@ -16,6 +16,7 @@ public interface UserMapper {
     @Mapping(target = "twoFactorEnabled", constant = "false")
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "twoFactorSecret", ignore = true)
+    @Mapping(target = "tokenVersion", ignore = true)
     @Mapping(target = "accounts", ignore = true)
     @Mapping(target = "bills", ignore = true)
     @Mapping(target = "budgets", ignore = true)
@@ -34,6 +35,7 @@ public interface UserMapper {
     @Mapping(target = "role", ignore = true)
     @Mapping(target = "twoFactorEnabled", ignore = true)
     @Mapping(target = "twoFactorSecret", ignore = true)
+    @Mapping(target = "tokenVersion", ignore = true)
     @Mapping(target = "accounts", ignore = true)
     @Mapping(target = "bills", ignore = true)
     @Mapping(target = "budgets", ignore = true)
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -70,6 +71,12 @@ public class Account {
     @Column(precision = 5, scale = 4)
     private BigDecimal interestRate;
 
+    /** Optimistic lock version, also bumped by the balance UPDATE statements */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version = 0L;
+
     /** Timestamp when the account was created */
     @CreatedDate
     @Column(nullable = false, updatable = false)
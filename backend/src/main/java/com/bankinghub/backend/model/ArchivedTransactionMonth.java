@@ -0,0 +1,71 @@
+package com.bankinghub.backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * ArchivedTransactionMonth entity indexing one account's archived month.
+ * <p>
+ * The transactions of a closed month are moved out of the {@code transactions}
+ * table into a compressed columnar file. This row records where that file is
+ * and the ranges it covers, by transaction date and by posting time, so readers
+ * only open the files a query can actually reach.
+ * </p>
+ *
+ * @author Melvin Musonda Chibanda
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+@Entity
+@Table(name = "archived_transaction_months",
+    uniqueConstraints = @UniqueConstraint(name = "uk_archived_transaction_months_account_period",
+        columnNames = {"account_id", "period_start"}),
+    indexes = @Index(name = "idx_archived_transaction_months_user_last", columnList = "user_id, last_transaction_date"))
+@Data
+@NoArgsConstructor
+public class ArchivedTransactionMonth {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    /** First day of the archived month */
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    /** File name relative to the archive directory */
+    @Column(nullable = false, length = 255)
+    private String fileName;
+
+    @Column(nullable = false)
+    private Integer rowCount;
+
+    @Column(name = "first_transaction_date", nullable = false)
+    private LocalDateTime firstTransactionDate;
+
+    @Column(name = "last_transaction_date", nullable = false)
+    private LocalDateTime lastTransactionDate;
+
+    @Column(nullable = false)
+    private LocalDateTime firstCreatedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime lastCreatedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+
+    /** Guards against two archivers rewriting the same month at once */
+    @Version
+    private Long version;
+}
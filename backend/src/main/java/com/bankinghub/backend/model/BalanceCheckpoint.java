@@ -0,0 +1,48 @@
+package com.bankinghub.backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * BalanceCheckpoint entity holding an account's balance at a day close.
+ * <p>
+ * Written once per account and day by the end-of-day job and never changed, so
+ * the balance at any past moment is the nearest checkpoint plus the few
+ * transactions posted between the two. Balances are by posting time
+ * ({@code transactions.created_at}), which is exactly what
+ * {@link Account#getBalance()} held at that moment.
+ * </p>
+ *
+ * @author Melvin Musonda Chibanda
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+@Entity
+@Table(name = "balance_checkpoints",
+    uniqueConstraints = @UniqueConstraint(name = "uk_balance_checkpoints_account_as_of", columnNames = {"account_id", "as_of"}))
+@Data
+@NoArgsConstructor
+public class BalanceCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    /** Moment the balance applies to: the start of the day after the business day closed */
+    @Column(name = "as_of", nullable = false)
+    private LocalDateTime asOf;
+
+    /** Account balance including every transaction posted up to {@link #asOf} */
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal balance;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
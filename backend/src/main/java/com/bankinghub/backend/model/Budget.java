@@ -25,7 +25,9 @@ import java.time.LocalDateTime;
  * @since 1.0.0
  */
 @Entity
-@Table(name = "budgets")
+@Table(name = "budgets", indexes = {
+    @Index(name = "idx_budgets_user_category", columnList = "user_id, category")
+})
 @Data
 @EqualsAndHashCode(exclude = {"user"})
 @ToString(exclude = {"user"})
@@ -78,18 +80,6 @@ public class Budget {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    public void setUser(User currentUser) {
-        throw new UnsupportedOperationException("Not supported yet.");
-    }
-
-    public void setCurrentSpent(BigDecimal ZERO) {
-        throw new UnsupportedOperationException("Not supported yet.");
-    }
-
-    public void setActive(boolean b) {
-        throw new UnsupportedOperationException("Not supported yet.");
-    }
-
     /**
      * Budget period enumeration.
      */
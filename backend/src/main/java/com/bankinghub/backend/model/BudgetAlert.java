@@ -0,0 +1,78 @@
+package com.bankinghub.backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * BudgetAlert entity recording that a budget crossed its alert threshold.
+ * <p>
+ * At most one alert exists per budget and budget period, identified by the
+ * period's start date. Alerts are queued for notification delivery until
+ * {@link #notifiedAt} is set.
+ * </p>
+ *
+ * @author Melvin Musonda Chibanda
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+@Entity
+@Table(name = "budget_alerts",
+    uniqueConstraints = @UniqueConstraint(name = "uk_budget_alerts_budget_period", columnNames = {"budget_id", "period_start"}),
+    indexes = {
+        @Index(name = "idx_budget_alerts_pending", columnList = "notified_at, id"),
+        @Index(name = "idx_budget_alerts_user", columnList = "user_id, crossed_at")
+    })
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(exclude = {"budget"})
+@ToString(exclude = {"budget"})
+public class BudgetAlert {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "budget_id", nullable = false)
+    private Budget budget;
+
+    /** Owner of the budget, copied so alerts can be listed per user without a join */
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    /** Start date of the budget period the alert belongs to */
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    /** Alert threshold (percent) that was crossed */
+    @Column(nullable = false, precision = 5, scale = 2)
+    private BigDecimal thresholdPercent;
+
+    /** Share of the limit spent when the threshold was crossed */
+    @Column(nullable = false, precision = 7, scale = 2)
+    private BigDecimal spentPercentage;
+
+    /** When the crossing was detected */
+    @Column(name = "crossed_at", nullable = false)
+    private LocalDateTime crossedAt;
+
+    /** When the alert was handed to notification delivery, or null while queued */
+    @Column(name = "notified_at")
+    private LocalDateTime notifiedAt;
+
+    public BudgetAlert(Budget budget, LocalDateTime crossedAt) {
+        this.budget = budget;
+        this.userId = budget.getUser().getId();
+        this.periodStart = budget.getStartDate();
+        this.thresholdPercent = budget.getAlertThreshold();
+        this.spentPercentage = budget.getSpentPercentage();
+        this.crossedAt = crossedAt;
+    }
+}
@@ -0,0 +1,64 @@
+package com.bankinghub.backend.model;
+
+import com.bankinghub.backend.model.Transaction.TransactionType;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DailySpendRollup entity totalling one day of completed transactions.
+ * <p>
+ * One row per user, account, category, type and transaction day, incremented
+ * in the same database transaction that posts, reverses or recategorizes a
+ * transaction. Spending over any window is then summed from at most one row
+ * per day and bucket instead of from every transaction, and longer periods
+ * are composed from the daily rows.
+ * </p>
+ *
+ * @author Melvin Musonda Chibanda
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+@Entity
+@Table(name = "daily_spend_rollups",
+    uniqueConstraints = @UniqueConstraint(name = "uk_daily_spend_rollups_bucket",
+        columnNames = {"user_id", "account_id", "category", "type", "spend_date"}),
+    indexes = @Index(name = "idx_daily_spend_rollups_user_date", columnList = "user_id, spend_date"))
+@Data
+@NoArgsConstructor
+public class DailySpendRollup {
+
+    /** Stored category of uncategorised transactions, so the unique bucket key has no nulls */
+    public static final String UNCATEGORISED = "";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    /** Transaction category, or {@link #UNCATEGORISED} */
+    @Column(nullable = false, length = 100)
+    private String category;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TransactionType type;
+
+    /** Calendar day of the transactions' {@code transactionDate} */
+    @Column(name = "spend_date", nullable = false)
+    private LocalDate spendDate;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "transaction_count", nullable = false)
+    private Long transactionCount;
+}
@@ -0,0 +1,78 @@
+package com.bankinghub.backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * IdempotencyRecord entity remembering the outcome of a request sent with an
+ * {@code Idempotency-Key} header.
+ * <p>
+ * A record is created IN_PROGRESS before the request runs and completed with
+ * the response afterwards, so a retry with the same key replays that response
+ * instead of moving money twice. Keys are scoped to the user and expire after a
+ * configured time to live.
+ * </p>
+ *
+ * @author Melvin Musonda Chibanda
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+@Entity
+@Table(name = "idempotency_keys",
+    uniqueConstraints = @UniqueConstraint(name = "uk_idempotency_keys_user_key", columnNames = {"user_id", "idempotency_key"}),
+    indexes = @Index(name = "idx_idempotency_keys_expires", columnList = "expires_at"))
+@Data
+@NoArgsConstructor
+public class IdempotencyRecord {
+
+    /** Longest key a client may send */
+    public static final int MAX_KEY_LENGTH = 100;
+
+    /** Largest response body that is kept for replay */
+    public static final int MAX_RESPONSE_LENGTH = 65535;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "idempotency_key", nullable = false, length = MAX_KEY_LENGTH)
+    private String idempotencyKey;
+
+    /** SHA-256 of method, path and body, to detect a key reused for a different request */
+    @Column(nullable = false, length = 64)
+    private String requestHash;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private IdempotencyStatus status;
+
+    private Integer responseStatus;
+
+    @Column(length = 100)
+    private String responseContentType;
+
+    @Column(length = MAX_RESPONSE_LENGTH)
+    private String responseBody;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    /**
+     * Idempotency record status enumeration.
+     */
+    public enum IdempotencyStatus {
+        /** The first request with this key is still running */
+        IN_PROGRESS,
+        /** The response is stored and will be replayed */
+        COMPLETED
+    }
+}
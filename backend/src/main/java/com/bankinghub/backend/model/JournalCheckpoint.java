@@ -0,0 +1,39 @@
+package com.bankinghub.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * JournalCheckpoint entity recording how far a posting journal has been applied.
+ * <p>
+ * Advanced in the same database transaction that applies a batch of journal
+ * entries, so after a restart replay starts exactly after the last batch that
+ * committed and no entry is applied twice.
+ * </p>
+ *
+ * @author Melvin Musonda Chibanda
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+@Entity
+@Table(name = "ledger_journal_checkpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JournalCheckpoint {
+
+    @Id
+    @Column(length = 100)
+    private String journalName;
+
+    /** Sequence of the last journal entry applied to the ledger */
+    @Column(nullable = false)
+    private Long appliedSequence;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -23,16 +23,32 @@ import java.time.LocalDateTime;
  * @since 1.0.0
  */
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+    @Index(name = "idx_transactions_account_date_id", columnList = "account_id, transaction_date, id"),
+    @Index(name = "idx_transactions_user_date", columnList = "user_id, transaction_date"),
+    @Index(name = "idx_transactions_account_created", columnList = "account_id, created_at"),
+    @Index(name = "idx_transactions_reversal_of", columnList = "reversal_of_id")
+})
 @Data
 @EqualsAndHashCode(exclude = {"account"})
 @ToString(exclude = {"account"})
 @EntityListeners(AuditingEntityListener.class)
 public class Transaction {
 
-    /** Unique identifier for the transaction */
+    /** Sequence behind {@link #id}; also used by seed data and {@code TransactionSequenceAlignment} */
+    public static final String ID_SEQUENCE = "transactions_seq";
+
+    /** Ids reserved per sequence call, so batched inserts need one round trip per block */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    /**
+     * Unique identifier for the transaction. Drawn from a pooled sequence rather
+     * than an identity column, which would force Hibernate to insert rows one
+     * at a time to read each generated key back.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_id")
+    @SequenceGenerator(name = "transactions_id", sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     /** Transaction amount */
@@ -83,6 +99,22 @@ public class Transaction {
     @JoinColumn(name = "account_id", nullable = false)
     private Account account;
 
+    /**
+     * Owner of the account, copied onto the row so per-user queries
+     * filter on this table alone instead of joining through accounts.
+     * Set on insert; rows written before the column existed are backfilled at startup.
+     */
+    @Column(name = "user_id")
+    private Long userId;
+
+    /**
+     * Transaction this row reverses. A reversal is posted as its own
+     * compensating row and the original is left untouched, so balances rebuilt
+     * from the ledger still add up at every moment.
+     */
+    @Column(name = "reversal_of_id")
+    private Long reversalOfId;
+
     /**
      * Transaction type enumeration.
      * <p>
@@ -105,7 +137,16 @@ public class Transaction {
         /** Bank fee charged */
         FEE,
         /** Interest earned or charged */
-        INTEREST
+        INTEREST;
+
+        /**
+         * Whether this type takes money out of the account and counts as spending.
+         *
+         * @return true for withdrawals, outgoing transfers, payments and fees
+         */
+        public boolean isDebit() {
+            return this == WITHDRAWAL || this == TRANSFER_OUT || this == PAYMENT || this == FEE;
+        }
     }
 
     /**
@@ -125,6 +166,16 @@ public class Transaction {
         CANCELLED
     }
 
+    /**
+     * Copies the account owner onto the row before it is first written.
+     */
+    @PrePersist
+    void assignUserId() {
+        if (userId == null && account != null && account.getUser() != null) {
+            userId = account.getUser().getId();
+        }
+    }
+
     public TransactionType getTransactionType() { 
         return type; 
     }
@@ -10,6 +10,8 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Transfer entity representing money transfers between accounts.
@@ -24,10 +26,14 @@ import java.time.LocalDateTime;
  * @since 1.0.0
  */
 @Entity
-@Table(name = "transfers")
+@Table(name = "transfers", indexes = {
+    @Index(name = "idx_transfers_from_account_scheduled_id", columnList = "from_account_id, scheduled_date, id"),
+    @Index(name = "idx_transfers_to_account_scheduled_id", columnList = "to_account_id, scheduled_date, id"),
+    @Index(name = "idx_transfers_status_scheduled", columnList = "status, scheduled_date")
+})
 @Data
-@EqualsAndHashCode(exclude = {"fromAccount", "toAccount"})
-@ToString(exclude = {"fromAccount", "toAccount"})
+@EqualsAndHashCode(exclude = {"fromAccount", "toAccount", "participants"})
+@ToString(exclude = {"fromAccount", "toAccount", "participants"})
 @EntityListeners(AuditingEntityListener.class)
 public class Transfer {
 
@@ -92,6 +98,47 @@ public class Transfer {
     @Column(length = 100)
     private String externalAccountHolderName;
 
+    /** Per-user index rows for this transfer, see {@link TransferParticipant} */
+    @OneToMany(mappedBy = "transfer", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    private List<TransferParticipant> participants = new ArrayList<>();
+
+    /**
+     * Sets the status and mirrors it onto the participant rows.
+     */
+    public void setStatus(TransferStatus status) {
+        this.status = status;
+        participants.forEach(participant -> participant.setStatus(status));
+    }
+
+    /**
+     * Sets the transfer type and mirrors it onto the participant rows.
+     */
+    public void setTransferType(TransferType transferType) {
+        this.transferType = transferType;
+        participants.forEach(participant -> participant.setTransferType(transferType));
+    }
+
+    /**
+     * Sets the scheduled date and mirrors it onto the participant rows.
+     */
+    public void setScheduledDate(LocalDateTime scheduledDate) {
+        this.scheduledDate = scheduledDate;
+        participants.forEach(participant -> participant.setScheduledDate(scheduledDate));
+    }
+
+    /**
+     * Creates the sender and recipient participant rows if they do not exist yet.
+     * Called automatically before the transfer is first persisted.
+     */
+    @PrePersist
+    public void ensureParticipants() {
+        if (!participants.isEmpty()) {
+            return;
+        }
+        participants.add(new TransferParticipant(this, fromAccount.getUser().getId(), TransferParticipant.Direction.SENT));
+        participants.add(new TransferParticipant(this, toAccount.getUser().getId(), TransferParticipant.Direction.RECEIVED));
+    }
+
     /**
      * Transfer status enumeration.
      */
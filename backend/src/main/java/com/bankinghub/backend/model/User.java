@@ -1,14 +1,17 @@
 package com.bankinghub.backend.model;
 
+import com.bankinghub.backend.security.UserSecurityStateListener;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -26,9 +29,9 @@ import java.util.List;
 @Entity
 @Table(name = "users")
 @Data
-@EqualsAndHashCode(exclude = {"accounts", "bills", "budgets"})
-@ToString(exclude = {"accounts", "bills", "budgets"})
-@EntityListeners(AuditingEntityListener.class)
+@EqualsAndHashCode(exclude = {"accounts", "bills", "budgets", "loadedSecurityState"})
+@ToString(exclude = {"accounts", "bills", "budgets", "loadedSecurityState"})
+@EntityListeners({AuditingEntityListener.class, UserSecurityStateListener.class})
 public class User {
 
     /** Unique identifier for the user */
@@ -89,6 +92,19 @@ public class User {
     @Column(nullable = false)
     private Role role = Role.USER;
 
+    /**
+     * Version stamped into issued tokens. It is incremented whenever the
+     * password, role or an account flag changes, and tokens carrying an older
+     * version are rejected.
+     */
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Integer tokenVersion = 0;
+
+    /** Password, role and account flags as last loaded or saved */
+    @Transient
+    private transient List<Object> loadedSecurityState;
+
     /** Timestamp when the user was created */
     @CreatedDate
     @Column(nullable = false, updatable = false)
@@ -110,6 +126,29 @@ public class User {
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Budget> budgets;
 
+    @PostLoad
+    @PostPersist
+    void rememberSecurityState() {
+        loadedSecurityState = securityState();
+    }
+
+    /**
+     * Invalidates every token issued so far when a change to the password,
+     * role or account flags is about to be written.
+     */
+    @PreUpdate
+    void bumpTokenVersionOnSecurityChange() {
+        List<Object> current = securityState();
+        if (loadedSecurityState != null && !loadedSecurityState.equals(current)) {
+            tokenVersion = tokenVersion + 1;
+        }
+        loadedSecurityState = current;
+    }
+
+    private List<Object> securityState() {
+        return Arrays.asList(password, role, enabled, accountNonExpired, accountNonLocked, credentialsNonExpired);
+    }
+
     /**
      * User role enumeration.
      * <p>
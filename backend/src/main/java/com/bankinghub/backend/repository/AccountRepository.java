@@ -2,12 +2,16 @@ package com.bankinghub.backend.repository;
 
 import com.bankinghub.backend.model.Account;
 import com.bankinghub.backend.model.Account.AccountType;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -34,4 +38,61 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
     long countActiveAccountsByUserId(@Param("userId") Long userId);
 
     boolean existsByAccountNumber(String accountNumber);
-}
\ No newline at end of file
+
+    @Query("SELECT MIN(a.id) FROM Account a")
+    Long findMinId();
+
+    @Query("SELECT MAX(a.id) FROM Account a")
+    Long findMaxId();
+
+    /**
+     * Debit an account only if the balance, plus any credit limit, covers the amount.
+     *
+     * @return 1 if the debit was applied, 0 if the account is missing, inactive,
+     *         not owned by the user or has insufficient funds
+     */
+    @Modifying
+    @Query("UPDATE Account a SET a.balance = a.balance - :amount, a.version = a.version + 1, a.updatedAt = :now " +
+           "WHERE a.id = :accountId AND a.user.id = :userId AND a.active = true " +
+           "AND a.balance + COALESCE(a.creditLimit, 0) >= :amount")
+    int debitIfCovered(
+            @Param("accountId") Long accountId,
+            @Param("userId") Long userId,
+            @Param("amount") BigDecimal amount,
+            @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Account a SET a.balance = a.balance + :amount, a.version = a.version + 1, a.updatedAt = :now " +
+           "WHERE a.id = :accountId AND a.user.id = :userId AND a.active = true")
+    int credit(
+            @Param("accountId") Long accountId,
+            @Param("userId") Long userId,
+            @Param("amount") BigDecimal amount,
+            @Param("now") LocalDateTime now);
+
+    @Query("SELECT a.balance FROM Account a WHERE a.id = :accountId")
+    BigDecimal findBalanceById(@Param("accountId") Long accountId);
+
+    /**
+     * The account's ledger version. Every posting, reversal and recategorization
+     * bumps it, so it identifies the ledger state a statement was rendered from.
+     */
+    @Query("SELECT a.version FROM Account a WHERE a.id = :accountId")
+    Long findVersionById(@Param("accountId") Long accountId);
+
+    /**
+     * Mark the account's ledger as changed without moving its balance, for edits
+     * such as recategorization that stored statements must not outlive.
+     */
+    @Modifying
+    @Query("UPDATE Account a SET a.version = a.version + 1 WHERE a.id = :accountId")
+    int bumpVersion(@Param("accountId") Long accountId);
+
+    /**
+     * Lock an account row for update. Callers locking several accounts must do so
+     * in ascending id order.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.id = :accountId")
+    Optional<Account> findByIdForUpdate(@Param("accountId") Long accountId);
+}
@@ -0,0 +1,44 @@
+package com.bankinghub.backend.repository;
+
+import com.bankinghub.backend.model.ArchivedTransactionMonth;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ArchivedTransactionMonthRepository extends JpaRepository<ArchivedTransactionMonth, Long> {
+
+    Optional<ArchivedTransactionMonth> findByAccountIdAndPeriodStart(Long accountId, LocalDate periodStart);
+
+    /** Archived months of an account holding transactions dated within {@code [startDate, endDate]}, oldest first */
+    @Query("SELECT m FROM ArchivedTransactionMonth m WHERE m.accountId = :accountId " +
+           "AND m.firstTransactionDate <= :endDate AND m.lastTransactionDate >= :startDate ORDER BY m.periodStart ASC")
+    List<ArchivedTransactionMonth> findByAccountIdOverlapping(
+            @Param("accountId") Long accountId,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+
+    /** Archived months of an account holding transactions posted within {@code (after, upTo]} */
+    @Query("SELECT m FROM ArchivedTransactionMonth m WHERE m.accountId = :accountId " +
+           "AND m.firstCreatedAt <= :upTo AND m.lastCreatedAt > :after")
+    List<ArchivedTransactionMonth> findByAccountIdPostedBetween(
+            @Param("accountId") Long accountId,
+            @Param("after") LocalDateTime after,
+            @Param("upTo") LocalDateTime upTo);
+
+    /** A user's archived months with transactions dated at or before {@code upTo}, latest ending first */
+    @Query("SELECT m FROM ArchivedTransactionMonth m WHERE m.userId = :userId " +
+           "AND m.firstTransactionDate <= :upTo ORDER BY m.lastTransactionDate DESC")
+    List<ArchivedTransactionMonth> findByUserIdStartingBefore(
+            @Param("userId") Long userId,
+            @Param("upTo") LocalDateTime upTo);
+
+    @Query("SELECT MAX(m.lastTransactionDate) FROM ArchivedTransactionMonth m WHERE m.userId = :userId")
+    LocalDateTime findLastTransactionDateByUserId(@Param("userId") Long userId);
+}
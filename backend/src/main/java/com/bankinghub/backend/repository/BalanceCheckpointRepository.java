@@ -0,0 +1,48 @@
+package com.bankinghub.backend.repository;
+
+import com.bankinghub.backend.model.BalanceCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+@Repository
+public interface BalanceCheckpointRepository extends JpaRepository<BalanceCheckpoint, Long> {
+
+    /** Latest checkpoint at or before {@code asOf}; served by the (account_id, as_of) unique index */
+    Optional<BalanceCheckpoint> findFirstByAccountIdAndAsOfLessThanEqualOrderByAsOfDesc(Long accountId, LocalDateTime asOf);
+
+    /** Earliest checkpoint after {@code asOf}, for moments before the first checkpoint at or before them */
+    Optional<BalanceCheckpoint> findFirstByAccountIdAndAsOfGreaterThanOrderByAsOfAsc(Long accountId, LocalDateTime asOf);
+
+    /**
+     * Checkpoint every active account in an id range at {@code asOf}, as its
+     * current balance minus the completed transactions posted since. One
+     * statement, so the balance and the transactions are read from the same
+     * snapshot. Accounts that already have the checkpoint are skipped.
+     *
+     * @return the number of checkpoints written
+     */
+    @Modifying
+    @Query(value = "INSERT INTO balance_checkpoints (account_id, as_of, balance, created_at) " +
+                   "SELECT a.id, :asOf, a.balance - COALESCE((" +
+                   "    SELECT SUM(CASE WHEN t.type IN (:debitTypes) THEN -t.amount ELSE t.amount END) " +
+                   "    FROM transactions t " +
+                   "    WHERE t.account_id = a.id AND t.status = :completed AND t.created_at > :asOf), 0), :now " +
+                   "FROM accounts a " +
+                   "WHERE a.id BETWEEN :fromId AND :toId AND a.active = true AND a.created_at <= :asOf " +
+                   "AND NOT EXISTS (SELECT 1 FROM balance_checkpoints c WHERE c.account_id = a.id AND c.as_of = :asOf)",
+           nativeQuery = true)
+    int checkpointAccounts(
+            @Param("fromId") Long fromId,
+            @Param("toId") Long toId,
+            @Param("asOf") LocalDateTime asOf,
+            @Param("debitTypes") Collection<String> debitTypes,
+            @Param("completed") String completed,
+            @Param("now") LocalDateTime now);
+}
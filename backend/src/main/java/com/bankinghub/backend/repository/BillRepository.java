@@ -20,6 +20,8 @@ public interface BillRepository extends JpaRepository<Bill, Long> {
 
     List<Bill> findByUserIdAndStatusOrderByDueDateAsc(Long userId, BillStatus status);
 
+    List<Bill> findByUserIdAndStatusInOrderByDueDateAsc(Long userId, List<BillStatus> statuses);
+
     @Query("SELECT b FROM Bill b WHERE b.user.id = :userId AND b.dueDate BETWEEN :startDate AND :endDate ORDER BY b.dueDate ASC")
     List<Bill> findByUserIdAndDueDateBetweenOrderByDueDateAsc(
             @Param("userId") Long userId,
@@ -0,0 +1,27 @@
+package com.bankinghub.backend.repository;
+
+import com.bankinghub.backend.model.BudgetAlert;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BudgetAlertRepository extends JpaRepository<BudgetAlert, Long> {
+
+    boolean existsByBudgetIdAndPeriodStart(Long budgetId, LocalDate periodStart);
+
+    @Query("SELECT a FROM BudgetAlert a JOIN FETCH a.budget b JOIN FETCH b.user WHERE a.notifiedAt IS NULL ORDER BY a.id")
+    List<BudgetAlert> findPendingDelivery(Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE BudgetAlert a SET a.notifiedAt = :notifiedAt WHERE a.id IN :ids AND a.notifiedAt IS NULL")
+    int markNotified(@Param("ids") Collection<Long> ids, @Param("notifiedAt") LocalDateTime notifiedAt);
+}
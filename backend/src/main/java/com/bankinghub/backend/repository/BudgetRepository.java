@@ -2,11 +2,15 @@ package com.bankinghub.backend.repository;
 
 import com.bankinghub.backend.model.Budget;
 import com.bankinghub.backend.model.Budget.BudgetPeriod;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -31,12 +35,33 @@ public interface BudgetRepository extends JpaRepository<Budget, Long> {
     @Query("SELECT b FROM Budget b WHERE b.user.id = :userId AND b.category = :category AND b.startDate <= :currentDate AND b.endDate >= :currentDate AND b.active = true")
     Optional<Budget> findActiveBudgetByUserIdAndCategory(@Param("userId") Long userId, @Param("category") String category, @Param("currentDate") LocalDate currentDate);
 
-    @Query("SELECT b FROM Budget b WHERE b.alertEnabled = true AND b.active = true AND (b.currentSpent / b.budgetLimit * 100) >= b.alertThreshold")
-    List<Budget> findBudgetsExceedingAlertThreshold();
+    @Query("SELECT b FROM Budget b JOIN FETCH b.user WHERE b.user.id = :userId AND b.category = :category " +
+           "AND b.startDate <= :date AND b.endDate >= :date AND b.active = true AND b.alertEnabled = true")
+    List<Budget> findAlertingBudgets(@Param("userId") Long userId, @Param("category") String category, @Param("date") LocalDate date);
 
     @Query("SELECT b FROM Budget b WHERE b.user.id = :userId AND b.currentSpent > b.budgetLimit AND b.active = true")
     List<Budget> findOverBudgetsByUserId(@Param("userId") Long userId);
 
+    @Query("SELECT b FROM Budget b WHERE b.active = true AND b.startDate <= :currentDate AND b.endDate >= :currentDate ORDER BY b.id")
+    Slice<Budget> findActiveBudgetsOnDate(@Param("currentDate") LocalDate currentDate, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Budget b SET b.currentSpent = b.currentSpent + :delta " +
+           "WHERE b.user.id = :userId AND b.category = :category AND b.active = true " +
+           "AND b.startDate <= :date AND b.endDate >= :date")
+    int addToCurrentSpent(
+            @Param("userId") Long userId,
+            @Param("category") String category,
+            @Param("date") LocalDate date,
+            @Param("delta") BigDecimal delta);
+
+    @Modifying
+    @Query("UPDATE Budget b SET b.currentSpent = :actual WHERE b.id = :budgetId AND b.currentSpent = :observed")
+    int compareAndSetCurrentSpent(
+            @Param("budgetId") Long budgetId,
+            @Param("observed") BigDecimal observed,
+            @Param("actual") BigDecimal actual);
+
     @Query("SELECT COUNT(b) FROM Budget b WHERE b.user.id = :userId AND b.active = true")
     long countActiveBudgetsByUserId(@Param("userId") Long userId);
 
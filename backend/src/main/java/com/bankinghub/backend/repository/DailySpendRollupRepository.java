@@ -0,0 +1,118 @@
+package com.bankinghub.backend.repository;
+
+import com.bankinghub.backend.model.DailySpendRollup;
+import com.bankinghub.backend.model.Transaction.TransactionType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DailySpendRollupRepository extends JpaRepository<DailySpendRollup, Long> {
+
+    /**
+     * Monthly totals of one bucket, composed from its daily rows.
+     */
+    interface MonthlySpend {
+        Integer getSpendYear();
+
+        Integer getSpendMonth();
+
+        String getCategory();
+
+        TransactionType getType();
+
+        BigDecimal getAmount();
+
+        Long getTransactionCount();
+    }
+
+    Optional<DailySpendRollup> findFirstByOrderByIdAsc();
+
+    /**
+     * Add to an existing bucket.
+     *
+     * @return 1 if the bucket exists, 0 if it has to be created first
+     */
+    @Modifying
+    @Query("UPDATE DailySpendRollup r SET r.amount = r.amount + :amount, r.transactionCount = r.transactionCount + :count " +
+           "WHERE r.userId = :userId AND r.accountId = :accountId AND r.category = :category " +
+           "AND r.type = :type AND r.spendDate = :spendDate")
+    int addToBucket(
+            @Param("userId") Long userId,
+            @Param("accountId") Long accountId,
+            @Param("category") String category,
+            @Param("type") TransactionType type,
+            @Param("spendDate") LocalDate spendDate,
+            @Param("amount") BigDecimal amount,
+            @Param("count") long count);
+
+    /**
+     * Create an empty bucket unless a concurrent posting already has.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO daily_spend_rollups (user_id, account_id, category, type, spend_date, amount, transaction_count) " +
+                   "VALUES (:userId, :accountId, :category, :type, :spendDate, 0, 0) " +
+                   "ON CONFLICT DO NOTHING",
+           nativeQuery = true)
+    int createBucket(
+            @Param("userId") Long userId,
+            @Param("accountId") Long accountId,
+            @Param("category") String category,
+            @Param("type") String type,
+            @Param("spendDate") LocalDate spendDate);
+
+    /**
+     * Build every bucket from the completed transactions in the table, in one
+     * statement. Only valid while the rollup table is empty.
+     *
+     * @return the number of buckets written
+     */
+    @Modifying
+    @Query(value = "INSERT INTO daily_spend_rollups (user_id, account_id, category, type, spend_date, amount, transaction_count) " +
+                   "SELECT COALESCE(t.user_id, a.user_id), t.account_id, COALESCE(t.category, ''), t.type, " +
+                   "       CAST(t.transaction_date AS DATE), SUM(t.amount), COUNT(*) " +
+                   "FROM transactions t JOIN accounts a ON a.id = t.account_id " +
+                   "WHERE t.status = :completed " +
+                   "GROUP BY COALESCE(t.user_id, a.user_id), t.account_id, COALESCE(t.category, ''), t.type, " +
+                   "         CAST(t.transaction_date AS DATE)",
+           nativeQuery = true)
+    int buildFromTransactions(@Param("completed") String completed);
+
+    @Query("SELECT COALESCE(SUM(r.amount), 0) FROM DailySpendRollup r WHERE r.userId = :userId " +
+           "AND r.type IN :types AND r.spendDate BETWEEN :startDate AND :endDate")
+    BigDecimal sumAmountByUserIdAndTypesAndDateBetween(
+            @Param("userId") Long userId,
+            @Param("types") Collection<TransactionType> types,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT COALESCE(SUM(r.amount), 0) FROM DailySpendRollup r WHERE r.userId = :userId " +
+           "AND r.category = :category AND r.type IN :types AND r.spendDate BETWEEN :startDate AND :endDate")
+    BigDecimal sumAmountByUserIdAndCategoryAndTypesAndDateBetween(
+            @Param("userId") Long userId,
+            @Param("category") String category,
+            @Param("types") Collection<TransactionType> types,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    /**
+     * A user's buckets summed per month across accounts: one row per month,
+     * category and type in the window, however many transactions it holds.
+     */
+    @Query("SELECT year(r.spendDate) AS spendYear, month(r.spendDate) AS spendMonth, r.category AS category, " +
+           "r.type AS type, SUM(r.amount) AS amount, SUM(r.transactionCount) AS transactionCount " +
+           "FROM DailySpendRollup r WHERE r.userId = :userId AND r.spendDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY year(r.spendDate), month(r.spendDate), r.category, r.type")
+    List<MonthlySpend> sumMonthlyByUserIdAndDateBetween(
+            @Param("userId") Long userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+}
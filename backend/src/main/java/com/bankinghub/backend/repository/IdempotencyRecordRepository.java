@@ -0,0 +1,75 @@
+package com.bankinghub.backend.repository;
+
+import com.bankinghub.backend.model.IdempotencyRecord;
+import com.bankinghub.backend.model.IdempotencyRecord.IdempotencyStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+
+    Optional<IdempotencyRecord> findByUserIdAndIdempotencyKey(Long userId, String idempotencyKey);
+
+    /**
+     * Reserve a key for a new request. The unique (user_id, idempotency_key) index
+     * makes this the only lookup on the first use of a key.
+     *
+     * @return 1 if the key was reserved, 0 if a record already exists
+     */
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_keys (user_id, idempotency_key, request_hash, status, created_at, expires_at) " +
+                   "VALUES (:userId, :key, :requestHash, 'IN_PROGRESS', :now, :expiresAt) " +
+                   "ON CONFLICT DO NOTHING",
+           nativeQuery = true)
+    int reserve(
+            @Param("userId") Long userId,
+            @Param("key") String key,
+            @Param("requestHash") String requestHash,
+            @Param("now") LocalDateTime now,
+            @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Take over a record that expired, or whose request stopped without
+     * completing, for a new request.
+     */
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.status = :inProgress, r.requestHash = :requestHash, " +
+           "r.responseStatus = null, r.responseContentType = null, r.responseBody = null, " +
+           "r.createdAt = :now, r.expiresAt = :expiresAt " +
+           "WHERE r.id = :id AND (r.expiresAt < :now OR (r.status = :inProgress AND r.createdAt < :staleBefore))")
+    int restart(
+            @Param("id") Long id,
+            @Param("requestHash") String requestHash,
+            @Param("inProgress") IdempotencyStatus inProgress,
+            @Param("now") LocalDateTime now,
+            @Param("expiresAt") LocalDateTime expiresAt,
+            @Param("staleBefore") LocalDateTime staleBefore);
+
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.status = :completed, r.responseStatus = :responseStatus, " +
+           "r.responseContentType = :contentType, r.responseBody = :body " +
+           "WHERE r.userId = :userId AND r.idempotencyKey = :key AND r.requestHash = :requestHash")
+    int complete(
+            @Param("userId") Long userId,
+            @Param("key") String key,
+            @Param("requestHash") String requestHash,
+            @Param("completed") IdempotencyStatus completed,
+            @Param("responseStatus") int responseStatus,
+            @Param("contentType") String contentType,
+            @Param("body") String body);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.userId = :userId AND r.idempotencyKey = :key " +
+           "AND r.status = :inProgress")
+    int release(@Param("userId") Long userId, @Param("key") String key, @Param("inProgress") IdempotencyStatus inProgress);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
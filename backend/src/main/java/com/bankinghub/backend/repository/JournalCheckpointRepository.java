@@ -0,0 +1,9 @@
+package com.bankinghub.backend.repository;
+
+import com.bankinghub.backend.model.JournalCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface JournalCheckpointRepository extends JpaRepository<JournalCheckpoint, String> {
+}
@@ -1,28 +1,72 @@
 package com.bankinghub.backend.repository;
 
 import com.bankinghub.backend.model.Transaction;
+import com.bankinghub.backend.model.Transaction.TransactionStatus;
 import com.bankinghub.backend.model.Transaction.TransactionType;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
 
+    /**
+     * Monthly spending of one user at one merchant.
+     */
+    interface MonthlyMerchantSpend {
+        Integer getSpendYear();
+
+        Integer getSpendMonth();
+
+        String getMerchant();
+
+        BigDecimal getAmount();
+
+        Long getTransactionCount();
+    }
+
+    /**
+     * Leaves out reversal rows and the transactions they reverse, so spending
+     * sums match the rollups, which drop both once a reversal posts.
+     */
+    String NOT_REVERSED = "AND t.reversalOfId IS NULL " +
+            "AND NOT EXISTS (SELECT r.id FROM Transaction r WHERE r.reversalOfId = t.id) ";
+
     Page<Transaction> findByAccountIdOrderByTransactionDateDesc(Long accountId, Pageable pageable);
 
     List<Transaction> findByAccountIdOrderByTransactionDateDesc(Long accountId);
 
-    @Query("SELECT t FROM Transaction t WHERE t.account.user.id = :userId ORDER BY t.transactionDate DESC")
+    @Query("SELECT t FROM Transaction t WHERE t.userId = :userId ORDER BY t.transactionDate DESC")
     Page<Transaction> findByUserIdOrderByTransactionDateDesc(@Param("userId") Long userId, Pageable pageable);
 
+    @Query("SELECT t FROM Transaction t JOIN FETCH t.account a WHERE t.userId = :userId ORDER BY t.transactionDate DESC, t.id DESC")
+    List<Transaction> findFirstHistoryPageByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT t FROM Transaction t JOIN FETCH t.account a WHERE t.userId = :userId " +
+           "AND (t.transactionDate < :cursorDate OR (t.transactionDate = :cursorDate AND t.id < :cursorId)) " +
+           "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<Transaction> findHistoryPageByUserIdAfterCursor(
+            @Param("userId") Long userId,
+            @Param("cursorDate") LocalDateTime cursorDate,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable);
+
     @Query("SELECT t FROM Transaction t WHERE t.account.id = :accountId AND t.transactionDate BETWEEN :startDate AND :endDate ORDER BY t.transactionDate DESC")
     List<Transaction> findByAccountIdAndTransactionDateBetweenOrderByTransactionDateDesc(
             @Param("accountId") Long accountId,
@@ -39,22 +83,126 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
             @Param("accountId") Long accountId,
             @Param("category") String category);
 
-    @Query("SELECT SUM(t.amount) FROM Transaction t WHERE t.account.user.id = :userId AND t.type = :type AND t.transactionDate BETWEEN :startDate AND :endDate")
+    @Query("SELECT SUM(t.amount) FROM Transaction t WHERE t.userId = :userId AND t.type = :type AND t.transactionDate BETWEEN :startDate AND :endDate")
     BigDecimal sumAmountByUserIdAndTypeAndDateBetween(
             @Param("userId") Long userId,
             @Param("type") TransactionType type,
             @Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate);
 
-    @Query("SELECT SUM(t.amount) FROM Transaction t WHERE t.account.user.id = :userId AND t.category = :category AND t.transactionDate BETWEEN :startDate AND :endDate")
+    @Query("SELECT SUM(t.amount) FROM Transaction t WHERE t.userId = :userId AND t.category = :category AND t.transactionDate BETWEEN :startDate AND :endDate")
     BigDecimal sumAmountByUserIdAndCategoryAndDateBetween(
             @Param("userId") Long userId,
             @Param("category") String category,
             @Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate);
 
-    @Query("SELECT COUNT(t) FROM Transaction t WHERE t.account.user.id = :userId")
+    @Query("SELECT SUM(t.amount) FROM Transaction t WHERE t.userId = :userId AND t.category = :category " +
+           "AND t.type IN :types AND t.status = :status AND t.transactionDate BETWEEN :startDate AND :endDate " +
+           NOT_REVERSED)
+    BigDecimal sumAmountByUserIdAndCategoryAndTypesAndDateBetween(
+            @Param("userId") Long userId,
+            @Param("category") String category,
+            @Param("types") Collection<TransactionType> types,
+            @Param("status") TransactionStatus status,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+
+    Optional<Transaction> findByIdAndUserId(Long id, Long userId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Transaction t WHERE t.id = :id AND t.userId = :userId")
+    Optional<Transaction> findByIdAndUserIdForUpdate(@Param("id") Long id, @Param("userId") Long userId);
+
+    boolean existsByReversalOfId(Long reversalOfId);
+
+    /**
+     * Forward-only read of an account's statement rows in posting order. Rows are
+     * pulled from the driver in fetch-size chunks; the caller must consume the
+     * stream inside a transaction and close it.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Transaction t WHERE t.account.id = :accountId " +
+           "AND t.transactionDate BETWEEN :startDate AND :endDate ORDER BY t.transactionDate ASC, t.id ASC")
+    Stream<Transaction> streamByAccountIdAndDateBetween(
+            @Param("accountId") Long accountId,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+
+    @Query("SELECT COUNT(t) FROM Transaction t WHERE t.userId = :userId")
     long countByUserId(@Param("userId") Long userId);
 
     List<Transaction> findTop10ByAccountIdOrderByTransactionDateDesc(Long accountId);
-}
\ No newline at end of file
+
+    List<Transaction> findTop10ByAccountIdAndUserIdOrderByTransactionDateDesc(Long accountId, Long userId);
+
+    @Query("SELECT MAX(t.id) FROM Transaction t")
+    Long findMaxId();
+
+    /**
+     * Net effect on an account's balance of the completed transactions posted in
+     * {@code (after, upTo]}: credits add, {@code debitTypes} subtract.
+     */
+    @Query("SELECT COALESCE(SUM(CASE WHEN t.type IN :debitTypes THEN -t.amount ELSE t.amount END), 0) " +
+           "FROM Transaction t WHERE t.account.id = :accountId AND t.status = :status " +
+           "AND t.createdAt > :after AND t.createdAt <= :upTo")
+    BigDecimal sumNetAmountByAccountIdAndCreatedAtBetween(
+            @Param("accountId") Long accountId,
+            @Param("debitTypes") Collection<TransactionType> debitTypes,
+            @Param("status") TransactionStatus status,
+            @Param("after") LocalDateTime after,
+            @Param("upTo") LocalDateTime upTo);
+
+    @Query("SELECT DISTINCT t.account.id FROM Transaction t WHERE t.transactionDate < :cutoff")
+    List<Long> findAccountIdsWithTransactionsBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    @Query("SELECT MIN(t.transactionDate) FROM Transaction t WHERE t.account.id = :accountId " +
+           "AND t.transactionDate >= :from AND t.transactionDate < :to")
+    LocalDateTime findFirstTransactionDateByAccountIdInPeriod(
+            @Param("accountId") Long accountId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    /**
+     * An account's transactions dated within {@code [from, to)}, locked so they
+     * cannot change while they are moved to the archive.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Transaction t WHERE t.account.id = :accountId " +
+           "AND t.transactionDate >= :from AND t.transactionDate < :to ORDER BY t.transactionDate ASC, t.id ASC")
+    List<Transaction> findByAccountIdInPeriodForUpdate(
+            @Param("accountId") Long accountId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    @Query("SELECT MIN(t.id) FROM Transaction t WHERE t.userId IS NULL")
+    Long findMinIdWithoutUserId();
+
+    @Query("SELECT MAX(t.id) FROM Transaction t WHERE t.userId IS NULL")
+    Long findMaxIdWithoutUserId();
+
+    @Modifying
+    @Query("UPDATE Transaction t SET t.userId = (SELECT a.user.id FROM Account a WHERE a.id = t.account.id) " +
+           "WHERE t.userId IS NULL AND t.id BETWEEN :fromId AND :toId")
+    int backfillUserIds(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    /**
+     * A user's transactions with a merchant summed per month and merchant, for
+     * transactions dated in {@code [startDate, endDate)}.
+     */
+    @Query("SELECT year(t.transactionDate) AS spendYear, month(t.transactionDate) AS spendMonth, " +
+           "t.merchant AS merchant, SUM(t.amount) AS amount, COUNT(t) AS transactionCount " +
+           "FROM Transaction t WHERE t.userId = :userId AND t.status = :status AND t.type IN :types " +
+           "AND t.merchant IS NOT NULL AND t.transactionDate >= :startDate AND t.transactionDate < :endDate " +
+           NOT_REVERSED +
+           "GROUP BY year(t.transactionDate), month(t.transactionDate), t.merchant")
+    List<MonthlyMerchantSpend> sumMonthlyByUserIdAndMerchant(
+            @Param("userId") Long userId,
+            @Param("status") TransactionStatus status,
+            @Param("types") Collection<TransactionType> types,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+}
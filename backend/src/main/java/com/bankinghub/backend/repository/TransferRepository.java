@@ -5,43 +5,145 @@ import com.bankinghub.backend.model.Transfer.TransferStatus;
 import com.bankinghub.backend.model.Transfer.TransferType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TransferRepository extends JpaRepository<Transfer, Long> {
 
-    @Query("SELECT t FROM Transfer t WHERE t.fromAccount.user.id = :userId OR t.toAccount.user.id = :userId ORDER BY t.scheduledDate DESC")
+    @Query(value = "SELECT t FROM Transfer t WHERE t.id IN " +
+                   "(SELECT p.transfer.id FROM TransferParticipant p WHERE p.userId = :userId) " +
+                   "ORDER BY t.scheduledDate DESC",
+           countQuery = "SELECT COUNT(DISTINCT p.transfer.id) FROM TransferParticipant p WHERE p.userId = :userId")
     Page<Transfer> findByUserIdOrderByScheduledDateDesc(@Param("userId") Long userId, Pageable pageable);
 
+    /**
+     * Sort key of one transfer in a user's history.
+     */
+    interface HistoryKey {
+        LocalDateTime getScheduledDate();
+
+        Long getTransferId();
+    }
+
+    /**
+     * Newest transfers a user took part in, read from their participant rows
+     * in {@code (user_id, scheduled_date, transfer_id)} index order. DISTINCT
+     * folds the sent and received rows of a transfer between the user's own
+     * accounts into one.
+     */
+    @Query("SELECT DISTINCT p.scheduledDate AS scheduledDate, p.transfer.id AS transferId " +
+           "FROM TransferParticipant p WHERE p.userId = :userId " +
+           "ORDER BY p.scheduledDate DESC, p.transfer.id DESC")
+    List<HistoryKey> findFirstHistoryPageKeysByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Like {@link #findFirstHistoryPageKeysByUserId}, seeking strictly past the cursor.
+     */
+    @Query("SELECT DISTINCT p.scheduledDate AS scheduledDate, p.transfer.id AS transferId " +
+           "FROM TransferParticipant p WHERE p.userId = :userId " +
+           "AND (p.scheduledDate < :cursorDate OR (p.scheduledDate = :cursorDate AND p.transfer.id < :cursorId)) " +
+           "ORDER BY p.scheduledDate DESC, p.transfer.id DESC")
+    List<HistoryKey> findHistoryPageKeysByUserIdAfterCursor(
+            @Param("userId") Long userId,
+            @Param("cursorDate") LocalDateTime cursorDate,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable);
+
+    @Query("SELECT t FROM Transfer t JOIN FETCH t.fromAccount JOIN FETCH t.toAccount WHERE t.id IN :ids")
+    List<Transfer> findAllWithAccountsByIdIn(@Param("ids") Collection<Long> ids);
+
     @Query("SELECT t FROM Transfer t WHERE t.fromAccount.id = :accountId OR t.toAccount.id = :accountId ORDER BY t.scheduledDate DESC")
     List<Transfer> findByAccountIdOrderByScheduledDateDesc(@Param("accountId") Long accountId);
 
-    @Query("SELECT t FROM Transfer t WHERE (t.fromAccount.user.id = :userId OR t.toAccount.user.id = :userId) AND t.status = :status ORDER BY t.scheduledDate DESC")
+    @Query("SELECT t FROM Transfer t WHERE t.id IN " +
+           "(SELECT p.transfer.id FROM TransferParticipant p WHERE p.userId = :userId AND p.status = :status) " +
+           "ORDER BY t.scheduledDate DESC")
     List<Transfer> findByUserIdAndStatusOrderByScheduledDateDesc(@Param("userId") Long userId, @Param("status") TransferStatus status);
 
-    @Query("SELECT t FROM Transfer t WHERE t.scheduledDate <= :currentDateTime AND t.status = :status")
-    List<Transfer> findTransfersToProcess(@Param("currentDateTime") LocalDateTime currentDateTime, @Param("status") TransferStatus status);
+    /**
+     * Lock the next due transfers for processing, skipping rows another node has
+     * locked. Pending transfers are due at their scheduled date; transfers stuck
+     * in PROCESSING since before {@code staleBefore} are reclaimed.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2")) // LockOptions.SKIP_LOCKED
+    @Query("SELECT t FROM Transfer t WHERE (t.status = :pending AND t.scheduledDate <= :now) " +
+           "OR (t.status = :processing AND t.updatedAt < :staleBefore) " +
+           "ORDER BY t.scheduledDate, t.id")
+    List<Transfer> claimDueTransfers(
+            @Param("pending") TransferStatus pending,
+            @Param("now") LocalDateTime now,
+            @Param("processing") TransferStatus processing,
+            @Param("staleBefore") LocalDateTime staleBefore,
+            Pageable pageable);
 
-    @Query("SELECT t FROM Transfer t WHERE (t.fromAccount.user.id = :userId OR t.toAccount.user.id = :userId) AND t.transferType = :transferType ORDER BY t.scheduledDate DESC")
+    @Modifying
+    @Query("UPDATE Transfer t SET t.status = :status, t.updatedAt = :now WHERE t.id IN :ids")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("status") TransferStatus status, @Param("now") LocalDateTime now);
+
+    /**
+     * Claim one due transfer if it is still in the expected status.
+     *
+     * @return 1 if this caller claimed it, 0 if it was not due or was claimed elsewhere
+     */
+    @Modifying
+    @Query("UPDATE Transfer t SET t.status = :to, t.updatedAt = :now " +
+           "WHERE t.id = :transferId AND t.status = :from AND t.scheduledDate <= :now")
+    int claimIfDue(
+            @Param("transferId") Long transferId,
+            @Param("from") TransferStatus from,
+            @Param("to") TransferStatus to,
+            @Param("now") LocalDateTime now);
+
+    @Query("SELECT t FROM Transfer t WHERE t.status = :status AND t.scheduledDate > :from AND t.scheduledDate <= :to " +
+           "ORDER BY t.scheduledDate, t.id")
+    List<Transfer> findScheduledBetween(
+            @Param("status") TransferStatus status,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE TransferParticipant p SET p.status = :status WHERE p.transfer.id IN :ids")
+    int updateParticipantStatus(@Param("ids") Collection<Long> ids, @Param("status") TransferStatus status);
+
+    @Query("SELECT t FROM Transfer t WHERE t.id IN " +
+           "(SELECT p.transfer.id FROM TransferParticipant p WHERE p.userId = :userId AND p.transferType = :transferType) " +
+           "ORDER BY t.scheduledDate DESC")
     List<Transfer> findByUserIdAndTransferTypeOrderByScheduledDateDesc(@Param("userId") Long userId, @Param("transferType") TransferType transferType);
 
-    @Query("SELECT t FROM Transfer t WHERE (t.fromAccount.user.id = :userId OR t.toAccount.user.id = :userId) AND t.scheduledDate BETWEEN :startDate AND :endDate ORDER BY t.scheduledDate DESC")
+    @Query("SELECT t FROM Transfer t WHERE t.id IN " +
+           "(SELECT p.transfer.id FROM TransferParticipant p WHERE p.userId = :userId AND p.scheduledDate BETWEEN :startDate AND :endDate) " +
+           "ORDER BY t.scheduledDate DESC")
     List<Transfer> findByUserIdAndScheduledDateBetweenOrderByScheduledDateDesc(
             @Param("userId") Long userId,
             @Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate);
 
-    @Query("SELECT COUNT(t) FROM Transfer t WHERE (t.fromAccount.user.id = :userId OR t.toAccount.user.id = :userId)")
+    @Query("SELECT COUNT(DISTINCT p.transfer.id) FROM TransferParticipant p WHERE p.userId = :userId")
     long countByUserId(@Param("userId") Long userId);
 
     List<Transfer> findTop10ByFromAccountUserIdOrToAccountUserIdOrderByScheduledDateDesc(Long fromUserId, Long toUserId);
 
     Optional<Transfer> findByReferenceNumber(String referenceNumber);
-}
\ No newline at end of file
+
+    @Query("SELECT t FROM Transfer t WHERE t.participants IS EMPTY ORDER BY t.id")
+    List<Transfer> findWithoutParticipants(Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Transfer t WHERE t.id = :transferId")
+    Optional<Transfer> findByIdForUpdate(@Param("transferId") Long transferId);
+}
@@ -11,6 +11,21 @@ import java.util.Optional;
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    /**
+     * The parts of a user that decide whether their issued tokens still hold.
+     */
+    interface SecurityState {
+        Integer getTokenVersion();
+
+        Boolean getEnabled();
+
+        Boolean getAccountNonExpired();
+
+        Boolean getAccountNonLocked();
+
+        Boolean getCredentialsNonExpired();
+    }
+
     Optional<User> findByEmail(String email);
 
     boolean existsByEmail(String email);
@@ -25,4 +40,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     @Query("SELECT u FROM User u WHERE u.twoFactorEnabled = true")
     Optional<User> findUsersWithTwoFactorEnabled();
+
+    /**
+     * Token version and account flags of one user, checked on every request
+     * authenticated from token claims.
+     */
+    @Query("SELECT u.tokenVersion AS tokenVersion, u.enabled AS enabled, u.accountNonExpired AS accountNonExpired, " +
+           "u.accountNonLocked AS accountNonLocked, u.credentialsNonExpired AS credentialsNonExpired " +
+           "FROM User u WHERE u.id = :id")
+    Optional<SecurityState> findSecurityStateById(@Param("id") Long id);
 }
\ No newline at end of file
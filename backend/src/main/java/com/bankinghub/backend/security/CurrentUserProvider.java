@@ -0,0 +1,82 @@
+package com.bankinghub.backend.security;
+
+import com.bankinghub.backend.exception.CustomBusinessException;
+import com.bankinghub.backend.exception.ResourceNotFoundException;
+import com.bankinghub.backend.model.User;
+import com.bankinghub.backend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Resolves the authenticated user for service-layer code.
+ * <p>
+ * Three levels of access are offered, cheapest first: the id (read from the
+ * principal, no I/O), a JPA reference proxy (for setting foreign keys, no
+ * SELECT), and the fully loaded entity (fetched at most once per HTTP request
+ * and kept as a request attribute).
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class CurrentUserProvider {
+
+    private static final String CURRENT_USER_ATTRIBUTE = CurrentUserProvider.class.getName() + ".USER";
+
+    private final UserRepository userRepository;
+
+    /**
+     * Returns the principal of the authenticated user.
+     *
+     * @throws CustomBusinessException if the request is not authenticated
+     */
+    public UserPrincipal getCurrentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication == null || !authentication.isAuthenticated()
+                || !(authentication.getPrincipal() instanceof UserPrincipal userPrincipal)) {
+            throw new CustomBusinessException("No authenticated user found");
+        }
+        return userPrincipal;
+    }
+
+    /**
+     * Returns the id of the authenticated user without touching the database.
+     */
+    public Long getCurrentUserId() {
+        return getCurrentPrincipal().getId();
+    }
+
+    /**
+     * Returns an uninitialized proxy for the authenticated user, suitable for
+     * assigning to a {@code user} association. No SELECT is issued.
+     */
+    public User getCurrentUserReference() {
+        return userRepository.getReferenceById(getCurrentUserId());
+    }
+
+    /**
+     * Returns the fully loaded authenticated user, reading it at most once per request.
+     */
+    public User getCurrentUser() {
+        Long userId = getCurrentUserId();
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+
+        if (attributes != null
+                && attributes.getAttribute(CURRENT_USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof User cached
+                && userId.equals(cached.getId())) {
+            return cached;
+        }
+
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+
+        if (attributes != null) {
+            attributes.setAttribute(CURRENT_USER_ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+        }
+        return user;
+    }
+}
@@ -33,6 +33,7 @@ public class CustomUserDetailsService implements UserDetailsService {
                 .id(user.getId())
                 .email(user.getEmail())
                 .password(user.getPassword())
+                .tokenVersion(user.getTokenVersion())
                 .enabled(user.getEnabled())
                 .accountNonExpired(user.getAccountNonExpired())
                 .accountNonLocked(user.getAccountNonLocked())
@@ -0,0 +1,255 @@
+package com.bankinghub.backend.security;
+
+import com.bankinghub.backend.exception.ErrorResponse;
+import com.bankinghub.backend.model.IdempotencyRecord;
+import com.bankinghub.backend.service.IdempotencyService;
+import com.bankinghub.backend.service.IdempotencyService.Claim;
+import com.bankinghub.backend.service.IdempotencyService.StoredResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Makes money-moving POST endpoints safe to retry.
+ * <p>
+ * A request to one of {@code app.idempotency.paths} that carries an
+ * {@code Idempotency-Key} header is run at most once per user and key. A retry
+ * gets the original response back with {@code Idempotent-Replayed: true}, a
+ * retry that arrives while the first request is still running gets 409, and a
+ * key reused for a different request gets 422. Runs after authentication so
+ * keys are scoped to the caller.
+ * </p>
+ * <p>
+ * A failed request normally releases its key. Endpoints listed in
+ * {@code app.idempotency.durable-paths} can commit work before they fail, so
+ * their failures, including an exception escaping the chain, are stored and
+ * replayed rather than letting a retry move the money a second time.
+ * </p>
+ */
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.idempotency.paths:/transactions,/transactions/bulk,/transactions/journal,/transfers,/transfers/*/cancel,/transactions/*/reversal}")
+    private List<String> paths;
+
+    @Value("${app.idempotency.durable-paths:/transactions/bulk,/transactions/journal,/transfers}")
+    private List<String> durablePaths;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!HttpMethod.POST.matches(request.getMethod()) || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null) {
+            return true;
+        }
+        String path = pathWithinApplication(request);
+        return paths.stream().noneMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserPrincipal principal)) {
+            // Unauthenticated requests are rejected further down the chain
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER).trim();
+        if (!StringUtils.hasText(key) || key.length() > IdempotencyRecord.MAX_KEY_LENGTH) {
+            writeError(request, response, HttpStatus.BAD_REQUEST,
+                    "Idempotency-Key must be 1 to " + IdempotencyRecord.MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        byte[] body = StreamUtils.copyToByteArray(request.getInputStream());
+        String requestHash = hash(request.getMethod(), pathWithinApplication(request), body);
+        Long userId = principal.getId();
+        Claim claim = idempotencyService.begin(userId, key, requestHash);
+
+        switch (claim.outcome()) {
+            case REPLAY -> replay(claim.response(), response);
+            case IN_PROGRESS -> writeError(request, response, HttpStatus.CONFLICT,
+                    "A request with this Idempotency-Key is still being processed");
+            case MISMATCH -> writeError(request, response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    "This Idempotency-Key was already used for a different request");
+            case STARTED -> {
+                String path = pathWithinApplication(request);
+                boolean durable = durablePaths.stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+                ContentCachingResponseWrapper capturing = new ContentCachingResponseWrapper(response);
+                boolean stored = false;
+                try {
+                    filterChain.doFilter(new CachedBodyRequest(request, body), capturing);
+                    idempotencyService.complete(userId, key, requestHash, capturing.getStatus(),
+                            capturing.getContentType(), capturing.getContentAsByteArray(), durable);
+                    stored = true;
+                } finally {
+                    if (!stored) {
+                        abandon(userId, key, requestHash, durable);
+                    }
+                    capturing.copyBodyToResponse();
+                }
+            }
+        }
+    }
+
+    /**
+     * Settle the key of a request that ended in an exception. Must not throw, or
+     * it would hide the request's own failure.
+     */
+    private void abandon(Long userId, String key, String requestHash, boolean durable) {
+        try {
+            if (durable) {
+                idempotencyService.complete(userId, key, requestHash, HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                        null, new byte[0], true);
+            } else {
+                idempotencyService.release(userId, key);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not settle Idempotency-Key {} for user {}", key, userId, e);
+        }
+    }
+
+    private void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.body() != null) {
+            byte[] bytes = stored.body().getBytes(StandardCharsets.UTF_8);
+            response.setContentLength(bytes.length);
+            response.getOutputStream().write(bytes);
+        }
+    }
+
+    private void writeError(HttpServletRequest request, HttpServletResponse response, HttpStatus status,
+                            String message) throws IOException {
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message(message)
+                .path(pathWithinApplication(request))
+                .build();
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    private static String pathWithinApplication(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static String hash(String method, String path, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((method + " " + path + "\n").getBytes(StandardCharsets.UTF_8));
+            digest.update(body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Request whose body was already read, served again from memory.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return in.read(buffer, offset, length);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException("Asynchronous reads are not supported");
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding() != null ? getCharacterEncoding() : StandardCharsets.UTF_8.name();
+            return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body),
+                    Charset.forName(encoding)));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.bankinghub.backend.security;
 
+import com.bankinghub.backend.config.SecurityProperties;
+import com.bankinghub.backend.repository.UserRepository.SecurityState;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -14,6 +17,7 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -24,17 +28,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private CustomUserDetailsService customUserDetailsService;
 
+    @Autowired
+    private UserSecurityStateService userSecurityStateService;
+
+    @Autowired
+    private SecurityProperties securityProperties;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
         try {
             String jwt = getJwtFromRequest(request);
+            Claims claims = StringUtils.hasText(jwt) ? tokenProvider.parseClaims(jwt) : null;
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String email = tokenProvider.getEmailFromToken(jwt);
+            UserDetails userDetails = claims != null ? resolveUserDetails(claims) : null;
 
-                UserDetails userDetails = customUserDetailsService.loadUserByUsername(email);
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authentication = 
                     new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -48,6 +58,35 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * The principal for verified claims, or {@code null} when the token was
+     * revoked or the account can no longer sign in.
+     */
+    private UserDetails resolveUserDetails(Claims claims) {
+        UserPrincipal principal;
+        if (securityProperties.getJwt().isClaimsPrincipal() && tokenProvider.hasPrincipalClaims(claims)) {
+            Optional<SecurityState> state = userSecurityStateService.find(tokenProvider.getUserId(claims));
+            if (state.isEmpty()) {
+                return null;
+            }
+            principal = tokenProvider.getUserPrincipalFromClaims(claims, state.get());
+        } else {
+            // Legacy tokens (or claims mode disabled) still resolve through the database
+            principal = (UserPrincipal) customUserDetailsService.loadUserByUsername(claims.getSubject());
+        }
+
+        if (tokenProvider.getTokenVersion(claims) != principal.getTokenVersion()) {
+            log.debug("Rejected token for user {}: issued before its version was bumped", principal.getId());
+            return null;
+        }
+        if (!principal.isEnabled() || !principal.isAccountNonLocked()
+                || !principal.isAccountNonExpired() || !principal.isCredentialsNonExpired()) {
+            log.debug("Rejected token for user {}: account can no longer sign in", principal.getId());
+            return null;
+        }
+        return principal;
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -55,4 +94,4 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         return null;
     }
-}
\ No newline at end of file
+}
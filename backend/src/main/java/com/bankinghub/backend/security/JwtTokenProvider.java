@@ -1,30 +1,50 @@
 package com.bankinghub.backend.security;
 
+import com.bankinghub.backend.repository.UserRepository;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.util.Collections;
 import java.util.Date;
 
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class JwtTokenProvider {
 
+    static final String CLAIM_USER_ID = "userId";
+    static final String CLAIM_ROLE = "role";
+    static final String CLAIM_TOKEN_VERSION = "tokenVersion";
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
     @Value("${app.jwt.secret}")
     private String jwtSecret;
 
     @Value("${app.jwt.expiration}")
     private Long jwtExpirationInMs;
 
+    private final VerifiedTokenCache verifiedTokenCache;
+
     private SecretKey key;
 
+    /** Parsers are immutable and thread-safe, so one instance is shared by every request */
+    private JwtParser parser;
+
     @PostConstruct
     public void init() {
         this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
     }
 
     public String generateToken(String email, Long userId) {
@@ -32,40 +52,60 @@ public class JwtTokenProvider {
         
         return Jwts.builder()
                 .setSubject(email)
-                .claim("userId", userId)
+                .claim(CLAIM_USER_ID, userId)
                 .setIssuedAt(new Date())
                 .setExpiration(expiryDate)
                 .signWith(key)
                 .compact();
     }
 
-    public String getEmailFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-
-        return claims.getSubject();
-    }
-
-    public Long getUserIdFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    /**
+     * Generates a token carrying every claim needed to rebuild the principal
+     * without loading the user (see {@link #getUserPrincipalFromClaims}).
+     */
+    public String generateToken(UserPrincipal userPrincipal) {
+        Date expiryDate = new Date(System.currentTimeMillis() + jwtExpirationInMs);
+        String role = userPrincipal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .filter(authority -> authority.startsWith(ROLE_PREFIX))
+                .map(authority -> authority.substring(ROLE_PREFIX.length()))
+                .findFirst()
+                .orElse(null);
 
-        return claims.get("userId", Long.class);
+        return Jwts.builder()
+                .setSubject(userPrincipal.getEmail())
+                .claim(CLAIM_USER_ID, userPrincipal.getId())
+                .claim(CLAIM_ROLE, role)
+                .claim(CLAIM_TOKEN_VERSION, userPrincipal.getTokenVersion())
+                .setIssuedAt(new Date())
+                .setExpiration(expiryDate)
+                .signWith(key)
+                .compact();
     }
 
-    public boolean validateToken(String authToken) {
+    /**
+     * Verifies the signature and expiry of a token and returns its claims.
+     * <p>
+     * Tokens verified before are answered from {@link VerifiedTokenCache} until
+     * they expire, so repeat calls cost a digest and a lookup instead of an HMAC check.
+     * </p>
+     *
+     * @param authToken the compact JWT
+     * @return the verified claims, or {@code null} if the token is not valid
+     */
+    public Claims parseClaims(String authToken) {
+        if (authToken == null || authToken.isEmpty()) {
+            log.error("JWT claims string is empty.");
+            return null;
+        }
+        Claims cached = verifiedTokenCache.get(authToken);
+        if (cached != null) {
+            return cached;
+        }
         try {
-            Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(authToken);
-            return true;
+            Claims claims = parser.parseClaimsJws(authToken).getBody();
+            verifiedTokenCache.put(authToken, claims);
+            return claims;
         } catch (MalformedJwtException ex) {
             log.error("Invalid JWT token");
         } catch (ExpiredJwtException ex) {
@@ -77,16 +117,72 @@ public class JwtTokenProvider {
         } catch (Exception ex) {
             log.error("JWT token validation failed", ex);
         }
-        return false;
+        return null;
+    }
+
+    /**
+     * Checks whether the claims carry everything needed for a claims-only principal.
+     * Tokens issued before the role and version claims were introduced do not.
+     */
+    public boolean hasPrincipalClaims(Claims claims) {
+        return claims.get(CLAIM_USER_ID) != null
+                && claims.get(CLAIM_ROLE) != null
+                && claims.get(CLAIM_TOKEN_VERSION) != null;
+    }
+
+    /**
+     * Builds the authenticated principal from verified claims and the user's
+     * current security state.
+     * <p>
+     * The token signature vouches for the identity and role, so no password is
+     * carried; the token version and account flags come from {@code state} so
+     * the caller can reject tokens that were revoked since they were issued.
+     * </p>
+     */
+    public UserPrincipal getUserPrincipalFromClaims(Claims claims, UserRepository.SecurityState state) {
+        return UserPrincipal.builder()
+                .id(claims.get(CLAIM_USER_ID, Long.class))
+                .email(claims.getSubject())
+                .tokenVersion(state.getTokenVersion())
+                .enabled(state.getEnabled())
+                .accountNonExpired(state.getAccountNonExpired())
+                .accountNonLocked(state.getAccountNonLocked())
+                .credentialsNonExpired(state.getCredentialsNonExpired())
+                .authorities(Collections.singletonList(
+                        new SimpleGrantedAuthority(ROLE_PREFIX + claims.get(CLAIM_ROLE, String.class))))
+                .build();
+    }
+
+    /**
+     * The user id a token was issued for.
+     */
+    public Long getUserId(Claims claims) {
+        return claims.get(CLAIM_USER_ID, Long.class);
+    }
+
+    /**
+     * The token version a token was issued with; tokens issued before the
+     * claim was introduced count as version 0.
+     */
+    public int getTokenVersion(Claims claims) {
+        Integer version = claims.get(CLAIM_TOKEN_VERSION, Integer.class);
+        return version != null ? version : 0;
+    }
+
+    public String getEmailFromToken(String token) {
+        return verifiedClaims(token).getSubject();
+    }
+
+    public Long getUserIdFromToken(String token) {
+        return verifiedClaims(token).get(CLAIM_USER_ID, Long.class);
+    }
+
+    public boolean validateToken(String authToken) {
+        return parseClaims(authToken) != null;
     }
 
     public Date getExpirationDateFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claims.getExpiration();
+        return verifiedClaims(token).getExpiration();
     }
 
     public boolean isTokenExpired(String token) {
@@ -97,4 +193,15 @@ public class JwtTokenProvider {
     public Long getExpirationTime() {
         return jwtExpirationInMs;
     }
-}
\ No newline at end of file
+
+    /** Cached claims when available, otherwise a full parse that throws on invalid tokens */
+    private Claims verifiedClaims(String token) {
+        Claims cached = verifiedTokenCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        verifiedTokenCache.put(token, claims);
+        return claims;
+    }
+}
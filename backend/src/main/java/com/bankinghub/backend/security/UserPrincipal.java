@@ -14,6 +14,7 @@ public class UserPrincipal implements UserDetails {
     private Long id;
     private String email;
     private String password;
+    private Integer tokenVersion;
     private boolean enabled;
     private boolean accountNonExpired;
     private boolean accountNonLocked;
@@ -0,0 +1,34 @@
+package com.bankinghub.backend.security;
+
+import com.bankinghub.backend.config.CacheConfig;
+import com.bankinghub.backend.model.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Entity listener that drops a user's cached {@link UserSecurityStateService}
+ * entry whenever the user row changes.
+ * <p>
+ * The cache manager is transaction-aware, so the eviction lands once the
+ * update commits and a concurrent request cannot cache the old state again.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class UserSecurityStateListener {
+
+    private final CacheManager cacheManager;
+
+    @PostUpdate
+    @PostRemove
+    void evict(User user) {
+        Cache cache = cacheManager.getCache(CacheConfig.USER_SECURITY_STATES);
+        if (cache != null) {
+            cache.evict(user.getId());
+        }
+    }
+}
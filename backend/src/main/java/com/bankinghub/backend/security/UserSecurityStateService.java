@@ -0,0 +1,35 @@
+package com.bankinghub.backend.security;
+
+import com.bankinghub.backend.config.CacheConfig;
+import com.bankinghub.backend.repository.UserRepository;
+import com.bankinghub.backend.repository.UserRepository.SecurityState;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Current token version and account flags of a user, as checked on every
+ * request authenticated from token claims.
+ * <p>
+ * Lookups are kept in the short-lived {@link CacheConfig#USER_SECURITY_STATES}
+ * cache, so a busy user costs one small query per entry lifetime rather than
+ * one per request. {@link UserSecurityStateListener} evicts the entry as soon
+ * as the user is updated on this instance.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class UserSecurityStateService {
+
+    private final UserRepository userRepository;
+
+    /**
+     * @return the user's state, or empty when the user no longer exists
+     */
+    @Cacheable(cacheNames = CacheConfig.USER_SECURITY_STATES, key = "#userId")
+    public Optional<SecurityState> find(Long userId) {
+        return userRepository.findSecurityStateById(userId);
+    }
+}
@@ -1,18 +1,17 @@
 package com.bankinghub.backend.service;
 
+import com.bankinghub.backend.config.CacheConfig;
 import com.bankinghub.backend.dto.request.AccountRequestDTO;
 import com.bankinghub.backend.dto.response.AccountResponseDTO;
 import com.bankinghub.backend.exception.CustomBusinessException;
 import com.bankinghub.backend.exception.ResourceNotFoundException;
 import com.bankinghub.backend.model.Account;
-import com.bankinghub.backend.model.User;
 import com.bankinghub.backend.repository.AccountRepository;
-import com.bankinghub.backend.repository.UserRepository;
-import com.bankinghub.backend.security.UserPrincipal;
+import com.bankinghub.backend.security.CurrentUserProvider;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,15 +25,15 @@ import java.util.stream.Collectors;
 public class AccountService {
 
     private final AccountRepository accountRepository;
-    private final UserRepository userRepository;
+    private final CurrentUserProvider currentUserProvider;
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ACTIVE_ACCOUNTS, key = "@currentUserProvider.currentUserId")
     public AccountResponseDTO createAccount(AccountRequestDTO accountRequest) {
-        User currentUser = getCurrentUser();
-        log.info("Creating account for user: {}", currentUser.getEmail());
+        log.info("Creating account for user: {}", currentUserProvider.getCurrentPrincipal().getEmail());
 
         Account account = new Account();
-        account.setUser(currentUser);
+        account.setUser(currentUserProvider.getCurrentUserReference());
         account.setAccountType(accountRequest.getAccountType());
         account.setAccountName(accountRequest.getAccountName());
         account.setDescription(accountRequest.getDescription());
@@ -50,9 +49,9 @@ public class AccountService {
     }
 
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.ACTIVE_ACCOUNTS, key = "@currentUserProvider.currentUserId")
     public List<AccountResponseDTO> getUserAccounts() {
-        User currentUser = getCurrentUser();
-        List<Account> accounts = accountRepository.findByUserIdAndActiveTrue(currentUser.getId());
+        List<Account> accounts = accountRepository.findByUserIdAndActiveTrue(currentUserProvider.getCurrentUserId());
         
         return accounts.stream()
                 .map(this::convertToAccountResponse)
@@ -61,17 +60,16 @@ public class AccountService {
 
     @Transactional(readOnly = true)
     public AccountResponseDTO getAccountById(Long accountId) {
-        User currentUser = getCurrentUser();
-        Account account = accountRepository.findByIdAndUserId(accountId, currentUser.getId())
+        Account account = accountRepository.findByIdAndUserId(accountId, currentUserProvider.getCurrentUserId())
                 .orElseThrow(() -> new ResourceNotFoundException("Account not found with id: " + accountId));
 
         return convertToAccountResponse(account);
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ACTIVE_ACCOUNTS, key = "@currentUserProvider.currentUserId")
     public AccountResponseDTO updateAccount(Long accountId, AccountRequestDTO accountRequest) {
-        User currentUser = getCurrentUser();
-        Account account = accountRepository.findByIdAndUserId(accountId, currentUser.getId())
+        Account account = accountRepository.findByIdAndUserId(accountId, currentUserProvider.getCurrentUserId())
                 .orElseThrow(() -> new ResourceNotFoundException("Account not found with id: " + accountId));
 
         account.setAccountName(accountRequest.getAccountName());
@@ -86,9 +84,9 @@ public class AccountService {
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ACTIVE_ACCOUNTS, key = "@currentUserProvider.currentUserId")
     public void deleteAccount(Long accountId) {
-        User currentUser = getCurrentUser();
-        Account account = accountRepository.findByIdAndUserId(accountId, currentUser.getId())
+        Account account = accountRepository.findByIdAndUserId(accountId, currentUserProvider.getCurrentUserId())
                 .orElseThrow(() -> new ResourceNotFoundException("Account not found with id: " + accountId));
 
         if (account.getBalance().compareTo(java.math.BigDecimal.ZERO) != 0) {
@@ -100,14 +98,6 @@ public class AccountService {
         log.info("Account deactivated successfully: {}", account.getAccountNumber());
     }
 
-    private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        
-        return userRepository.findById(userPrincipal.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-    }
-
     private String generateAccountNumber() {
         String prefix = "MB"; // MelvinBank prefix
         Random random = new Random();
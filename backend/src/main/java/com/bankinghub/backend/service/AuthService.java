@@ -1,5 +1,6 @@
 package com.bankinghub.backend.service;
 
+import com.bankinghub.backend.config.CacheConfig;
 import com.bankinghub.backend.dto.request.LoginRequestDTO;
 import com.bankinghub.backend.dto.request.UserRequestDTO;
 import com.bankinghub.backend.dto.response.JwtResponseDTO;
@@ -8,10 +9,12 @@ import com.bankinghub.backend.exception.CustomBusinessException;
 import com.bankinghub.backend.exception.ResourceNotFoundException;
 import com.bankinghub.backend.model.User;
 import com.bankinghub.backend.repository.UserRepository;
+import com.bankinghub.backend.security.CurrentUserProvider;
 import com.bankinghub.backend.security.JwtTokenProvider;
 import com.bankinghub.backend.security.UserPrincipal;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -29,6 +32,7 @@ public class AuthService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider tokenProvider;
+    private final CurrentUserProvider currentUserProvider;
 
     @Transactional
     public UserResponseDTO registerUser(UserRequestDTO userRequest) {
@@ -67,7 +71,7 @@ public class AuthService {
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        String jwt = tokenProvider.generateToken(userPrincipal.getEmail(), userPrincipal.getId());
+        String jwt = tokenProvider.generateToken(userPrincipal);
 
         User user = userRepository.findByEmail(userPrincipal.getEmail())
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
@@ -80,18 +84,9 @@ public class AuthService {
     }
 
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.USER_PROFILES, key = "@currentUserProvider.currentUserId")
     public UserResponseDTO getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new CustomBusinessException("No authenticated user found");
-        }
-
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        User user = userRepository.findById(userPrincipal.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-        return convertToUserResponse(user);
+        return convertToUserResponse(currentUserProvider.getCurrentUser());
     }
 
     private UserResponseDTO convertToUserResponse(User user) {
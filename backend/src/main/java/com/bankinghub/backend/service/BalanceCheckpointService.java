@@ -0,0 +1,141 @@
+package com.bankinghub.backend.service;
+
+import com.bankinghub.backend.dto.response.BalanceAsOfResponseDTO;
+import com.bankinghub.backend.exception.CustomBusinessException;
+import com.bankinghub.backend.exception.ResourceNotFoundException;
+import com.bankinghub.backend.model.Account;
+import com.bankinghub.backend.model.BalanceCheckpoint;
+import com.bankinghub.backend.model.Transaction.TransactionStatus;
+import com.bankinghub.backend.model.Transaction.TransactionType;
+import com.bankinghub.backend.repository.AccountRepository;
+import com.bankinghub.backend.repository.BalanceCheckpointRepository;
+import com.bankinghub.backend.repository.TransactionRepository;
+import com.bankinghub.backend.security.CurrentUserProvider;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Daily balance checkpoints and balance-as-of lookups.
+ * <p>
+ * Shortly after midnight every active account gets a checkpoint of its balance
+ * at the day close. A historical balance is then the nearest checkpoint at or
+ * before the requested moment plus the transactions posted in between, so a
+ * lookup reads at most about a day of an account's ledger however old the
+ * account is. Moments before the first checkpoint are worked back from the
+ * earliest checkpoint after them, or from the live balance if there is none.
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BalanceCheckpointService {
+
+    private static final List<String> DEBIT_TYPE_NAMES = BudgetSpendService.SPENDING_TYPES.stream()
+            .map(TransactionType::name)
+            .toList();
+
+    private final BalanceCheckpointRepository balanceCheckpointRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final CurrentUserProvider currentUserProvider;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionArchiveService transactionArchiveService;
+
+    @Value("${app.balances.checkpoint.batch-size:1000}")
+    private long batchSize;
+
+    /**
+     * Checkpoint every active account at the close of yesterday. Runs a few
+     * minutes past midnight so postings still in flight at midnight have committed.
+     */
+    @Scheduled(cron = "${app.balances.checkpoint.cron:0 5 0 * * *}")
+    public void checkpointDayClose() {
+        checkpoint(LocalDate.now().atStartOfDay());
+    }
+
+    /**
+     * Write the checkpoint at {@code asOf} for every active account that lacks
+     * one, walking the account ids in chunks with one transaction per chunk.
+     *
+     * @return the number of checkpoints written
+     */
+    public int checkpoint(LocalDateTime asOf) {
+        Long minId = accountRepository.findMinId();
+        Long maxId = accountRepository.findMaxId();
+        if (minId == null || maxId == null) {
+            return 0;
+        }
+
+        int written = 0;
+        for (long start = minId; start <= maxId; start += batchSize) {
+            long fromId = start;
+            long toId = Math.min(start + batchSize - 1, maxId);
+            try {
+                Integer count = transactionTemplate.execute(status -> balanceCheckpointRepository.checkpointAccounts(
+                        fromId, toId, asOf, DEBIT_TYPE_NAMES, TransactionStatus.COMPLETED.name(), LocalDateTime.now()));
+                written += count != null ? count : 0;
+            } catch (DataIntegrityViolationException e) {
+                // Another node checkpointed this range at the same moment
+                log.debug("Balance checkpoints {} for accounts {} to {} already written", asOf, fromId, toId);
+            }
+        }
+        log.info("Wrote {} balance checkpoints as of {}", written, asOf);
+        return written;
+    }
+
+    /**
+     * Balance of one of the current user's accounts at {@code asOf}, counting
+     * every completed transaction posted up to and including that moment.
+     */
+    @Transactional(readOnly = true)
+    public BalanceAsOfResponseDTO getBalanceAsOf(Long accountId, LocalDateTime asOf) {
+        Account account = accountRepository.findByIdAndUserId(accountId, currentUserProvider.getCurrentUserId())
+                .orElseThrow(() -> new ResourceNotFoundException("Account not found with id: " + accountId));
+        LocalDateTime now = LocalDateTime.now();
+        if (asOf.isAfter(now)) {
+            throw new CustomBusinessException("Balance date must not be in the future");
+        }
+        if (account.getCreatedAt() != null && asOf.isBefore(account.getCreatedAt())) {
+            return new BalanceAsOfResponseDTO(accountId, asOf, BigDecimal.ZERO, null);
+        }
+
+        Optional<BalanceCheckpoint> before = balanceCheckpointRepository
+                .findFirstByAccountIdAndAsOfLessThanEqualOrderByAsOfDesc(accountId, asOf);
+        if (before.isPresent()) {
+            BalanceCheckpoint checkpoint = before.get();
+            BigDecimal balance = checkpoint.getBalance().add(netPosted(accountId, checkpoint.getAsOf(), asOf));
+            return new BalanceAsOfResponseDTO(accountId, asOf, balance, checkpoint.getAsOf());
+        }
+
+        Optional<BalanceCheckpoint> after = balanceCheckpointRepository
+                .findFirstByAccountIdAndAsOfGreaterThanOrderByAsOfAsc(accountId, asOf);
+        if (after.isPresent()) {
+            BalanceCheckpoint checkpoint = after.get();
+            BigDecimal balance = checkpoint.getBalance().subtract(netPosted(accountId, asOf, checkpoint.getAsOf()));
+            return new BalanceAsOfResponseDTO(accountId, asOf, balance, checkpoint.getAsOf());
+        }
+
+        // Account younger than the first checkpoint run: work back from the live balance
+        BigDecimal balance = account.getBalance().subtract(netPosted(accountId, asOf, now));
+        return new BalanceAsOfResponseDTO(accountId, asOf, balance, null);
+    }
+
+    private BigDecimal netPosted(Long accountId, LocalDateTime after, LocalDateTime upTo) {
+        BigDecimal net = transactionRepository.sumNetAmountByAccountIdAndCreatedAtBetween(
+                accountId, BudgetSpendService.SPENDING_TYPES, TransactionStatus.COMPLETED, after, upTo);
+        return net.add(transactionArchiveService.sumNetPosted(
+                accountId, BudgetSpendService.SPENDING_TYPES, TransactionStatus.COMPLETED, after, upTo));
+    }
+}
@@ -0,0 +1,63 @@
+package com.bankinghub.backend.service;
+
+import com.bankinghub.backend.config.CacheConfig;
+import com.bankinghub.backend.dto.response.BillResponseDTO;
+import com.bankinghub.backend.model.Bill;
+import com.bankinghub.backend.model.Bill.BillStatus;
+import com.bankinghub.backend.repository.BillRepository;
+import com.bankinghub.backend.security.CurrentUserProvider;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BillService {
+
+    /** Bills that still need to be paid */
+    private static final List<BillStatus> ACTIVE_STATUSES =
+            List.of(BillStatus.PENDING, BillStatus.SCHEDULED, BillStatus.OVERDUE);
+
+    private final BillRepository billRepository;
+    private final CurrentUserProvider currentUserProvider;
+
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.ACTIVE_BILLS, key = "@currentUserProvider.currentUserId")
+    public List<BillResponseDTO> getActiveBills() {
+        List<Bill> bills = billRepository.findByUserIdAndStatusInOrderByDueDateAsc(
+                currentUserProvider.getCurrentUserId(), ACTIVE_STATUSES);
+
+        return bills.stream()
+                .map(this::convertToBillResponse)
+                .collect(Collectors.toList());
+    }
+
+    private BillResponseDTO convertToBillResponse(Bill bill) {
+        BillResponseDTO response = new BillResponseDTO();
+        response.setId(bill.getId());
+        response.setPayeeName(bill.getPayeeName());
+        response.setAmount(bill.getAmount());
+        response.setDueDate(bill.getDueDate());
+        response.setStatus(bill.getStatus());
+        response.setCategory(bill.getCategory());
+        response.setDescription(bill.getDescription());
+        response.setRecurring(bill.getRecurring());
+        response.setRecurrenceFrequency(bill.getRecurrenceFrequency());
+        response.setAutoPay(bill.getAutoPay());
+        response.setAutoPayAccountId(bill.getAutoPayAccountId());
+        response.setLastPaidDate(bill.getLastPaidDate());
+        response.setNextDueDate(bill.getNextDueDate());
+        response.setPayeeAccountNumber(bill.getPayeeAccountNumber());
+        response.setPayeeAddress(bill.getPayeeAddress());
+        response.setCreatedAt(bill.getCreatedAt());
+        response.setUpdatedAt(bill.getUpdatedAt());
+
+        return response;
+    }
+}
@@ -0,0 +1,111 @@
+package com.bankinghub.backend.service;
+
+import com.bankinghub.backend.event.BudgetSpendIncreasedEvent;
+import com.bankinghub.backend.model.Budget;
+import com.bankinghub.backend.model.BudgetAlert;
+import com.bankinghub.backend.model.User;
+import com.bankinghub.backend.repository.BudgetAlertRepository;
+import com.bankinghub.backend.repository.BudgetRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Budget alert engine.
+ * <p>
+ * Only budgets that just received spend are evaluated, after the ledger change
+ * commits. The first threshold crossing in a budget period is recorded as a
+ * {@link BudgetAlert}; the unique (budget, period) key makes later crossings in
+ * the same period no-ops. Queued alerts are delivered in batches, one digest
+ * per user.
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BudgetAlertService {
+
+    private final BudgetRepository budgetRepository;
+    private final BudgetAlertRepository budgetAlertRepository;
+    private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.budgets.alerts.delivery-batch-size:200}")
+    private int deliveryBatchSize;
+
+    @Value("${app.features.email-notifications:true}")
+    private boolean emailNotificationsEnabled;
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onBudgetSpendIncreased(BudgetSpendIncreasedEvent event) {
+        List<Budget> budgets = transactionTemplate.execute(status ->
+                budgetRepository.findAlertingBudgets(event.userId(), event.category(), event.date()));
+        if (budgets == null) {
+            return;
+        }
+
+        for (Budget budget : budgets) {
+            if (budget.getAlertThreshold() != null && budget.shouldAlert()) {
+                recordCrossing(budget);
+            }
+        }
+    }
+
+    /**
+     * Deliver queued alerts, grouped into one notification per user.
+     */
+    @Scheduled(fixedDelayString = "${app.budgets.alerts.delivery-interval-ms:60000}")
+    public void deliverPendingAlerts() {
+        List<BudgetAlert> batch;
+        do {
+            batch = transactionTemplate.execute(status ->
+                    budgetAlertRepository.findPendingDelivery(PageRequest.of(0, deliveryBatchSize)));
+            if (batch == null || batch.isEmpty()) {
+                return;
+            }
+
+            Map<Long, List<BudgetAlert>> alertsByUser = batch.stream()
+                    .collect(Collectors.groupingBy(BudgetAlert::getUserId, LinkedHashMap::new, Collectors.toList()));
+            if (emailNotificationsEnabled) {
+                alertsByUser.values().forEach(alerts -> {
+                    User user = alerts.get(0).getBudget().getUser();
+                    emailService.sendBudgetAlertDigest(user, alerts);
+                });
+            }
+
+            List<Long> ids = batch.stream().map(BudgetAlert::getId).collect(Collectors.toList());
+            transactionTemplate.executeWithoutResult(status ->
+                    budgetAlertRepository.markNotified(ids, LocalDateTime.now()));
+            log.info("Delivered {} budget alerts to {} users", batch.size(), alertsByUser.size());
+        } while (batch.size() == deliveryBatchSize);
+    }
+
+    private void recordCrossing(Budget budget) {
+        if (budgetAlertRepository.existsByBudgetIdAndPeriodStart(budget.getId(), budget.getStartDate())) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    budgetAlertRepository.save(new BudgetAlert(budget, LocalDateTime.now())));
+            log.info("Budget {} crossed its {}% alert threshold", budget.getId(), budget.getAlertThreshold());
+        } catch (DataIntegrityViolationException e) {
+            // Another posting recorded this period's alert first
+            log.debug("Alert for budget {} period {} already recorded", budget.getId(), budget.getStartDate());
+        }
+    }
+}
@@ -1,26 +1,24 @@
 package com.bankinghub.backend.service;
 
+import com.bankinghub.backend.config.CacheConfig;
 import com.bankinghub.backend.dto.request.BudgetRequestDTO;
 import com.bankinghub.backend.dto.response.BudgetResponseDTO;
 import com.bankinghub.backend.exception.CustomBusinessException;
 import com.bankinghub.backend.exception.ResourceNotFoundException;
 import com.bankinghub.backend.model.Budget;
-import com.bankinghub.backend.model.User;
 import com.bankinghub.backend.repository.BudgetRepository;
-import com.bankinghub.backend.repository.TransactionRepository;
-import com.bankinghub.backend.repository.UserRepository;
-import com.bankinghub.backend.security.UserPrincipal;
+import com.bankinghub.backend.security.CurrentUserProvider;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -28,22 +26,24 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class BudgetService {
 
-    private final BudgetRepository budgetRepository = null;
-    private final UserRepository userRepository = null;
-    private final TransactionRepository transactionRepository = null;
+    private final BudgetRepository budgetRepository;
+    private final BudgetSpendService budgetSpendService;
+    private final CurrentUserProvider currentUserProvider;
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ACTIVE_BUDGETS, key = "@currentUserProvider.currentUserId")
     public BudgetResponseDTO createBudget(BudgetRequestDTO budgetRequest) {
-        User currentUser = getCurrentUser();
-        log.info("Creating budget for user: {} in category: {}", currentUser.getEmail(), budgetRequest.getCategory());
+        Long currentUserId = currentUserProvider.getCurrentUserId();
+        log.info("Creating budget for user: {} in category: {}",
+                currentUserProvider.getCurrentPrincipal().getEmail(), budgetRequest.getCategory());
 
         // Check if active budget already exists for this category
-        if (budgetRepository.findByUserIdAndCategoryAndActiveTrue(currentUser.getId(), budgetRequest.getCategory()).isPresent()) {
+        if (budgetRepository.findByUserIdAndCategoryAndActiveTrue(currentUserId, budgetRequest.getCategory()).isPresent()) {
             throw new CustomBusinessException("Active budget already exists for category: " + budgetRequest.getCategory());
         }
 
         Budget budget = new Budget();
-        budget.setUser(currentUser);
+        budget.setUser(currentUserProvider.getCurrentUserReference());
         budget.setCategory(budgetRequest.getCategory());
         budget.setBudgetLimit(budgetRequest.getBudgetLimit());
         budget.setStartDate(budgetRequest.getStartDate());
@@ -65,9 +65,9 @@ public class BudgetService {
     }
 
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.ACTIVE_BUDGETS, key = "@currentUserProvider.currentUserId")
     public List<BudgetResponseDTO> getUserBudgets() {
-        User currentUser = getCurrentUser();
-        List<Budget> budgets = budgetRepository.findByUserIdAndActiveTrue(currentUser.getId());
+        List<Budget> budgets = budgetRepository.findByUserIdAndActiveTrue(currentUserProvider.getCurrentUserId());
         
         return budgets.stream()
                 .map(this::convertToBudgetResponse)
@@ -76,19 +76,24 @@ public class BudgetService {
 
     @Transactional(readOnly = true)
     public BudgetResponseDTO getBudgetById(Long budgetId) {
-        User currentUser = getCurrentUser();
-        Budget budget = budgetRepository.findByIdAndUserId(budgetId, currentUser.getId())
+        Budget budget = budgetRepository.findByIdAndUserId(budgetId, currentUserProvider.getCurrentUserId())
                 .orElseThrow(() -> new ResourceNotFoundException("Budget not found with id: " + budgetId));
 
         return convertToBudgetResponse(budget);
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ACTIVE_BUDGETS, key = "@currentUserProvider.currentUserId")
     public BudgetResponseDTO updateBudget(Long budgetId, BudgetRequestDTO budgetRequest) {
-        User currentUser = getCurrentUser();
-        Budget budget = budgetRepository.findByIdAndUserId(budgetId, currentUser.getId())
+        Budget budget = budgetRepository.findByIdAndUserId(budgetId, currentUserProvider.getCurrentUserId())
                 .orElseThrow(() -> new ResourceNotFoundException("Budget not found with id: " + budgetId));
 
+        // Spend only needs a full recompute when the window or category moves;
+        // otherwise it is kept current by BudgetSpendService as transactions post
+        boolean scopeChanged = !Objects.equals(budget.getCategory(), budgetRequest.getCategory())
+                || !Objects.equals(budget.getStartDate(), budgetRequest.getStartDate())
+                || !Objects.equals(budget.getEndDate(), budgetRequest.getEndDate());
+
         // Update fields
         budget.setCategory(budgetRequest.getCategory());
         budget.setBudgetLimit(budgetRequest.getBudgetLimit());
@@ -101,18 +106,19 @@ public class BudgetService {
         budget.setActive(budgetRequest.getActive());
 
         Budget updatedBudget = budgetRepository.save(budget);
-        
-        // Recalculate spent amount
-        updateBudgetSpentAmount(updatedBudget);
+
+        if (scopeChanged) {
+            updateBudgetSpentAmount(updatedBudget);
+        }
 
         log.info("Budget updated successfully: {}", updatedBudget.getCategory());
         return convertToBudgetResponse(updatedBudget);
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ACTIVE_BUDGETS, key = "@currentUserProvider.currentUserId")
     public void deleteBudget(Long budgetId) {
-        User currentUser = getCurrentUser();
-        Budget budget = budgetRepository.findByIdAndUserId(budgetId, currentUser.getId())
+        Budget budget = budgetRepository.findByIdAndUserId(budgetId, currentUserProvider.getCurrentUserId())
                 .orElseThrow(() -> new ResourceNotFoundException("Budget not found with id: " + budgetId));
 
         budget.setActive(false);
@@ -122,17 +128,17 @@ public class BudgetService {
 
     @Transactional(readOnly = true)
     public List<BudgetResponseDTO> getBudgetsExceedingAlert() {
-        List<Budget> alertBudgets = budgetRepository.findBudgetsExceedingAlertThreshold();
-        
-        return alertBudgets.stream()
+        List<Budget> budgets = budgetRepository.findByUserIdAndActiveTrue(currentUserProvider.getCurrentUserId());
+
+        return budgets.stream()
+                .filter(budget -> budget.getAlertThreshold() != null && budget.shouldAlert())
                 .map(this::convertToBudgetResponse)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     public List<BudgetResponseDTO> getOverBudgets() {
-        User currentUser = getCurrentUser();
-        List<Budget> overBudgets = budgetRepository.findOverBudgetsByUserId(currentUser.getId());
+        List<Budget> overBudgets = budgetRepository.findOverBudgetsByUserId(currentUserProvider.getCurrentUserId());
         
         return overBudgets.stream()
                 .map(this::convertToBudgetResponse)
@@ -140,29 +146,12 @@ public class BudgetService {
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ACTIVE_BUDGETS, key = "#budget.user.id")
     public void updateBudgetSpentAmount(Budget budget) {
-        LocalDateTime startDateTime = budget.getStartDate().atStartOfDay();
-        LocalDateTime endDateTime = budget.getEndDate().atTime(23, 59, 59);
-
-        BigDecimal totalSpent = transactionRepository.sumAmountByUserIdAndCategoryAndDateBetween(
-                budget.getUser().getId(), 
-                budget.getCategory(),
-                startDateTime,
-                endDateTime
-        );
-
-        budget.setCurrentSpent(totalSpent != null ? totalSpent : BigDecimal.ZERO);
+        budget.setCurrentSpent(budgetSpendService.calculateSpent(budget));
         budgetRepository.save(budget);
     }
 
-    private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        
-        return userRepository.findById(userPrincipal.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-    }
-
     private BudgetResponseDTO convertToBudgetResponse(Budget budget) {
         BudgetResponseDTO response = new BudgetResponseDTO();
         response.setId(budget.getId());
@@ -0,0 +1,231 @@
+package com.bankinghub.backend.service;
+
+import com.bankinghub.backend.config.CacheConfig;
+import com.bankinghub.backend.event.BudgetSpendIncreasedEvent;
+import com.bankinghub.backend.event.TransactionPostedEvent;
+import com.bankinghub.backend.event.TransactionRecategorizedEvent;
+import com.bankinghub.backend.event.TransactionReversedEvent;
+import com.bankinghub.backend.event.TransactionsPostedEvent;
+import com.bankinghub.backend.model.Budget;
+import com.bankinghub.backend.model.Transaction;
+import com.bankinghub.backend.model.Transaction.TransactionStatus;
+import com.bankinghub.backend.model.Transaction.TransactionType;
+import com.bankinghub.backend.repository.BudgetRepository;
+import com.bankinghub.backend.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps {@link Budget#getCurrentSpent()} in step with the ledger.
+ * <p>
+ * Posting, reversing or recategorizing a completed debit applies its amount as a
+ * delta to the matching budgets with a single conditional UPDATE, inside the
+ * transaction that changed the ledger. A scheduled reconciliation pass recomputes
+ * active budgets from the transactions table and corrects any drift. Whenever
+ * spend goes up a {@link BudgetSpendIncreasedEvent} is published so alerting only
+ * looks at the budgets that changed.
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BudgetSpendService {
+
+    static final Set<TransactionType> SPENDING_TYPES = Arrays.stream(TransactionType.values())
+            .filter(TransactionType::isDebit)
+            .collect(Collectors.toCollection(() -> EnumSet.noneOf(TransactionType.class)));
+
+    private final BudgetRepository budgetRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SpendRollupService spendRollupService;
+
+    @Value("${app.budgets.reconcile.batch-size:500}")
+    private int reconcileBatchSize;
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    @CacheEvict(cacheNames = CacheConfig.ACTIVE_BUDGETS, key = "#event.transaction().userId",
+                condition = "#event.transaction().userId != null")
+    public void onTransactionPosted(TransactionPostedEvent event) {
+        Transaction transaction = event.transaction();
+        if (transaction.getStatus() == TransactionStatus.COMPLETED) {
+            applyDelta(transaction, transaction.getCategory(), transaction.getAmount());
+        }
+    }
+
+    /**
+     * Apply a bulk posting's spend with one UPDATE per category and day rather
+     * than one per transaction.
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    @CacheEvict(cacheNames = CacheConfig.ACTIVE_BUDGETS, key = "#event.userId()")
+    public void onTransactionsPosted(TransactionsPostedEvent event) {
+        Map<String, Map<LocalDate, BigDecimal>> spendByCategoryAndDay = new HashMap<>();
+        for (Transaction transaction : event.transactions()) {
+            if (transaction.getStatus() != TransactionStatus.COMPLETED || !isSpend(transaction, transaction.getCategory())) {
+                continue;
+            }
+            spendByCategoryAndDay.computeIfAbsent(transaction.getCategory(), category -> new HashMap<>())
+                    .merge(transaction.getTransactionDate().toLocalDate(), transaction.getAmount(), BigDecimal::add);
+        }
+        spendByCategoryAndDay.forEach((category, byDay) -> byDay.forEach((date, amount) ->
+                applyDelta(event.userId(), category, date, amount)));
+    }
+
+    /**
+     * Undo the spend of a reversed transaction. The compensating row itself is
+     * not spend, so only the original is taken out.
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    @CacheEvict(cacheNames = CacheConfig.ACTIVE_BUDGETS, key = "#event.transaction().userId",
+                condition = "#event.transaction().userId != null")
+    public void onTransactionReversed(TransactionReversedEvent event) {
+        Transaction transaction = event.transaction();
+        applyDelta(transaction, transaction.getCategory(), transaction.getAmount().negate());
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    @CacheEvict(cacheNames = CacheConfig.ACTIVE_BUDGETS, key = "#event.transaction().userId",
+                condition = "#event.transaction().userId != null")
+    public void onTransactionRecategorized(TransactionRecategorizedEvent event) {
+        Transaction transaction = event.transaction();
+        if (transaction.getStatus() != TransactionStatus.COMPLETED) {
+            return;
+        }
+        applyDelta(transaction, event.previousCategory(), transaction.getAmount().negate());
+        applyDelta(transaction, transaction.getCategory(), transaction.getAmount());
+    }
+
+    /**
+     * Sum the completed debits that fall inside a budget's window and category,
+     * from the daily spend rollups.
+     */
+    @Transactional(readOnly = true)
+    public BigDecimal calculateSpent(Budget budget) {
+        return spendRollupService.sumAmount(budget.getUser().getId(), budget.getCategory(), SPENDING_TYPES,
+                budget.getStartDate(), budget.getEndDate());
+    }
+
+    /**
+     * Sum the same debits from the transactions table itself, which
+     * reconciliation treats as the source of truth.
+     */
+    private BigDecimal calculateLedgerSpent(Budget budget) {
+        BigDecimal totalSpent = transactionRepository.sumAmountByUserIdAndCategoryAndTypesAndDateBetween(
+                budget.getUser().getId(),
+                budget.getCategory(),
+                SPENDING_TYPES,
+                TransactionStatus.COMPLETED,
+                budget.getStartDate().atStartOfDay(),
+                budget.getEndDate().atTime(23, 59, 59)
+        );
+        return totalSpent != null ? totalSpent : BigDecimal.ZERO;
+    }
+
+    /**
+     * Recompute every budget whose window covers today and fix the ones that drifted.
+     * <p>
+     * Each budget is corrected with a compare-and-set on the value read before the
+     * SUM, so a posting that lands mid-check wins and the budget is revisited on
+     * the next run instead of being overwritten with a stale total.
+     * </p>
+     */
+    @Scheduled(cron = "${app.budgets.reconcile.cron:0 30 2 * * *}")
+    public void reconcileActiveBudgets() {
+        LocalDate today = LocalDate.now();
+        Pageable pageable = PageRequest.of(0, reconcileBatchSize);
+        int checked = 0;
+        int corrected = 0;
+        Slice<Budget> slice;
+        do {
+            slice = budgetRepository.findActiveBudgetsOnDate(today, pageable);
+            for (Budget budget : slice) {
+                checked++;
+                if (reconcile(budget)) {
+                    corrected++;
+                }
+            }
+            pageable = slice.nextPageable();
+        } while (slice.hasNext());
+
+        log.info("Budget reconciliation checked {} budgets, corrected {}", checked, corrected);
+    }
+
+    private boolean reconcile(Budget budget) {
+        Boolean corrected = transactionTemplate.execute(status -> {
+            BigDecimal observed = budget.getCurrentSpent();
+            BigDecimal actual = calculateLedgerSpent(budget);
+            if (observed != null && observed.compareTo(actual) == 0) {
+                return false;
+            }
+            if (budgetRepository.compareAndSetCurrentSpent(budget.getId(), observed, actual) == 0) {
+                return false;
+            }
+            log.warn("Budget {} current spent drifted from {} to {}, corrected", budget.getId(), observed, actual);
+            if (observed == null || actual.compareTo(observed) > 0) {
+                eventPublisher.publishEvent(new BudgetSpendIncreasedEvent(
+                        budget.getUser().getId(), budget.getCategory(), LocalDate.now()));
+            }
+            return true;
+        });
+
+        if (Boolean.TRUE.equals(corrected)) {
+            Cache cache = cacheManager.getCache(CacheConfig.ACTIVE_BUDGETS);
+            if (cache != null) {
+                cache.evict(budget.getUser().getId());
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private void applyDelta(Transaction transaction, String category, BigDecimal delta) {
+        if (isSpend(transaction, category)) {
+            applyDelta(transaction.getUserId(), category, transaction.getTransactionDate().toLocalDate(), delta);
+        }
+    }
+
+    private void applyDelta(Long userId, String category, LocalDate date, BigDecimal delta) {
+        int updated = budgetRepository.addToCurrentSpent(userId, category, date, delta);
+        log.debug("Applied spend delta {} on {} to {} budget(s) in category {}", delta, date, updated, category);
+
+        if (updated > 0 && delta.signum() > 0) {
+            eventPublisher.publishEvent(new BudgetSpendIncreasedEvent(userId, category, date));
+        }
+    }
+
+    private static boolean isSpend(Transaction transaction, String category) {
+        return category != null && !category.isBlank()
+                && transaction.getType() != null && transaction.getType().isDebit()
+                && transaction.getUserId() != null && transaction.getTransactionDate() != null;
+    }
+}
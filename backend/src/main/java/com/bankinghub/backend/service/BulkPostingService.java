@@ -0,0 +1,153 @@
+package com.bankinghub.backend.service;
+
+import com.bankinghub.backend.config.CacheConfig;
+import com.bankinghub.backend.dto.request.BulkTransactionRequestDTO;
+import com.bankinghub.backend.dto.request.TransactionRequestDTO;
+import com.bankinghub.backend.dto.response.BulkPostingResponseDTO;
+import com.bankinghub.backend.dto.response.BulkPostingResponseDTO.AccountBalance;
+import com.bankinghub.backend.event.TransactionsPostedEvent;
+import com.bankinghub.backend.exception.CustomBusinessException;
+import com.bankinghub.backend.exception.ResourceNotFoundException;
+import com.bankinghub.backend.model.Account;
+import com.bankinghub.backend.model.Transaction;
+import com.bankinghub.backend.model.Transaction.TransactionStatus;
+import com.bankinghub.backend.repository.AccountRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Posts many transactions on a user's accounts in one database transaction.
+ * <p>
+ * Every account touched is locked up front in ascending id order, the same
+ * order {@link TransferExecutionService} uses, and the postings are then applied
+ * in request order against in-memory running balances. Each account is written
+ * once with its final balance and the ledger rows are inserted through JDBC
+ * batches, flushing and clearing the persistence context every
+ * {@code app.transactions.bulk.flush-size} rows so memory stays flat. The
+ * request is all or nothing: one posting that is not covered rejects the lot.
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BulkPostingService {
+
+    private final AccountRepository accountRepository;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.transactions.bulk.flush-size:1000}")
+    private int flushSize;
+
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ACTIVE_ACCOUNTS, key = "#userId")
+    public BulkPostingResponseDTO post(Long userId, BulkTransactionRequestDTO request) {
+        List<TransactionRequestDTO> postings = request.getPostings();
+        if (postings == null || postings.isEmpty()) {
+            throw new CustomBusinessException("At least one posting is required");
+        }
+        if (postings.size() > BulkTransactionRequestDTO.MAX_POSTINGS) {
+            throw new CustomBusinessException("At most " + BulkTransactionRequestDTO.MAX_POSTINGS + " postings per request");
+        }
+
+        Map<Long, Account> accounts = lockAccounts(userId, postings);
+        Map<Long, BigDecimal> balances = new TreeMap<>();
+        accounts.forEach((accountId, account) -> balances.put(accountId, account.getBalance()));
+
+        LocalDateTime now = LocalDateTime.now();
+        BigDecimal totalDebits = BigDecimal.ZERO;
+        BigDecimal totalCredits = BigDecimal.ZERO;
+        List<Transaction> transactions = new ArrayList<>(postings.size());
+        for (int i = 0; i < postings.size(); i++) {
+            TransactionRequestDTO posting = postings.get(i);
+            BigDecimal amount = posting.getAmount();
+            if (amount == null || amount.signum() <= 0) {
+                throw new CustomBusinessException("Posting " + i + ": amount must be positive");
+            }
+
+            Account account = accounts.get(posting.getAccountId());
+            BigDecimal balance = balances.get(account.getId());
+            if (posting.getType().isDebit()) {
+                BigDecimal available = balance.add(account.getCreditLimit() != null ? account.getCreditLimit() : BigDecimal.ZERO);
+                if (available.compareTo(amount) < 0) {
+                    throw new CustomBusinessException("Posting " + i + ": insufficient funds on account " + account.getId());
+                }
+                balance = balance.subtract(amount);
+                totalDebits = totalDebits.add(amount);
+            } else {
+                balance = balance.add(amount);
+                totalCredits = totalCredits.add(amount);
+            }
+            balances.put(account.getId(), balance);
+            transactions.add(toTransaction(userId, account, posting, PostingService.generateReferenceNumber(),
+                    TransactionStatus.COMPLETED, balance, now));
+        }
+
+        // Final balances go out with the first flush; @Version bumps each account once
+        accounts.forEach((accountId, account) -> account.setBalance(balances.get(accountId)));
+        for (int i = 0; i < transactions.size(); i++) {
+            entityManager.persist(transactions.get(i));
+            if ((i + 1) % flushSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        eventPublisher.publishEvent(new TransactionsPostedEvent(userId, transactions));
+
+        log.info("Bulk posted {} transactions on {} account(s) for user {}", transactions.size(), accounts.size(), userId);
+        List<AccountBalance> accountBalances = balances.entrySet().stream()
+                .map(entry -> new AccountBalance(entry.getKey(), entry.getValue()))
+                .toList();
+        return new BulkPostingResponseDTO(transactions.size(), totalDebits, totalCredits, accountBalances);
+    }
+
+    /**
+     * Lock every account the postings touch, in ascending id order so concurrent
+     * bulk postings and transfers cannot deadlock.
+     */
+    private Map<Long, Account> lockAccounts(Long userId, List<TransactionRequestDTO> postings) {
+        Map<Long, Account> accounts = new TreeMap<>();
+        postings.forEach(posting -> accounts.put(posting.getAccountId(), null));
+        for (Long accountId : List.copyOf(accounts.keySet())) {
+            Account account = accountRepository.findByIdForUpdate(accountId)
+                    .filter(candidate -> candidate.getUser().getId().equals(userId))
+                    .filter(candidate -> Boolean.TRUE.equals(candidate.getActive()))
+                    .orElseThrow(() -> new ResourceNotFoundException("Account not found with id: " + accountId));
+            accounts.put(accountId, account);
+        }
+        return accounts;
+    }
+
+    static Transaction toTransaction(Long userId, Account account, TransactionRequestDTO posting, String referenceNumber,
+                                     TransactionStatus status, BigDecimal balanceAfter, LocalDateTime now) {
+        Transaction transaction = new Transaction();
+        transaction.setAccount(account);
+        transaction.setUserId(userId);
+        transaction.setAmount(posting.getAmount());
+        transaction.setType(posting.getType());
+        transaction.setDescription(posting.getDescription());
+        transaction.setCategory(posting.getCategory());
+        transaction.setMerchant(posting.getMerchant());
+        transaction.setReferenceNumber(referenceNumber);
+        transaction.setStatus(status);
+        transaction.setBalanceAfter(balanceAfter);
+        transaction.setTransactionDate(posting.getTransactionDate() != null ? posting.getTransactionDate() : now);
+        return transaction;
+    }
+}
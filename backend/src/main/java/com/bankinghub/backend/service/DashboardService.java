@@ -0,0 +1,130 @@
+package com.bankinghub.backend.service;
+
+import com.bankinghub.backend.config.DashboardProperties;
+import com.bankinghub.backend.dto.response.AccountResponseDTO;
+import com.bankinghub.backend.dto.response.BillResponseDTO;
+import com.bankinghub.backend.dto.response.BudgetResponseDTO;
+import com.bankinghub.backend.dto.response.DashboardResponseDTO;
+import com.bankinghub.backend.dto.response.DashboardResponseDTO.Section;
+import com.bankinghub.backend.dto.response.TransactionResponseDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.task.DelegatingSecurityContextAsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Everything the first screen shows, read in one request.
+ * <p>
+ * Accounts, active budgets, over-budgets and upcoming bills are read in
+ * parallel on a bounded worker pool, each through its usual service and cache,
+ * with the caller's security context carried onto the workers. Once the
+ * accounts are known, the recent transactions of every account are read in
+ * parallel too. Each section must finish within
+ * {@code app.dashboard.section-timeout} of the request starting; a section that
+ * fails or runs late is left out and listed as unavailable instead of failing
+ * the whole dashboard.
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DashboardService {
+
+    private final AccountService accountService;
+    private final TransactionService transactionService;
+    private final BudgetService budgetService;
+    private final BillService billService;
+    private final DashboardProperties dashboardProperties;
+
+    // Kept private rather than a bean: an Executor bean would replace Boot's default @Async executor
+    private ThreadPoolTaskExecutor workers;
+    private Executor executor;
+
+    @PostConstruct
+    void init() {
+        workers = new ThreadPoolTaskExecutor();
+        workers.setCorePoolSize(dashboardProperties.getWorkerThreads());
+        workers.setMaxPoolSize(dashboardProperties.getWorkerThreads());
+        workers.setQueueCapacity(dashboardProperties.getQueueCapacity());
+        workers.setThreadNamePrefix("dashboard-");
+        workers.initialize();
+        executor = new DelegatingSecurityContextAsyncTaskExecutor(workers);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdown();
+    }
+
+    /**
+     * The current user's dashboard.
+     *
+     * @throws org.springframework.core.task.TaskRejectedException when the worker queue is full
+     */
+    public DashboardResponseDTO getDashboard() {
+        long deadline = System.nanoTime() + dashboardProperties.getSectionTimeout().toNanos();
+
+        CompletableFuture<List<AccountResponseDTO>> accounts = supply(accountService::getUserAccounts);
+        CompletableFuture<Map<Long, List<TransactionResponseDTO>>> recentTransactions =
+                accounts.thenCompose(this::readRecentTransactions);
+        CompletableFuture<List<BudgetResponseDTO>> activeBudgets = supply(budgetService::getUserBudgets);
+        CompletableFuture<List<BudgetResponseDTO>> overBudgets = supply(budgetService::getOverBudgets);
+        CompletableFuture<List<BillResponseDTO>> upcomingBills = supply(billService::getActiveBills);
+
+        List<Section> unavailable = new ArrayList<>();
+        return new DashboardResponseDTO(
+                await(Section.ACCOUNTS, accounts, deadline, unavailable),
+                await(Section.RECENT_TRANSACTIONS, recentTransactions, deadline, unavailable),
+                await(Section.ACTIVE_BUDGETS, activeBudgets, deadline, unavailable),
+                await(Section.OVER_BUDGETS, overBudgets, deadline, unavailable),
+                await(Section.UPCOMING_BILLS, upcomingBills, deadline, unavailable),
+                unavailable);
+    }
+
+    private CompletableFuture<Map<Long, List<TransactionResponseDTO>>> readRecentTransactions(
+            List<AccountResponseDTO> accounts) {
+        Map<Long, CompletableFuture<List<TransactionResponseDTO>>> perAccount = new LinkedHashMap<>();
+        for (AccountResponseDTO account : accounts) {
+            perAccount.put(account.getId(), supply(() -> transactionService.getRecentTransactions(account.getId())));
+        }
+        return CompletableFuture.allOf(perAccount.values().toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> {
+                    Map<Long, List<TransactionResponseDTO>> recent = new LinkedHashMap<>();
+                    perAccount.forEach((accountId, transactions) -> recent.put(accountId, transactions.join()));
+                    return recent;
+                });
+    }
+
+    private <T> CompletableFuture<T> supply(Supplier<T> read) {
+        return CompletableFuture.supplyAsync(read, executor);
+    }
+
+    private static <T> T await(Section section, CompletableFuture<T> future, long deadline, List<Section> unavailable) {
+        try {
+            return future.get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Left running rather than cancelled: a late read still warms the section's cache for the next request
+            log.warn("Dashboard section {} did not finish in time", section);
+        } catch (ExecutionException e) {
+            log.warn("Dashboard section {} failed", section, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        unavailable.add(section);
+        return null;
+    }
+}
@@ -1,6 +1,7 @@
 package com.bankinghub.backend.service;
 
 import com.bankinghub.backend.model.Account;
+import com.bankinghub.backend.model.BudgetAlert;
 import com.bankinghub.backend.model.User;
 import com.bankinghub.backend.model.Transaction;
 import jakarta.mail.MessagingException;
@@ -15,7 +16,11 @@ import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -226,6 +231,38 @@ public class EmailService {
         }
     }
 
+    /**
+     * Send one digest covering every budget alert queued for a user
+     */
+    public void sendBudgetAlertDigest(User user, List<BudgetAlert> alerts) {
+        try {
+            Context context = new Context();
+            context.setVariable("userName", user.getFirstName());
+            context.setVariable("alerts", alerts.stream()
+                    .map(alert -> Map.of(
+                            "category", alert.getBudget().getCategory(),
+                            "spentPercentage", alert.getSpentPercentage().setScale(0, RoundingMode.HALF_UP) + "%",
+                            "threshold", alert.getThresholdPercent().setScale(0, RoundingMode.HALF_UP) + "%",
+                            "crossedAt", alert.getCrossedAt().format(DATE_FORMATTER)))
+                    .collect(Collectors.toList()));
+            context.setVariable("bankName", bankName);
+            context.setVariable("supportEmail", supportEmail);
+            context.setVariable("website", bankWebsite);
+
+            String htmlContent = templateEngine.process("email/budget-alert", context);
+
+            sendHtmlEmail(
+                user.getEmail(),
+                bankName + " - Budget Alert",
+                htmlContent
+            );
+
+            log.info("Budget alert digest with {} alerts sent to: {}", alerts.size(), user.getEmail());
+        } catch (Exception e) {
+            log.error("Failed to send budget alert digest to: {}", user.getEmail(), e);
+        }
+    }
+
     private void sendHtmlEmail(String to, String subject, String htmlContent) throws MessagingException {
         MimeMessage message = mailSender.createMimeMessage();
         MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
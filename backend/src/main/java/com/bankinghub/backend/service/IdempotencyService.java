@@ -0,0 +1,179 @@
+package com.bankinghub.backend.service;
+
+import com.bankinghub.backend.model.IdempotencyRecord;
+import com.bankinghub.backend.model.IdempotencyRecord.IdempotencyStatus;
+import com.bankinghub.backend.repository.IdempotencyRecordRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Store behind the {@code Idempotency-Key} header.
+ * <p>
+ * The first request with a key reserves it with a single insert that relies on
+ * the unique (user, key) index; retries find the reservation and either wait
+ * for it (409 while the first request is still running) or get the stored
+ * response back. Completed responses are also kept in an in-memory cache, so
+ * replays on the same node skip the database. Records expire after
+ * {@code app.idempotency.ttl}.
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IdempotencyService {
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.idempotency.ttl:24h}")
+    private Duration ttl;
+
+    @Value("${app.idempotency.in-progress-timeout:5m}")
+    private Duration inProgressTimeout;
+
+    @Value("${app.idempotency.cache-size:10000}")
+    private long cacheSize;
+
+    private Cache<String, StoredResponse> completed;
+
+    /**
+     * What to do with a request carrying an idempotency key.
+     */
+    public enum Outcome {
+        /** Key reserved: run the request and report its response */
+        STARTED,
+        /** Key already completed: send the stored response */
+        REPLAY,
+        /** The first request with this key is still running */
+        IN_PROGRESS,
+        /** The key was used for a different request */
+        MISMATCH
+    }
+
+    /**
+     * A response stored for replay.
+     */
+    public record StoredResponse(String requestHash, int status, String contentType, String body,
+                                 LocalDateTime expiresAt) {
+    }
+
+    /**
+     * Result of {@link #begin}; {@code response} is set for {@link Outcome#REPLAY} only.
+     */
+    public record Claim(Outcome outcome, StoredResponse response) {
+
+        static Claim of(Outcome outcome) {
+            return new Claim(outcome, null);
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        completed = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Reserve {@code key} for a request, or find out how an earlier request with
+     * the same key went.
+     */
+    public Claim begin(Long userId, String key, String requestHash) {
+        StoredResponse hot = completed.getIfPresent(cacheKey(userId, key));
+        if (hot != null && hot.expiresAt().isAfter(LocalDateTime.now())) {
+            return hot.requestHash().equals(requestHash) ? new Claim(Outcome.REPLAY, hot) : Claim.of(Outcome.MISMATCH);
+        }
+
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            if (idempotencyRecordRepository.reserve(userId, key, requestHash, now, now.plus(ttl)) == 1) {
+                return Claim.of(Outcome.STARTED);
+            }
+
+            IdempotencyRecord existing = idempotencyRecordRepository.findByUserIdAndIdempotencyKey(userId, key)
+                    .orElse(null);
+            if (existing == null) {
+                // Purged between the insert and the lookup; the client's retry will reserve it
+                return Claim.of(Outcome.IN_PROGRESS);
+            }
+            if (idempotencyRecordRepository.restart(existing.getId(), requestHash, IdempotencyStatus.IN_PROGRESS,
+                    now, now.plus(ttl), now.minus(inProgressTimeout)) == 1) {
+                return Claim.of(Outcome.STARTED);
+            }
+            if (!existing.getRequestHash().equals(requestHash)) {
+                return Claim.of(Outcome.MISMATCH);
+            }
+            if (existing.getStatus() == IdempotencyStatus.IN_PROGRESS) {
+                return Claim.of(Outcome.IN_PROGRESS);
+            }
+
+            StoredResponse stored = new StoredResponse(existing.getRequestHash(), existing.getResponseStatus(),
+                    existing.getResponseContentType(), existing.getResponseBody(), existing.getExpiresAt());
+            completed.put(cacheKey(userId, key), stored);
+            return new Claim(Outcome.REPLAY, stored);
+        });
+    }
+
+    /**
+     * Store the response of a request started with {@link #begin}.
+     * <p>
+     * Server errors and conflicts are normally not stored; the key is released
+     * so the client can retry. When {@code mayHaveCommitted} is set the request
+     * may have left durable work behind before failing (a transfer created but
+     * not yet executed, part of a bulk batch), so its outcome is stored like any
+     * other and a retry replays it instead of running again. Bodies too large to
+     * keep are then dropped and only the status is replayed.
+     * </p>
+     */
+    public void complete(Long userId, String key, String requestHash, int responseStatus,
+                         String contentType, byte[] body, boolean mayHaveCommitted) {
+        boolean failed = responseStatus >= 500 || responseStatus == 409;
+        boolean tooLarge = body.length > IdempotencyRecord.MAX_RESPONSE_LENGTH;
+        if (!mayHaveCommitted && (failed || tooLarge)) {
+            release(userId, key);
+            return;
+        }
+
+        String responseBody = tooLarge ? null : new String(body, StandardCharsets.UTF_8);
+        String responseContentType = tooLarge ? null : contentType;
+        transactionTemplate.executeWithoutResult(status -> idempotencyRecordRepository.complete(
+                userId, key, requestHash, IdempotencyStatus.COMPLETED, responseStatus, responseContentType,
+                responseBody));
+        // Outlives the database record by at most the request's duration
+        completed.put(cacheKey(userId, key), new StoredResponse(requestHash, responseStatus, responseContentType,
+                responseBody, LocalDateTime.now().plus(ttl)));
+    }
+
+    /**
+     * Forget a reservation whose request did not complete.
+     */
+    public void release(Long userId, String key) {
+        transactionTemplate.executeWithoutResult(status ->
+                idempotencyRecordRepository.release(userId, key, IdempotencyStatus.IN_PROGRESS));
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        Integer purged = transactionTemplate.execute(status ->
+                idempotencyRecordRepository.deleteExpired(LocalDateTime.now()));
+        if (purged != null && purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private static String cacheKey(Long userId, String key) {
+        return userId + ":" + key;
+    }
+}
@@ -0,0 +1,358 @@
+package com.bankinghub.backend.service;
+
+import com.bankinghub.backend.config.CacheConfig;
+import com.bankinghub.backend.config.JournalProperties;
+import com.bankinghub.backend.dto.request.TransactionRequestDTO;
+import com.bankinghub.backend.dto.response.AccountResponseDTO;
+import com.bankinghub.backend.dto.response.PostingReceiptDTO;
+import com.bankinghub.backend.event.TransactionsPostedEvent;
+import com.bankinghub.backend.exception.CustomBusinessException;
+import com.bankinghub.backend.exception.ResourceNotFoundException;
+import com.bankinghub.backend.model.Account;
+import com.bankinghub.backend.model.JournalCheckpoint;
+import com.bankinghub.backend.model.Transaction;
+import com.bankinghub.backend.model.Transaction.TransactionStatus;
+import com.bankinghub.backend.model.Transaction.TransactionType;
+import com.bankinghub.backend.repository.AccountRepository;
+import com.bankinghub.backend.repository.JournalCheckpointRepository;
+import com.bankinghub.backend.security.CurrentUserProvider;
+import com.bankinghub.backend.util.MappedJournal;
+import com.bankinghub.backend.util.MappedJournal.Entry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Journaled posting: postings are made durable in a local write-ahead log and
+ * applied to the ledger asynchronously.
+ * <p>
+ * {@link #accept} appends the posting to a {@link MappedJournal} and returns
+ * once it is on disk. A single writer thread group-commits appends, so one
+ * flush covers every posting that arrived while the previous flush ran, and
+ * request latency no longer depends on database write latency. An applier
+ * thread reads durable entries in batches and applies each batch in one
+ * database transaction that also advances the {@link JournalCheckpoint}, so on
+ * restart exactly the unapplied entries are replayed.
+ * </p>
+ * <p>
+ * Funds are checked when an entry is applied: a debit that is not covered is
+ * recorded as a FAILED transaction under the reference number returned at
+ * accept time. Off unless {@code app.ledger.journal.enabled} is set.
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostingJournalService {
+
+    private static final int ENTRY_FORMAT_VERSION = 1;
+
+    private final JournalProperties properties;
+    private final AccountService accountService;
+    private final AccountRepository accountRepository;
+    private final JournalCheckpointRepository journalCheckpointRepository;
+    private final CurrentUserProvider currentUserProvider;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+
+    private MappedJournal journal;
+    private BlockingQueue<PendingAppend> pending;
+    private Thread writer;
+    private ScheduledExecutorService applier;
+    private volatile boolean accepting;
+    // Touched by the applier thread only, and by shutdown once it has stopped
+    private long appliedSequence;
+
+    /**
+     * A posting as stored in the journal.
+     */
+    record JournaledPosting(Long userId, String referenceNumber, LocalDateTime acceptedAt,
+                            TransactionRequestDTO request) {
+    }
+
+    private record PendingAppend(byte[] payload, CompletableFuture<Long> durable) {
+    }
+
+    @PostConstruct
+    void init() throws IOException {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        appliedSequence = journalCheckpointRepository.findById(properties.getName())
+                .map(JournalCheckpoint::getAppliedSequence)
+                .orElse(0L);
+        journal = new MappedJournal(Path.of(properties.getDir()), properties.getSegmentSize(), appliedSequence + 1);
+        if (journal.durableSequence() < appliedSequence) {
+            throw new IllegalStateException("Posting journal in " + properties.getDir() + " ends at "
+                    + journal.durableSequence() + " but entries up to " + appliedSequence + " were applied");
+        }
+        log.info("Posting journal opened at {}, {} entries to replay",
+                properties.getDir(), journal.durableSequence() - appliedSequence);
+
+        pending = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        accepting = true;
+        // Daemon threads: an acknowledged posting is already on disk, so an abrupt exit loses nothing
+        writer = new Thread(this::writeLoop, "journal-writer");
+        writer.setDaemon(true);
+        writer.start();
+        applier = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "journal-applier");
+            thread.setDaemon(true);
+            return thread;
+        });
+        applier.scheduleWithFixedDelay(this::applyPending, 0,
+                properties.getApplyInterval().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        if (journal == null) {
+            return;
+        }
+        accepting = false;
+        writer.join();
+        applier.shutdown();
+        applier.awaitTermination(30, TimeUnit.SECONDS);
+        // Apply what is left so a clean restart has nothing to replay
+        applyPending();
+        journal.close();
+    }
+
+    /**
+     * Accept a posting on one of the current user's accounts. Returns once the
+     * posting is durable in the journal; it is applied to the ledger shortly after.
+     */
+    public PostingReceiptDTO accept(TransactionRequestDTO request) {
+        if (!properties.isEnabled()) {
+            throw new CustomBusinessException("Journaled posting is not enabled");
+        }
+        if (request.getAmount() == null || request.getAmount().signum() <= 0) {
+            throw new CustomBusinessException("Amount must be positive");
+        }
+        // Served from the active-accounts cache, so the hot path does not touch the database
+        boolean ownAccount = accountService.getUserAccounts().stream()
+                .map(AccountResponseDTO::getId)
+                .anyMatch(request.getAccountId()::equals);
+        if (!ownAccount) {
+            throw new ResourceNotFoundException("Account not found with id: " + request.getAccountId());
+        }
+
+        JournaledPosting posting = new JournaledPosting(currentUserProvider.getCurrentUserId(),
+                PostingService.generateReferenceNumber(), LocalDateTime.now(), request);
+        PendingAppend append = new PendingAppend(encode(posting), new CompletableFuture<>());
+        if (!accepting || !pending.offer(append)) {
+            throw new TaskRejectedException("The posting journal is busy, please try again shortly");
+        }
+
+        long sequence;
+        try {
+            sequence = append.durable().join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Could not write the posting to the journal", e.getCause());
+        }
+        return new PostingReceiptDTO(sequence, posting.referenceNumber(), posting.acceptedAt());
+    }
+
+    private void writeLoop() {
+        List<PendingAppend> group = new ArrayList<>(properties.getGroupCommitMaxEntries());
+        while (accepting || !pending.isEmpty()) {
+            try {
+                PendingAppend first = pending.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                pending.drainTo(group, properties.getGroupCommitMaxEntries() - 1);
+
+                List<Long> sequences = new ArrayList<>(group.size());
+                for (PendingAppend append : group) {
+                    sequences.add(journal.append(append.payload()));
+                }
+                journal.force();
+                for (int i = 0; i < group.size(); i++) {
+                    group.get(i).durable().complete(sequences.get(i));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException | RuntimeException e) {
+                // Appended but unflushed entries may still reach disk, so stop rather than risk a retry posting twice
+                log.error("Posting journal write failed, no further postings will be accepted", e);
+                accepting = false;
+                group.forEach(append -> append.durable().completeExceptionally(e));
+                pending.forEach(append -> append.durable().completeExceptionally(e));
+                pending.clear();
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    private void applyPending() {
+        try {
+            List<Entry> entries;
+            do {
+                entries = journal.read(appliedSequence, properties.getApplyBatchSize());
+                if (!entries.isEmpty()) {
+                    applyBatch(entries);
+                    appliedSequence = entries.get(entries.size() - 1).sequence();
+                }
+            } while (entries.size() == properties.getApplyBatchSize());
+            journal.deleteSegmentsUpTo(appliedSequence);
+        } catch (IOException | RuntimeException e) {
+            // Nothing was committed for the failed batch; it is retried on the next run
+            log.error("Applying the posting journal after entry {} failed", appliedSequence, e);
+        }
+    }
+
+    /**
+     * Apply journal entries in order, in one transaction that also records them as applied.
+     */
+    private void applyBatch(List<Entry> entries) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<JournaledPosting> postings = entries.stream().map(entry -> decode(entry.payload())).toList();
+
+            // Same ascending lock order as transfers and bulk postings
+            Map<Long, Account> accounts = new TreeMap<>();
+            postings.forEach(posting -> accounts.put(posting.request().getAccountId(), null));
+            for (Long accountId : List.copyOf(accounts.keySet())) {
+                accounts.put(accountId, accountRepository.findByIdForUpdate(accountId).orElse(null));
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            List<Transaction> transactions = new ArrayList<>(postings.size());
+            for (JournaledPosting posting : postings) {
+                TransactionRequestDTO request = posting.request();
+                Account account = accounts.get(request.getAccountId());
+                if (account == null) {
+                    log.warn("Dropping journaled posting {}: account {} no longer exists",
+                            posting.referenceNumber(), request.getAccountId());
+                    continue;
+                }
+
+                BigDecimal balance = account.getBalance();
+                BigDecimal available = balance.add(account.getCreditLimit() != null ? account.getCreditLimit() : BigDecimal.ZERO);
+                boolean debit = request.getType().isDebit();
+                TransactionStatus outcome = !Boolean.TRUE.equals(account.getActive())
+                        || (debit && available.compareTo(request.getAmount()) < 0)
+                        ? TransactionStatus.FAILED
+                        : TransactionStatus.COMPLETED;
+                if (outcome == TransactionStatus.COMPLETED) {
+                    balance = debit ? balance.subtract(request.getAmount()) : balance.add(request.getAmount());
+                    account.setBalance(balance);
+                }
+                transactions.add(BulkPostingService.toTransaction(posting.userId(), account, request,
+                        posting.referenceNumber(), outcome, balance, posting.acceptedAt()));
+            }
+
+            transactions.forEach(entityManager::persist);
+            journalCheckpointRepository.save(new JournalCheckpoint(
+                    properties.getName(), entries.get(entries.size() - 1).sequence(), now));
+            entityManager.flush();
+            entityManager.clear();
+
+            Map<Long, List<Transaction>> byUser = new HashMap<>();
+            transactions.forEach(transaction ->
+                    byUser.computeIfAbsent(transaction.getUserId(), userId -> new ArrayList<>()).add(transaction));
+            Cache activeAccounts = cacheManager.getCache(CacheConfig.ACTIVE_ACCOUNTS);
+            byUser.forEach((userId, posted) -> {
+                eventPublisher.publishEvent(new TransactionsPostedEvent(userId, posted));
+                if (activeAccounts != null) {
+                    activeAccounts.evict(userId);
+                }
+            });
+            log.debug("Applied journal entries {} to {}", entries.get(0).sequence(),
+                    entries.get(entries.size() - 1).sequence());
+        });
+    }
+
+    static byte[] encode(JournaledPosting posting) {
+        TransactionRequestDTO request = posting.request();
+        try (ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+             DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(ENTRY_FORMAT_VERSION);
+            out.writeLong(posting.userId());
+            out.writeUTF(posting.referenceNumber());
+            out.writeUTF(posting.acceptedAt().toString());
+            out.writeLong(request.getAccountId());
+            out.writeUTF(request.getType().name());
+            out.writeUTF(request.getAmount().toPlainString());
+            out.writeUTF(request.getDescription());
+            writeNullable(out, request.getCategory());
+            writeNullable(out, request.getMerchant());
+            writeNullable(out, request.getTransactionDate() != null ? request.getTransactionDate().toString() : null);
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static JournaledPosting decode(byte[] payload) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            int version = in.readByte();
+            if (version != ENTRY_FORMAT_VERSION) {
+                throw new IllegalStateException("Unknown journal entry format " + version);
+            }
+            Long userId = in.readLong();
+            String referenceNumber = in.readUTF();
+            LocalDateTime acceptedAt = LocalDateTime.parse(in.readUTF());
+            TransactionRequestDTO request = new TransactionRequestDTO();
+            request.setAccountId(in.readLong());
+            request.setType(TransactionType.valueOf(in.readUTF()));
+            request.setAmount(new BigDecimal(in.readUTF()));
+            request.setDescription(in.readUTF());
+            request.setCategory(readNullable(in));
+            request.setMerchant(readNullable(in));
+            String transactionDate = readNullable(in);
+            request.setTransactionDate(transactionDate != null ? LocalDateTime.parse(transactionDate) : null);
+            return new JournaledPosting(userId, referenceNumber, acceptedAt, request);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
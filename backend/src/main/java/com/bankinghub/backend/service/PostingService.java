@@ -0,0 +1,164 @@
+package com.bankinghub.backend.service;
+
+import com.bankinghub.backend.config.CacheConfig;
+import com.bankinghub.backend.dto.request.TransactionRequestDTO;
+import com.bankinghub.backend.dto.response.TransactionResponseDTO;
+import com.bankinghub.backend.event.TransactionPostedEvent;
+import com.bankinghub.backend.event.TransactionReversedEvent;
+import com.bankinghub.backend.exception.CustomBusinessException;
+import com.bankinghub.backend.exception.ResourceNotFoundException;
+import com.bankinghub.backend.model.Transaction;
+import com.bankinghub.backend.model.Transaction.TransactionStatus;
+import com.bankinghub.backend.model.Transaction.TransactionType;
+import com.bankinghub.backend.repository.AccountRepository;
+import com.bankinghub.backend.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Posting engine that moves money on a single account.
+ * <p>
+ * A debit is one conditional UPDATE that only succeeds while the balance, plus
+ * any credit limit, still covers the amount. The database row lock taken by that
+ * UPDATE serializes concurrent postings on the account, so no debit can overdraw
+ * it or overwrite another posting's result. The ledger row is then written with
+ * the balance read back under that same lock. The account is never loaded and
+ * saved as an entity, so there is no read-modify-write window.
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostingService {
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionService transactionService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Post a transaction on one of the user's accounts. Debit types take money out
+     * and are rejected when funds are insufficient; all other types add money.
+     */
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ACTIVE_ACCOUNTS, key = "#userId")
+    public TransactionResponseDTO post(Long userId, TransactionRequestDTO request) {
+        BigDecimal amount = request.getAmount();
+        if (amount == null || amount.signum() <= 0) {
+            throw new CustomBusinessException("Amount must be positive");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        boolean debit = request.getType().isDebit();
+        int updated = debit
+                ? accountRepository.debitIfCovered(request.getAccountId(), userId, amount, now)
+                : accountRepository.credit(request.getAccountId(), userId, amount, now);
+
+        if (updated == 0) {
+            // Only the failure path pays for a lookup to explain what went wrong
+            accountRepository.findByIdAndUserId(request.getAccountId(), userId)
+                    .filter(account -> Boolean.TRUE.equals(account.getActive()))
+                    .orElseThrow(() -> new ResourceNotFoundException("Account not found with id: " + request.getAccountId()));
+            throw new CustomBusinessException("Insufficient funds");
+        }
+
+        // Our UPDATE holds the row lock until commit, so this is exactly our result
+        BigDecimal balanceAfter = accountRepository.findBalanceById(request.getAccountId());
+
+        Transaction transaction = new Transaction();
+        transaction.setAccount(accountRepository.getReferenceById(request.getAccountId()));
+        transaction.setUserId(userId);
+        transaction.setAmount(amount);
+        transaction.setType(request.getType());
+        transaction.setDescription(request.getDescription());
+        transaction.setCategory(request.getCategory());
+        transaction.setMerchant(request.getMerchant());
+        transaction.setReferenceNumber(generateReferenceNumber());
+        transaction.setStatus(TransactionStatus.COMPLETED);
+        transaction.setBalanceAfter(balanceAfter);
+        transaction.setTransactionDate(request.getTransactionDate() != null ? request.getTransactionDate() : now);
+        Transaction saved = transactionRepository.save(transaction);
+
+        eventPublisher.publishEvent(new TransactionPostedEvent(saved));
+
+        log.info("Posted {} of {} on account {}, balance now {}",
+                request.getType(), amount, request.getAccountId(), balanceAfter);
+        return transactionService.convertToTransactionResponse(saved);
+    }
+
+    /**
+     * Reverse one of the user's completed transactions by posting a
+     * compensating row that references it: a {@link TransactionType#REFUND} for
+     * a debit, a {@link TransactionType#WITHDRAWAL} for a credit. The original
+     * is left as posted, so checkpoints, balance-as-of and the
+     * {@code balanceAfter} chain stay consistent. Budgets, rollups and analytics
+     * follow through {@link TransactionReversedEvent} in the same database
+     * transaction. Reversing a credit is rejected when the account no longer
+     * covers it; archived transactions are not found here.
+     *
+     * @return the compensating transaction
+     */
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ACTIVE_ACCOUNTS, key = "#userId")
+    public TransactionResponseDTO reverse(Long userId, Long transactionId) {
+        // The row lock makes concurrent reversals of the same transaction queue up and see the first one
+        Transaction original = transactionRepository.findByIdAndUserIdForUpdate(transactionId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Transaction not found with id: " + transactionId));
+        if (original.getStatus() != TransactionStatus.COMPLETED) {
+            throw new CustomBusinessException("Only completed transactions can be reversed");
+        }
+        if (original.getReversalOfId() != null) {
+            throw new CustomBusinessException("A reversal cannot itself be reversed");
+        }
+        if (transactionRepository.existsByReversalOfId(transactionId)) {
+            throw new CustomBusinessException("This transaction has already been reversed");
+        }
+
+        Long accountId = original.getAccount().getId();
+        LocalDateTime now = LocalDateTime.now();
+        boolean debit = original.getType().isDebit();
+        int updated = debit
+                ? accountRepository.credit(accountId, userId, original.getAmount(), now)
+                : accountRepository.debitIfCovered(accountId, userId, original.getAmount(), now);
+        if (updated == 0) {
+            accountRepository.findByIdAndUserId(accountId, userId)
+                    .filter(account -> Boolean.TRUE.equals(account.getActive()))
+                    .orElseThrow(() -> new ResourceNotFoundException("Account not found with id: " + accountId));
+            throw new CustomBusinessException("Insufficient funds to reverse this transaction");
+        }
+
+        Transaction reversal = new Transaction();
+        reversal.setAccount(original.getAccount());
+        reversal.setUserId(userId);
+        reversal.setAmount(original.getAmount());
+        reversal.setType(debit ? TransactionType.REFUND : TransactionType.WITHDRAWAL);
+        reversal.setDescription("Reversal of " + (original.getReferenceNumber() != null
+                ? original.getReferenceNumber() : "transaction " + transactionId));
+        reversal.setCategory(original.getCategory());
+        reversal.setMerchant(original.getMerchant());
+        reversal.setReferenceNumber(generateReferenceNumber());
+        reversal.setStatus(TransactionStatus.COMPLETED);
+        reversal.setBalanceAfter(accountRepository.findBalanceById(accountId));
+        reversal.setTransactionDate(now);
+        reversal.setReversalOfId(transactionId);
+        Transaction saved = transactionRepository.save(reversal);
+
+        eventPublisher.publishEvent(new TransactionReversedEvent(original, saved));
+
+        log.info("Reversed {} {} of {} on account {} with transaction {}",
+                original.getType(), transactionId, original.getAmount(), accountId, saved.getId());
+        return transactionService.convertToTransactionResponse(saved);
+    }
+
+    static String generateReferenceNumber() {
+        return "TXN" + UUID.randomUUID().toString().replace("-", "").substring(0, 16).toUpperCase();
+    }
+}
@@ -0,0 +1,193 @@
+package com.bankinghub.backend.service;
+
+import com.bankinghub.backend.model.Transfer;
+import com.bankinghub.backend.model.Transfer.TransferStatus;
+import com.bankinghub.backend.repository.TransferRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Processes due scheduled transfers.
+ * <p>
+ * Each batch is claimed in a short transaction that locks due PENDING rows with
+ * {@code FOR UPDATE SKIP LOCKED} and moves them to PROCESSING, so several
+ * backend instances can drain the queue at once without claiming the same
+ * transfer. The claimed transfers are then executed in parallel on a worker pool
+ * through {@link TransferExecutionService}, which sets COMPLETED or FAILED.
+ * A transfer left in PROCESSING for longer than the lease, for example because
+ * its node died, is claimed again.
+ * </p>
+ * <p>
+ * Future-dated transfers are normally fired on time by
+ * {@link TransferTimingWheel} through {@link #processTransfer(Long)}; the
+ * periodic sweep is the safety net for anything the wheel did not hold.
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ScheduledTransferProcessor {
+
+    private final TransferRepository transferRepository;
+    private final TransferExecutionService transferExecutionService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.transfers.processor.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.transfers.processor.worker-threads:4}")
+    private int workerThreads;
+
+    @Value("${app.transfers.processor.lease:10m}")
+    private Duration lease;
+
+    // Kept private rather than a bean: an Executor bean would replace Boot's default @Async executor
+    private ThreadPoolTaskExecutor executor;
+
+    @PostConstruct
+    void init() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workerThreads);
+        executor.setMaxPoolSize(workerThreads);
+        // One sweep batch plus transfers fired by the timing wheel; overflow is released back to PENDING
+        executor.setQueueCapacity(batchSize * 2);
+        executor.setThreadNamePrefix("transfer-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Claim and execute due transfers, batch by batch, until none are left. A
+     * batch that released any transfer back to PENDING ends the sweep, since the
+     * next claim would pick the same transfers straight up again; they wait for
+     * the next sweep instead.
+     */
+    @Scheduled(fixedDelayString = "${app.transfers.processor.interval-ms:300000}")
+    public void processDueTransfers() {
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        AtomicInteger released = new AtomicInteger();
+        List<Long> batch;
+        boolean releasedAny;
+        do {
+            int releasedBefore = released.get();
+            batch = claimBatch();
+            List<CompletableFuture<Void>> runs = batch.stream()
+                    .map(transferId -> submit(transferId, status -> counter(status, completed, failed, released)
+                            .incrementAndGet()))
+                    .collect(Collectors.toList());
+            CompletableFuture.allOf(runs.toArray(CompletableFuture[]::new)).join();
+            releasedAny = released.get() > releasedBefore;
+        } while (batch.size() == batchSize && !releasedAny);
+
+        if (completed.get() > 0 || failed.get() > 0 || released.get() > 0) {
+            log.info("Processed scheduled transfers: {} completed, {} not completed, {} returned to the queue",
+                    completed.get(), failed.get(), released.get());
+        }
+    }
+
+    private static AtomicInteger counter(TransferStatus status, AtomicInteger completed, AtomicInteger failed,
+                                         AtomicInteger released) {
+        return switch (status) {
+            case COMPLETED -> completed;
+            case PENDING -> released;
+            default -> failed;
+        };
+    }
+
+    /**
+     * Lock the next due transfers, skipping rows claimed by other nodes, and mark
+     * them PROCESSING.
+     */
+    List<Long> claimBatch() {
+        List<Long> ids = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> claimed = transferRepository.claimDueTransfers(
+                            TransferStatus.PENDING, now, TransferStatus.PROCESSING, now.minus(lease),
+                            PageRequest.of(0, batchSize))
+                    .stream()
+                    .map(Transfer::getId)
+                    .collect(Collectors.toList());
+            if (!claimed.isEmpty()) {
+                transferRepository.updateStatus(claimed, TransferStatus.PROCESSING, now);
+                transferRepository.updateParticipantStatus(claimed, TransferStatus.PROCESSING);
+            }
+            return claimed;
+        });
+        return ids != null ? ids : List.of();
+    }
+
+    /**
+     * Claim and execute a single transfer that has just become due. Does nothing
+     * if the transfer is not due or another worker or node already claimed it.
+     */
+    public void processTransfer(Long transferId) {
+        Boolean claimed = transactionTemplate.execute(status -> {
+            List<Long> ids = List.of(transferId);
+            if (transferRepository.claimIfDue(transferId, TransferStatus.PENDING, TransferStatus.PROCESSING,
+                    LocalDateTime.now()) == 0) {
+                return false;
+            }
+            transferRepository.updateParticipantStatus(ids, TransferStatus.PROCESSING);
+            return true;
+        });
+        if (!Boolean.TRUE.equals(claimed)) {
+            return;
+        }
+
+        submit(transferId, status -> { });
+    }
+
+    private CompletableFuture<Void> submit(Long transferId, Consumer<TransferStatus> onFinished) {
+        try {
+            return CompletableFuture.runAsync(() -> onFinished.accept(executeClaimed(transferId)), executor);
+        } catch (TaskRejectedException e) {
+            log.warn("Transfer workers saturated, transfer {} left for the next sweep", transferId);
+            release(transferId);
+            onFinished.accept(TransferStatus.PENDING);
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    private TransferStatus executeClaimed(Long transferId) {
+        try {
+            return transferExecutionService.execute(transferId);
+        } catch (RuntimeException e) {
+            // Put it back so the next run retries it instead of waiting for the lease to expire
+            log.warn("Scheduled transfer {} could not be executed, returning it to the queue", transferId, e);
+            release(transferId);
+            return TransferStatus.PENDING;
+        }
+    }
+
+    private void release(Long transferId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Long> ids = List.of(transferId);
+            transferRepository.updateStatus(ids, TransferStatus.PENDING, LocalDateTime.now());
+            transferRepository.updateParticipantStatus(ids, TransferStatus.PENDING);
+        });
+    }
+}
@@ -0,0 +1,41 @@
+package com.bankinghub.backend.service;
+
+import com.bankinghub.backend.model.Transaction.TransactionStatus;
+import com.bankinghub.backend.repository.DailySpendRollupRepository;
+import com.bankinghub.backend.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Builds the daily spend rollups from the existing ledger the first time the
+ * application starts with an empty rollup table.
+ * <p>
+ * Runs once every bean is ready but before the web server and schedulers
+ * start, so no posting can adjust a bucket while it is being built. The whole
+ * table is aggregated by one INSERT ... SELECT in a single transaction; after
+ * that the rollups are maintained as transactions post.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SpendRollupBackfill implements SmartInitializingSingleton {
+
+    private final DailySpendRollupRepository rollupRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (rollupRepository.findFirstByOrderByIdAsc().isPresent() || transactionRepository.findMaxId() == null) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        Integer buckets = transactionTemplate.execute(status ->
+                rollupRepository.buildFromTransactions(TransactionStatus.COMPLETED.name()));
+        log.info("Built {} daily spend rollups from the ledger in {} ms", buckets, System.currentTimeMillis() - started);
+    }
+}
@@ -0,0 +1,229 @@
+package com.bankinghub.backend.service;
+
+import com.bankinghub.backend.dto.response.SpendingSummaryResponseDTO;
+import com.bankinghub.backend.dto.response.SpendingSummaryResponseDTO.CategoryTotal;
+import com.bankinghub.backend.dto.response.SpendingSummaryResponseDTO.Granularity;
+import com.bankinghub.backend.dto.response.SpendingSummaryResponseDTO.PeriodSummary;
+import com.bankinghub.backend.event.TransactionPostedEvent;
+import com.bankinghub.backend.event.TransactionRecategorizedEvent;
+import com.bankinghub.backend.event.TransactionReversedEvent;
+import com.bankinghub.backend.event.TransactionsPostedEvent;
+import com.bankinghub.backend.exception.CustomBusinessException;
+import com.bankinghub.backend.model.DailySpendRollup;
+import com.bankinghub.backend.model.Transaction;
+import com.bankinghub.backend.model.Transaction.TransactionStatus;
+import com.bankinghub.backend.model.Transaction.TransactionType;
+import com.bankinghub.backend.repository.DailySpendRollupRepository;
+import com.bankinghub.backend.repository.DailySpendRollupRepository.MonthlySpend;
+import com.bankinghub.backend.security.CurrentUserProvider;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maintains the daily spend rollups and answers spending totals from them.
+ * <p>
+ * Every posting, reversal or recategorization of a completed transaction
+ * adjusts its {@link DailySpendRollup} bucket inside the same database
+ * transaction: an UPDATE of the bucket, creating it first if it is new. A bulk
+ * posting is folded into one adjustment per bucket, and buckets are always
+ * touched in key order so concurrent postings lock them in the same order.
+ * Totals and summaries over any window read at most one row per day and bucket,
+ * and the summary query folds those into months in the database.
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SpendRollupService {
+
+    /** Longest summary window, which bounds a summary to a few hundred rows per category */
+    static final int MAX_SUMMARY_YEARS = 10;
+
+    private static final Comparator<BucketKey> KEY_ORDER = Comparator.comparing(BucketKey::userId)
+            .thenComparing(BucketKey::accountId)
+            .thenComparing(BucketKey::category)
+            .thenComparing(BucketKey::type)
+            .thenComparing(BucketKey::spendDate);
+
+    private final DailySpendRollupRepository rollupRepository;
+    private final CurrentUserProvider currentUserProvider;
+
+    private record BucketKey(Long userId, Long accountId, String category, TransactionType type, LocalDate spendDate) {
+    }
+
+    private record Delta(BigDecimal amount, long count) {
+        Delta plus(Delta other) {
+            return new Delta(amount.add(other.amount), count + other.count);
+        }
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onTransactionPosted(TransactionPostedEvent event) {
+        Map<BucketKey, Delta> deltas = new TreeMap<>(KEY_ORDER);
+        collect(deltas, event.transaction(), event.transaction().getCategory(), 1);
+        apply(deltas);
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onTransactionsPosted(TransactionsPostedEvent event) {
+        Map<BucketKey, Delta> deltas = new TreeMap<>(KEY_ORDER);
+        event.transactions().forEach(transaction -> collect(deltas, transaction, transaction.getCategory(), 1));
+        apply(deltas);
+    }
+
+    /**
+     * Take out a reversed transaction from the buckets it was posted to. The
+     * compensating row is never added, so the pair nets to nothing.
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onTransactionReversed(TransactionReversedEvent event) {
+        Transaction transaction = event.transaction();
+        if (isCountable(transaction)) {
+            Map<BucketKey, Delta> deltas = new TreeMap<>(KEY_ORDER);
+            deltas.put(key(transaction, transaction.getCategory()), new Delta(transaction.getAmount().negate(), -1));
+            apply(deltas);
+        }
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onTransactionRecategorized(TransactionRecategorizedEvent event) {
+        Transaction transaction = event.transaction();
+        Map<BucketKey, Delta> deltas = new TreeMap<>(KEY_ORDER);
+        collect(deltas, transaction, event.previousCategory(), -1);
+        collect(deltas, transaction, transaction.getCategory(), 1);
+        apply(deltas);
+    }
+
+    /**
+     * Total of a user's completed transactions of {@code types} in a category,
+     * dated within {@code [startDate, endDate]}.
+     */
+    @Transactional(readOnly = true)
+    public BigDecimal sumAmount(Long userId, String category, Collection<TransactionType> types,
+                                LocalDate startDate, LocalDate endDate) {
+        return rollupRepository.sumAmountByUserIdAndCategoryAndTypesAndDateBetween(
+                userId, storedCategory(category), types, startDate, endDate);
+    }
+
+    /**
+     * Total of a user's completed transactions of {@code types} dated within
+     * {@code [startDate, endDate]}, across categories.
+     */
+    @Transactional(readOnly = true)
+    public BigDecimal sumAmount(Long userId, Collection<TransactionType> types, LocalDate startDate, LocalDate endDate) {
+        return rollupRepository.sumAmountByUserIdAndTypesAndDateBetween(userId, types, startDate, endDate);
+    }
+
+    /**
+     * The current user's completed transactions in {@code [fromDate, toDate]},
+     * totalled per period and per category and type. Every period of the window
+     * is listed, including empty ones.
+     */
+    @Transactional(readOnly = true)
+    public SpendingSummaryResponseDTO summarize(LocalDate fromDate, LocalDate toDate, Granularity granularity) {
+        if (fromDate.isAfter(toDate)) {
+            throw new CustomBusinessException("From date must not be after to date");
+        }
+        if (ChronoUnit.YEARS.between(fromDate, toDate) >= MAX_SUMMARY_YEARS) {
+            throw new CustomBusinessException("Summary window must be shorter than " + MAX_SUMMARY_YEARS + " years");
+        }
+
+        TreeMap<LocalDate, Map<BucketKey, Delta>> periods = new TreeMap<>();
+        for (LocalDate start = granularity.periodStart(fromDate); !start.isAfter(toDate);
+             start = granularity.nextPeriodStart(start)) {
+            periods.put(start, new LinkedHashMap<>());
+        }
+        List<MonthlySpend> months = rollupRepository.sumMonthlyByUserIdAndDateBetween(
+                currentUserProvider.getCurrentUserId(), fromDate, toDate);
+        for (MonthlySpend month : months) {
+            LocalDate monthStart = LocalDate.of(month.getSpendYear(), month.getSpendMonth(), 1);
+            BucketKey key = new BucketKey(null, null, month.getCategory(), month.getType(), null);
+            periods.floorEntry(monthStart).getValue()
+                    .merge(key, new Delta(month.getAmount(), month.getTransactionCount()), Delta::plus);
+        }
+
+        List<PeriodSummary> summaries = new ArrayList<>(periods.size());
+        periods.forEach((start, totals) -> {
+            BigDecimal debits = BigDecimal.ZERO;
+            BigDecimal credits = BigDecimal.ZERO;
+            long count = 0;
+            List<CategoryTotal> categories = new ArrayList<>(totals.size());
+            for (Map.Entry<BucketKey, Delta> entry : totals.entrySet()) {
+                Delta total = entry.getValue();
+                if (total.count() == 0 && total.amount().signum() == 0) {
+                    continue;
+                }
+                TransactionType type = entry.getKey().type();
+                if (type.isDebit()) {
+                    debits = debits.add(total.amount());
+                } else {
+                    credits = credits.add(total.amount());
+                }
+                count += total.count();
+                String category = entry.getKey().category();
+                categories.add(new CategoryTotal(DailySpendRollup.UNCATEGORISED.equals(category) ? null : category,
+                        type, total.amount(), total.count()));
+            }
+            categories.sort(Comparator.comparing(CategoryTotal::getAmount).reversed());
+            LocalDate end = granularity.nextPeriodStart(start).minusDays(1);
+            summaries.add(new PeriodSummary(start.isBefore(fromDate) ? fromDate : start,
+                    end.isAfter(toDate) ? toDate : end, debits, credits, count, categories));
+        });
+        log.debug("Spending summary {} to {} by {} composed from {} monthly rows", fromDate, toDate, granularity, months.size());
+        return new SpendingSummaryResponseDTO(fromDate, toDate, granularity, summaries);
+    }
+
+    private void collect(Map<BucketKey, Delta> deltas, Transaction transaction, String category, int sign) {
+        if (transaction.getStatus() == TransactionStatus.COMPLETED && isCountable(transaction)) {
+            BigDecimal amount = sign < 0 ? transaction.getAmount().negate() : transaction.getAmount();
+            deltas.merge(key(transaction, category), new Delta(amount, sign), Delta::plus);
+        }
+    }
+
+    private void apply(Map<BucketKey, Delta> deltas) {
+        deltas.forEach((key, delta) -> {
+            if (delta.count() == 0 && delta.amount().signum() == 0) {
+                return;
+            }
+            if (rollupRepository.addToBucket(key.userId(), key.accountId(), key.category(), key.type(),
+                    key.spendDate(), delta.amount(), delta.count()) == 0) {
+                rollupRepository.createBucket(key.userId(), key.accountId(), key.category(), key.type().name(), key.spendDate());
+                rollupRepository.addToBucket(key.userId(), key.accountId(), key.category(), key.type(),
+                        key.spendDate(), delta.amount(), delta.count());
+            }
+        });
+    }
+
+    private static boolean isCountable(Transaction transaction) {
+        return transaction.getUserId() != null && transaction.getAccount() != null
+                && transaction.getType() != null && transaction.getTransactionDate() != null;
+    }
+
+    private static BucketKey key(Transaction transaction, String category) {
+        return new BucketKey(transaction.getUserId(), transaction.getAccount().getId(), storedCategory(category),
+                transaction.getType(), transaction.getTransactionDate().toLocalDate());
+    }
+
+    private static String storedCategory(String category) {
+        return category != null ? category : DailySpendRollup.UNCATEGORISED;
+    }
+}
@@ -0,0 +1,247 @@
+package com.bankinghub.backend.service;
+
+import com.bankinghub.backend.config.CacheConfig;
+import com.bankinghub.backend.dto.response.MerchantBreakdownResponseDTO;
+import com.bankinghub.backend.dto.response.MerchantBreakdownResponseDTO.MerchantTotal;
+import com.bankinghub.backend.dto.response.SpendingComparisonResponseDTO;
+import com.bankinghub.backend.dto.response.SpendingComparisonResponseDTO.CategoryChange;
+import com.bankinghub.backend.dto.response.SpendingComparisonResponseDTO.Change;
+import com.bankinghub.backend.dto.response.SpendingComparisonResponseDTO.Period;
+import com.bankinghub.backend.dto.response.SpendingTrendResponseDTO;
+import com.bankinghub.backend.dto.response.SpendingTrendResponseDTO.CategoryTrend;
+import com.bankinghub.backend.event.TransactionPostedEvent;
+import com.bankinghub.backend.event.TransactionRecategorizedEvent;
+import com.bankinghub.backend.event.TransactionReversedEvent;
+import com.bankinghub.backend.event.TransactionsPostedEvent;
+import com.bankinghub.backend.exception.CustomBusinessException;
+import com.bankinghub.backend.model.DailySpendRollup;
+import com.bankinghub.backend.security.CurrentUserProvider;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static com.bankinghub.backend.service.SpendingCube.fromMinorUnits;
+
+/**
+ * Spending trends, merchant breakdowns and period comparisons for the current
+ * user, answered from their in-memory {@link SpendingCube}.
+ * <p>
+ * The cube is built on the first analytics request and kept in the
+ * {@link CacheConfig#SPENDING_CUBES} cache, which drops the least recently
+ * used cubes beyond its size. Any posting, reversal or recategorization evicts
+ * the owner's cube once its transaction commits, so the next request rebuilds
+ * it from committed data; a cube loaded in an earlier month is rebuilt so the
+ * current month is always covered.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class SpendingAnalyticsService {
+
+    /** Most merchants listed in one breakdown */
+    static final int MAX_MERCHANTS = 50;
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final SpendingCubeLoader cubeLoader;
+    private final CacheManager cacheManager;
+    private final CurrentUserProvider currentUserProvider;
+
+    @EventListener
+    @CacheEvict(cacheNames = CacheConfig.SPENDING_CUBES, key = "#event.transaction().userId",
+                condition = "#event.transaction().userId != null")
+    public void onTransactionPosted(TransactionPostedEvent event) {
+        // The eviction is all that is needed; the cube is rebuilt on its next read
+    }
+
+    @EventListener
+    @CacheEvict(cacheNames = CacheConfig.SPENDING_CUBES, key = "#event.userId()")
+    public void onTransactionsPosted(TransactionsPostedEvent event) {
+        // The eviction is all that is needed; the cube is rebuilt on its next read
+    }
+
+    @EventListener
+    @CacheEvict(cacheNames = CacheConfig.SPENDING_CUBES, key = "#event.transaction().userId",
+                condition = "#event.transaction().userId != null")
+    public void onTransactionReversed(TransactionReversedEvent event) {
+        // The eviction is all that is needed; the cube is rebuilt on its next read
+    }
+
+    @EventListener
+    @CacheEvict(cacheNames = CacheConfig.SPENDING_CUBES, key = "#event.transaction().userId",
+                condition = "#event.transaction().userId != null")
+    public void onTransactionRecategorized(TransactionRecategorizedEvent event) {
+        // The eviction is all that is needed; the cube is rebuilt on its next read
+    }
+
+    /**
+     * Monthly spending per category over the last {@code months} months,
+     * counting the current one, with total debits and credits per month.
+     *
+     * @param category only this category, or {@code null} for all of them
+     */
+    public SpendingTrendResponseDTO getTrend(int months, String category) {
+        SpendingCube cube = currentCube();
+        if (months < 1 || months > cube.months()) {
+            throw new CustomBusinessException("Trend length must be between 1 and " + cube.months() + " months");
+        }
+        YearMonth toMonth = cube.lastMonth();
+        YearMonth fromMonth = toMonth.minusMonths(months - 1L);
+        int first = cube.monthIndex(fromMonth);
+
+        List<YearMonth> monthList = new ArrayList<>(months);
+        long[] debits = new long[months];
+        long[] credits = new long[months];
+        List<CategoryTrend> categories = new ArrayList<>();
+        for (int c = 0; c < cube.categoryCount(); c++) {
+            long[] spent = new long[months];
+            long total = 0;
+            long count = 0;
+            for (int m = 0; m < months; m++) {
+                spent[m] = cube.debits(c, first + m);
+                debits[m] += spent[m];
+                credits[m] += cube.credits(c, first + m);
+                total += spent[m];
+                count += cube.debitCount(c, first + m);
+            }
+            if ((total != 0 || count != 0) && (category == null || category.equals(cube.category(c)))) {
+                categories.add(new CategoryTrend(categoryName(cube.category(c)), fromMinorUnits(total), count,
+                        toAmounts(spent)));
+            }
+        }
+        for (int m = 0; m < months; m++) {
+            monthList.add(fromMonth.plusMonths(m));
+        }
+        categories.sort(Comparator.comparing(CategoryTrend::getTotalSpent).reversed());
+        return new SpendingTrendResponseDTO(fromMonth, toMonth, monthList, toAmounts(debits), toAmounts(credits), categories);
+    }
+
+    /**
+     * The merchants the current user spent most at in {@code [fromMonth, toMonth]}.
+     *
+     * @param limit merchants listed, clamped to {@link #MAX_MERCHANTS}
+     */
+    public MerchantBreakdownResponseDTO getMerchantBreakdown(YearMonth fromMonth, YearMonth toMonth, int limit) {
+        SpendingCube cube = currentCube();
+        checkPeriod(cube, fromMonth, toMonth);
+        int first = cube.monthIndex(fromMonth);
+        int last = cube.monthIndex(toMonth);
+
+        long totalSpent = 0;
+        for (int c = 0; c < cube.categoryCount(); c++) {
+            for (int m = first; m <= last; m++) {
+                totalSpent += cube.debits(c, m);
+            }
+        }
+        List<MerchantTotal> merchants = new ArrayList<>();
+        for (int merchant = 0; merchant < cube.merchantCount(); merchant++) {
+            long amount = 0;
+            long count = 0;
+            for (int m = first; m <= last; m++) {
+                amount += cube.merchantDebits(merchant, m);
+                count += cube.merchantDebitCount(merchant, m);
+            }
+            if (amount != 0 || count != 0) {
+                merchants.add(new MerchantTotal(cube.merchant(merchant), fromMinorUnits(amount), count,
+                        percent(amount, totalSpent)));
+            }
+        }
+        merchants.sort(Comparator.comparing(MerchantTotal::getAmount).reversed()
+                .thenComparing(MerchantTotal::getMerchant));
+        int size = Math.min(Math.max(limit, 1), MAX_MERCHANTS);
+        return new MerchantBreakdownResponseDTO(fromMonth, toMonth, fromMinorUnits(totalSpent),
+                new ArrayList<>(merchants.subList(0, Math.min(size, merchants.size()))));
+    }
+
+    /**
+     * Spending per category in {@code [fromMonth, toMonth]} against a period of
+     * the same length starting at {@code previousFromMonth}, by default the one
+     * just before it.
+     */
+    public SpendingComparisonResponseDTO compare(YearMonth fromMonth, YearMonth toMonth, YearMonth previousFromMonth) {
+        SpendingCube cube = currentCube();
+        checkPeriod(cube, fromMonth, toMonth);
+        int length = cube.monthIndex(toMonth) - cube.monthIndex(fromMonth) + 1;
+        YearMonth previousFrom = previousFromMonth != null ? previousFromMonth : fromMonth.minusMonths(length);
+        YearMonth previousTo = previousFrom.plusMonths(length - 1L);
+        checkPeriod(cube, previousFrom, previousTo);
+        int current = cube.monthIndex(fromMonth);
+        int previous = cube.monthIndex(previousFrom);
+
+        long totalCurrent = 0;
+        long totalPrevious = 0;
+        List<CategoryChange> categories = new ArrayList<>();
+        for (int c = 0; c < cube.categoryCount(); c++) {
+            long currentSpent = 0;
+            long previousSpent = 0;
+            for (int m = 0; m < length; m++) {
+                currentSpent += cube.debits(c, current + m);
+                previousSpent += cube.debits(c, previous + m);
+            }
+            totalCurrent += currentSpent;
+            totalPrevious += previousSpent;
+            if (currentSpent != 0 || previousSpent != 0) {
+                categories.add(new CategoryChange(categoryName(cube.category(c)), fromMinorUnits(currentSpent),
+                        fromMinorUnits(previousSpent), fromMinorUnits(currentSpent - previousSpent),
+                        percent(currentSpent - previousSpent, previousSpent)));
+            }
+        }
+        categories.sort(Comparator.comparing((CategoryChange change) -> change.getDifference().abs()).reversed());
+        Change total = new Change(fromMinorUnits(totalCurrent), fromMinorUnits(totalPrevious),
+                fromMinorUnits(totalCurrent - totalPrevious), percent(totalCurrent - totalPrevious, totalPrevious));
+        return new SpendingComparisonResponseDTO(new Period(fromMonth, toMonth), new Period(previousFrom, previousTo),
+                total, categories);
+    }
+
+    private SpendingCube currentCube() {
+        Long userId = currentUserProvider.getCurrentUserId();
+        SpendingCube cube = cubeLoader.load(userId);
+        if (!cube.covers(YearMonth.now())) {
+            // Loaded in an earlier month: rebuild so the window ends at the current one
+            Cache cache = cacheManager.getCache(CacheConfig.SPENDING_CUBES);
+            if (cache != null) {
+                cache.evictIfPresent(userId);
+            }
+            cube = cubeLoader.load(userId);
+        }
+        return cube;
+    }
+
+    private static void checkPeriod(SpendingCube cube, YearMonth fromMonth, YearMonth toMonth) {
+        if (fromMonth.isAfter(toMonth)) {
+            throw new CustomBusinessException("From month must not be after to month");
+        }
+        if (!cube.covers(fromMonth) || !cube.covers(toMonth)) {
+            throw new CustomBusinessException("Spending analytics cover " + cube.firstMonth() + " to " + cube.lastMonth());
+        }
+    }
+
+    private static List<BigDecimal> toAmounts(long[] amounts) {
+        List<BigDecimal> result = new ArrayList<>(amounts.length);
+        for (long amount : amounts) {
+            result.add(fromMinorUnits(amount));
+        }
+        return result;
+    }
+
+    private static BigDecimal percent(long part, long whole) {
+        if (whole == 0) {
+            return null;
+        }
+        return BigDecimal.valueOf(part).multiply(HUNDRED).divide(BigDecimal.valueOf(whole), 1, RoundingMode.HALF_UP);
+    }
+
+    private static String categoryName(String storedCategory) {
+        return DailySpendRollup.UNCATEGORISED.equals(storedCategory) ? null : storedCategory;
+    }
+}
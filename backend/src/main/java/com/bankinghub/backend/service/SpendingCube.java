@@ -0,0 +1,194 @@
+package com.bankinghub.backend.service;
+
+import com.bankinghub.backend.model.DailySpendRollup;
+import com.bankinghub.backend.model.Transaction.TransactionType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One user's completed transactions summed per category, month and type, and
+ * their spending summed per merchant and month.
+ * <p>
+ * Measures are held in flat {@code long} arrays of minor units, one cell per
+ * category, month and type (or merchant and month), addressed arithmetically,
+ * so a trend or comparison is a loop over a few thousand array slots with no
+ * boxing or {@link BigDecimal} arithmetic. A cube is immutable once built and
+ * is read without locking; when the user's transactions change the whole cube
+ * is dropped and rebuilt on the next read.
+ * </p>
+ */
+final class SpendingCube {
+
+    /** Amounts are held as unscaled values at this scale */
+    static final int MINOR_UNIT_SCALE = 2;
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final YearMonth firstMonth;
+    private final int months;
+    private final String[] categories;
+    private final long[] categoryAmounts;
+    private final long[] categoryCounts;
+    private final String[] merchants;
+    private final long[] merchantAmounts;
+    private final long[] merchantCounts;
+
+    private SpendingCube(Builder builder) {
+        this.firstMonth = builder.firstMonth;
+        this.months = builder.months;
+        this.categories = builder.categories.keySet().toArray(String[]::new);
+        this.categoryAmounts = flatten(builder.categories.values(), 0, months * TYPES.length);
+        this.categoryCounts = flatten(builder.categories.values(), 1, months * TYPES.length);
+        this.merchants = builder.merchants.keySet().toArray(String[]::new);
+        this.merchantAmounts = flatten(builder.merchants.values(), 0, months);
+        this.merchantCounts = flatten(builder.merchants.values(), 1, months);
+    }
+
+    YearMonth firstMonth() {
+        return firstMonth;
+    }
+
+    YearMonth lastMonth() {
+        return firstMonth.plusMonths(months - 1);
+    }
+
+    int months() {
+        return months;
+    }
+
+    /** Index of {@code month} in this cube; only meaningful for months it {@link #covers} */
+    int monthIndex(YearMonth month) {
+        return (int) firstMonth.until(month, ChronoUnit.MONTHS);
+    }
+
+    boolean covers(YearMonth month) {
+        return !month.isBefore(firstMonth) && !month.isAfter(lastMonth());
+    }
+
+    int categoryCount() {
+        return categories.length;
+    }
+
+    /** Stored category name, {@link DailySpendRollup#UNCATEGORISED} for uncategorised transactions */
+    String category(int category) {
+        return categories[category];
+    }
+
+    /** Debits of one category in one month, in minor units */
+    long debits(int category, int month) {
+        long total = 0;
+        int base = (category * months + month) * TYPES.length;
+        for (int type = 0; type < TYPES.length; type++) {
+            if (TYPES[type].isDebit()) {
+                total += categoryAmounts[base + type];
+            }
+        }
+        return total;
+    }
+
+    /** Credits of one category in one month, in minor units */
+    long credits(int category, int month) {
+        long total = 0;
+        int base = (category * months + month) * TYPES.length;
+        for (int type = 0; type < TYPES.length; type++) {
+            if (!TYPES[type].isDebit()) {
+                total += categoryAmounts[base + type];
+            }
+        }
+        return total;
+    }
+
+    /** Number of debit transactions of one category in one month */
+    long debitCount(int category, int month) {
+        long total = 0;
+        int base = (category * months + month) * TYPES.length;
+        for (int type = 0; type < TYPES.length; type++) {
+            if (TYPES[type].isDebit()) {
+                total += categoryCounts[base + type];
+            }
+        }
+        return total;
+    }
+
+    int merchantCount() {
+        return merchants.length;
+    }
+
+    String merchant(int merchant) {
+        return merchants[merchant];
+    }
+
+    /** Spending at one merchant in one month, in minor units */
+    long merchantDebits(int merchant, int month) {
+        return merchantAmounts[merchant * months + month];
+    }
+
+    long merchantDebitCount(int merchant, int month) {
+        return merchantCounts[merchant * months + month];
+    }
+
+    static long toMinorUnits(BigDecimal amount) {
+        return amount.setScale(MINOR_UNIT_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    static BigDecimal fromMinorUnits(long amount) {
+        return BigDecimal.valueOf(amount, MINOR_UNIT_SCALE);
+    }
+
+    private static long[] flatten(Collection<long[][]> rows, int measure, int width) {
+        long[] flat = new long[rows.size() * width];
+        int offset = 0;
+        for (long[][] row : rows) {
+            System.arraycopy(row[measure], 0, flat, offset, width);
+            offset += width;
+        }
+        return flat;
+    }
+
+    /**
+     * Accumulates monthly sums, in any order, into a new cube.
+     */
+    static final class Builder {
+
+        private final YearMonth firstMonth;
+        private final int months;
+        /** Amount and count rows per category, in first-seen order */
+        private final Map<String, long[][]> categories = new LinkedHashMap<>();
+        private final Map<String, long[][]> merchants = new LinkedHashMap<>();
+
+        Builder(YearMonth firstMonth, int months) {
+            this.firstMonth = firstMonth;
+            this.months = months;
+        }
+
+        Builder addCategory(String category, YearMonth month, TransactionType type, BigDecimal amount, long count) {
+            int index = (int) firstMonth.until(month, ChronoUnit.MONTHS);
+            if (index >= 0 && index < months) {
+                long[][] row = categories.computeIfAbsent(category, key -> new long[2][months * TYPES.length]);
+                row[0][index * TYPES.length + type.ordinal()] += toMinorUnits(amount);
+                row[1][index * TYPES.length + type.ordinal()] += count;
+            }
+            return this;
+        }
+
+        Builder addMerchant(String merchant, YearMonth month, BigDecimal amount, long count) {
+            int index = (int) firstMonth.until(month, ChronoUnit.MONTHS);
+            if (index >= 0 && index < months) {
+                long[][] row = merchants.computeIfAbsent(merchant, key -> new long[2][months]);
+                row[0][index] += toMinorUnits(amount);
+                row[1][index] += count;
+            }
+            return this;
+        }
+
+        SpendingCube build() {
+            return new SpendingCube(this);
+        }
+    }
+}
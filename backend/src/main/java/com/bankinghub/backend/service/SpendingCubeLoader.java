@@ -0,0 +1,72 @@
+package com.bankinghub.backend.service;
+
+import com.bankinghub.backend.config.CacheConfig;
+import com.bankinghub.backend.model.Transaction.TransactionStatus;
+import com.bankinghub.backend.repository.DailySpendRollupRepository;
+import com.bankinghub.backend.repository.DailySpendRollupRepository.MonthlySpend;
+import com.bankinghub.backend.repository.TransactionRepository;
+import com.bankinghub.backend.repository.TransactionRepository.MonthlyMerchantSpend;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Builds a user's {@link SpendingCube} on first use and keeps it in the
+ * {@link CacheConfig#SPENDING_CUBES} cache.
+ * <p>
+ * Category measures come from the daily spend rollups, folded into months by
+ * the database; merchant measures from one grouped query over the user's
+ * transactions in the cube's months. Concurrent readers of a missing cube wait
+ * for a single load.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SpendingCubeLoader {
+
+    private final DailySpendRollupRepository rollupRepository;
+    private final TransactionRepository transactionRepository;
+
+    @Value("${app.analytics.history-months:13}")
+    private int historyMonths;
+
+    /**
+     * The user's cube covering the last {@code app.analytics.history-months}
+     * months up to the current one, from the cache or freshly built.
+     */
+    @Cacheable(cacheNames = CacheConfig.SPENDING_CUBES, key = "#userId", sync = true)
+    @Transactional(readOnly = true)
+    public SpendingCube load(Long userId) {
+        long started = System.nanoTime();
+        YearMonth lastMonth = YearMonth.now();
+        YearMonth firstMonth = lastMonth.minusMonths(historyMonths - 1L);
+        SpendingCube.Builder builder = new SpendingCube.Builder(firstMonth, historyMonths);
+
+        List<MonthlySpend> categoryMonths = rollupRepository.sumMonthlyByUserIdAndDateBetween(
+                userId, firstMonth.atDay(1), lastMonth.atEndOfMonth());
+        for (MonthlySpend month : categoryMonths) {
+            builder.addCategory(month.getCategory(), YearMonth.of(month.getSpendYear(), month.getSpendMonth()),
+                    month.getType(), month.getAmount(), month.getTransactionCount());
+        }
+        List<MonthlyMerchantSpend> merchantMonths = transactionRepository.sumMonthlyByUserIdAndMerchant(
+                userId, TransactionStatus.COMPLETED, BudgetSpendService.SPENDING_TYPES,
+                firstMonth.atDay(1).atStartOfDay(), lastMonth.plusMonths(1).atDay(1).atStartOfDay());
+        for (MonthlyMerchantSpend month : merchantMonths) {
+            builder.addMerchant(month.getMerchant(), YearMonth.of(month.getSpendYear(), month.getSpendMonth()),
+                    month.getAmount(), month.getTransactionCount());
+        }
+
+        SpendingCube cube = builder.build();
+        log.debug("Loaded spending cube for user {}: {} categories, {} merchants over {} months in {} ms",
+                userId, cube.categoryCount(), cube.merchantCount(), historyMonths,
+                (System.nanoTime() - started) / 1_000_000);
+        return cube;
+    }
+}
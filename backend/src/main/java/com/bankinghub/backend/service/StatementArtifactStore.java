@@ -0,0 +1,152 @@
+package com.bankinghub.backend.service;
+
+import com.bankinghub.backend.config.StatementProperties;
+import com.bankinghub.backend.exception.CustomBusinessException;
+import com.bankinghub.backend.service.StatementExportService.StatementFormat;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Local-disk store for rendered statements.
+ * <p>
+ * A statement file is named after its {@link ArtifactKey}: account, period,
+ * format and the id of the last transaction in the period. Any new posting in
+ * the period produces a new key, so a stored file never needs invalidating and
+ * its key digest doubles as a strong ETag. Files are written to a temporary
+ * name and atomically moved into place, so readers only ever see complete files.
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StatementArtifactStore {
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final StatementProperties statementProperties;
+
+    private Path root;
+
+    /**
+     * Identity of a rendered statement.
+     *
+     * @param ledgerVersion the account's version when the statement was requested; postings,
+     *                      reversals and recategorizations all bump it
+     */
+    public record ArtifactKey(Long accountId, LocalDateTime fromDate, LocalDateTime toDate,
+                              StatementFormat format, Long ledgerVersion) {
+
+        public String digest() {
+            String identity = accountId + "|" + fromDate + "|" + toDate + "|" + format + "|" + ledgerVersion;
+            try {
+                byte[] hash = MessageDigest.getInstance("SHA-256").digest(identity.getBytes(StandardCharsets.UTF_8));
+                return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+
+        public String fileName() {
+            return accountId + "-" + digest() + "." + format.getFileExtension();
+        }
+
+        public String eTag() {
+            return "\"" + digest() + "\"";
+        }
+    }
+
+    @PostConstruct
+    void init() throws IOException {
+        root = Paths.get(statementProperties.getStorageDir()).toAbsolutePath();
+        Files.createDirectories(root);
+        log.info("Statement artifacts stored in {}", root);
+    }
+
+    /**
+     * Look up a stored statement, refreshing its retention clock on a hit.
+     */
+    public Optional<Path> find(ArtifactKey key) {
+        Path path = root.resolve(key.fileName());
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        try {
+            Files.setLastModifiedTime(path, FileTime.from(Instant.now()));
+        } catch (IOException e) {
+            log.debug("Could not touch statement file {}", path, e);
+        }
+        return Optional.of(path);
+    }
+
+    /**
+     * Render a statement into the store.
+     *
+     * @param renderer writes the document to the stream it is given
+     * @return path of the stored file
+     */
+    public Path store(ArtifactKey key, Consumer<OutputStream> renderer) {
+        Path target = root.resolve(key.fileName());
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(root, key.accountId() + "-", TEMP_SUFFIX);
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                renderer.accept(out);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return target;
+        } catch (IOException | UncheckedIOException e) {
+            log.error("Failed to store statement file {}", target, e);
+            throw new CustomBusinessException("Failed to store statement: " + e.getMessage());
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException e) {
+                    log.debug("Could not delete temporary statement file {}", temp, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Remove statement files, and abandoned temporary files, not used within the retention period.
+     */
+    @Scheduled(cron = "${app.statements.purge-cron:0 15 * * * *}")
+    public void purgeExpired() {
+        Instant cutoff = Instant.now().minus(statementProperties.getArtifactRetention());
+        int removed = 0;
+        try (Stream<Path> files = Files.list(root)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (Files.getLastModifiedTime(file).toInstant().isBefore(cutoff) && Files.deleteIfExists(file)) {
+                    removed++;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to purge statement files in {}", root, e);
+        }
+        if (removed > 0) {
+            log.info("Purged {} expired statement files", removed);
+        }
+    }
+}
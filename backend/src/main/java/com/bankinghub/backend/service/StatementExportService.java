@@ -3,6 +3,8 @@ package com.bankinghub.backend.service;
 import com.bankinghub.backend.dto.response.AccountResponseDTO;
 import com.bankinghub.backend.dto.response.TransactionResponseDTO;
 import com.bankinghub.backend.exception.CustomBusinessException;
+import com.bankinghub.backend.model.Transaction;
+import com.bankinghub.backend.repository.TransactionRepository;
 import com.itextpdf.kernel.colors.ColorConstants;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfWriter;
@@ -11,30 +13,119 @@ import com.itextpdf.layout.element.Cell;
 import com.itextpdf.layout.element.Paragraph;
 import com.itextpdf.layout.element.Table;
 import com.itextpdf.layout.properties.TextAlignment;
+import jakarta.persistence.EntityManager;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVPrinter;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedWriter;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.StringWriter;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class StatementExportService {
 
-    public byte[] exportToPDF(AccountResponseDTO account, List<TransactionResponseDTO> transactions, 
+    /** Rows added to a PDF table between flushes to the output */
+    private static final int PDF_FLUSH_ROWS = 100;
+
+    private static final LocalDateTime EARLIEST_STATEMENT_DATE = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionService transactionService;
+    private final EntityManager entityManager;
+    private final TransactionArchiveService transactionArchiveService;
+
+    /**
+     * Statement output formats.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public enum StatementFormat {
+        PDF(MediaType.APPLICATION_PDF_VALUE, "pdf"),
+        CSV("text/csv", "csv"),
+        TEXT(MediaType.TEXT_PLAIN_VALUE, "txt");
+
+        private final String contentType;
+        private final String fileExtension;
+    }
+
+    /**
+     * Write an account statement straight to {@code out}.
+     * <p>
+     * Transactions are read through a forward-only repository stream and each row
+     * is rendered and detached before the next one is fetched, so memory stays flat
+     * however long the statement period is. Archived months in the period are
+     * merged in one at a time. The output stream is flushed but not closed.
+     * </p>
+     */
+    @Transactional(readOnly = true)
+    public void writeStatement(AccountResponseDTO account, StatementFormat format,
+                               LocalDateTime fromDate, LocalDateTime toDate, OutputStream out) {
+        LocalDateTime startDate = fromDate != null ? fromDate : EARLIEST_STATEMENT_DATE;
+        LocalDateTime endDate = toDate != null ? toDate : LocalDateTime.now();
+
+        try (Stream<Transaction> rows = transactionArchiveService.withArchived(
+                transactionRepository.streamByAccountIdAndDateBetween(account.getId(), startDate, endDate),
+                account.getId(), startDate, endDate)) {
+            Iterator<TransactionResponseDTO> transactions = rows.map(this::toStatementRow).iterator();
+            switch (format) {
+                case PDF -> writePDF(account, transactions, fromDate, toDate, out);
+                case CSV -> writeCSV(account, transactions, fromDate, toDate, out);
+                case TEXT -> writeText(account, transactions, fromDate, toDate, out);
+            }
+        }
+    }
+
+    public byte[] exportToPDF(AccountResponseDTO account, List<TransactionResponseDTO> transactions,
+                             LocalDateTime fromDate, LocalDateTime toDate) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        writePDF(account, transactions.iterator(), fromDate, toDate, baos);
+        return baos.toByteArray();
+    }
+
+    public String exportToCSV(AccountResponseDTO account, List<TransactionResponseDTO> transactions,
                              LocalDateTime fromDate, LocalDateTime toDate) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        writeCSV(account, transactions.iterator(), fromDate, toDate, baos);
+        return baos.toString(StandardCharsets.UTF_8);
+    }
+
+    public String exportToText(AccountResponseDTO account, List<TransactionResponseDTO> transactions,
+                              LocalDateTime fromDate, LocalDateTime toDate) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        writeText(account, transactions.iterator(), fromDate, toDate, baos);
+        return baos.toString(StandardCharsets.UTF_8);
+    }
+
+    private TransactionResponseDTO toStatementRow(Transaction transaction) {
+        TransactionResponseDTO row = transactionService.convertToTransactionResponse(transaction);
+        // Keep the persistence context from growing with every row read
+        entityManager.detach(transaction);
+        return row;
+    }
+
+    private void writePDF(AccountResponseDTO account, Iterator<TransactionResponseDTO> transactions,
+                          LocalDateTime fromDate, LocalDateTime toDate, OutputStream out) {
         try {
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            PdfWriter writer = new PdfWriter(baos);
+            PdfWriter writer = new PdfWriter(out);
+            writer.setCloseStream(false);
             PdfDocument pdfDocument = new PdfDocument(writer);
             Document document = new Document(pdfDocument);
 
@@ -59,23 +150,24 @@ public class StatementExportService {
             document.add(new Paragraph("Account Number: " + account.getMaskedAccountNumber()));
             document.add(new Paragraph("Account Type: " + account.getAccountType()));
             document.add(new Paragraph("Current Balance: ZMW " + account.getBalance()));
-            
+
             if (fromDate != null && toDate != null) {
-                document.add(new Paragraph("Statement Period: " + 
-                    fromDate.format(DateTimeFormatter.ofPattern("dd/MM/yyyy")) + 
+                document.add(new Paragraph("Statement Period: " +
+                    fromDate.format(DateTimeFormatter.ofPattern("dd/MM/yyyy")) +
                     " to " + toDate.format(DateTimeFormatter.ofPattern("dd/MM/yyyy"))));
             }
-            
-            document.add(new Paragraph("Generated On: " + 
+
+            document.add(new Paragraph("Generated On: " +
                 LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm"))));
 
             document.add(new Paragraph("\n"));
 
             // Transactions Table
-            if (!transactions.isEmpty()) {
+            if (transactions.hasNext()) {
                 document.add(new Paragraph("Transaction History").setFontSize(14).setBold());
-                
-                Table table = new Table(new float[]{2, 3, 2, 2, 2});
+
+                // Large table: laid out and written in chunks instead of held whole
+                Table table = new Table(new float[]{2, 3, 2, 2, 2}, true);
                 table.setWidth(500);
 
                 // Header
@@ -89,19 +181,25 @@ public class StatementExportService {
                         .setBackgroundColor(ColorConstants.LIGHT_GRAY));
                 table.addHeaderCell(new Cell().add(new Paragraph("Balance").setBold())
                         .setBackgroundColor(ColorConstants.LIGHT_GRAY));
+                document.add(table);
 
                 // Data rows
-                for (TransactionResponseDTO transaction : transactions) {
+                int rows = 0;
+                while (transactions.hasNext()) {
+                    TransactionResponseDTO transaction = transactions.next();
                     table.addCell(transaction.getTransactionDate()
                         .format(DateTimeFormatter.ofPattern("dd/MM/yyyy")));
                     table.addCell(transaction.getDescription());
                     table.addCell(transaction.getType().toString());
                     table.addCell("ZMW " + transaction.getAmount());
-                    table.addCell("ZMW " + (transaction.getBalanceAfter() != null ? 
+                    table.addCell("ZMW " + (transaction.getBalanceAfter() != null ?
                         transaction.getBalanceAfter() : "N/A"));
+                    if (++rows % PDF_FLUSH_ROWS == 0) {
+                        table.flush();
+                    }
                 }
 
-                document.add(table);
+                table.complete();
             } else {
                 document.add(new Paragraph("No transactions found for the specified period."));
             }
@@ -116,7 +214,7 @@ public class StatementExportService {
                     .setTextAlignment(TextAlignment.CENTER));
 
             document.close();
-            return baos.toByteArray();
+            out.flush();
 
         } catch (Exception e) {
             log.error("Error generating PDF statement", e);
@@ -124,48 +222,50 @@ public class StatementExportService {
         }
     }
 
-    public String exportToCSV(AccountResponseDTO account, List<TransactionResponseDTO> transactions,
-                             LocalDateTime fromDate, LocalDateTime toDate) {
+    private void writeCSV(AccountResponseDTO account, Iterator<TransactionResponseDTO> transactions,
+                          LocalDateTime fromDate, LocalDateTime toDate, OutputStream out) {
         try {
-            StringWriter writer = new StringWriter();
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
             CSVFormat csvFormat = CSVFormat.DEFAULT.builder()
                     .setHeader("Date", "Description", "Type", "Category", "Merchant", "Amount", "Balance", "Status")
                     .build();
 
-            try (CSVPrinter csvPrinter = new CSVPrinter(writer, csvFormat)) {
-                // Add account information as comments
-                csvPrinter.printComment("MelvinBank Zambia - Bank Statement");
-                csvPrinter.printComment("Account Name: " + account.getAccountName());
-                csvPrinter.printComment("Account Number: " + account.getMaskedAccountNumber());
-                csvPrinter.printComment("Account Type: " + account.getAccountType());
-                csvPrinter.printComment("Current Balance: ZMW " + account.getBalance());
-                
-                if (fromDate != null && toDate != null) {
-                    csvPrinter.printComment("Statement Period: " + 
-                        fromDate.format(DateTimeFormatter.ofPattern("dd/MM/yyyy")) + 
-                        " to " + toDate.format(DateTimeFormatter.ofPattern("dd/MM/yyyy")));
-                }
-                
-                csvPrinter.printComment("Generated On: " + 
-                    LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm")));
-                csvPrinter.printComment("");
-
-                // Add transaction data
-                for (TransactionResponseDTO transaction : transactions) {
-                    csvPrinter.printRecord(
-                            transaction.getTransactionDate().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm")),
-                            transaction.getDescription(),
-                            transaction.getType(),
-                            transaction.getCategory() != null ? transaction.getCategory() : "",
-                            transaction.getMerchant() != null ? transaction.getMerchant() : "",
-                            transaction.getAmount(),
-                            transaction.getBalanceAfter() != null ? transaction.getBalanceAfter() : "",
-                            transaction.getStatus()
-                    );
-                }
+            // Not closed: that would close the caller's stream
+            CSVPrinter csvPrinter = new CSVPrinter(writer, csvFormat);
+
+            // Add account information as comments
+            csvPrinter.printComment("MelvinBank Zambia - Bank Statement");
+            csvPrinter.printComment("Account Name: " + account.getAccountName());
+            csvPrinter.printComment("Account Number: " + account.getMaskedAccountNumber());
+            csvPrinter.printComment("Account Type: " + account.getAccountType());
+            csvPrinter.printComment("Current Balance: ZMW " + account.getBalance());
+
+            if (fromDate != null && toDate != null) {
+                csvPrinter.printComment("Statement Period: " +
+                    fromDate.format(DateTimeFormatter.ofPattern("dd/MM/yyyy")) +
+                    " to " + toDate.format(DateTimeFormatter.ofPattern("dd/MM/yyyy")));
+            }
+
+            csvPrinter.printComment("Generated On: " +
+                LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm")));
+            csvPrinter.printComment("");
+
+            // Add transaction data
+            while (transactions.hasNext()) {
+                TransactionResponseDTO transaction = transactions.next();
+                csvPrinter.printRecord(
+                        transaction.getTransactionDate().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm")),
+                        transaction.getDescription(),
+                        transaction.getType(),
+                        transaction.getCategory() != null ? transaction.getCategory() : "",
+                        transaction.getMerchant() != null ? transaction.getMerchant() : "",
+                        transaction.getAmount(),
+                        transaction.getBalanceAfter() != null ? transaction.getBalanceAfter() : "",
+                        transaction.getStatus()
+                );
             }
 
-            return writer.toString();
+            csvPrinter.flush();
 
         } catch (IOException e) {
             log.error("Error generating CSV statement", e);
@@ -173,92 +273,97 @@ public class StatementExportService {
         }
     }
 
-    public String exportToText(AccountResponseDTO account, List<TransactionResponseDTO> transactions,
-                              LocalDateTime fromDate, LocalDateTime toDate) {
-        StringBuilder sb = new StringBuilder();
-        
-        // Header
-        sb.append("=====================================\n");
-        sb.append("        MELVINBANK ZAMBIA\n");
-        sb.append("         BANK STATEMENT\n");
-        sb.append("=====================================\n\n");
-        
-        // Account Information
-        sb.append("ACCOUNT INFORMATION:\n");
-        sb.append("-------------------\n");
-        sb.append("Account Name: ").append(account.getAccountName()).append("\n");
-        sb.append("Account Number: ").append(account.getMaskedAccountNumber()).append("\n");
-        sb.append("Account Type: ").append(account.getAccountType()).append("\n");
-        sb.append("Current Balance: ZMW ").append(account.getBalance()).append("\n");
-        
-        if (fromDate != null && toDate != null) {
-            sb.append("Statement Period: ")
-                .append(fromDate.format(DateTimeFormatter.ofPattern("dd/MM/yyyy")))
-                .append(" to ")
-                .append(toDate.format(DateTimeFormatter.ofPattern("dd/MM/yyyy")))
-                .append("\n");
-        }
-        
-        sb.append("Generated On: ")
-            .append(LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm")))
-            .append("\n\n");
-        
-        // Transactions
-        if (!transactions.isEmpty()) {
-            sb.append("TRANSACTION HISTORY:\n");
-            sb.append("-------------------\n");
-            sb.append(String.format("%-12s %-30s %-15s %-15s %-15s\n", 
-                "Date", "Description", "Type", "Amount", "Balance"));
-            sb.append("--------------------------------------------------------------------------------\n");
-            
-            for (TransactionResponseDTO transaction : transactions) {
-                sb.append(String.format("%-12s %-30s %-15s ZMW %-10s ZMW %-10s\n",
-                    transaction.getTransactionDate().format(DateTimeFormatter.ofPattern("dd/MM/yyyy")),
-                    truncate(transaction.getDescription(), 30),
-                    transaction.getType(),
-                    transaction.getAmount(),
-                    transaction.getBalanceAfter() != null ? transaction.getBalanceAfter() : "N/A"));
+    private void writeText(AccountResponseDTO account, Iterator<TransactionResponseDTO> transactions,
+                           LocalDateTime fromDate, LocalDateTime toDate, OutputStream out) {
+        try {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+
+            // Header
+            writer.append("=====================================\n");
+            writer.append("        MELVINBANK ZAMBIA\n");
+            writer.append("         BANK STATEMENT\n");
+            writer.append("=====================================\n\n");
+
+            // Account Information
+            writer.append("ACCOUNT INFORMATION:\n");
+            writer.append("-------------------\n");
+            writer.append("Account Name: ").append(account.getAccountName()).append("\n");
+            writer.append("Account Number: ").append(account.getMaskedAccountNumber()).append("\n");
+            writer.append("Account Type: ").append(String.valueOf(account.getAccountType())).append("\n");
+            writer.append("Current Balance: ZMW ").append(String.valueOf(account.getBalance())).append("\n");
+
+            if (fromDate != null && toDate != null) {
+                writer.append("Statement Period: ")
+                    .append(fromDate.format(DateTimeFormatter.ofPattern("dd/MM/yyyy")))
+                    .append(" to ")
+                    .append(toDate.format(DateTimeFormatter.ofPattern("dd/MM/yyyy")))
+                    .append("\n");
             }
-            
-            sb.append("--------------------------------------------------------------------------------\n");
-            
-            // Summary
-            BigDecimal totalDebits = transactions.stream()
-                .filter(t -> t.getType().toString().contains("WITHDRAWAL") || 
-                           t.getType().toString().contains("PAYMENT") ||
-                           t.getType().toString().contains("TRANSFER_OUT"))
-                .map(TransactionResponseDTO::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-                
-            BigDecimal totalCredits = transactions.stream()
-                .filter(t -> t.getType().toString().contains("DEPOSIT") || 
-                           t.getType().toString().contains("TRANSFER_IN") ||
-                           t.getType().toString().contains("REFUND"))
-                .map(TransactionResponseDTO::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-            
-            sb.append("\nSUMMARY:\n");
-            sb.append("Total Credits: ZMW ").append(totalCredits).append("\n");
-            sb.append("Total Debits: ZMW ").append(totalDebits).append("\n");
-            sb.append("Total Transactions: ").append(transactions.size()).append("\n");
-            
-        } else {
-            sb.append("TRANSACTION HISTORY:\n");
-            sb.append("-------------------\n");
-            sb.append("No transactions found for the specified period.\n");
+
+            writer.append("Generated On: ")
+                .append(LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm")))
+                .append("\n\n");
+
+            // Transactions
+            if (transactions.hasNext()) {
+                writer.append("TRANSACTION HISTORY:\n");
+                writer.append("-------------------\n");
+                writer.append(String.format("%-12s %-30s %-15s %-15s %-15s\n",
+                    "Date", "Description", "Type", "Amount", "Balance"));
+                writer.append("--------------------------------------------------------------------------------\n");
+
+                // Summary totals are accumulated as rows go by
+                BigDecimal totalDebits = BigDecimal.ZERO;
+                BigDecimal totalCredits = BigDecimal.ZERO;
+                long totalTransactions = 0;
+
+                while (transactions.hasNext()) {
+                    TransactionResponseDTO transaction = transactions.next();
+                    writer.append(String.format("%-12s %-30s %-15s ZMW %-10s ZMW %-10s\n",
+                        transaction.getTransactionDate().format(DateTimeFormatter.ofPattern("dd/MM/yyyy")),
+                        truncate(transaction.getDescription(), 30),
+                        transaction.getType(),
+                        transaction.getAmount(),
+                        transaction.getBalanceAfter() != null ? transaction.getBalanceAfter() : "N/A"));
+
+                    String type = transaction.getType().toString();
+                    if (type.contains("WITHDRAWAL") || type.contains("PAYMENT") || type.contains("TRANSFER_OUT")) {
+                        totalDebits = totalDebits.add(transaction.getAmount());
+                    } else if (type.contains("DEPOSIT") || type.contains("TRANSFER_IN") || type.contains("REFUND")) {
+                        totalCredits = totalCredits.add(transaction.getAmount());
+                    }
+                    totalTransactions++;
+                }
+
+                writer.append("--------------------------------------------------------------------------------\n");
+
+                writer.append("\nSUMMARY:\n");
+                writer.append("Total Credits: ZMW ").append(totalCredits.toString()).append("\n");
+                writer.append("Total Debits: ZMW ").append(totalDebits.toString()).append("\n");
+                writer.append("Total Transactions: ").append(String.valueOf(totalTransactions)).append("\n");
+
+            } else {
+                writer.append("TRANSACTION HISTORY:\n");
+                writer.append("-------------------\n");
+                writer.append("No transactions found for the specified period.\n");
+            }
+
+            writer.append("\n=====================================\n");
+            writer.append("This statement is computer generated\n");
+            writer.append("and does not require a signature.\n");
+            writer.append("\nMelvinBank Zambia - Banking Made Simple\n");
+            writer.append("=====================================\n");
+
+            writer.flush();
+
+        } catch (IOException e) {
+            log.error("Error generating text statement", e);
+            throw new CustomBusinessException("Failed to generate text statement: " + e.getMessage());
         }
-        
-        sb.append("\n=====================================\n");
-        sb.append("This statement is computer generated\n");
-        sb.append("and does not require a signature.\n");
-        sb.append("\nMelvinBank Zambia - Banking Made Simple\n");
-        sb.append("=====================================\n");
-        
-        return sb.toString();
     }
-    
+
     private String truncate(String text, int maxLength) {
         if (text == null) return "";
         return text.length() <= maxLength ? text : text.substring(0, maxLength - 3) + "...";
     }
-}
\ No newline at end of file
+}
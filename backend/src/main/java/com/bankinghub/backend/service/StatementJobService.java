@@ -0,0 +1,249 @@
+package com.bankinghub.backend.service;
+
+import com.bankinghub.backend.config.StatementProperties;
+import com.bankinghub.backend.dto.request.StatementJobRequestDTO;
+import com.bankinghub.backend.dto.response.AccountResponseDTO;
+import com.bankinghub.backend.dto.response.StatementJobResponseDTO;
+import com.bankinghub.backend.exception.CustomBusinessException;
+import com.bankinghub.backend.exception.ResourceNotFoundException;
+import com.bankinghub.backend.repository.AccountRepository;
+import com.bankinghub.backend.security.CurrentUserProvider;
+import com.bankinghub.backend.service.StatementArtifactStore.ArtifactKey;
+import com.bankinghub.backend.service.StatementExportService.StatementFormat;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Asynchronous statement generation.
+ * <p>
+ * Submitting a job resolves the statement's {@link ArtifactKey}. If that file is
+ * already on disk the job completes immediately without rendering; otherwise it
+ * is queued on a bounded worker pool that renders through
+ * {@link StatementExportService} into the {@link StatementArtifactStore}.
+ * Concurrent submissions for the same statement share one render. Jobs are held
+ * in memory for {@code app.statements.job-retention}.
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StatementJobService {
+
+    private final AccountService accountService;
+    private final StatementExportService statementExportService;
+    private final StatementArtifactStore artifactStore;
+    private final AccountRepository accountRepository;
+    private final CurrentUserProvider currentUserProvider;
+    private final StatementProperties statementProperties;
+
+    private final ConcurrentMap<String, StatementJob> inFlight = new ConcurrentHashMap<>();
+    private Cache<String, StatementJob> jobs;
+    // Kept private rather than a bean: an Executor bean would replace Boot's default @Async executor
+    private ThreadPoolTaskExecutor executor;
+
+    /**
+     * Statement job lifecycle.
+     */
+    public enum JobStatus {
+        /** Waiting for a worker */
+        QUEUED,
+        /** Being rendered */
+        RUNNING,
+        /** Statement file ready for download */
+        COMPLETED,
+        /** Rendering failed */
+        FAILED
+    }
+
+    /**
+     * A stored statement ready to be served.
+     */
+    public record StatementArtifact(Path path, String eTag, String downloadFileName, StatementFormat format) {
+    }
+
+    @Getter
+    private static final class StatementJob {
+        private final String jobId = UUID.randomUUID().toString();
+        private final Long userId;
+        private final ArtifactKey key;
+        private final String downloadFileName;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private volatile JobStatus status = JobStatus.QUEUED;
+        private volatile String errorMessage;
+        private volatile LocalDateTime completedAt;
+
+        private StatementJob(Long userId, ArtifactKey key, String downloadFileName) {
+            this.userId = userId;
+            this.key = key;
+            this.downloadFileName = downloadFileName;
+        }
+
+        private void finish(JobStatus finalStatus, String error) {
+            this.errorMessage = error;
+            this.completedAt = LocalDateTime.now();
+            this.status = finalStatus;
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        jobs = Caffeine.newBuilder()
+                .expireAfterWrite(statementProperties.getJobRetention())
+                .build();
+
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(statementProperties.getWorkerThreads());
+        executor.setMaxPoolSize(statementProperties.getWorkerThreads());
+        executor.setQueueCapacity(statementProperties.getQueueCapacity());
+        executor.setThreadNamePrefix("statement-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Queue a statement for rendering, or complete straight away when an
+     * identical statement is already stored.
+     *
+     * @throws org.springframework.core.task.TaskRejectedException when the worker queue is full
+     */
+    public StatementJobResponseDTO submit(StatementJobRequestDTO request) {
+        if (request.getFromDate() != null && request.getToDate() != null
+                && request.getFromDate().isAfter(request.getToDate())) {
+            throw new CustomBusinessException("Statement start date must not be after end date");
+        }
+
+        // Also enforces that the account belongs to the current user
+        AccountResponseDTO account = accountService.getAccountById(request.getAccountId());
+        ArtifactKey key = resolveKey(account.getId(), request.getFormat(), request.getFromDate(), request.getToDate());
+        StatementJob job = new StatementJob(currentUserProvider.getCurrentUserId(), key,
+                downloadFileName(account, request.getFormat()));
+
+        if (artifactStore.find(key).isPresent()) {
+            job.finish(JobStatus.COMPLETED, null);
+            jobs.put(job.getJobId(), job);
+            log.info("Statement job {} served from stored file for account {}", job.getJobId(), account.getId());
+            return toResponse(job);
+        }
+
+        StatementJob running = inFlight.putIfAbsent(key.fileName(), job);
+        if (running != null) {
+            return toResponse(running);
+        }
+
+        jobs.put(job.getJobId(), job);
+        try {
+            executor.execute(() -> render(job, account, request.getFromDate(), request.getToDate()));
+        } catch (RuntimeException e) {
+            inFlight.remove(key.fileName());
+            jobs.invalidate(job.getJobId());
+            throw e;
+        }
+
+        log.info("Statement job {} queued for account {} ({})", job.getJobId(), account.getId(), request.getFormat());
+        return toResponse(job);
+    }
+
+    /**
+     * Resolve a statement for immediate download, rendering it into the store on
+     * the calling thread only when no identical statement is stored yet.
+     */
+    public StatementArtifact getOrRenderStatement(Long accountId, StatementFormat format,
+                                                  LocalDateTime fromDate, LocalDateTime toDate) {
+        // Also enforces that the account belongs to the current user
+        AccountResponseDTO account = accountService.getAccountById(accountId);
+        ArtifactKey key = resolveKey(account.getId(), format, fromDate, toDate);
+
+        Path path = artifactStore.find(key).orElseGet(() -> artifactStore.store(key, out ->
+                statementExportService.writeStatement(account, format, fromDate, toDate, out)));
+        return new StatementArtifact(path, key.eTag(), downloadFileName(account, format), format);
+    }
+
+    public StatementJobResponseDTO getJob(String jobId) {
+        return toResponse(findOwnJob(jobId));
+    }
+
+    /**
+     * Resolve the stored file of a completed job.
+     */
+    public StatementArtifact getArtifact(String jobId) {
+        StatementJob job = findOwnJob(jobId);
+        if (job.getStatus() != JobStatus.COMPLETED) {
+            throw new CustomBusinessException("Statement is not ready, current status: " + job.getStatus());
+        }
+
+        Path path = artifactStore.find(job.getKey())
+                .orElseThrow(() -> new ResourceNotFoundException("Statement file has expired, please submit a new job"));
+        return new StatementArtifact(path, job.getKey().eTag(), job.getDownloadFileName(), job.getKey().format());
+    }
+
+    /**
+     * Work out which stored statement a request maps to. A {@code null} bound is
+     * kept open in the key; the account's ledger version captures every change to
+     * its transactions, including reversals and recategorizations of old rows.
+     */
+    ArtifactKey resolveKey(Long accountId, StatementFormat format, LocalDateTime fromDate, LocalDateTime toDate) {
+        Long ledgerVersion = accountRepository.findVersionById(accountId);
+        return new ArtifactKey(accountId, fromDate, toDate, format, ledgerVersion);
+    }
+
+    private void render(StatementJob job, AccountResponseDTO account, LocalDateTime fromDate, LocalDateTime toDate) {
+        job.status = JobStatus.RUNNING;
+        long started = System.currentTimeMillis();
+        try {
+            artifactStore.store(job.getKey(), out ->
+                    statementExportService.writeStatement(account, job.getKey().format(), fromDate, toDate, out));
+            job.finish(JobStatus.COMPLETED, null);
+            log.info("Statement job {} completed in {} ms", job.getJobId(), System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            log.error("Statement job {} failed", job.getJobId(), e);
+            job.finish(JobStatus.FAILED, "Statement generation failed");
+        } finally {
+            inFlight.remove(job.getKey().fileName());
+        }
+    }
+
+    private String downloadFileName(AccountResponseDTO account, StatementFormat format) {
+        return "statement_" + account.getMaskedAccountNumber() + "_" + System.currentTimeMillis()
+                + "." + format.getFileExtension();
+    }
+
+    private StatementJob findOwnJob(String jobId) {
+        StatementJob job = jobs.getIfPresent(jobId);
+        if (job == null || !job.getUserId().equals(currentUserProvider.getCurrentUserId())) {
+            throw new ResourceNotFoundException("Statement job not found with id: " + jobId);
+        }
+        return job;
+    }
+
+    private StatementJobResponseDTO toResponse(StatementJob job) {
+        StatementJobResponseDTO response = new StatementJobResponseDTO();
+        response.setJobId(job.getJobId());
+        response.setAccountId(job.getKey().accountId());
+        response.setFormat(job.getKey().format());
+        response.setStatus(job.getStatus());
+        response.setEtag(job.getStatus() == JobStatus.COMPLETED ? job.getKey().eTag() : null);
+        response.setErrorMessage(job.getErrorMessage());
+        response.setSubmittedAt(job.getSubmittedAt());
+        response.setCompletedAt(job.getCompletedAt());
+        return response;
+    }
+}
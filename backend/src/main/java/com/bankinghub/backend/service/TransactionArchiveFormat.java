@@ -0,0 +1,402 @@
+package com.bankinghub.backend.service;
+
+import com.bankinghub.backend.model.Account;
+import com.bankinghub.backend.model.Transaction;
+import com.bankinghub.backend.model.Transaction.TransactionStatus;
+import com.bankinghub.backend.model.Transaction.TransactionType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Columnar file format for one month of one account's transactions.
+ * <p>
+ * A header (magic, format version, account, owner, row count, time unit) is
+ * followed by one column per field, each deflated on its own. Ids, transaction
+ * dates and amounts are zig-zag varint deltas from the previous row, posting
+ * times are offsets from the transaction date, and type, status, category,
+ * merchant and description are indexes into a per-column dictionary, and the
+ * transaction a row reverses is an offset from the row's own id. Rows are
+ * written in {@code (transactionDate, id)} order, which keeps the deltas small.
+ * A CRC32C of everything before it ends the file. Version 1 files, written
+ * before reversals were rows of their own, have no reversal column.
+ * </p>
+ */
+final class TransactionArchiveFormat {
+
+    private static final int MAGIC = 0x424B4341; // "BKCA"
+    private static final int FORMAT_VERSION = 2;
+    private static final int FIRST_VERSION_WITH_REVERSALS = 2;
+    private static final int HEADER_SIZE = 4 + 1 + 8 + 8 + 4 + 8;
+    private static final int AMOUNT_SCALE = 2;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long NANOS_PER_MICRO = 1_000L;
+    private static final long NO_USER = -1L;
+
+    private TransactionArchiveFormat() {
+    }
+
+    /**
+     * Encode rows already sorted by {@code (transactionDate, id)}.
+     */
+    static byte[] encode(Long accountId, Long userId, List<Transaction> rows) {
+        // Database timestamps carry microseconds; fall back to nanoseconds only if a row needs them
+        long unit = rows.stream().allMatch(row -> row.getTransactionDate().getNano() % NANOS_PER_MICRO == 0
+                && row.getCreatedAt().getNano() % NANOS_PER_MICRO == 0) ? NANOS_PER_MICRO : 1L;
+
+        Column ids = new Column();
+        Column dates = new Column();
+        Column posted = new Column();
+        Column amounts = new Column();
+        Column balances = new Column();
+        DictionaryColumn types = new DictionaryColumn();
+        DictionaryColumn statuses = new DictionaryColumn();
+        DictionaryColumn categories = new DictionaryColumn();
+        DictionaryColumn merchants = new DictionaryColumn();
+        DictionaryColumn descriptions = new DictionaryColumn();
+        Column references = new Column();
+        Column reversals = new Column();
+
+        long previousId = 0;
+        long previousDate = 0;
+        long previousAmount = 0;
+        long previousBalance = 0;
+        for (Transaction row : rows) {
+            ids.writeSigned(row.getId() - previousId);
+            previousId = row.getId();
+            long date = toUnits(row.getTransactionDate(), unit);
+            dates.writeSigned(date - previousDate);
+            previousDate = date;
+            posted.writeSigned(toUnits(row.getCreatedAt(), unit) - date);
+            long amount = toMinorUnits(row.getAmount());
+            amounts.writeSigned(amount - previousAmount);
+            previousAmount = amount;
+            if (row.getBalanceAfter() == null) {
+                balances.writeUnsigned(0);
+            } else {
+                long balance = toMinorUnits(row.getBalanceAfter());
+                balances.writeUnsigned(zigZag(balance - previousBalance) + 1);
+                previousBalance = balance;
+            }
+            types.write(row.getType().name());
+            statuses.write(row.getStatus().name());
+            categories.write(row.getCategory());
+            merchants.write(row.getMerchant());
+            descriptions.write(row.getDescription());
+            references.writeString(row.getReferenceNumber());
+            // Offset plus one, so zero can stand for "reverses nothing"
+            reversals.writeUnsigned(row.getReversalOfId() == null ? 0 : zigZag(row.getId() - row.getReversalOfId()) + 1);
+        }
+
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(MAGIC);
+            out.writeByte(FORMAT_VERSION);
+            out.writeLong(accountId);
+            out.writeLong(userId != null ? userId : NO_USER);
+            out.writeInt(rows.size());
+            out.writeLong(unit);
+            for (byte[] column : List.of(ids.toByteArray(), dates.toByteArray(), posted.toByteArray(),
+                    amounts.toByteArray(), balances.toByteArray(), types.toByteArray(), statuses.toByteArray(),
+                    categories.toByteArray(), merchants.toByteArray(), descriptions.toByteArray(),
+                    references.toByteArray(), reversals.toByteArray())) {
+                byte[] compressed = deflate(column);
+                out.writeInt(column.length);
+                out.writeInt(compressed.length);
+                out.write(compressed);
+            }
+            CRC32C crc = new CRC32C();
+            crc.update(bytes.toByteArray());
+            out.writeInt((int) crc.getValue());
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Decode a file into detached transactions on {@code account}, in
+     * {@code (transactionDate, id)} order.
+     *
+     * @throws IllegalStateException if the file is damaged or belongs to another account
+     */
+    static List<Transaction> decode(byte[] data, Account account) {
+        if (data.length < HEADER_SIZE + 4) {
+            throw new IllegalStateException("Archive file is truncated");
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(data, 0, data.length - 4);
+        ByteBuffer in = ByteBuffer.wrap(data);
+        if (in.getInt(data.length - 4) != (int) crc.getValue()) {
+            throw new IllegalStateException("Archive file checksum mismatch");
+        }
+        int version = in.getInt() == MAGIC ? in.get() : -1;
+        if (version < 1 || version > FORMAT_VERSION) {
+            throw new IllegalStateException("Not a version 1 to " + FORMAT_VERSION + " transaction archive");
+        }
+        long accountId = in.getLong();
+        if (accountId != account.getId()) {
+            throw new IllegalStateException("Archive file holds account " + accountId + ", not " + account.getId());
+        }
+        long userId = in.getLong();
+        int rowCount = in.getInt();
+        long unit = in.getLong();
+
+        ColumnReader ids = nextColumn(in);
+        ColumnReader dates = nextColumn(in);
+        ColumnReader posted = nextColumn(in);
+        ColumnReader amounts = nextColumn(in);
+        ColumnReader balances = nextColumn(in);
+        ColumnReader typeIndexes = nextColumn(in);
+        List<String> types = typeIndexes.readDictionary();
+        ColumnReader statusIndexes = nextColumn(in);
+        List<String> statuses = statusIndexes.readDictionary();
+        ColumnReader categoryIndexes = nextColumn(in);
+        List<String> categories = categoryIndexes.readDictionary();
+        ColumnReader merchantIndexes = nextColumn(in);
+        List<String> merchants = merchantIndexes.readDictionary();
+        ColumnReader descriptionIndexes = nextColumn(in);
+        List<String> descriptions = descriptionIndexes.readDictionary();
+        ColumnReader references = nextColumn(in);
+        ColumnReader reversals = version >= FIRST_VERSION_WITH_REVERSALS ? nextColumn(in) : null;
+
+        List<Transaction> rows = new ArrayList<>(rowCount);
+        long id = 0;
+        long date = 0;
+        long amount = 0;
+        long balance = 0;
+        for (int i = 0; i < rowCount; i++) {
+            Transaction row = new Transaction();
+            id += ids.readSigned();
+            date += dates.readSigned();
+            amount += amounts.readSigned();
+            row.setId(id);
+            row.setTransactionDate(fromUnits(date, unit));
+            row.setCreatedAt(fromUnits(date + posted.readSigned(), unit));
+            row.setAmount(BigDecimal.valueOf(amount, AMOUNT_SCALE));
+            long balanceDelta = balances.readUnsigned();
+            if (balanceDelta != 0) {
+                balance += unZigZag(balanceDelta - 1);
+                row.setBalanceAfter(BigDecimal.valueOf(balance, AMOUNT_SCALE));
+            }
+            row.setType(TransactionType.valueOf(types.get((int) typeIndexes.readUnsigned() - 1)));
+            row.setStatus(TransactionStatus.valueOf(statuses.get((int) statusIndexes.readUnsigned() - 1)));
+            row.setCategory(lookup(categories, categoryIndexes.readUnsigned()));
+            row.setMerchant(lookup(merchants, merchantIndexes.readUnsigned()));
+            row.setDescription(lookup(descriptions, descriptionIndexes.readUnsigned()));
+            row.setReferenceNumber(references.readString());
+            if (reversals != null) {
+                long reversalOffset = reversals.readUnsigned();
+                row.setReversalOfId(reversalOffset != 0 ? id - unZigZag(reversalOffset - 1) : null);
+            }
+            row.setUserId(userId != NO_USER ? userId : null);
+            row.setAccount(account);
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static ColumnReader nextColumn(ByteBuffer in) {
+        int rawLength = in.getInt();
+        byte[] compressed = new byte[in.getInt()];
+        in.get(compressed);
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            byte[] raw = new byte[rawLength];
+            int read = 0;
+            while (read < rawLength && !inflater.finished()) {
+                int n = inflater.inflate(raw, read, rawLength - read);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += n;
+            }
+            if (read != rawLength) {
+                throw new IllegalStateException("Archive column is truncated");
+            }
+            return new ColumnReader(raw);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Archive column is corrupt", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static String lookup(List<String> dictionary, long index) {
+        return index == 0 ? null : dictionary.get((int) index - 1);
+    }
+
+    private static long toUnits(LocalDateTime time, long unit) {
+        long nanos = Math.addExact(Math.multiplyExact(time.toEpochSecond(ZoneOffset.UTC), NANOS_PER_SECOND), time.getNano());
+        return nanos / unit;
+    }
+
+    private static LocalDateTime fromUnits(long value, long unit) {
+        long nanos = value * unit;
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(nanos, NANOS_PER_SECOND),
+                (int) Math.floorMod(nanos, NANOS_PER_SECOND), ZoneOffset.UTC);
+    }
+
+    private static long toMinorUnits(BigDecimal amount) {
+        return amount.setScale(AMOUNT_SCALE).unscaledValue().longValueExact();
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Column under construction: varints and length-prefixed strings.
+     */
+    private static class Column {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        void writeUnsigned(long value) {
+            while ((value & ~0x7FL) != 0) {
+                bytes.write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            bytes.write((int) value);
+        }
+
+        void writeSigned(long value) {
+            writeUnsigned(zigZag(value));
+        }
+
+        /** Length plus one, so zero can stand for null */
+        void writeString(String value) {
+            if (value == null) {
+                writeUnsigned(0);
+                return;
+            }
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeUnsigned(utf8.length + 1L);
+            bytes.write(utf8, 0, utf8.length);
+        }
+
+        byte[] toByteArray() {
+            return bytes.toByteArray();
+        }
+    }
+
+    /**
+     * Column of repeated strings, written as its dictionary followed by one
+     * index per row; index zero is null.
+     */
+    private static final class DictionaryColumn {
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final List<String> dictionary = new ArrayList<>();
+        private final Column values = new Column();
+
+        void write(String value) {
+            if (value == null) {
+                values.writeUnsigned(0);
+                return;
+            }
+            Integer index = indexes.get(value);
+            if (index == null) {
+                dictionary.add(value);
+                index = dictionary.size();
+                indexes.put(value, index);
+            }
+            values.writeUnsigned(index);
+        }
+
+        byte[] toByteArray() {
+            Column column = new Column();
+            column.writeUnsigned(dictionary.size());
+            dictionary.forEach(column::writeString);
+            byte[] header = column.toByteArray();
+            byte[] body = values.toByteArray();
+            byte[] bytes = new byte[header.length + body.length];
+            System.arraycopy(header, 0, bytes, 0, header.length);
+            System.arraycopy(body, 0, bytes, header.length, body.length);
+            return bytes;
+        }
+    }
+
+    private static final class ColumnReader {
+        private final byte[] bytes;
+        private int position;
+
+        private ColumnReader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        long readUnsigned() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                if (position >= bytes.length) {
+                    throw new IllegalStateException("Archive column ends early");
+                }
+                byte b = bytes[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalStateException("Malformed varint in archive column");
+        }
+
+        long readSigned() {
+            return unZigZag(readUnsigned());
+        }
+
+        String readString() {
+            long length = readUnsigned();
+            if (length == 0) {
+                return null;
+            }
+            String value = new String(bytes, position, (int) (length - 1), StandardCharsets.UTF_8);
+            position += (int) (length - 1);
+            return value;
+        }
+
+        /** Read the dictionary, leaving the reader at the per-row indexes */
+        List<String> readDictionary() {
+            int size = (int) readUnsigned();
+            List<String> dictionary = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                dictionary.add(readString());
+            }
+            return dictionary;
+        }
+    }
+}
@@ -0,0 +1,354 @@
+package com.bankinghub.backend.service;
+
+import com.bankinghub.backend.config.ArchiveProperties;
+import com.bankinghub.backend.model.Account;
+import com.bankinghub.backend.model.ArchivedTransactionMonth;
+import com.bankinghub.backend.model.Transaction;
+import com.bankinghub.backend.model.Transaction.TransactionStatus;
+import com.bankinghub.backend.model.Transaction.TransactionType;
+import com.bankinghub.backend.repository.ArchivedTransactionMonthRepository;
+import com.bankinghub.backend.repository.TransactionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Cold storage for old transactions.
+ * <p>
+ * Once a month falls out of the hot window ({@code app.transactions.archive.hot-months}),
+ * each account's transactions for it are written to one compressed columnar
+ * file ({@link TransactionArchiveFormat}), indexed by an
+ * {@link ArchivedTransactionMonth} row, and deleted from the {@code transactions}
+ * table, all in one database transaction per account and month. Months holding
+ * pending transactions wait for a later run; rows that arrive for an archived
+ * month later are merged into a rewritten file.
+ * </p>
+ * <p>
+ * History, statement and balance-as-of reads merge archived rows back in
+ * whenever their range reaches an archived month, so the full history stays
+ * readable. Archived transactions are read-only.
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransactionArchiveService {
+
+    /** Smallest hot window, so every active yearly budget is still summed from the table */
+    static final int MIN_HOT_MONTHS = 13;
+
+    private static final String FILE_SUFFIX = ".bkca";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final DateTimeFormatter PERIOD = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final LocalDateTime EARLIEST_TRANSACTION_DATE = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final int DELETE_CHUNK_SIZE = 1000;
+
+    static final Comparator<Transaction> OLDEST_FIRST = Comparator.comparing(Transaction::getTransactionDate)
+            .thenComparing(Transaction::getId);
+
+    private final ArchiveProperties archiveProperties;
+    private final ArchivedTransactionMonthRepository archivedMonthRepository;
+    private final TransactionRepository transactionRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    private Path root;
+
+    @PostConstruct
+    void init() throws IOException {
+        if (archiveProperties.isEnabled() && archiveProperties.getHotMonths() < MIN_HOT_MONTHS) {
+            throw new IllegalStateException("app.transactions.archive.hot-months must be at least " + MIN_HOT_MONTHS);
+        }
+        root = Paths.get(archiveProperties.getDir()).toAbsolutePath();
+        Files.createDirectories(root);
+        log.info("Transaction archive stored in {}", root);
+    }
+
+    /**
+     * Archive every closed month before the hot window.
+     */
+    @Scheduled(cron = "${app.transactions.archive.cron:0 30 1 * * *}")
+    public void archiveClosedMonths() {
+        if (!archiveProperties.isEnabled()) {
+            return;
+        }
+        archiveBefore(YearMonth.now().minusMonths(archiveProperties.getHotMonths() - 1L));
+    }
+
+    /**
+     * Move every account's transactions dated before {@code firstHotMonth} into
+     * the archive, one account and month per transaction.
+     *
+     * @return the number of transactions archived
+     */
+    public long archiveBefore(YearMonth firstHotMonth) {
+        LocalDateTime cutoff = firstHotMonth.atDay(1).atStartOfDay();
+        long archived = 0;
+        int months = 0;
+        for (Long accountId : transactionRepository.findAccountIdsWithTransactionsBefore(cutoff)) {
+            LocalDateTime next = transactionRepository.findFirstTransactionDateByAccountIdInPeriod(
+                    accountId, EARLIEST_TRANSACTION_DATE, cutoff);
+            while (next != null) {
+                YearMonth month = YearMonth.from(next);
+                try {
+                    Integer count = transactionTemplate.execute(status -> archiveMonth(accountId, month));
+                    if (count != null && count > 0) {
+                        archived += count;
+                        months++;
+                    }
+                } catch (RuntimeException e) {
+                    // Left in the table; the next run tries again
+                    log.warn("Failed to archive {} for account {}", month, accountId, e);
+                }
+                next = transactionRepository.findFirstTransactionDateByAccountIdInPeriod(
+                        accountId, month.plusMonths(1).atDay(1).atStartOfDay(), cutoff);
+            }
+        }
+        log.info("Archived {} transactions in {} account months before {}", archived, months, firstHotMonth);
+        return archived;
+    }
+
+    private int archiveMonth(Long accountId, YearMonth month) {
+        List<Transaction> rows = transactionRepository.findByAccountIdInPeriodForUpdate(
+                accountId, month.atDay(1).atStartOfDay(), month.plusMonths(1).atDay(1).atStartOfDay());
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        if (rows.stream().anyMatch(row -> row.getStatus() == TransactionStatus.PENDING)) {
+            log.debug("Not archiving {} for account {}: it still has pending transactions", month, accountId);
+            return 0;
+        }
+
+        Account account = rows.get(0).getAccount();
+        Optional<ArchivedTransactionMonth> existing = archivedMonthRepository
+                .findByAccountIdAndPeriodStart(accountId, month.atDay(1));
+        List<Transaction> all = new ArrayList<>(rows);
+        existing.ifPresent(entry -> all.addAll(readMonth(entry, account)));
+        all.sort(OLDEST_FIRST);
+        Long userId = rows.stream().map(Transaction::getUserId).filter(Objects::nonNull).findFirst()
+                .orElseGet(() -> account.getUser().getId());
+
+        String fileName = accountId + "/" + month.format(PERIOD) + "-" + System.currentTimeMillis() + FILE_SUFFIX;
+        Path written = write(fileName, TransactionArchiveFormat.encode(accountId, userId, all));
+        String replaced = existing.map(ArchivedTransactionMonth::getFileName).orElse(null);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                // Whichever file the index no longer points at goes
+                deleteQuietly(status == STATUS_COMMITTED ? (replaced != null ? root.resolve(replaced) : null) : written);
+            }
+        });
+
+        ArchivedTransactionMonth entry = existing.orElseGet(ArchivedTransactionMonth::new);
+        entry.setAccountId(accountId);
+        entry.setUserId(userId);
+        entry.setPeriodStart(month.atDay(1));
+        entry.setFileName(fileName);
+        entry.setRowCount(all.size());
+        entry.setFirstTransactionDate(all.get(0).getTransactionDate());
+        entry.setLastTransactionDate(all.get(all.size() - 1).getTransactionDate());
+        entry.setFirstCreatedAt(all.stream().map(Transaction::getCreatedAt).min(Comparator.naturalOrder()).orElseThrow());
+        entry.setLastCreatedAt(all.stream().map(Transaction::getCreatedAt).max(Comparator.naturalOrder()).orElseThrow());
+        entry.setArchivedAt(LocalDateTime.now());
+        archivedMonthRepository.save(entry);
+
+        List<Long> ids = rows.stream().map(Transaction::getId).toList();
+        for (int i = 0; i < ids.size(); i += DELETE_CHUNK_SIZE) {
+            transactionRepository.deleteAllByIdInBatch(ids.subList(i, Math.min(i + DELETE_CHUNK_SIZE, ids.size())));
+        }
+        log.debug("Archived {} transactions of {} for account {} into {}", rows.size(), month, accountId, fileName);
+        return rows.size();
+    }
+
+    /**
+     * Merge an account's archived transactions dated within {@code [startDate, endDate]}
+     * into {@code hot}, a stream of its table rows in {@code (transactionDate, id)}
+     * order. Archived months are decoded one at a time as the stream reaches them.
+     */
+    public Stream<Transaction> withArchived(Stream<Transaction> hot, Long accountId,
+                                            LocalDateTime startDate, LocalDateTime endDate) {
+        List<ArchivedTransactionMonth> months = archivedMonthRepository.findByAccountIdOverlapping(accountId, startDate, endDate);
+        if (months.isEmpty()) {
+            return hot;
+        }
+        Account account = entityManager.getReference(Account.class, accountId);
+        Stream<Transaction> archived = months.stream()
+                .flatMap(entry -> readMonth(entry, account).stream())
+                .filter(row -> !row.getTransactionDate().isBefore(startDate) && !row.getTransactionDate().isAfter(endDate));
+        return mergeSorted(hot, archived, OLDEST_FIRST).onClose(hot::close);
+    }
+
+    /**
+     * Complete a page of a user's history, newest first, with archived
+     * transactions past the cursor.
+     *
+     * @param hot        rows read from the table for the page, newest first
+     * @param cursorDate transaction date of the cursor, or {@code null} for the first page
+     * @param cursorId   transaction id of the cursor
+     * @param limit      rows wanted
+     */
+    public List<Transaction> completeHistoryPage(Long userId, List<Transaction> hot,
+                                                 LocalDateTime cursorDate, Long cursorId, int limit) {
+        LocalDateTime archivedUpTo = archivedMonthRepository.findLastTransactionDateByUserId(userId);
+        if (archivedUpTo == null) {
+            return hot;
+        }
+        // A full page newer than everything archived is already complete
+        if (hot.size() >= limit && hot.get(limit - 1).getTransactionDate().isAfter(archivedUpTo)) {
+            return hot;
+        }
+
+        Comparator<Transaction> newestFirst = OLDEST_FIRST.reversed();
+        List<Transaction> page = new ArrayList<>(hot);
+        List<ArchivedTransactionMonth> months = archivedMonthRepository.findByUserIdStartingBefore(
+                userId, cursorDate != null ? cursorDate : archivedUpTo);
+        for (ArchivedTransactionMonth entry : months) {
+            if (page.size() >= limit) {
+                page.sort(newestFirst);
+                // Months come latest-ending first, so nothing further can make the page
+                if (entry.getLastTransactionDate().isBefore(page.get(limit - 1).getTransactionDate())) {
+                    break;
+                }
+            }
+            for (Transaction row : readMonth(entry, entityManager.getReference(Account.class, entry.getAccountId()))) {
+                if (cursorDate == null || row.getTransactionDate().isBefore(cursorDate)
+                        || (row.getTransactionDate().isEqual(cursorDate) && row.getId() < cursorId)) {
+                    page.add(row);
+                }
+            }
+        }
+        page.sort(newestFirst);
+        return page.size() > limit ? new ArrayList<>(page.subList(0, limit)) : page;
+    }
+
+    /**
+     * Net effect on an account's balance of the archived transactions with
+     * {@code status} posted in {@code (after, upTo]}: credits add, {@code debitTypes} subtract.
+     */
+    public BigDecimal sumNetPosted(Long accountId, Collection<TransactionType> debitTypes, TransactionStatus status,
+                                   LocalDateTime after, LocalDateTime upTo) {
+        BigDecimal net = BigDecimal.ZERO;
+        List<ArchivedTransactionMonth> months = archivedMonthRepository.findByAccountIdPostedBetween(accountId, after, upTo);
+        if (months.isEmpty()) {
+            return net;
+        }
+        Account account = entityManager.getReference(Account.class, accountId);
+        for (ArchivedTransactionMonth entry : months) {
+            for (Transaction row : readMonth(entry, account)) {
+                if (row.getStatus() == status && row.getCreatedAt().isAfter(after) && !row.getCreatedAt().isAfter(upTo)) {
+                    net = debitTypes.contains(row.getType()) ? net.subtract(row.getAmount()) : net.add(row.getAmount());
+                }
+            }
+        }
+        return net;
+    }
+
+    private List<Transaction> readMonth(ArchivedTransactionMonth entry, Account account) {
+        Path path = root.resolve(entry.getFileName());
+        try {
+            return TransactionArchiveFormat.decode(Files.readAllBytes(path), account);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read transaction archive " + path, e);
+        }
+    }
+
+    private Path write(String fileName, byte[] data) {
+        Path target = root.resolve(fileName);
+        Path temp = null;
+        try {
+            Files.createDirectories(target.getParent());
+            temp = Files.createTempFile(target.getParent(), "archive-", TEMP_SUFFIX);
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(data);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                // The rows are deleted once the index commits, so the file must be on disk first
+                channel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            return target;
+        } catch (IOException e) {
+            deleteQuietly(temp);
+            throw new UncheckedIOException("Failed to write transaction archive " + target, e);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.debug("Could not delete archive file {}", path, e);
+        }
+    }
+
+    /**
+     * Merge two streams that are each sorted by {@code order}.
+     */
+    static <T> Stream<T> mergeSorted(Stream<T> first, Stream<T> second, Comparator<? super T> order) {
+        Iterator<T> left = first.iterator();
+        Iterator<T> right = second.iterator();
+        Iterator<T> merged = new Iterator<>() {
+            private T nextLeft = left.hasNext() ? left.next() : null;
+            private T nextRight = right.hasNext() ? right.next() : null;
+
+            @Override
+            public boolean hasNext() {
+                return nextLeft != null || nextRight != null;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                T result;
+                if (nextRight == null || (nextLeft != null && order.compare(nextLeft, nextRight) <= 0)) {
+                    result = nextLeft;
+                    nextLeft = left.hasNext() ? left.next() : null;
+                } else {
+                    result = nextRight;
+                    nextRight = right.hasNext() ? right.next() : null;
+                }
+                return result;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged, Spliterator.ORDERED), false)
+                .onClose(second::close);
+    }
+}
@@ -0,0 +1,188 @@
+package com.bankinghub.backend.service;
+
+import com.bankinghub.backend.repository.TransactionRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the {@code transactions} table range-partitioned by month of
+ * {@code transaction_date} on PostgreSQL.
+ * <p>
+ * At startup a plain table, as created by schema update, is converted in one
+ * transaction: the rows are copied into a partitioned table with one partition
+ * per month plus a default partition, and the old table's indexes and foreign
+ * keys are recreated on the new parent. The primary key becomes
+ * {@code (id, transaction_date)}, as PostgreSQL requires the partition key in it.
+ * A daily run then creates partitions {@code months-ahead} months in advance,
+ * moving any rows that landed in the default partition, and detaches partitions
+ * older than {@code retention-months} so they can be archived or dropped.
+ * </p>
+ * <p>
+ * Date-range queries prune to the months they touch, and vacuum and index
+ * maintenance work per partition. On other databases, such as H2 in the test
+ * profile, the table stays a plain table and this component does nothing.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TransactionPartitionManager {
+
+    static final String TABLE = "transactions";
+    static final String DEFAULT_PARTITION = TABLE + "_default";
+    private static final String UNPARTITIONED = TABLE + "_unpartitioned";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final TransactionRepository transactionRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.transactions.partitioning.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.transactions.partitioning.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${app.transactions.partitioning.retention-months:0}")
+    private int retentionMonths;
+
+    private boolean active;
+
+    @PostConstruct
+    void init() {
+        // Touch the repository first so schema update has created the table
+        transactionRepository.findMaxId();
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        active = enabled && "PostgreSQL".equals(database);
+        if (!active) {
+            log.debug("Transaction partitioning is off for {}", database);
+            return;
+        }
+
+        if (!isPartitioned()) {
+            transactionTemplate.executeWithoutResult(status -> convertToPartitioned());
+        }
+        maintainPartitions();
+    }
+
+    /**
+     * Create the coming months' partitions and detach those past retention.
+     */
+    @Scheduled(cron = "${app.transactions.partitioning.cron:0 0 3 * * *}")
+    public void maintainPartitions() {
+        if (!active) {
+            return;
+        }
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            transactionTemplate.executeWithoutResult(status -> createPartition(month));
+        }
+        if (retentionMonths > 0) {
+            YearMonth oldestKept = current.minusMonths(retentionMonths);
+            for (String partition : attachedMonthPartitions()) {
+                YearMonth month = YearMonth.parse(partition.substring(TABLE.length() + 2), PARTITION_SUFFIX);
+                if (month.isBefore(oldestKept)) {
+                    transactionTemplate.executeWithoutResult(status -> detachPartition(partition));
+                }
+            }
+        }
+    }
+
+    private boolean isPartitioned() {
+        String kind = jdbcTemplate.queryForObject(
+                "SELECT c.relkind::text FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace " +
+                "WHERE c.relname = ? AND n.nspname = current_schema()", String.class, TABLE);
+        return "p".equals(kind);
+    }
+
+    private void convertToPartitioned() {
+        // Capture secondary indexes and foreign keys before the old table and their names go away
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT i.indexdef FROM pg_indexes i WHERE i.schemaname = current_schema() AND i.tablename = ? " +
+                "AND i.indexname NOT IN (SELECT conname FROM pg_constraint WHERE conrelid = ?::regclass)",
+                String.class, TABLE, TABLE);
+        List<Map<String, Object>> foreignKeys = jdbcTemplate.queryForList(
+                "SELECT conname, pg_get_constraintdef(oid) AS definition FROM pg_constraint " +
+                "WHERE conrelid = ?::regclass AND contype = 'f'", TABLE);
+        LocalDate oldest = jdbcTemplate.queryForObject(
+                "SELECT MIN(transaction_date)::date FROM " + TABLE, LocalDate.class);
+
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " RENAME TO " + UNPARTITIONED);
+        jdbcTemplate.execute("CREATE TABLE " + TABLE + " (LIKE " + UNPARTITIONED +
+                " INCLUDING DEFAULTS INCLUDING CONSTRAINTS) PARTITION BY RANGE (transaction_date)");
+        jdbcTemplate.execute("CREATE TABLE " + DEFAULT_PARTITION + " PARTITION OF " + TABLE + " DEFAULT");
+        YearMonth first = oldest != null ? YearMonth.from(oldest) : YearMonth.now();
+        for (YearMonth month = first; !month.isAfter(YearMonth.now().plusMonths(monthsAhead)); month = month.plusMonths(1)) {
+            jdbcTemplate.execute("CREATE TABLE " + partitionName(month) + " PARTITION OF " + TABLE + forValues(month));
+        }
+
+        Integer copied = jdbcTemplate.update("INSERT INTO " + TABLE + " SELECT * FROM " + UNPARTITIONED);
+        jdbcTemplate.execute("DROP TABLE " + UNPARTITIONED);
+
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD CONSTRAINT " + TABLE + "_pkey PRIMARY KEY (id, transaction_date)");
+        indexes.forEach(definition -> jdbcTemplate.execute(
+                definition.replaceFirst(" ON (\\S+\\.)?" + TABLE + " ", " ON " + TABLE + " ")));
+        foreignKeys.forEach(foreignKey -> jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD CONSTRAINT "
+                + foreignKey.get("conname") + " " + foreignKey.get("definition")));
+        log.info("Converted {} to monthly partitions from {}, {} rows copied", TABLE, first, copied);
+    }
+
+    private void createPartition(YearMonth month) {
+        String partition = partitionName(month);
+        Boolean exists = jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition);
+        if (Boolean.TRUE.equals(exists)) {
+            return;
+        }
+
+        String range = "transaction_date >= '" + month.atDay(1) + "' AND transaction_date < '"
+                + month.plusMonths(1).atDay(1) + "'";
+        Integer stray = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM " + DEFAULT_PARTITION + " WHERE " + range, Integer.class);
+        if (stray == null || stray == 0) {
+            jdbcTemplate.execute("CREATE TABLE " + partition + " PARTITION OF " + TABLE + forValues(month));
+        } else {
+            // Rows for this month sit in the default partition, which would reject the new range: move them first
+            jdbcTemplate.execute("CREATE TABLE " + partition + " (LIKE " + TABLE + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+            jdbcTemplate.update("INSERT INTO " + partition + " SELECT * FROM " + DEFAULT_PARTITION + " WHERE " + range);
+            jdbcTemplate.update("DELETE FROM " + DEFAULT_PARTITION + " WHERE " + range);
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " ATTACH PARTITION " + partition + forValues(month));
+        }
+        log.info("Created transaction partition {}{}", partition,
+                stray != null && stray > 0 ? ", moved " + stray + " rows from the default partition" : "");
+    }
+
+    private List<String> attachedMonthPartitions() {
+        return jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                "WHERE i.inhparent = ?::regclass AND c.relname ~ ? ORDER BY c.relname",
+                String.class, TABLE, "^" + TABLE + "_p[0-9]{6}$");
+    }
+
+    private void detachPartition(String partition) {
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + partition);
+        log.info("Detached transaction partition {}; it is kept as a standalone table for archiving", partition);
+    }
+
+    static String partitionName(YearMonth month) {
+        return TABLE + "_p" + month.format(PARTITION_SUFFIX);
+    }
+
+    private static String forValues(YearMonth month) {
+        return " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')";
+    }
+}
@@ -0,0 +1,47 @@
+package com.bankinghub.backend.service;
+
+import com.bankinghub.backend.model.Transaction;
+import com.bankinghub.backend.repository.TransactionRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the transaction id sequence past ids handed out by the old identity column.
+ * <p>
+ * Transaction ids used to come from an identity column; they now come from
+ * {@link Transaction#ID_SEQUENCE}, which starts at 1 when schema update first
+ * creates it. Runs during startup, before the web server accepts requests, and
+ * restarts the sequence above the highest existing id if the next block it would
+ * hand out could collide. A no-op on every later start.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TransactionSequenceAlignment {
+
+    private final TransactionRepository transactionRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    void align() {
+        Long maxId = transactionRepository.findMaxId();
+        if (maxId == null) {
+            return;
+        }
+
+        // The pooled optimizer treats each value as the top of a block of ID_ALLOCATION_SIZE ids
+        Long next = jdbcTemplate.queryForObject("SELECT nextval('" + Transaction.ID_SEQUENCE + "')", Long.class);
+        if (next != null && next - Transaction.ID_ALLOCATION_SIZE >= maxId) {
+            return;
+        }
+
+        long restartWith = maxId + Transaction.ID_ALLOCATION_SIZE;
+        jdbcTemplate.execute("ALTER SEQUENCE " + Transaction.ID_SEQUENCE + " RESTART WITH " + restartWith);
+        log.info("Restarted {} at {} to clear existing transaction ids up to {}",
+                Transaction.ID_SEQUENCE, restartWith, maxId);
+    }
+}
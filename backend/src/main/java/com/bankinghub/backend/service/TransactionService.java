@@ -0,0 +1,145 @@
+package com.bankinghub.backend.service;
+
+import com.bankinghub.backend.dto.response.CursorPageResponseDTO;
+import com.bankinghub.backend.dto.response.TransactionResponseDTO;
+import com.bankinghub.backend.event.TransactionRecategorizedEvent;
+import com.bankinghub.backend.exception.CustomBusinessException;
+import com.bankinghub.backend.exception.ResourceNotFoundException;
+import com.bankinghub.backend.model.Transaction;
+import com.bankinghub.backend.repository.AccountRepository;
+import com.bankinghub.backend.repository.TransactionRepository;
+import com.bankinghub.backend.security.CurrentUserProvider;
+import com.bankinghub.backend.util.KeysetCursor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransactionService {
+
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
+
+    private final TransactionRepository transactionRepository;
+    private final AccountRepository accountRepository;
+    private final CurrentUserProvider currentUserProvider;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionArchiveService transactionArchiveService;
+
+    /**
+     * Get one page of the current user's transaction history, newest first.
+     * <p>
+     * Pages seek on {@code (transactionDate, id)} past the cursor rather than
+     * skipping an offset, so every page costs the same however deep it is,
+     * and no count query is issued. Pages reaching past the hot window are
+     * completed from the archive.
+     * </p>
+     *
+     * @param cursor opaque token from the previous page, or {@code null} for the first page
+     * @param size   requested page size, clamped to {@value #MAX_PAGE_SIZE}
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponseDTO<TransactionResponseDTO> getTransactionHistory(String cursor, int size) {
+        Long userId = currentUserProvider.getCurrentUserId();
+        int pageSize = clampPageSize(size);
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        // Fetch one extra row to learn whether another page exists
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<Transaction> rows = position == null
+                ? transactionRepository.findFirstHistoryPageByUserId(userId, limit)
+                : transactionRepository.findHistoryPageByUserIdAfterCursor(
+                        userId, position.timestamp(), position.id(), limit);
+        rows = transactionArchiveService.completeHistoryPage(userId, rows,
+                position != null ? position.timestamp() : null, position != null ? position.id() : null, pageSize + 1);
+
+        boolean hasMore = rows.size() > pageSize;
+        List<Transaction> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            Transaction last = page.get(page.size() - 1);
+            nextCursor = new KeysetCursor(last.getTransactionDate(), last.getId()).encode();
+        }
+
+        List<TransactionResponseDTO> content = page.stream()
+                .map(this::convertToTransactionResponse)
+                .collect(Collectors.toList());
+        return new CursorPageResponseDTO<>(content, nextCursor, hasMore);
+    }
+
+    /**
+     * The ten most recent transactions of one of the current user's accounts,
+     * newest first. Archived months are not consulted.
+     */
+    @Transactional(readOnly = true)
+    public List<TransactionResponseDTO> getRecentTransactions(Long accountId) {
+        return transactionRepository.findTop10ByAccountIdAndUserIdOrderByTransactionDateDesc(
+                        accountId, currentUserProvider.getCurrentUserId()).stream()
+                .map(this::convertToTransactionResponse)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Move one of the current user's transactions to another category. Budget
+     * spend follows through {@link TransactionRecategorizedEvent}. Archived
+     * transactions are read-only and are not found here.
+     */
+    @Transactional
+    public TransactionResponseDTO recategorizeTransaction(Long transactionId, String category) {
+        Transaction transaction = transactionRepository.findByIdAndUserId(transactionId, currentUserProvider.getCurrentUserId())
+                .orElseThrow(() -> new ResourceNotFoundException("Transaction not found with id: " + transactionId));
+
+        // Reversed spend has already been taken out of its category; moving it would put it back elsewhere
+        if (transaction.getReversalOfId() != null || transactionRepository.existsByReversalOfId(transactionId)) {
+            throw new CustomBusinessException("Reversed transactions and their reversals cannot be recategorized");
+        }
+
+        String previousCategory = transaction.getCategory();
+        if (!Objects.equals(previousCategory, category)) {
+            transaction.setCategory(category);
+            // The balance is unchanged, but statements already rendered now show the old category
+            accountRepository.bumpVersion(transaction.getAccount().getId());
+            eventPublisher.publishEvent(new TransactionRecategorizedEvent(transaction, previousCategory));
+            log.info("Transaction {} recategorized from {} to {}", transactionId, previousCategory, category);
+        }
+
+        return convertToTransactionResponse(transaction);
+    }
+
+    static int clampPageSize(int size) {
+        if (size <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    TransactionResponseDTO convertToTransactionResponse(Transaction transaction) {
+        TransactionResponseDTO response = new TransactionResponseDTO();
+        response.setId(transaction.getId());
+        response.setAmount(transaction.getAmount());
+        response.setType(transaction.getType());
+        response.setDescription(transaction.getDescription());
+        response.setCategory(transaction.getCategory());
+        response.setMerchant(transaction.getMerchant());
+        response.setReferenceNumber(transaction.getReferenceNumber());
+        response.setStatus(transaction.getStatus());
+        response.setBalanceAfter(transaction.getBalanceAfter());
+        response.setTransactionDate(transaction.getTransactionDate());
+        response.setCreatedAt(transaction.getCreatedAt());
+        response.setAccountId(transaction.getAccount().getId());
+        response.setAccountName(transaction.getAccount().getAccountName());
+        response.setReversalOfId(transaction.getReversalOfId());
+
+        return response;
+    }
+}
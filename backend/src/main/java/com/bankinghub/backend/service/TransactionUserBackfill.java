@@ -0,0 +1,50 @@
+package com.bankinghub.backend.service;
+
+import com.bankinghub.backend.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Fills {@code transactions.user_id} for rows written before the column existed.
+ * <p>
+ * Runs once every bean is ready but before the web server and schedulers
+ * start, so no request reads per-user history while owners are still missing.
+ * Walks the id range in fixed-size chunks, each in its own transaction, so a
+ * large table is never locked by one long update. It is a no-op once every
+ * row carries its owner.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TransactionUserBackfill implements SmartInitializingSingleton {
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.transactions.user-backfill.batch-size:10000}")
+    private long batchSize;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Long minId = transactionRepository.findMinIdWithoutUserId();
+        Long maxId = transactionRepository.findMaxIdWithoutUserId();
+        if (minId == null || maxId == null) {
+            return;
+        }
+
+        log.info("Backfilling transaction owners for ids {} to {}", minId, maxId);
+        long updated = 0;
+        for (long start = minId; start <= maxId; start += batchSize) {
+            long fromId = start;
+            long toId = Math.min(start + batchSize - 1, maxId);
+            Integer count = transactionTemplate.execute(status -> transactionRepository.backfillUserIds(fromId, toId));
+            updated += count != null ? count : 0;
+        }
+        log.info("Backfilled owner on {} transactions", updated);
+    }
+}
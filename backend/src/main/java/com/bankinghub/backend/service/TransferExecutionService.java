@@ -0,0 +1,311 @@
+package com.bankinghub.backend.service;
+
+import com.bankinghub.backend.config.CacheConfig;
+import com.bankinghub.backend.event.TransactionPostedEvent;
+import com.bankinghub.backend.exception.ResourceNotFoundException;
+import com.bankinghub.backend.model.Account;
+import com.bankinghub.backend.model.Transaction;
+import com.bankinghub.backend.model.Transaction.TransactionStatus;
+import com.bankinghub.backend.model.Transaction.TransactionType;
+import com.bankinghub.backend.model.Transfer;
+import com.bankinghub.backend.model.Transfer.TransferStatus;
+import com.bankinghub.backend.repository.AccountRepository;
+import com.bankinghub.backend.repository.TransactionRepository;
+import com.bankinghub.backend.repository.TransferRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Executes transfers between two accounts.
+ * <p>
+ * The transfer row is locked first, then both account rows in ascending id
+ * order. Every executor takes locks in that same global order, so opposing
+ * A&rarr;B and B&rarr;A transfers queue behind each other instead of
+ * deadlocking. Balances are changed through the versioned {@link Account}
+ * entities, so a concurrent writer that skipped the locks surfaces as an
+ * optimistic conflict rather than a lost update.
+ * </p>
+ * <p>
+ * Each attempt runs in its own transaction. Lock failures, deadlock aborts and
+ * version conflicts are retried up to {@code app.transfers.execution.max-attempts}
+ * times with jittered exponential backoff. Every conflict, and every lock wait
+ * longer than {@code app.transfers.execution.contention-threshold-ms}, is counted
+ * in the {@code transfers.account.contention} metric tagged with its kind, and
+ * the account involved is logged at debug level.
+ * </p>
+ * <p>
+ * Per-account contention is kept in a bounded table of recently contended
+ * accounts and exported as a fixed top-N: for each rank up to
+ * {@code app.transfers.execution.hot-accounts}, the gauge
+ * {@code transfers.account.contention.hot} reports the count and
+ * {@code transfers.account.contention.hot.account} the account id. Account ids
+ * never become tag values, so the number of series stays constant however many
+ * accounts contend.
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransferExecutionService {
+
+    private static final String CONTENTION_METRIC = "transfers.account.contention";
+    private static final String LOCK_WAIT_METRIC = "transfers.account.lock.wait";
+    private static final String HOT_ACCOUNT_METRIC = "transfers.account.contention.hot";
+
+    private final TransferRepository transferRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.transfers.execution.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.transfers.execution.initial-backoff-ms:20}")
+    private long initialBackoffMs;
+
+    @Value("${app.transfers.execution.max-backoff-ms:500}")
+    private long maxBackoffMs;
+
+    @Value("${app.transfers.execution.contention-threshold-ms:50}")
+    private long contentionThresholdMs;
+
+    @Value("${app.transfers.execution.hot-accounts:5}")
+    private int hotAccounts;
+
+    @Value("${app.transfers.execution.tracked-accounts:1000}")
+    private int trackedAccounts;
+
+    @Value("${app.transfers.execution.contention-window:1h}")
+    private Duration contentionWindow;
+
+    private ConcurrentMap<Long, LongAdder> contentionByAccount;
+
+    @PostConstruct
+    void init() {
+        // Size-bounded with frequency-aware eviction, so the hottest accounts stay while one-off conflicts age out
+        contentionByAccount = Caffeine.newBuilder()
+                .maximumSize(trackedAccounts)
+                .expireAfterAccess(contentionWindow)
+                .<Long, LongAdder>build()
+                .asMap();
+        for (int rank = 1; rank <= hotAccounts; rank++) {
+            int index = rank - 1;
+            String tag = String.valueOf(rank);
+            Gauge.builder(HOT_ACCOUNT_METRIC, this, service -> service.hotAccount(index)
+                            .map(entry -> (double) entry.getValue().sum()).orElse(0.0))
+                    .tag("rank", tag)
+                    .description("Contention count of the account at this rank")
+                    .register(meterRegistry);
+            Gauge.builder(HOT_ACCOUNT_METRIC + ".account", this, service -> service.hotAccount(index)
+                            .map(entry -> (double) entry.getKey()).orElse(Double.NaN))
+                    .tag("rank", tag)
+                    .description("Id of the account at this contention rank")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Move the money for a pending transfer. A transfer that can not be honoured,
+     * for example for lack of funds, is marked {@link TransferStatus#FAILED} with a
+     * reason. Transfers that already finished are left untouched.
+     *
+     * @return the transfer's final status
+     * @throws ConcurrencyFailureException when every attempt hit a conflict; the
+     *                                     transfer is then still pending
+     */
+    public TransferStatus execute(Long transferId) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> executeOnce(transferId));
+            } catch (ConcurrencyFailureException e) {
+                recordContention(e);
+                if (attempt >= maxAttempts) {
+                    log.warn("Transfer {} gave up after {} conflicting attempts", transferId, attempt);
+                    throw e;
+                }
+                log.debug("Transfer {} attempt {} conflicted, retrying: {}", transferId, attempt, e.getMessage());
+                backoff(attempt, e);
+            }
+        }
+    }
+
+    private TransferStatus executeOnce(Long transferId) {
+        Transfer transfer = transferRepository.findByIdForUpdate(transferId)
+                .orElseThrow(() -> new ResourceNotFoundException("Transfer not found with id: " + transferId));
+        if (transfer.getStatus() != TransferStatus.PENDING && transfer.getStatus() != TransferStatus.PROCESSING) {
+            return transfer.getStatus();
+        }
+
+        Long fromId = transfer.getFromAccount().getId();
+        Long toId = transfer.getToAccount().getId();
+        if (fromId.equals(toId)) {
+            return fail(transfer, "Cannot transfer to the same account");
+        }
+
+        // Global lock order: lower account id first, whatever the direction of the transfer
+        Account first = lockAccount(Math.min(fromId, toId));
+        Account second = lockAccount(Math.max(fromId, toId));
+        Account from = first.getId().equals(fromId) ? first : second;
+        Account to = first.getId().equals(toId) ? first : second;
+
+        BigDecimal fee = transfer.getTransferFee() != null ? transfer.getTransferFee() : BigDecimal.ZERO;
+        BigDecimal debit = transfer.getAmount().add(fee);
+        if (!Boolean.TRUE.equals(from.getActive()) || !Boolean.TRUE.equals(to.getActive())) {
+            return fail(transfer, "Account is not active");
+        }
+        BigDecimal available = from.getBalance()
+                .add(from.getCreditLimit() != null ? from.getCreditLimit() : BigDecimal.ZERO);
+        if (available.compareTo(debit) < 0) {
+            return fail(transfer, "Insufficient funds");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        from.setBalance(from.getBalance().subtract(debit));
+        to.setBalance(to.getBalance().add(transfer.getAmount()));
+        transfer.setStatus(TransferStatus.COMPLETED);
+        transfer.setProcessedDate(now);
+        transfer.setFailureReason(null);
+
+        List<Transaction> entries = transactionRepository.saveAll(List.of(
+                ledgerEntry(transfer, from, TransactionType.TRANSFER_OUT, debit, now),
+                ledgerEntry(transfer, to, TransactionType.TRANSFER_IN, transfer.getAmount(), now)));
+        entries.forEach(entry -> eventPublisher.publishEvent(new TransactionPostedEvent(entry)));
+
+        // The cache manager is transaction-aware: evictions apply on commit
+        Cache accounts = cacheManager.getCache(CacheConfig.ACTIVE_ACCOUNTS);
+        if (accounts != null) {
+            accounts.evict(from.getUser().getId());
+            accounts.evict(to.getUser().getId());
+        }
+
+        log.info("Transfer {} of {} from account {} to account {} completed", transferId,
+                transfer.getAmount(), fromId, toId);
+        return TransferStatus.COMPLETED;
+    }
+
+    private Account lockAccount(Long accountId) {
+        Timer.Sample wait = Timer.start(meterRegistry);
+        try {
+            return accountRepository.findByIdForUpdate(accountId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Account not found with id: " + accountId));
+        } catch (PessimisticLockingFailureException e) {
+            throw new AccountLockConflictException(accountId, e);
+        } finally {
+            long waitedMs = TimeUnit.NANOSECONDS.toMillis(wait.stop(meterRegistry.timer(LOCK_WAIT_METRIC)));
+            if (waitedMs >= contentionThresholdMs) {
+                meterRegistry.counter(CONTENTION_METRIC, "kind", "wait").increment();
+                countContention(accountId);
+                log.debug("Waited {} ms for the lock on account {}", waitedMs, accountId);
+            }
+        }
+    }
+
+    private Transaction ledgerEntry(Transfer transfer, Account account, TransactionType type,
+                                    BigDecimal amount, LocalDateTime now) {
+        Transaction entry = new Transaction();
+        entry.setAccount(account);
+        entry.setUserId(account.getUser().getId());
+        entry.setAmount(amount);
+        entry.setType(type);
+        entry.setDescription(transfer.getDescription());
+        entry.setCategory("Transfer");
+        entry.setReferenceNumber(transfer.getReferenceNumber());
+        entry.setStatus(TransactionStatus.COMPLETED);
+        entry.setBalanceAfter(account.getBalance());
+        entry.setTransactionDate(now);
+        return entry;
+    }
+
+    private TransferStatus fail(Transfer transfer, String reason) {
+        transfer.setStatus(TransferStatus.FAILED);
+        transfer.setFailureReason(reason);
+        transfer.setProcessedDate(LocalDateTime.now());
+        log.info("Transfer {} failed: {}", transfer.getId(), reason);
+        return TransferStatus.FAILED;
+    }
+
+    private void recordContention(ConcurrencyFailureException e) {
+        Long accountId = null;
+        String kind = "lock";
+        if (e instanceof AccountLockConflictException conflict) {
+            accountId = conflict.accountId;
+        } else if (e instanceof ObjectOptimisticLockingFailureException optimistic) {
+            kind = "version";
+            if (Account.class.getName().equals(optimistic.getPersistentClassName())
+                    && optimistic.getIdentifier() instanceof Long id) {
+                accountId = id;
+            }
+        }
+        // Account ids are unbounded, so they feed the top-N gauges rather than a meter tag
+        meterRegistry.counter(CONTENTION_METRIC, "kind", kind).increment();
+        if (accountId != null) {
+            countContention(accountId);
+        }
+        log.debug("Transfer contention ({}) on account {}", kind, accountId != null ? accountId : "unknown");
+    }
+
+    private void countContention(Long accountId) {
+        contentionByAccount.computeIfAbsent(accountId, id -> new LongAdder()).increment();
+    }
+
+    /**
+     * The account at the given zero-based rank among the most contended ones, with its count.
+     */
+    Optional<Map.Entry<Long, LongAdder>> hotAccount(int index) {
+        return contentionByAccount.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<Long, LongAdder> entry) -> entry.getValue().sum()).reversed())
+                .skip(index)
+                .findFirst();
+    }
+
+    private void backoff(int attempt, ConcurrencyFailureException cause) {
+        long ceiling = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempt - 1, 20));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1));
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
+    }
+
+    /**
+     * A lock wait on a specific account timed out or was chosen as a deadlock victim.
+     */
+    private static final class AccountLockConflictException extends PessimisticLockingFailureException {
+        private final Long accountId;
+
+        private AccountLockConflictException(Long accountId, Throwable cause) {
+            super("Could not lock account " + accountId, cause);
+            this.accountId = accountId;
+        }
+    }
+}
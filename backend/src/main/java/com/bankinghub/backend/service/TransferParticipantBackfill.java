@@ -0,0 +1,54 @@
+package com.bankinghub.backend.service;
+
+import com.bankinghub.backend.model.Transfer;
+import com.bankinghub.backend.repository.TransferRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Creates {@code transfer_participants} rows for transfers written before the table existed.
+ * <p>
+ * Runs once every bean is ready but before the web server and schedulers
+ * start, so transfer history never reads a transfer that has no participant
+ * rows yet. Works in fixed-size batches, each in its own transaction.
+ * Processed transfers drop out of the "without participants" query, so the
+ * first page is re-read until it comes back empty.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TransferParticipantBackfill implements SmartInitializingSingleton {
+
+    private final TransferRepository transferRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.transfers.participant-backfill.batch-size:500}")
+    private int batchSize;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long backfilled = 0;
+        int processed;
+        do {
+            Integer count = transactionTemplate.execute(status -> {
+                List<Transfer> transfers = transferRepository.findWithoutParticipants(PageRequest.of(0, batchSize));
+                transfers.forEach(Transfer::ensureParticipants);
+                return transfers.size();
+            });
+            processed = count != null ? count : 0;
+            backfilled += processed;
+        } while (processed == batchSize);
+
+        if (backfilled > 0) {
+            log.info("Created participant rows for {} transfers", backfilled);
+        }
+    }
+}
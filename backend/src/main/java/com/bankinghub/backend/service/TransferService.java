@@ -0,0 +1,193 @@
+package com.bankinghub.backend.service;
+
+import com.bankinghub.backend.dto.request.TransferRequestDTO;
+import com.bankinghub.backend.dto.response.CursorPageResponseDTO;
+import com.bankinghub.backend.dto.response.TransferResponseDTO;
+import com.bankinghub.backend.event.TransferCancelledEvent;
+import com.bankinghub.backend.event.TransferScheduledEvent;
+import com.bankinghub.backend.exception.CustomBusinessException;
+import com.bankinghub.backend.exception.ResourceNotFoundException;
+import com.bankinghub.backend.model.Account;
+import com.bankinghub.backend.model.Transfer;
+import com.bankinghub.backend.model.Transfer.TransferStatus;
+import com.bankinghub.backend.model.Transfer.TransferType;
+import com.bankinghub.backend.repository.AccountRepository;
+import com.bankinghub.backend.repository.TransferRepository;
+import com.bankinghub.backend.repository.TransferRepository.HistoryKey;
+import com.bankinghub.backend.security.CurrentUserProvider;
+import com.bankinghub.backend.util.KeysetCursor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransferService {
+
+    private final TransferRepository transferRepository;
+    private final AccountRepository accountRepository;
+    private final TransferExecutionService transferExecutionService;
+    private final CurrentUserProvider currentUserProvider;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Create a transfer from one of the current user's accounts. A transfer that
+     * is due now is executed straight away; a future one is left pending.
+     * <p>
+     * Not transactional itself: the transfer is saved first, then executed in
+     * separate, retryable transactions by {@link TransferExecutionService}.
+     * </p>
+     */
+    public TransferResponseDTO createTransfer(TransferRequestDTO request) {
+        Long userId = currentUserProvider.getCurrentUserId();
+        if (request.getFromAccountId().equals(request.getToAccountId())) {
+            throw new CustomBusinessException("Cannot transfer to the same account");
+        }
+
+        Transfer created = transactionTemplate.execute(status -> {
+            Account fromAccount = accountRepository.findByIdAndUserId(request.getFromAccountId(), userId)
+                    .filter(account -> Boolean.TRUE.equals(account.getActive()))
+                    .orElseThrow(() -> new ResourceNotFoundException("Account not found with id: " + request.getFromAccountId()));
+            Account toAccount = accountRepository.findById(request.getToAccountId())
+                    .filter(account -> Boolean.TRUE.equals(account.getActive()))
+                    .orElseThrow(() -> new ResourceNotFoundException("Account not found with id: " + request.getToAccountId()));
+            if (request.getTransferType() == TransferType.INTERNAL
+                    && !toAccount.getUser().getId().equals(userId)) {
+                throw new CustomBusinessException("Internal transfers must be between your own accounts");
+            }
+
+            Transfer transfer = new Transfer();
+            transfer.setFromAccount(fromAccount);
+            transfer.setToAccount(toAccount);
+            transfer.setAmount(request.getAmount());
+            transfer.setDescription(request.getDescription());
+            transfer.setTransferType(request.getTransferType());
+            transfer.setStatus(TransferStatus.PENDING);
+            transfer.setScheduledDate(request.getScheduledDate() != null ? request.getScheduledDate() : LocalDateTime.now());
+            transfer.setReferenceNumber(generateReferenceNumber());
+            transfer.setExternalBankName(request.getExternalBankName());
+            transfer.setExternalAccountNumber(request.getExternalAccountNumber());
+            transfer.setExternalRoutingNumber(request.getExternalRoutingNumber());
+            transfer.setExternalAccountHolderName(request.getExternalAccountHolderName());
+            Transfer saved = transferRepository.save(transfer);
+            if (saved.getScheduledDate().isAfter(LocalDateTime.now())) {
+                eventPublisher.publishEvent(new TransferScheduledEvent(saved.getId(), saved.getScheduledDate()));
+            }
+            return saved;
+        });
+
+        Long transferId = created.getId();
+        if (!created.getScheduledDate().isAfter(LocalDateTime.now())) {
+            transferExecutionService.execute(transferId);
+        }
+
+        log.info("Transfer {} created by user {}", transferId, userId);
+        return transactionTemplate.execute(status ->
+                convertToTransferResponse(transferRepository.findById(transferId).orElseThrow()));
+    }
+
+    /**
+     * Get one page of transfers sent or received by the current user, newest first.
+     * Pages seek on {@code (scheduledDate, id)} past the cursor over the user's
+     * participant rows, with no count query; the transfers are then loaded by id.
+     *
+     * @param cursor opaque token from the previous page, or {@code null} for the first page
+     * @param size   requested page size
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponseDTO<TransferResponseDTO> getTransferHistory(String cursor, int size) {
+        Long userId = currentUserProvider.getCurrentUserId();
+        int pageSize = TransactionService.clampPageSize(size);
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<HistoryKey> keys = position == null
+                ? transferRepository.findFirstHistoryPageKeysByUserId(userId, limit)
+                : transferRepository.findHistoryPageKeysByUserIdAfterCursor(
+                        userId, position.timestamp(), position.id(), limit);
+        List<Long> ids = keys.stream().map(HistoryKey::getTransferId).toList();
+        Map<Long, Transfer> byId = ids.isEmpty() ? Map.of() : transferRepository.findAllWithAccountsByIdIn(ids).stream()
+                .collect(Collectors.toMap(Transfer::getId, Function.identity()));
+        List<Transfer> rows = ids.stream().map(byId::get).toList();
+
+        boolean hasMore = rows.size() > pageSize;
+        List<Transfer> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            Transfer last = page.get(page.size() - 1);
+            nextCursor = new KeysetCursor(last.getScheduledDate(), last.getId()).encode();
+        }
+
+        List<TransferResponseDTO> content = page.stream()
+                .map(this::convertToTransferResponse)
+                .collect(Collectors.toList());
+        return new CursorPageResponseDTO<>(content, nextCursor, hasMore);
+    }
+
+    /**
+     * Cancel a pending transfer sent from one of the current user's accounts.
+     */
+    @Transactional
+    public TransferResponseDTO cancelTransfer(Long transferId) {
+        Long userId = currentUserProvider.getCurrentUserId();
+        Transfer transfer = transferRepository.findByIdForUpdate(transferId)
+                .filter(found -> found.getFromAccount().getUser().getId().equals(userId))
+                .orElseThrow(() -> new ResourceNotFoundException("Transfer not found with id: " + transferId));
+        if (transfer.getStatus() != TransferStatus.PENDING) {
+            throw new CustomBusinessException("Only pending transfers can be cancelled");
+        }
+
+        transfer.setStatus(TransferStatus.CANCELLED);
+        eventPublisher.publishEvent(new TransferCancelledEvent(transferId));
+        log.info("Transfer {} cancelled by user {}", transferId, userId);
+        return convertToTransferResponse(transfer);
+    }
+
+    static String generateReferenceNumber() {
+        return "TRF" + UUID.randomUUID().toString().replace("-", "").substring(0, 16).toUpperCase();
+    }
+
+    TransferResponseDTO convertToTransferResponse(Transfer transfer) {
+        TransferResponseDTO response = new TransferResponseDTO();
+        response.setId(transfer.getId());
+        response.setAmount(transfer.getAmount());
+        response.setDescription(transfer.getDescription());
+        response.setStatus(transfer.getStatus());
+        response.setTransferType(transfer.getTransferType());
+        response.setReferenceNumber(transfer.getReferenceNumber());
+        response.setTransferFee(transfer.getTransferFee());
+        response.setScheduledDate(transfer.getScheduledDate());
+        response.setProcessedDate(transfer.getProcessedDate());
+        response.setFailureReason(transfer.getFailureReason());
+        response.setCreatedAt(transfer.getCreatedAt());
+        response.setUpdatedAt(transfer.getUpdatedAt());
+
+        response.setFromAccountId(transfer.getFromAccount().getId());
+        response.setFromAccountName(transfer.getFromAccount().getAccountName());
+        response.setFromAccountNumber(transfer.getFromAccount().getAccountNumber());
+        response.setToAccountId(transfer.getToAccount().getId());
+        response.setToAccountName(transfer.getToAccount().getAccountName());
+        response.setToAccountNumber(transfer.getToAccount().getAccountNumber());
+
+        response.setExternalBankName(transfer.getExternalBankName());
+        response.setExternalAccountNumber(transfer.getExternalAccountNumber());
+        response.setExternalRoutingNumber(transfer.getExternalRoutingNumber());
+        response.setExternalAccountHolderName(transfer.getExternalAccountHolderName());
+
+        return response;
+    }
+}
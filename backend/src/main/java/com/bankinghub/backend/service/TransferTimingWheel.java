@@ -0,0 +1,173 @@
+package com.bankinghub.backend.service;
+
+import com.bankinghub.backend.event.TransferCancelledEvent;
+import com.bankinghub.backend.event.TransferScheduledEvent;
+import com.bankinghub.backend.model.Transfer;
+import com.bankinghub.backend.model.Transfer.TransferStatus;
+import com.bankinghub.backend.repository.TransferRepository;
+import com.bankinghub.backend.util.HierarchicalTimingWheel;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fires future-dated transfers at their scheduled time.
+ * <p>
+ * Pending transfers due within {@code app.transfers.timing-wheel.look-ahead}
+ * are held in a {@link HierarchicalTimingWheel}. The window is reloaded on a
+ * slow schedule and kept current in between from transfer scheduled and
+ * cancelled events, so the database is not polled while nothing is due. When an
+ * entry fires, the transfer is handed to {@link ScheduledTransferProcessor},
+ * whose conditional claim makes it safe for every node to hold the same entries.
+ * </p>
+ * <p>
+ * All wheel access happens on one driver thread; other threads only enqueue work
+ * for it. Fired transfers are claimed on a small bounded pool, so a slow
+ * database never holds up the ticks; when that pool is full the transfer is left
+ * to the safety sweep.
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransferTimingWheel {
+
+    private final TransferRepository transferRepository;
+    private final ScheduledTransferProcessor scheduledTransferProcessor;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.transfers.timing-wheel.tick-ms:10}")
+    private long tickMs;
+
+    @Value("${app.transfers.timing-wheel.wheel-size:512}")
+    private int wheelSize;
+
+    @Value("${app.transfers.timing-wheel.look-ahead:1h}")
+    private Duration lookAhead;
+
+    @Value("${app.transfers.timing-wheel.max-entries:100000}")
+    private int maxEntries;
+
+    @Value("${app.transfers.timing-wheel.fire-threads:2}")
+    private int fireThreads;
+
+    @Value("${app.transfers.timing-wheel.fire-queue-capacity:1000}")
+    private int fireQueueCapacity;
+
+    private HierarchicalTimingWheel<Long> wheel;
+    private ScheduledExecutorService driver;
+    // Kept private rather than a bean: an Executor bean would replace Boot's default @Async executor
+    private ThreadPoolTaskExecutor firing;
+    // Written and read on the driver thread only
+    private LocalDateTime windowEnd = LocalDateTime.MIN;
+
+    @PostConstruct
+    void init() {
+        wheel = new HierarchicalTimingWheel<>(tickMs, wheelSize, System.currentTimeMillis());
+        driver = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "transfer-wheel");
+            thread.setDaemon(true);
+            return thread;
+        });
+        firing = new ThreadPoolTaskExecutor();
+        firing.setCorePoolSize(fireThreads);
+        firing.setMaxPoolSize(fireThreads);
+        firing.setQueueCapacity(fireQueueCapacity);
+        firing.setThreadNamePrefix("transfer-wheel-fire-");
+        firing.initialize();
+        driver.scheduleAtFixedRate(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        driver.shutdownNow();
+        firing.shutdown();
+    }
+
+    /**
+     * Reload pending transfers due within the look-ahead window.
+     */
+    @Scheduled(fixedDelayString = "${app.transfers.timing-wheel.refresh-interval-ms:900000}")
+    public void refreshWindow() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime end = now.plus(lookAhead);
+        List<Transfer> upcoming = transactionTemplate.execute(status ->
+                transferRepository.findScheduledBetween(TransferStatus.PENDING, now, end, PageRequest.of(0, maxEntries)));
+        if (upcoming == null) {
+            return;
+        }
+
+        // With more than max-entries due, the wheel only covers up to the last one loaded
+        LocalDateTime covered = upcoming.size() == maxEntries
+                ? upcoming.get(upcoming.size() - 1).getScheduledDate()
+                : end;
+        driver.execute(() -> {
+            upcoming.forEach(transfer -> schedule(transfer.getId(), transfer.getScheduledDate()));
+            windowEnd = covered;
+            log.debug("Timing wheel holds {} transfers due before {}", wheel.size(), covered);
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTransferScheduled(TransferScheduledEvent event) {
+        driver.execute(() -> {
+            // Later transfers are picked up by the next window refresh
+            if (!event.scheduledDate().isAfter(windowEnd)) {
+                schedule(event.transferId(), event.scheduledDate());
+            }
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTransferCancelled(TransferCancelledEvent event) {
+        driver.execute(() -> wheel.cancel(event.transferId()));
+    }
+
+    private void schedule(Long transferId, LocalDateTime scheduledDate) {
+        long dueMs = scheduledDate.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        if (!wheel.schedule(transferId, dueMs)) {
+            fire(transferId);
+        }
+    }
+
+    private void tick() {
+        try {
+            wheel.advance(System.currentTimeMillis()).forEach(this::fire);
+        } catch (RuntimeException e) {
+            // An exception would cancel the fixed-rate schedule and stop the wheel
+            log.error("Timing wheel tick failed", e);
+        }
+    }
+
+    private void fire(Long transferId) {
+        try {
+            firing.execute(() -> {
+                try {
+                    scheduledTransferProcessor.processTransfer(transferId);
+                } catch (RuntimeException e) {
+                    log.warn("Could not start due transfer {}, leaving it for the sweep", transferId, e);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            log.warn("Timing wheel firing pool saturated, transfer {} left for the sweep", transferId);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.bankinghub.backend.service;
 
+import com.bankinghub.backend.config.CacheConfig;
 import com.bankinghub.backend.dto.request.UserRegistrationRequestDTO;
 import com.bankinghub.backend.dto.response.UserRegistrationResponseDTO;
 import com.bankinghub.backend.model.Account;
@@ -9,6 +10,8 @@ import com.bankinghub.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -38,6 +41,10 @@ public class UserRegistrationService {
      * Register a new user with automatic account creation
      */
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.USER_PROFILES, key = "#result.userId"),
+            @CacheEvict(cacheNames = CacheConfig.ACTIVE_ACCOUNTS, key = "#result.userId")
+    })
     public UserRegistrationResponseDTO registerUser(UserRegistrationRequestDTO request) {
         log.info("Starting user registration process for email: {}", request.email());
 
@@ -83,6 +90,7 @@ public class UserRegistrationService {
      * Create additional account for existing user
      */
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ACTIVE_ACCOUNTS, key = "#userId")
     public Account createAdditionalAccount(Long userId, Account.AccountType accountType, String accountName) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found with ID: " + userId));
@@ -0,0 +1,184 @@
+package com.bankinghub.backend.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hierarchical timing wheel keyed by an identifier.
+ * <p>
+ * The lowest wheel has {@code wheelSize} buckets of {@code tickMs} each; every
+ * higher wheel's tick spans a full rotation of the wheel below it and is only
+ * created when an entry needs it. Scheduling and cancelling are O(1). When the
+ * clock passes a higher wheel's tick, that bucket's entries cascade down into
+ * finer buckets, so each entry moves at most once per level.
+ * </p>
+ * <p>
+ * An entry fires at the first tick boundary at or after its due time, never
+ * earlier. Not thread-safe: drive all calls from a single thread.
+ * </p>
+ *
+ * @param <K> entry key, rescheduling a key replaces its previous due time
+ */
+public class HierarchicalTimingWheel<K> {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final Map<K, Entry<K>> entries = new HashMap<>();
+    private final List<Level<K>> levels = new ArrayList<>();
+
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("Tick must be positive and the wheel must have at least 2 buckets");
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        levels.add(new Level<>(tickMs, wheelSize, startMs - Math.floorMod(startMs, tickMs)));
+    }
+
+    /**
+     * Schedule {@code key} to fire at {@code dueMs}, replacing any earlier schedule.
+     *
+     * @return {@code false} if the due time has already been reached; the key is
+     *         then not held and the caller should fire it straight away
+     */
+    public boolean schedule(K key, long dueMs) {
+        cancel(key);
+        Entry<K> entry = new Entry<>(key, ceilToTick(dueMs));
+        if (!place(entry)) {
+            return false;
+        }
+        entries.put(key, entry);
+        return true;
+    }
+
+    /**
+     * Remove a scheduled key.
+     *
+     * @return {@code true} if the key was scheduled
+     */
+    public boolean cancel(K key) {
+        Entry<K> entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        entry.bucket.remove(entry);
+        return true;
+    }
+
+    /**
+     * Move the clock forward to {@code nowMs}.
+     *
+     * @return keys that became due, in firing order
+     */
+    public List<K> advance(long nowMs) {
+        List<K> due = new ArrayList<>();
+        Level<K> lowest = levels.get(0);
+        while (lowest.currentTime + tickMs <= nowMs) {
+            long tick = lowest.currentTime + tickMs;
+            for (Level<K> level : levels) {
+                if (tick % level.tickMs == 0) {
+                    level.currentTime = tick;
+                }
+            }
+            // Cascade coarse buckets first so their entries can still fire in this tick
+            for (int i = levels.size() - 1; i >= 1; i--) {
+                Level<K> level = levels.get(i);
+                if (level.currentTime == tick) {
+                    for (Entry<K> entry : level.drain(tick)) {
+                        if (!place(entry)) {
+                            entries.remove(entry.key);
+                            due.add(entry.key);
+                        }
+                    }
+                }
+            }
+            for (Entry<K> entry : lowest.drain(tick)) {
+                entries.remove(entry.key);
+                due.add(entry.key);
+            }
+        }
+        return due;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public boolean contains(K key) {
+        return entries.containsKey(key);
+    }
+
+    private boolean place(Entry<K> entry) {
+        long now = levels.get(0).currentTime;
+        if (entry.fireAt <= now) {
+            return false;
+        }
+        for (int i = 0; ; i++) {
+            if (i == levels.size()) {
+                Level<K> below = levels.get(i - 1);
+                long span = below.tickMs * wheelSize;
+                levels.add(new Level<>(span, wheelSize, now - Math.floorMod(now, span)));
+            }
+            Level<K> level = levels.get(i);
+            if (entry.fireAt < level.currentTime + level.tickMs * wheelSize) {
+                level.add(entry);
+                return true;
+            }
+        }
+    }
+
+    private long ceilToTick(long timeMs) {
+        long remainder = Math.floorMod(timeMs, tickMs);
+        return remainder == 0 ? timeMs : timeMs - remainder + tickMs;
+    }
+
+    private static final class Entry<K> {
+        private final K key;
+        private final long fireAt;
+        private Set<Entry<K>> bucket;
+
+        private Entry(K key, long fireAt) {
+            this.key = key;
+            this.fireAt = fireAt;
+        }
+    }
+
+    private static final class Level<K> {
+        private final long tickMs;
+        private final List<Set<Entry<K>>> buckets;
+        private long currentTime;
+
+        private Level(long tickMs, int wheelSize, long currentTime) {
+            this.tickMs = tickMs;
+            this.currentTime = currentTime;
+            this.buckets = new ArrayList<>(wheelSize);
+            for (int i = 0; i < wheelSize; i++) {
+                buckets.add(new LinkedHashSet<>());
+            }
+        }
+
+        private void add(Entry<K> entry) {
+            Set<Entry<K>> bucket = buckets.get(slot(entry.fireAt));
+            bucket.add(entry);
+            entry.bucket = bucket;
+        }
+
+        private List<Entry<K>> drain(long tick) {
+            Set<Entry<K>> bucket = buckets.get(slot(tick));
+            if (bucket.isEmpty()) {
+                return List.of();
+            }
+            List<Entry<K>> drained = new ArrayList<>(bucket);
+            bucket.clear();
+            return drained;
+        }
+
+        private int slot(long timeMs) {
+            return (int) Math.floorMod(Math.floorDiv(timeMs, tickMs), (long) buckets.size());
+        }
+    }
+}
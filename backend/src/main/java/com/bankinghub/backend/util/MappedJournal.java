@@ -0,0 +1,306 @@
+package com.bankinghub.backend.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of byte records in memory-mapped segment files.
+ * <p>
+ * Each segment is a pre-sized file named after the sequence of its first entry.
+ * After a 16-byte header (magic, format version, first sequence), entries are
+ * laid out as {@code [int length][int crc32c][long sequence][payload]}, with the
+ * checksum covering sequence and payload. A zero length marks the end of the
+ * written part. When an entry does not fit, the segment is forced and a new one
+ * is started.
+ * </p>
+ * <p>
+ * {@link #append} only writes to the mapping; entries become durable, and
+ * visible to {@link #read}, once {@link #force} returns, so one force can commit
+ * a whole group of appends. On open, segments are scanned and the log is cut at
+ * the first torn or corrupt entry, which can only be one that was never forced.
+ * </p>
+ * <p>
+ * Thread-safe; all operations synchronize on the journal.
+ * </p>
+ */
+public class MappedJournal implements Closeable {
+
+    private static final int MAGIC = 0x424B4A4C; // "BKJL"
+    private static final int FORMAT_VERSION = 1;
+    private static final int SEGMENT_HEADER_SIZE = 16;
+    private static final int ENTRY_HEADER_SIZE = 16;
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final List<Segment> segments = new ArrayList<>();
+
+    private long nextSequence;
+    private long durableSequence;
+    private Segment readSegment;
+    private int readPosition;
+    private long readSequence = -1;
+
+    /**
+     * Open the journal in {@code directory}, creating it if needed, and recover
+     * the entries already written.
+     *
+     * @param segmentSize   size of each new segment file in bytes
+     * @param firstSequence sequence of the first entry if the directory holds no journal yet
+     */
+    public MappedJournal(Path directory, int segmentSize, long firstSequence) throws IOException {
+        if (segmentSize < SEGMENT_HEADER_SIZE + ENTRY_HEADER_SIZE + 1) {
+            throw new IllegalArgumentException("Segment size too small: " + segmentSize);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        Files.createDirectories(directory);
+        recover(firstSequence);
+    }
+
+    /**
+     * An entry read back from the journal.
+     */
+    public record Entry(long sequence, byte[] payload) {
+    }
+
+    /**
+     * Write a record to the mapping. It is not durable until {@link #force}.
+     *
+     * @return the sequence assigned to the record, one more than the previous one
+     */
+    public synchronized long append(byte[] payload) throws IOException {
+        int size = ENTRY_HEADER_SIZE + payload.length;
+        if (payload.length == 0) {
+            throw new IllegalArgumentException("Entries must not be empty");
+        }
+        if (size > segmentSize - SEGMENT_HEADER_SIZE) {
+            throw new IllegalArgumentException("Entry of " + payload.length + " bytes does not fit in a segment");
+        }
+        Segment active = segments.get(segments.size() - 1);
+        if (active.writePosition + size > active.capacity) {
+            active.buffer.force();
+            active = createSegment(nextSequence);
+        }
+
+        long sequence = nextSequence++;
+        MappedByteBuffer buffer = active.buffer;
+        int position = active.writePosition;
+        buffer.putLong(position + 8, sequence);
+        buffer.put(position + ENTRY_HEADER_SIZE, payload);
+        buffer.putInt(position + 4, checksum(sequence, payload));
+        // Length last, as a non-zero length is what marks the slot as a record
+        buffer.putInt(position, payload.length);
+        active.writePosition = position + size;
+        active.lastSequence = sequence;
+        return sequence;
+    }
+
+    /**
+     * Flush every appended record to disk and make it readable.
+     */
+    public synchronized void force() {
+        Segment active = segments.get(segments.size() - 1);
+        active.buffer.force();
+        durableSequence = nextSequence - 1;
+    }
+
+    /**
+     * Read up to {@code max} durable entries with a sequence above {@code afterSequence}.
+     */
+    public synchronized List<Entry> read(long afterSequence, int max) {
+        List<Entry> entries = new ArrayList<>();
+        if (afterSequence >= durableSequence) {
+            return entries;
+        }
+        if (readSequence != afterSequence) {
+            seek(afterSequence);
+        }
+        while (entries.size() < max && readSequence < durableSequence) {
+            if (readPosition >= readSegment.writePosition) {
+                readSegment = segments.get(segments.indexOf(readSegment) + 1);
+                readPosition = SEGMENT_HEADER_SIZE;
+            }
+            MappedByteBuffer buffer = readSegment.buffer;
+            int length = buffer.getInt(readPosition);
+            long sequence = buffer.getLong(readPosition + 8);
+            byte[] payload = new byte[length];
+            buffer.get(readPosition + ENTRY_HEADER_SIZE, payload);
+            entries.add(new Entry(sequence, payload));
+            readPosition += ENTRY_HEADER_SIZE + length;
+            readSequence = sequence;
+        }
+        return entries;
+    }
+
+    /**
+     * Delete whole segments holding only entries up to {@code sequence}. The
+     * segment being written is always kept.
+     *
+     * @return the number of segment files deleted
+     */
+    public synchronized int deleteSegmentsUpTo(long sequence) throws IOException {
+        int deleted = 0;
+        while (segments.size() > 1 && segments.get(1).firstSequence <= sequence + 1) {
+            Segment segment = segments.remove(0);
+            if (segment == readSegment) {
+                readSequence = -1;
+            }
+            Files.deleteIfExists(segment.path);
+            deleted++;
+        }
+        return deleted;
+    }
+
+    /**
+     * Sequence of the last durable entry, or {@code firstSequence - 1} if there is none.
+     */
+    public synchronized long durableSequence() {
+        return durableSequence;
+    }
+
+    public synchronized int segmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!segments.isEmpty()) {
+            force();
+        }
+        // Mappings are released when the buffers are collected
+        segments.clear();
+    }
+
+    private void seek(long afterSequence) {
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            Segment segment = segments.get(i);
+            if (segment.firstSequence <= afterSequence + 1) {
+                readSegment = segment;
+                readPosition = SEGMENT_HEADER_SIZE;
+                readSequence = segment.firstSequence - 1;
+                while (readSequence < afterSequence) {
+                    readPosition += ENTRY_HEADER_SIZE + segment.buffer.getInt(readPosition);
+                    readSequence++;
+                }
+                return;
+            }
+        }
+        throw new IllegalArgumentException("Entries after " + afterSequence + " have already been deleted");
+    }
+
+    private void recover(long firstSequence) throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+
+        long expected = -1;
+        for (Path file : files) {
+            MappedByteBuffer buffer = map(file, Files.size(file));
+            if (buffer.capacity() < SEGMENT_HEADER_SIZE || buffer.getInt(0) != MAGIC
+                    || buffer.getInt(4) != FORMAT_VERSION) {
+                throw new IOException("Not a journal segment: " + file);
+            }
+            Segment segment = new Segment(file, buffer, buffer.getLong(8));
+            if (expected >= 0 && segment.firstSequence != expected) {
+                throw new IOException("Journal segment " + file + " starts at " + segment.firstSequence
+                        + ", expected " + expected);
+            }
+            scan(segment);
+            segments.add(segment);
+            expected = segment.lastSequence + 1;
+        }
+
+        if (segments.isEmpty()) {
+            createSegment(firstSequence);
+        }
+        Segment last = segments.get(segments.size() - 1);
+        nextSequence = last.lastSequence + 1;
+        durableSequence = last.lastSequence;
+    }
+
+    // Walk the entries of a recovered segment, stopping at the first one that is torn or corrupt
+    private void scan(Segment segment) {
+        MappedByteBuffer buffer = segment.buffer;
+        int position = SEGMENT_HEADER_SIZE;
+        long sequence = segment.firstSequence;
+        while (position + ENTRY_HEADER_SIZE <= segment.capacity) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + ENTRY_HEADER_SIZE + length > segment.capacity
+                    || buffer.getLong(position + 8) != sequence) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(position + ENTRY_HEADER_SIZE, payload);
+            if (buffer.getInt(position + 4) != checksum(sequence, payload)) {
+                break;
+            }
+            position += ENTRY_HEADER_SIZE + length;
+            sequence++;
+        }
+        // Clear anything past the valid end so a torn tail is never mistaken for a record later
+        for (int i = position; i < Math.min(position + ENTRY_HEADER_SIZE, segment.capacity); i++) {
+            buffer.put(i, (byte) 0);
+        }
+        segment.writePosition = position;
+        segment.lastSequence = sequence - 1;
+    }
+
+    private Segment createSegment(long firstSequence) throws IOException {
+        Path path = directory.resolve(String.format("%020d%s", firstSequence, SEGMENT_SUFFIX));
+        Segment segment = new Segment(path, map(path, segmentSize), firstSequence);
+        segment.buffer.putInt(0, MAGIC);
+        segment.buffer.putInt(4, FORMAT_VERSION);
+        segment.buffer.putLong(8, firstSequence);
+        segment.buffer.force();
+        segment.writePosition = SEGMENT_HEADER_SIZE;
+        segment.lastSequence = firstSequence - 1;
+        segments.add(segment);
+        return segment;
+    }
+
+    private static MappedByteBuffer map(Path path, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // The mapping stays valid after the channel is closed
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    private static int checksum(long sequence, byte[] payload) {
+        CRC32C crc = new CRC32C();
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            crc.update((int) (sequence >>> shift));
+        }
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private static final class Segment {
+        private final Path path;
+        private final MappedByteBuffer buffer;
+        private final long firstSequence;
+        private final int capacity;
+        private int writePosition;
+        private long lastSequence;
+
+        private Segment(Path path, MappedByteBuffer buffer, long firstSequence) {
+            this.path = path;
+            this.buffer = buffer;
+            this.firstSequence = firstSequence;
+            this.capacity = buffer.capacity();
+        }
+    }
+}
@@ -25,26 +25,26 @@ SELECT 'MB1234567892', 'CREDIT_CARD', 5000.00, 'MelvinCard Platinum', 'Platinum
 WHERE NOT EXISTS (SELECT 1 FROM accounts WHERE account_number = 'MB1234567892');
 
 -- Insert sample transactions
-INSERT INTO transactions (account_id, amount, type, description, category, merchant, reference_number, status, balance_after, transaction_date, created_at)
-SELECT 
+INSERT INTO transactions (id, account_id, amount, type, description, category, merchant, reference_number, status, balance_after, transaction_date, created_at)
+SELECT NEXT VALUE FOR transactions_seq,
     (SELECT id FROM accounts WHERE account_number = 'MB1234567890'), 
     2500.00, 'DEPOSIT', 'Salary deposit', 'Income', 'MelvinBank Zambia', 'TXN001', 'COMPLETED', 25000.00, DATEADD('DAY', -1, NOW()), DATEADD('DAY', -1, NOW())
 WHERE NOT EXISTS (SELECT 1 FROM transactions WHERE reference_number = 'TXN001');
 
-INSERT INTO transactions (account_id, amount, type, description, category, merchant, reference_number, status, balance_after, transaction_date, created_at)
-SELECT 
+INSERT INTO transactions (id, account_id, amount, type, description, category, merchant, reference_number, status, balance_after, transaction_date, created_at)
+SELECT NEXT VALUE FOR transactions_seq,
     (SELECT id FROM accounts WHERE account_number = 'MB1234567890'), 
     450.00, 'WITHDRAWAL', 'ATM withdrawal', 'Cash', 'MelvinBank ATM', 'TXN002', 'COMPLETED', 24550.00, DATEADD('HOUR', -2, NOW()), DATEADD('HOUR', -2, NOW())
 WHERE NOT EXISTS (SELECT 1 FROM transactions WHERE reference_number = 'TXN002');
 
-INSERT INTO transactions (account_id, amount, type, description, category, merchant, reference_number, status, balance_after, transaction_date, created_at)
-SELECT 
+INSERT INTO transactions (id, account_id, amount, type, description, category, merchant, reference_number, status, balance_after, transaction_date, created_at)
+SELECT NEXT VALUE FOR transactions_seq,
     (SELECT id FROM accounts WHERE account_number = 'MB1234567890'), 
     1250.00, 'PAYMENT', 'Grocery shopping', 'Food & Dining', 'Shoprite', 'TXN003', 'COMPLETED', 23300.00, DATEADD('HOUR', -4, NOW()), DATEADD('HOUR', -4, NOW())
 WHERE NOT EXISTS (SELECT 1 FROM transactions WHERE reference_number = 'TXN003');
 
-INSERT INTO transactions (account_id, amount, type, description, category, merchant, reference_number, status, balance_after, transaction_date, created_at)
-SELECT 
+INSERT INTO transactions (id, account_id, amount, type, description, category, merchant, reference_number, status, balance_after, transaction_date, created_at)
+SELECT NEXT VALUE FOR transactions_seq,
     (SELECT id FROM accounts WHERE account_number = 'MB1234567891'), 
     5000.00, 'DEPOSIT', 'Monthly savings', 'Savings', 'Internal Transfer', 'TXN004', 'COMPLETED', 50000.00, DATEADD('DAY', -1, NOW()), DATEADD('DAY', -1, NOW())
 WHERE NOT EXISTS (SELECT 1 FROM transactions WHERE reference_number = 'TXN004');
@@ -0,0 +1,161 @@
+package com.bankinghub.backend.security;
+
+import com.bankinghub.backend.model.Account;
+import com.bankinghub.backend.model.Account.AccountType;
+import com.bankinghub.backend.model.User;
+import com.bankinghub.backend.repository.AccountRepository;
+import com.bankinghub.backend.repository.TransferRepository;
+import com.bankinghub.backend.repository.UserRepository;
+import com.bankinghub.backend.service.TransferExecutionService;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.reset;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Retries a transfer whose first attempt failed after the transfer row had
+ * committed, and checks the retry replays the failure instead of creating a
+ * second transfer, and that a retried reversal gets its first response back
+ * rather than an "already reversed" rejection.
+ */
+// Own database: a second context recreating the shared schema would reset the id sequences under the first
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:idempotency;DB_CLOSE_DELAY=-1;MODE=PostgreSQL")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class IdempotencyRetryTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransferRepository transferRepository;
+
+    @SpyBean
+    private TransferExecutionService transferExecutionService;
+
+    private String token;
+    private Account checking;
+    private Account savings;
+
+    @BeforeEach
+    void createUser() {
+        reset(transferExecutionService);
+        User user = new User();
+        user.setFirstName("Retry");
+        user.setLastName("Client");
+        user.setEmail("retry" + System.nanoTime() + "@melvinbank.zm");
+        user.setPassword("$2a$12$retryClientHashRetryClientHashRetryClientHashRetryClie");
+        user = userRepository.save(user);
+        checking = account(user, AccountType.CHECKING);
+        savings = account(user, AccountType.SAVINGS);
+        token = tokenProvider.generateToken((UserPrincipal) userDetailsService.loadUserByUsername(user.getEmail()));
+    }
+
+    @Test
+    void conflictAfterTheTransferCommittedIsReplayedNotRerun() throws Exception {
+        // Lock retries run out after the PENDING transfer row has committed
+        doThrow(new CannotAcquireLockException("lock wait timeout"))
+                .when(transferExecutionService).execute(anyLong());
+        String key = "retry-" + System.nanoTime();
+
+        mockMvc.perform(createTransfer(key)).andExpect(status().isConflict());
+        assertThat(transferRepository.findByAccountIdOrderByScheduledDateDesc(checking.getId())).hasSize(1);
+
+        mockMvc.perform(createTransfer(key))
+                .andExpect(status().isConflict())
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"));
+        assertThat(transferRepository.findByAccountIdOrderByScheduledDateDesc(checking.getId())).hasSize(1);
+    }
+
+    @Test
+    void successfulTransferIsReplayed() throws Exception {
+        String key = "retry-" + System.nanoTime();
+
+        mockMvc.perform(createTransfer(key)).andExpect(status().isCreated());
+        mockMvc.perform(createTransfer(key))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"));
+
+        assertThat(transferRepository.findByAccountIdOrderByScheduledDateDesc(checking.getId())).hasSize(1);
+    }
+
+    @Test
+    void retriedReversalIsReplayed() throws Exception {
+        String deposit = mockMvc.perform(post("/transactions")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"accountId\":" + checking.getId()
+                                + ",\"type\":\"DEPOSIT\",\"amount\":40.00,\"description\":\"Retry test\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Integer transactionId = JsonPath.read(deposit, "$.id");
+        String key = "retry-" + System.nanoTime();
+
+        String first = mockMvc.perform(reverse(transactionId, key))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        Integer reversalId = JsonPath.read(first, "$.id");
+
+        mockMvc.perform(reverse(transactionId, key))
+                .andExpect(status().isOk())
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+                .andExpect(jsonPath("$.id").value(reversalId));
+    }
+
+    private MockHttpServletRequestBuilder reverse(Integer transactionId, String key) {
+        return post("/transactions/" + transactionId + "/reversal")
+                .header("Authorization", "Bearer " + token)
+                .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key);
+    }
+
+    private MockHttpServletRequestBuilder createTransfer(String key) {
+        String body = "{\"fromAccountId\":" + checking.getId() + ",\"toAccountId\":" + savings.getId()
+                + ",\"amount\":25.00,\"description\":\"Retry test\",\"transferType\":\"INTERNAL\"}";
+        return post("/transfers")
+                .header("Authorization", "Bearer " + token)
+                .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body);
+    }
+
+    private Account account(User user, AccountType type) {
+        Account account = new Account();
+        account.setAccountNumber("MBRETRY" + System.nanoTime() % 100_000_000L);
+        account.setAccountType(type);
+        account.setAccountName("Retry " + type);
+        account.setBalance(BigDecimal.valueOf(1000));
+        account.setUser(user);
+        return accountRepository.save(account);
+    }
+}
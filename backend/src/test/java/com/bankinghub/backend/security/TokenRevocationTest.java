@@ -0,0 +1,122 @@
+package com.bankinghub.backend.security;
+
+import com.bankinghub.backend.model.User;
+import com.bankinghub.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that tokens issued before a password, role or account-state change
+ * stop authenticating once the change commits.
+ */
+// Own database: a second context recreating the shared schema would reset the id sequences under the first
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:mockmvc;DB_CLOSE_DELAY=-1;MODE=PostgreSQL")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TokenRevocationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void createUser() {
+        user = new User();
+        user.setFirstName("Token");
+        user.setLastName("Holder");
+        user.setEmail("token" + System.nanoTime() + "@melvinbank.zm");
+        user.setPassword("$2a$12$initialHashInitialHashInitialHashInitialHashInitialHa");
+        user = userRepository.save(user);
+    }
+
+    @Test
+    void passwordChangeRevokesIssuedTokens() throws Exception {
+        String token = issueToken();
+        String legacyToken = tokenProvider.generateToken(user.getEmail(), user.getId());
+        assertAuthenticated(token);
+        assertAuthenticated(legacyToken);
+
+        updateUser(u -> u.setPassword("$2a$12$changedHashChangedHashChangedHashChangedHashChangedHa"));
+
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getTokenVersion()).isEqualTo(1);
+        assertRejected(token);
+        assertRejected(legacyToken);
+        assertAuthenticated(issueToken());
+    }
+
+    @Test
+    void lockingTheAccountRevokesIssuedTokens() throws Exception {
+        String token = issueToken();
+        assertAuthenticated(token);
+
+        updateUser(u -> u.setAccountNonLocked(false));
+
+        assertRejected(token);
+    }
+
+    @Test
+    void disablingTheAccountRevokesIssuedTokens() throws Exception {
+        String token = issueToken();
+        assertAuthenticated(token);
+
+        updateUser(u -> u.setEnabled(false));
+
+        assertRejected(token);
+    }
+
+    @Test
+    void unrelatedChangesKeepIssuedTokens() throws Exception {
+        String token = issueToken();
+
+        updateUser(u -> u.setPhoneNumber("+260970000000"));
+
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getTokenVersion()).isZero();
+        assertAuthenticated(token);
+    }
+
+    private String issueToken() {
+        return tokenProvider.generateToken((UserPrincipal) userDetailsService.loadUserByUsername(user.getEmail()));
+    }
+
+    private void updateUser(Consumer<User> change) {
+        transactionTemplate.executeWithoutResult(status -> {
+            User managed = userRepository.findById(user.getId()).orElseThrow();
+            change.accept(managed);
+        });
+    }
+
+    private void assertAuthenticated(String token) throws Exception {
+        mockMvc.perform(get("/accounts").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    private void assertRejected(String token) throws Exception {
+        mockMvc.perform(get("/accounts").header("Authorization", "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+    }
+}
@@ -0,0 +1,115 @@
+package com.bankinghub.backend.service;
+
+import com.bankinghub.backend.dto.request.BulkTransactionRequestDTO;
+import com.bankinghub.backend.dto.request.TransactionRequestDTO;
+import com.bankinghub.backend.dto.response.BulkPostingResponseDTO;
+import com.bankinghub.backend.model.Account;
+import com.bankinghub.backend.model.Account.AccountType;
+import com.bankinghub.backend.model.Transaction.TransactionType;
+import com.bankinghub.backend.model.User;
+import com.bankinghub.backend.repository.AccountRepository;
+import com.bankinghub.backend.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares sustained insert throughput of posting one transaction per call
+ * against the bulk endpoint's batched, sequence-keyed inserts. Timing-bound, so
+ * it only runs with the {@code benchmark} profile; consistency of the bulk path
+ * is covered by {@link BulkPostingServiceTest}.
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+class BulkPostingBenchmarkTest {
+
+    private static final int POSTINGS = 1000;
+    private static final int ROUNDS = 2;
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("100000.00");
+    private static final BigDecimal DEBIT = new BigDecimal("7.00");
+    private static final BigDecimal CREDIT = new BigDecimal("3.00");
+
+    @Autowired
+    private PostingService postingService;
+
+    @Autowired
+    private BulkPostingService bulkPostingService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void bulkPostingSustainsTenTimesTheSingleInsertThroughput() {
+        User owner = userRepository.findByEmail("demo@melvinbank.zm").orElseThrow();
+        List<TransactionRequestDTO> postings = postings(newAccount(owner, "Single"));
+        List<TransactionRequestDTO> bulkPostings = postings(newAccount(owner, "Bulk"));
+
+        // Warm up both paths before timing
+        postings.subList(0, 200).forEach(posting -> postingService.post(owner.getId(), posting));
+        bulkPostingService.post(owner.getId(), bulk(bulkPostings.subList(0, 200)));
+
+        long singleNanos = Long.MAX_VALUE;
+        long bulkNanos = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            postings.forEach(posting -> postingService.post(owner.getId(), posting));
+            singleNanos = Math.min(singleNanos, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            BulkPostingResponseDTO result = bulkPostingService.post(owner.getId(), bulk(bulkPostings));
+            bulkNanos = Math.min(bulkNanos, System.nanoTime() - start);
+            assertThat(result.getPostedCount()).isEqualTo(POSTINGS);
+        }
+
+        double singleRate = POSTINGS / (singleNanos / 1e9);
+        double bulkRate = POSTINGS / (bulkNanos / 1e9);
+        log.info("Single postings: {} rows/s, bulk postings: {} rows/s, speedup {}x",
+                Math.round(singleRate), Math.round(bulkRate), String.format("%.1f", bulkRate / singleRate));
+        assertThat(bulkRate).isGreaterThanOrEqualTo(10 * singleRate);
+    }
+
+    private Long newAccount(User owner, String name) {
+        Account account = new Account();
+        account.setAccountNumber("MBBENCH" + System.nanoTime() % 100_000_000L);
+        account.setAccountType(AccountType.CHECKING);
+        account.setAccountName("Benchmark " + name);
+        account.setBalance(OPENING_BALANCE);
+        account.setUser(owner);
+        return accountRepository.save(account).getId();
+    }
+
+    private List<TransactionRequestDTO> postings(Long accountId) {
+        List<TransactionRequestDTO> postings = new ArrayList<>(POSTINGS);
+        for (int i = 0; i < POSTINGS; i++) {
+            boolean debit = i % 4 != 0;
+            TransactionRequestDTO posting = new TransactionRequestDTO();
+            posting.setAccountId(accountId);
+            posting.setType(debit ? TransactionType.WITHDRAWAL : TransactionType.DEPOSIT);
+            posting.setAmount(debit ? DEBIT : CREDIT);
+            posting.setDescription("Benchmark posting " + i);
+            posting.setCategory("Benchmark");
+            postings.add(posting);
+        }
+        return postings;
+    }
+
+    private BulkTransactionRequestDTO bulk(List<TransactionRequestDTO> postings) {
+        BulkTransactionRequestDTO request = new BulkTransactionRequestDTO();
+        request.setPostings(postings);
+        return request;
+    }
+}
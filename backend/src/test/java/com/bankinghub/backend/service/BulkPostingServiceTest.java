@@ -0,0 +1,113 @@
+package com.bankinghub.backend.service;
+
+import com.bankinghub.backend.dto.request.BulkTransactionRequestDTO;
+import com.bankinghub.backend.dto.request.TransactionRequestDTO;
+import com.bankinghub.backend.dto.response.BulkPostingResponseDTO;
+import com.bankinghub.backend.model.Account;
+import com.bankinghub.backend.model.Account.AccountType;
+import com.bankinghub.backend.model.Transaction;
+import com.bankinghub.backend.model.Transaction.TransactionType;
+import com.bankinghub.backend.model.User;
+import com.bankinghub.backend.repository.AccountRepository;
+import com.bankinghub.backend.repository.TransactionRepository;
+import com.bankinghub.backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Posts several batches through the bulk path and checks the account balance
+ * and the ledger's running balances agree with the postings, across flushes
+ * and across requests.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class BulkPostingServiceTest {
+
+    private static final int POSTINGS = 300;
+    private static final int REQUESTS = 2;
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("10000.00");
+    private static final BigDecimal DEBIT = new BigDecimal("7.00");
+    private static final BigDecimal CREDIT = new BigDecimal("3.00");
+
+    @Autowired
+    private BulkPostingService bulkPostingService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void bulkPostingsKeepBalanceAndLedgerConsistent() {
+        User owner = userRepository.findByEmail("demo@melvinbank.zm").orElseThrow();
+        Long accountId = newAccount(owner);
+        List<TransactionRequestDTO> postings = postings(accountId);
+
+        for (int request = 0; request < REQUESTS; request++) {
+            BulkPostingResponseDTO result = bulkPostingService.post(owner.getId(), bulk(postings));
+            assertThat(result.getPostedCount()).isEqualTo(POSTINGS);
+        }
+
+        BigDecimal net = postings.stream()
+                .map(posting -> posting.getType().isDebit() ? posting.getAmount().negate() : posting.getAmount())
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal expected = OPENING_BALANCE.add(net.multiply(BigDecimal.valueOf(REQUESTS)));
+        assertThat(accountRepository.findBalanceById(accountId)).isEqualByComparingTo(expected);
+
+        // Ids come from a pooled sequence in posting order, so they give the ledger's running order
+        List<Transaction> ledger = transactionRepository.findByAccountIdOrderByTransactionDateDesc(accountId).stream()
+                .sorted(Comparator.comparing(Transaction::getId))
+                .toList();
+        assertThat(ledger).hasSize(POSTINGS * REQUESTS);
+        BigDecimal running = OPENING_BALANCE;
+        for (Transaction entry : ledger) {
+            running = entry.getType().isDebit() ? running.subtract(entry.getAmount()) : running.add(entry.getAmount());
+            assertThat(entry.getBalanceAfter()).isEqualByComparingTo(running);
+        }
+        assertThat(running).isEqualByComparingTo(expected);
+    }
+
+    private Long newAccount(User owner) {
+        Account account = new Account();
+        account.setAccountNumber("MBBULK" + System.nanoTime() % 100_000_000L);
+        account.setAccountType(AccountType.CHECKING);
+        account.setAccountName("Bulk Posting");
+        account.setBalance(OPENING_BALANCE);
+        account.setUser(owner);
+        return accountRepository.save(account).getId();
+    }
+
+    private List<TransactionRequestDTO> postings(Long accountId) {
+        List<TransactionRequestDTO> postings = new ArrayList<>(POSTINGS);
+        for (int i = 0; i < POSTINGS; i++) {
+            boolean debit = i % 4 != 0;
+            TransactionRequestDTO posting = new TransactionRequestDTO();
+            posting.setAccountId(accountId);
+            posting.setType(debit ? TransactionType.WITHDRAWAL : TransactionType.DEPOSIT);
+            posting.setAmount(debit ? DEBIT : CREDIT);
+            posting.setDescription("Bulk posting " + i);
+            posting.setCategory("Bulk");
+            postings.add(posting);
+        }
+        return postings;
+    }
+
+    private BulkTransactionRequestDTO bulk(List<TransactionRequestDTO> postings) {
+        BulkTransactionRequestDTO request = new BulkTransactionRequestDTO();
+        request.setPostings(postings);
+        return request;
+    }
+}
@@ -0,0 +1,152 @@
+package com.bankinghub.backend.service;
+
+import com.bankinghub.backend.dto.response.DashboardResponseDTO;
+import com.bankinghub.backend.dto.response.DashboardResponseDTO.Section;
+import com.bankinghub.backend.model.Account;
+import com.bankinghub.backend.model.Account.AccountType;
+import com.bankinghub.backend.model.User;
+import com.bankinghub.backend.repository.AccountRepository;
+import com.bankinghub.backend.repository.UserRepository;
+import com.bankinghub.backend.security.CustomUserDetailsService;
+import com.bankinghub.backend.security.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.reset;
+
+/**
+ * Checks that dashboard sections are read on the worker pool as the caller,
+ * and that a section which fails or runs past the timeout is listed as
+ * unavailable while the rest of the dashboard is still returned.
+ */
+// Own database: a second context recreating the shared schema would reset the id sequences under the first
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:dashboard;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "app.dashboard.section-timeout=1s"
+})
+@ActiveProfiles("test")
+class DashboardServiceTest {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @SpyBean
+    private BillService billService;
+
+    @SpyBean
+    private BudgetService budgetService;
+
+    private User user;
+    private Long accountId;
+
+    @BeforeEach
+    void signIn() {
+        reset(billService, budgetService);
+        user = new User();
+        user.setFirstName("Dashboard");
+        user.setLastName("Viewer");
+        user.setEmail("dashboard" + System.nanoTime() + "@melvinbank.zm");
+        user.setPassword("$2a$12$dashboardHashDashboardHashDashboardHashDashboardHashDa");
+        user = userRepository.save(user);
+
+        Account account = new Account();
+        account.setAccountNumber("MBDASH" + System.nanoTime() % 100_000_000L);
+        account.setAccountType(AccountType.CHECKING);
+        account.setAccountName("Dashboard Test");
+        account.setBalance(BigDecimal.valueOf(250));
+        account.setUser(user);
+        accountId = accountRepository.save(account).getId();
+
+        UserDetails principal = userDetailsService.loadUserByUsername(user.getEmail());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @AfterEach
+    void signOut() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void sectionsAreReadOnWorkersAsTheCaller() {
+        AtomicReference<String> thread = new AtomicReference<>();
+        AtomicReference<Authentication> authentication = new AtomicReference<>();
+        doAnswer(invocation -> {
+            thread.set(Thread.currentThread().getName());
+            authentication.set(SecurityContextHolder.getContext().getAuthentication());
+            return invocation.callRealMethod();
+        }).when(target(billService)).getActiveBills();
+
+        DashboardResponseDTO dashboard = dashboardService.getDashboard();
+
+        assertThat(dashboard.getUnavailableSections()).isEmpty();
+        assertThat(dashboard.getAccounts()).singleElement()
+                .satisfies(account -> assertThat(account.getId()).isEqualTo(accountId));
+        assertThat(dashboard.getRecentTransactions()).containsOnlyKeys(accountId);
+        assertThat(dashboard.getActiveBudgets()).isEmpty();
+        assertThat(dashboard.getUpcomingBills()).isEmpty();
+        assertThat(thread.get()).startsWith("dashboard-");
+        assertThat(((UserPrincipal) authentication.get().getPrincipal()).getId()).isEqualTo(user.getId());
+    }
+
+    @Test
+    void failingSectionIsListedAsUnavailable() {
+        doThrow(new IllegalStateException("bills store down")).when(target(billService)).getActiveBills();
+
+        DashboardResponseDTO dashboard = dashboardService.getDashboard();
+
+        assertThat(dashboard.getUnavailableSections()).containsExactly(Section.UPCOMING_BILLS);
+        assertThat(dashboard.getUpcomingBills()).isNull();
+        assertThat(dashboard.getAccounts()).hasSize(1);
+        assertThat(dashboard.getActiveBudgets()).isNotNull();
+    }
+
+    @Test
+    void lateSectionIsLeftOutWithoutHoldingUpTheRest() {
+        doAnswer(invocation -> {
+            Thread.sleep(3_000);
+            return invocation.callRealMethod();
+        }).when(target(budgetService)).getOverBudgets();
+
+        long started = System.nanoTime();
+        DashboardResponseDTO dashboard = dashboardService.getDashboard();
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+        assertThat(dashboard.getUnavailableSections()).containsExactly(Section.OVER_BUDGETS);
+        assertThat(dashboard.getOverBudgets()).isNull();
+        assertThat(dashboard.getAccounts()).hasSize(1);
+        assertThat(dashboard.getUpcomingBills()).isEqualTo(List.of());
+        assertThat(elapsedMs).isLessThan(2_500);
+    }
+
+    /** The spy behind the caching proxy; stubbing through the proxy would cache the stub's null */
+    private static <T> T target(T spy) {
+        return AopTestUtils.getUltimateTargetObject(spy);
+    }
+}
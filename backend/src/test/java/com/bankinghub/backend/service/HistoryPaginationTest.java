@@ -0,0 +1,212 @@
+package com.bankinghub.backend.service;
+
+import com.bankinghub.backend.model.Account;
+import com.bankinghub.backend.model.Account.AccountType;
+import com.bankinghub.backend.model.Transaction;
+import com.bankinghub.backend.model.Transaction.TransactionType;
+import com.bankinghub.backend.model.Transfer;
+import com.bankinghub.backend.model.Transfer.TransferStatus;
+import com.bankinghub.backend.model.Transfer.TransferType;
+import com.bankinghub.backend.model.User;
+import com.bankinghub.backend.repository.AccountRepository;
+import com.bankinghub.backend.repository.TransactionRepository;
+import com.bankinghub.backend.repository.TransferRepository;
+import com.bankinghub.backend.repository.UserRepository;
+import com.bankinghub.backend.security.CustomUserDetailsService;
+import com.bankinghub.backend.security.JwtTokenProvider;
+import com.bankinghub.backend.security.UserPrincipal;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Walks the keyset-paginated transaction and transfer histories page by page
+ * when many rows share one timestamp, and checks that bad cursors are refused.
+ */
+// Own database: a second context recreating the shared schema would reset the id sequences under the first
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:mockmvc;DB_CLOSE_DELAY=-1;MODE=PostgreSQL")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class HistoryPaginationTest {
+
+    private static final int ROWS = 7;
+    private static final int PAGE_SIZE = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransferRepository transferRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private String token;
+    private Account checking;
+    private Account savings;
+
+    @BeforeEach
+    void createUser() {
+        User user = new User();
+        user.setFirstName("Page");
+        user.setLastName("Walker");
+        user.setEmail("pages" + System.nanoTime() + "@melvinbank.zm");
+        user.setPassword("$2a$12$pageWalkerHashPageWalkerHashPageWalkerHashPageWalkerHa");
+        user = userRepository.save(user);
+        checking = account(user, AccountType.CHECKING);
+        savings = account(user, AccountType.SAVINGS);
+        token = tokenProvider.generateToken((UserPrincipal) userDetailsService.loadUserByUsername(user.getEmail()));
+    }
+
+    @Test
+    void transactionPagesWithEqualDatesReturnEveryRowOnce() throws Exception {
+        LocalDateTime sameInstant = LocalDateTime.now().minusHours(1).truncatedTo(ChronoUnit.SECONDS);
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            Transaction transaction = new Transaction();
+            transaction.setAccount(checking);
+            transaction.setType(TransactionType.DEPOSIT);
+            transaction.setAmount(BigDecimal.TEN);
+            transaction.setDescription("Same instant " + i);
+            transaction.setTransactionDate(sameInstant);
+            expected.add(transactionRepository.save(transaction).getId());
+        }
+        expected.sort(Comparator.reverseOrder());
+
+        assertThat(walk("/transactions/history")).isEqualTo(expected);
+    }
+
+    @Test
+    void transferPagesWithEqualDatesReturnEveryTransferOnce() throws Exception {
+        LocalDateTime sameInstant = LocalDateTime.now().minusHours(1).truncatedTo(ChronoUnit.SECONDS);
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            // Internal transfers between the user's own accounts: the user is both sender and recipient
+            Transfer transfer = new Transfer();
+            transfer.setFromAccount(checking);
+            transfer.setToAccount(savings);
+            transfer.setAmount(BigDecimal.ONE);
+            transfer.setDescription("Same instant " + i);
+            transfer.setTransferType(TransferType.INTERNAL);
+            transfer.setStatus(TransferStatus.COMPLETED);
+            transfer.setScheduledDate(sameInstant);
+            transfer.setReferenceNumber("PAGE" + System.nanoTime());
+            expected.add(transferRepository.save(transfer).getId());
+        }
+        expected.sort(Comparator.reverseOrder());
+
+        assertThat(walk("/transfers/history")).isEqualTo(expected);
+    }
+
+    @Test
+    void participantRowsFollowTransferTypeAndStatus() {
+        Transfer transfer = new Transfer();
+        transfer.setFromAccount(checking);
+        transfer.setToAccount(savings);
+        transfer.setAmount(BigDecimal.ONE);
+        transfer.setDescription("Mirrored");
+        transfer.setTransferType(TransferType.INTERNAL);
+        transfer.setStatus(TransferStatus.PENDING);
+        transfer.setScheduledDate(LocalDateTime.now().plusDays(1));
+        transfer.setReferenceNumber("MIRROR" + System.nanoTime());
+        Long transferId = transferRepository.save(transfer).getId();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Transfer managed = transferRepository.findById(transferId).orElseThrow();
+            managed.setTransferType(TransferType.EXTERNAL);
+            managed.setStatus(TransferStatus.CANCELLED);
+        });
+
+        transactionTemplate.executeWithoutResult(status ->
+                assertThat(transferRepository.findById(transferId).orElseThrow().getParticipants())
+                        .hasSize(2)
+                        .allSatisfy(participant -> {
+                            assertThat(participant.getTransferType()).isEqualTo(TransferType.EXTERNAL);
+                            assertThat(participant.getStatus()).isEqualTo(TransferStatus.CANCELLED);
+                        }));
+    }
+
+    @Test
+    void malformedCursorsAreRejected() throws Exception {
+        String notBase64 = "%%%";
+        String noSeparator = encode("2024-01-01T00:00:00");
+        String badDate = encode("not-a-date|42");
+        String badId = encode("2024-01-01T00:00:00|x");
+        for (String path : List.of("/transactions/history", "/transfers/history")) {
+            for (String cursor : List.of(notBase64, noSeparator, badDate, badId)) {
+                mockMvc.perform(get(path).param("cursor", cursor).header("Authorization", "Bearer " + token))
+                        .andExpect(status().isBadRequest());
+            }
+        }
+    }
+
+    /** Follows {@code nextCursor} from the first page to the last and returns every id seen */
+    private List<Long> walk(String path) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            var request = get(path).param("size", String.valueOf(PAGE_SIZE)).header("Authorization", "Bearer " + token);
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            String body = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            List<Number> pageIds = JsonPath.read(body, "$.content[*].id");
+            assertThat(pageIds).hasSizeLessThanOrEqualTo(PAGE_SIZE);
+            pageIds.forEach(id -> ids.add(id.longValue()));
+            cursor = JsonPath.read(body, "$.nextCursor");
+            assertThat(++pages).isLessThanOrEqualTo(ROWS);
+        } while (cursor != null);
+        return ids;
+    }
+
+    private Account account(User user, AccountType type) {
+        Account account = new Account();
+        account.setAccountNumber("MBPAGE" + System.nanoTime() % 100_000_000L);
+        account.setAccountType(type);
+        account.setAccountName("Pagination " + type);
+        account.setBalance(BigDecimal.valueOf(1000));
+        account.setUser(user);
+        return accountRepository.save(account);
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,160 @@
+package com.bankinghub.backend.service;
+
+import com.bankinghub.backend.dto.request.TransactionRequestDTO;
+import com.bankinghub.backend.dto.response.PostingReceiptDTO;
+import com.bankinghub.backend.model.Account;
+import com.bankinghub.backend.model.Account.AccountType;
+import com.bankinghub.backend.model.Transaction.TransactionType;
+import com.bankinghub.backend.model.User;
+import com.bankinghub.backend.repository.AccountRepository;
+import com.bankinghub.backend.repository.UserRepository;
+import com.bankinghub.backend.security.CustomUserDetailsService;
+import com.bankinghub.backend.security.UserPrincipal;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares journaled posting with direct JPA posting under concurrent load.
+ * Timing-bound, so it only runs with the {@code benchmark} profile; exactly-once
+ * application is covered by {@link PostingJournalServiceTest} and recovery by
+ * {@code MappedJournalTest}.
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:journaltest;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "app.ledger.journal.enabled=true",
+        "app.ledger.journal.dir=${java.io.tmpdir}/bankinghub-journal-test-${random.uuid}"
+})
+@ActiveProfiles("test")
+class PostingJournalBenchmarkTest {
+
+    private static final int THREADS = 16;
+    private static final int POSTINGS_PER_THREAD = 50;
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("100000.00");
+    private static final BigDecimal DEBIT = new BigDecimal("7.00");
+    private static final BigDecimal CREDIT = new BigDecimal("3.00");
+
+    @Autowired
+    private PostingService postingService;
+
+    @Autowired
+    private PostingJournalService postingJournalService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Test
+    void journaledPostingOutpacesDirectSaves() throws Exception {
+        UserPrincipal principal = (UserPrincipal) userDetailsService.loadUserByUsername("demo@melvinbank.zm");
+        User owner = userRepository.findById(principal.getId()).orElseThrow();
+        Long directAccountId = newAccount(owner, "Direct");
+        Long journalAccountId = newAccount(owner, "Journal");
+
+        long directNanos = runConcurrently(principal, thread -> {
+            for (int i = 0; i < POSTINGS_PER_THREAD; i++) {
+                postingService.post(owner.getId(), request(directAccountId, thread + i));
+            }
+            return null;
+        });
+        Set<String> references = new HashSet<>();
+        long journalNanos = runConcurrently(principal, thread -> {
+            List<String> accepted = new ArrayList<>();
+            for (int i = 0; i < POSTINGS_PER_THREAD; i++) {
+                PostingReceiptDTO receipt = postingJournalService.accept(request(journalAccountId, thread + i));
+                accepted.add(receipt.getReferenceNumber());
+            }
+            synchronized (references) {
+                references.addAll(accepted);
+            }
+            return null;
+        });
+
+        int postings = THREADS * POSTINGS_PER_THREAD;
+        double directRate = postings / (directNanos / 1e9);
+        double journalRate = postings / (journalNanos / 1e9);
+        log.info("Direct postings: {}/s, journaled postings: {}/s, speedup {}x",
+                Math.round(directRate), Math.round(journalRate), String.format("%.1f", journalRate / directRate));
+        assertThat(journalRate).isGreaterThan(directRate);
+        assertThat(references).hasSize(postings);
+    }
+
+    private long runConcurrently(UserPrincipal principal, ThreadTask task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Void>> results = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            results.add(pool.submit((Callable<Void>) () -> {
+                SecurityContextHolder.getContext().setAuthentication(
+                        new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+                start.await();
+                try {
+                    return task.run(thread);
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+            }));
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<Void> result : results) {
+            result.get(2, TimeUnit.MINUTES);
+        }
+        long elapsed = System.nanoTime() - begin;
+        pool.shutdown();
+        return elapsed;
+    }
+
+    @FunctionalInterface
+    private interface ThreadTask {
+        Void run(int thread) throws Exception;
+    }
+
+    private Long newAccount(User owner, String name) {
+        Account account = new Account();
+        account.setAccountNumber("MBJRNL" + System.nanoTime() % 100_000_000L);
+        account.setAccountType(AccountType.CHECKING);
+        account.setAccountName("Journal Benchmark " + name);
+        account.setBalance(OPENING_BALANCE);
+        account.setUser(owner);
+        return accountRepository.save(account).getId();
+    }
+
+    private TransactionRequestDTO request(Long accountId, int seed) {
+        boolean debit = seed % 4 != 0;
+        TransactionRequestDTO request = new TransactionRequestDTO();
+        request.setAccountId(accountId);
+        request.setType(debit ? TransactionType.WITHDRAWAL : TransactionType.DEPOSIT);
+        request.setAmount(debit ? DEBIT : CREDIT);
+        request.setDescription("Journal benchmark posting");
+        request.setCategory("Benchmark");
+        return request;
+    }
+}
@@ -0,0 +1,148 @@
+package com.bankinghub.backend.service;
+
+import com.bankinghub.backend.dto.request.TransactionRequestDTO;
+import com.bankinghub.backend.dto.response.PostingReceiptDTO;
+import com.bankinghub.backend.model.Account;
+import com.bankinghub.backend.model.Account.AccountType;
+import com.bankinghub.backend.model.Transaction.TransactionType;
+import com.bankinghub.backend.model.User;
+import com.bankinghub.backend.repository.AccountRepository;
+import com.bankinghub.backend.repository.TransactionRepository;
+import com.bankinghub.backend.repository.UserRepository;
+import com.bankinghub.backend.security.CustomUserDetailsService;
+import com.bankinghub.backend.security.UserPrincipal;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Accepts postings into the journal from several threads and checks that the
+ * applier brings every one of them into the ledger exactly once.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:journaltest;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "app.ledger.journal.enabled=true",
+        "app.ledger.journal.dir=${java.io.tmpdir}/bankinghub-journal-test-${random.uuid}"
+})
+@ActiveProfiles("test")
+class PostingJournalServiceTest {
+
+    private static final int THREADS = 4;
+    private static final int POSTINGS_PER_THREAD = 25;
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("10000.00");
+    private static final BigDecimal DEBIT = new BigDecimal("7.00");
+    private static final BigDecimal CREDIT = new BigDecimal("3.00");
+
+    @Autowired
+    private PostingJournalService postingJournalService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Test
+    void journaledPostingsAreAppliedExactlyOnce() throws Exception {
+        UserPrincipal principal = (UserPrincipal) userDetailsService.loadUserByUsername("demo@melvinbank.zm");
+        User owner = userRepository.findById(principal.getId()).orElseThrow();
+        Long accountId = newAccount(owner);
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<String>>> results = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            results.add(pool.submit((Callable<List<String>>) () -> {
+                SecurityContextHolder.getContext().setAuthentication(
+                        new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+                start.await();
+                try {
+                    List<String> accepted = new ArrayList<>();
+                    for (int i = 0; i < POSTINGS_PER_THREAD; i++) {
+                        PostingReceiptDTO receipt = postingJournalService.accept(request(accountId, thread + i));
+                        accepted.add(receipt.getReferenceNumber());
+                    }
+                    return accepted;
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+            }));
+        }
+        start.countDown();
+        List<String> references = new ArrayList<>();
+        for (Future<List<String>> result : results) {
+            references.addAll(result.get(2, TimeUnit.MINUTES));
+        }
+        pool.shutdown();
+
+        int postings = THREADS * POSTINGS_PER_THREAD;
+        assertThat(references).doesNotHaveDuplicates().hasSize(postings);
+
+        // Wait for the applier to drain the journal
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        List<String> applied = ledgerReferences(accountId);
+        while (applied.size() < postings && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+            applied = ledgerReferences(accountId);
+        }
+        assertThat(applied).containsExactlyInAnyOrderElementsOf(references);
+
+        BigDecimal expected = OPENING_BALANCE;
+        for (int thread = 0; thread < THREADS; thread++) {
+            for (int i = 0; i < POSTINGS_PER_THREAD; i++) {
+                TransactionRequestDTO request = request(accountId, thread + i);
+                expected = request.getType().isDebit() ? expected.subtract(request.getAmount()) : expected.add(request.getAmount());
+            }
+        }
+        assertThat(accountRepository.findBalanceById(accountId)).isEqualByComparingTo(expected);
+    }
+
+    private List<String> ledgerReferences(Long accountId) {
+        return transactionRepository.findByAccountIdOrderByTransactionDateDesc(accountId).stream()
+                .map(tx -> tx.getReferenceNumber())
+                .toList();
+    }
+
+    private Long newAccount(User owner) {
+        Account account = new Account();
+        account.setAccountNumber("MBJRNL" + System.nanoTime() % 100_000_000L);
+        account.setAccountType(AccountType.CHECKING);
+        account.setAccountName("Journal Posting");
+        account.setBalance(OPENING_BALANCE);
+        account.setUser(owner);
+        return accountRepository.save(account).getId();
+    }
+
+    private TransactionRequestDTO request(Long accountId, int seed) {
+        boolean debit = seed % 4 != 0;
+        TransactionRequestDTO request = new TransactionRequestDTO();
+        request.setAccountId(accountId);
+        request.setType(debit ? TransactionType.WITHDRAWAL : TransactionType.DEPOSIT);
+        request.setAmount(debit ? DEBIT : CREDIT);
+        request.setDescription("Journal posting");
+        request.setCategory("Journal");
+        return request;
+    }
+}
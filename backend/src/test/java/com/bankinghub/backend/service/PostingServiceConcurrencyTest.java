@@ -0,0 +1,119 @@
+package com.bankinghub.backend.service;
+
+import com.bankinghub.backend.dto.request.TransactionRequestDTO;
+import com.bankinghub.backend.exception.CustomBusinessException;
+import com.bankinghub.backend.model.Account;
+import com.bankinghub.backend.model.Account.AccountType;
+import com.bankinghub.backend.model.Transaction;
+import com.bankinghub.backend.model.Transaction.TransactionType;
+import com.bankinghub.backend.model.User;
+import com.bankinghub.backend.repository.AccountRepository;
+import com.bankinghub.backend.repository.TransactionRepository;
+import com.bankinghub.backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hammers a single account with concurrent debits and credits and checks that
+ * the balance never goes negative and no money is lost or created.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class PostingServiceConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int POSTINGS_PER_THREAD = 25;
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("500.00");
+    private static final BigDecimal DEBIT = new BigDecimal("7.00");
+    private static final BigDecimal CREDIT = new BigDecimal("3.00");
+
+    @Autowired
+    private PostingService postingService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void concurrentPostingsConserveMoney() throws Exception {
+        User owner = userRepository.findByEmail("demo@melvinbank.zm").orElseThrow();
+        Account account = new Account();
+        account.setAccountNumber("MBTEST" + System.nanoTime() % 100_000_000L);
+        account.setAccountType(AccountType.CHECKING);
+        account.setAccountName("Concurrency Test");
+        account.setBalance(OPENING_BALANCE);
+        account.setUser(owner);
+        Long accountId = accountRepository.save(account).getId();
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<BigDecimal>> results = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            results.add(pool.submit(() -> {
+                start.await();
+                BigDecimal net = BigDecimal.ZERO;
+                for (int i = 0; i < POSTINGS_PER_THREAD; i++) {
+                    // Mostly debits, so the account runs dry and rejections are exercised
+                    boolean debit = (thread + i) % 4 != 0;
+                    try {
+                        postingService.post(owner.getId(), request(accountId,
+                                debit ? TransactionType.WITHDRAWAL : TransactionType.DEPOSIT,
+                                debit ? DEBIT : CREDIT));
+                        net = debit ? net.subtract(DEBIT) : net.add(CREDIT);
+                    } catch (CustomBusinessException insufficientFunds) {
+                        assertThat(debit).isTrue();
+                    }
+                }
+                return net;
+            }));
+        }
+        start.countDown();
+
+        BigDecimal expected = OPENING_BALANCE;
+        for (Future<BigDecimal> result : results) {
+            expected = expected.add(result.get(2, TimeUnit.MINUTES));
+        }
+        pool.shutdown();
+
+        BigDecimal balance = accountRepository.findBalanceById(accountId);
+        assertThat(balance).isEqualByComparingTo(expected);
+        assertThat(balance.signum()).isGreaterThanOrEqualTo(0);
+
+        List<Transaction> ledger = transactionRepository.findAll().stream()
+                .filter(tx -> tx.getAccount().getId().equals(accountId))
+                .toList();
+        BigDecimal ledgerNet = ledger.stream()
+                .map(tx -> tx.getType().isDebit() ? tx.getAmount().negate() : tx.getAmount())
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertThat(OPENING_BALANCE.add(ledgerNet)).isEqualByComparingTo(balance);
+        assertThat(ledger).allSatisfy(tx -> assertThat(tx.getBalanceAfter().signum()).isGreaterThanOrEqualTo(0));
+    }
+
+    private TransactionRequestDTO request(Long accountId, TransactionType type, BigDecimal amount) {
+        TransactionRequestDTO request = new TransactionRequestDTO();
+        request.setAccountId(accountId);
+        request.setType(type);
+        request.setAmount(amount);
+        request.setDescription("Concurrency test " + type);
+        return request;
+    }
+}
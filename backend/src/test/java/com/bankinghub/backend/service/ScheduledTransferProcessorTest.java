@@ -0,0 +1,95 @@
+package com.bankinghub.backend.service;
+
+import com.bankinghub.backend.model.Account;
+import com.bankinghub.backend.model.Account.AccountType;
+import com.bankinghub.backend.model.Transfer;
+import com.bankinghub.backend.model.Transfer.TransferStatus;
+import com.bankinghub.backend.model.Transfer.TransferType;
+import com.bankinghub.backend.model.User;
+import com.bankinghub.backend.repository.AccountRepository;
+import com.bankinghub.backend.repository.TransferRepository;
+import com.bankinghub.backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Runs the safety sweep over a transfer whose execution keeps failing and
+ * checks that returning it to the queue ends the sweep instead of claiming it
+ * again in the same run.
+ */
+// Own database: a second context recreating the shared schema would reset the id sequences under the first
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sweep;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "app.transfers.processor.batch-size=1"
+})
+@ActiveProfiles("test")
+class ScheduledTransferProcessorTest {
+
+    @Autowired
+    private ScheduledTransferProcessor scheduledTransferProcessor;
+
+    @Autowired
+    private TransferRepository transferRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @SpyBean
+    private TransferExecutionService transferExecutionService;
+
+    @Test
+    void releasedTransferIsLeftForTheNextSweep() {
+        User owner = userRepository.findByEmail("demo@melvinbank.zm").orElseThrow();
+        Long transferId = pendingTransfer(account(owner, "Sweep A"), account(owner, "Sweep B"));
+        doThrow(new CannotAcquireLockException("lock wait timeout"))
+                .when(transferExecutionService).execute(transferId);
+
+        // A full batch used to keep the sweep going, so it re-claimed the released transfer indefinitely
+        assertTimeoutPreemptively(Duration.ofSeconds(30), scheduledTransferProcessor::processDueTransfers);
+
+        verify(transferExecutionService, times(1)).execute(transferId);
+        assertThat(transferRepository.findById(transferId).orElseThrow().getStatus())
+                .isEqualTo(TransferStatus.PENDING);
+    }
+
+    private Account account(User owner, String name) {
+        Account account = new Account();
+        account.setAccountNumber("MBSWEEP" + System.nanoTime() % 100_000_000L);
+        account.setAccountType(AccountType.CHECKING);
+        account.setAccountName(name);
+        account.setBalance(new BigDecimal("100.00"));
+        account.setUser(owner);
+        return accountRepository.save(account);
+    }
+
+    private Long pendingTransfer(Account from, Account to) {
+        Transfer transfer = new Transfer();
+        transfer.setFromAccount(from);
+        transfer.setToAccount(to);
+        transfer.setAmount(new BigDecimal("5.00"));
+        transfer.setDescription("Sweep test");
+        transfer.setTransferType(TransferType.INTERNAL);
+        transfer.setStatus(TransferStatus.PENDING);
+        // Ahead of anything else due, so the first single-transfer batch claims it
+        transfer.setScheduledDate(LocalDateTime.now().minusYears(10));
+        transfer.setReferenceNumber("SWEEP" + System.nanoTime());
+        return transferRepository.save(transfer).getId();
+    }
+}
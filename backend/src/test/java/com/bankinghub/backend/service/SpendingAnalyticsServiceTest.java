@@ -0,0 +1,276 @@
+package com.bankinghub.backend.service;
+
+import com.bankinghub.backend.config.CacheConfig;
+import com.bankinghub.backend.dto.request.TransactionRequestDTO;
+import com.bankinghub.backend.dto.response.MerchantBreakdownResponseDTO;
+import com.bankinghub.backend.dto.response.MerchantBreakdownResponseDTO.MerchantTotal;
+import com.bankinghub.backend.dto.response.SpendingComparisonResponseDTO;
+import com.bankinghub.backend.dto.response.SpendingComparisonResponseDTO.CategoryChange;
+import com.bankinghub.backend.dto.response.SpendingTrendResponseDTO;
+import com.bankinghub.backend.dto.response.SpendingTrendResponseDTO.CategoryTrend;
+import com.bankinghub.backend.dto.response.TransactionResponseDTO;
+import com.bankinghub.backend.model.Account;
+import com.bankinghub.backend.model.Account.AccountType;
+import com.bankinghub.backend.model.Transaction.TransactionType;
+import com.bankinghub.backend.model.User;
+import com.bankinghub.backend.repository.AccountRepository;
+import com.bankinghub.backend.repository.UserRepository;
+import com.bankinghub.backend.security.CustomUserDetailsService;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks spending trends, merchant breakdowns and comparisons answered from
+ * the in-memory cube against sums taken straight from the transactions table,
+ * and that cubes are cached, bounded and rebuilt after a change.
+ */
+// Own database and a two-cube cache, so eviction is reached without loading thousands of users
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:analytics;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "app.cache.specs.spending-cubes=maximumSize=2"
+})
+@ActiveProfiles("test")
+class SpendingAnalyticsServiceTest {
+
+    private static final String DEBIT_TYPES = inList(true);
+    private static final String CREDIT_TYPES = inList(false);
+    /** Reversal rows and the transactions they reverse are not spending */
+    private static final String NOT_REVERSED = " AND reversal_of_id IS NULL AND id NOT IN "
+            + "(SELECT reversal_of_id FROM transactions WHERE reversal_of_id IS NOT NULL)";
+
+    @Autowired
+    private SpendingAnalyticsService spendingAnalyticsService;
+
+    @Autowired
+    private SpendingCubeLoader cubeLoader;
+
+    @Autowired
+    private PostingService postingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private Long accountId;
+    private final YearMonth thisMonth = YearMonth.now();
+
+    @BeforeEach
+    void createSpendingHistory() {
+        user = newUser();
+        accountId = newAccount(user);
+        signIn(user);
+
+        post(thisMonth, TransactionType.WITHDRAWAL, "45.10", "Groceries", "ShopRite");
+        post(thisMonth, TransactionType.PAYMENT, "12.00", "Transport", "Zambia Rail");
+        post(thisMonth, TransactionType.DEPOSIT, "900.00", "Salary", null);
+        post(thisMonth.minusMonths(1), TransactionType.WITHDRAWAL, "80.25", "Groceries", "ShopRite");
+        post(thisMonth.minusMonths(1), TransactionType.WITHDRAWAL, "19.99", "Groceries", "Pick n Pay");
+        post(thisMonth.minusMonths(1), TransactionType.FEE, "2.50", null, null);
+        post(thisMonth.minusMonths(2), TransactionType.PAYMENT, "30.00", "Transport", "Zambia Rail");
+        post(thisMonth.minusMonths(2), TransactionType.REFUND, "5.00", "Groceries", "ShopRite");
+        // Outside the cube's 13 months
+        post(thisMonth.minusMonths(14), TransactionType.WITHDRAWAL, "500.00", "Groceries", "ShopRite");
+    }
+
+    @AfterEach
+    void signOut() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void trendMatchesTableSums() {
+        SpendingTrendResponseDTO trend = spendingAnalyticsService.getTrend(3, null);
+
+        assertThat(trend.getMonths()).containsExactly(thisMonth.minusMonths(2), thisMonth.minusMonths(1), thisMonth);
+        for (int m = 0; m < 3; m++) {
+            YearMonth month = trend.getMonths().get(m);
+            assertThat(trend.getTotalDebits().get(m)).isEqualByComparingTo(sqlSum(DEBIT_TYPES, null, month, month));
+            assertThat(trend.getTotalCredits().get(m)).isEqualByComparingTo(sqlSum(CREDIT_TYPES, null, month, month));
+        }
+        assertThat(trend.getCategories()).extracting(CategoryTrend::getCategory)
+                .containsExactlyInAnyOrder("Groceries", "Transport", null);
+        for (CategoryTrend category : trend.getCategories()) {
+            for (int m = 0; m < 3; m++) {
+                YearMonth month = trend.getMonths().get(m);
+                assertThat(category.getMonthlySpent().get(m))
+                        .isEqualByComparingTo(sqlSum(DEBIT_TYPES, categoryFilter(category.getCategory()), month, month));
+            }
+        }
+
+        SpendingTrendResponseDTO yearTrend = spendingAnalyticsService.getTrend(13, "Groceries");
+        assertThat(yearTrend.getCategories()).singleElement()
+                .satisfies(groceries -> assertThat(groceries.getTotalSpent()).isEqualByComparingTo(
+                        sqlSum(DEBIT_TYPES, "= 'Groceries'", thisMonth.minusMonths(12), thisMonth)));
+    }
+
+    @Test
+    void merchantBreakdownMatchesTableSums() {
+        YearMonth from = thisMonth.minusMonths(2);
+        MerchantBreakdownResponseDTO breakdown = spendingAnalyticsService.getMerchantBreakdown(from, thisMonth, 10);
+
+        assertThat(breakdown.getTotalSpent()).isEqualByComparingTo(sqlSum(DEBIT_TYPES, null, from, thisMonth));
+        assertThat(breakdown.getMerchants()).extracting(MerchantTotal::getMerchant)
+                .containsExactly("ShopRite", "Zambia Rail", "Pick n Pay");
+        for (MerchantTotal merchant : breakdown.getMerchants()) {
+            assertThat(merchant.getAmount()).isEqualByComparingTo(jdbcTemplate.queryForObject(
+                    "SELECT COALESCE(SUM(amount), 0) FROM transactions WHERE user_id = ? AND status = 'COMPLETED' "
+                            + "AND type IN " + DEBIT_TYPES + " AND merchant = ? "
+                            + "AND transaction_date >= ? AND transaction_date < ?" + NOT_REVERSED,
+                    BigDecimal.class, user.getId(), merchant.getMerchant(), start(from), start(thisMonth.plusMonths(1))));
+        }
+    }
+
+    @Test
+    void comparisonMatchesTableSums() {
+        YearMonth lastMonth = thisMonth.minusMonths(1);
+        SpendingComparisonResponseDTO comparison = spendingAnalyticsService.compare(thisMonth, thisMonth, null);
+
+        assertThat(comparison.getPrevious().getFromMonth()).isEqualTo(lastMonth);
+        assertThat(comparison.getTotalSpent().getCurrent())
+                .isEqualByComparingTo(sqlSum(DEBIT_TYPES, null, thisMonth, thisMonth));
+        assertThat(comparison.getTotalSpent().getPrevious())
+                .isEqualByComparingTo(sqlSum(DEBIT_TYPES, null, lastMonth, lastMonth));
+        for (CategoryChange change : comparison.getCategories()) {
+            String filter = categoryFilter(change.getCategory());
+            assertThat(change.getCurrent()).isEqualByComparingTo(sqlSum(DEBIT_TYPES, filter, thisMonth, thisMonth));
+            assertThat(change.getPrevious()).isEqualByComparingTo(sqlSum(DEBIT_TYPES, filter, lastMonth, lastMonth));
+        }
+    }
+
+    @Test
+    void cubeIsCachedAndRebuiltAfterPostingOrReversal() {
+        SpendingCube loaded = cubeLoader.load(user.getId());
+        assertThat(cubeLoader.load(user.getId())).isSameAs(loaded);
+
+        TransactionResponseDTO posted = post(thisMonth, TransactionType.WITHDRAWAL, "7.00", "Groceries", "ShopRite");
+        SpendingCube afterPosting = cubeLoader.load(user.getId());
+        assertThat(afterPosting).isNotSameAs(loaded);
+        assertThat(spendingAnalyticsService.getTrend(1, null).getTotalDebits().get(0))
+                .isEqualByComparingTo(sqlSum(DEBIT_TYPES, null, thisMonth, thisMonth));
+
+        postingService.reverse(user.getId(), posted.getId());
+        assertThat(cubeLoader.load(user.getId())).isNotSameAs(afterPosting);
+        assertThat(spendingAnalyticsService.getTrend(1, null).getTotalDebits().get(0))
+                .isEqualByComparingTo(sqlSum(DEBIT_TYPES, null, thisMonth, thisMonth))
+                .isEqualByComparingTo("57.10");
+    }
+
+    @Test
+    void cubesBeyondTheCacheSizeAreDroppedAndRebuiltOnDemand() {
+        List<User> others = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            User other = newUser();
+            newAccount(other);
+            others.add(other);
+        }
+        SpendingCube first = cubeLoader.load(user.getId());
+        others.forEach(other -> cubeLoader.load(other.getId()));
+
+        Cache<?, ?> cubes = (Cache<?, ?>) cacheManager.getCache(CacheConfig.SPENDING_CUBES).getNativeCache();
+        cubes.cleanUp();
+        assertThat(cubes.estimatedSize()).isLessThanOrEqualTo(2);
+
+        // Whichever cubes were dropped, every user still gets their own figures
+        signIn(user);
+        assertThat(spendingAnalyticsService.getTrend(1, null).getTotalDebits().get(0))
+                .isEqualByComparingTo(sqlSum(DEBIT_TYPES, null, thisMonth, thisMonth));
+        assertThat(cubeLoader.load(user.getId()).categoryCount()).isEqualTo(first.categoryCount());
+        for (User other : others) {
+            signIn(other);
+            assertThat(spendingAnalyticsService.getTrend(1, null).getCategories()).isEmpty();
+        }
+    }
+
+    private BigDecimal sqlSum(String types, String categoryFilter, YearMonth from, YearMonth to) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(amount), 0) FROM transactions WHERE user_id = ? AND status = 'COMPLETED' "
+                        + "AND type IN " + types + (categoryFilter != null ? " AND category " + categoryFilter : "")
+                        + " AND transaction_date >= ? AND transaction_date < ?" + NOT_REVERSED,
+                BigDecimal.class, user.getId(), start(from), start(to.plusMonths(1)));
+    }
+
+    private static String categoryFilter(String category) {
+        return category == null ? "IS NULL" : "= '" + category + "'";
+    }
+
+    private static LocalDateTime start(YearMonth month) {
+        return month.atDay(1).atStartOfDay();
+    }
+
+    private static String inList(boolean debit) {
+        return Arrays.stream(TransactionType.values())
+                .filter(type -> type.isDebit() == debit)
+                .map(type -> "'" + type.name() + "'")
+                .collect(Collectors.joining(", ", "(", ")"));
+    }
+
+    private TransactionResponseDTO post(YearMonth month, TransactionType type, String amount, String category,
+                                        String merchant) {
+        TransactionRequestDTO request = new TransactionRequestDTO();
+        request.setAccountId(accountId);
+        request.setType(type);
+        request.setAmount(new BigDecimal(amount));
+        request.setCategory(category);
+        request.setMerchant(merchant);
+        request.setDescription("Analytics test " + type);
+        request.setTransactionDate(month.atDay(1).atTime(0, 1));
+        return postingService.post(user.getId(), request);
+    }
+
+    private User newUser() {
+        User created = new User();
+        created.setFirstName("Cube");
+        created.setLastName("Reader");
+        created.setEmail("cube" + System.nanoTime() + "@melvinbank.zm");
+        created.setPassword("$2a$12$cubeReaderHashCubeReaderHashCubeReaderHashCubeReaderHa");
+        return userRepository.save(created);
+    }
+
+    private Long newAccount(User owner) {
+        Account account = new Account();
+        account.setAccountNumber("MBCUBE" + System.nanoTime() % 100_000_000L);
+        account.setAccountType(AccountType.CHECKING);
+        account.setAccountName("Analytics Test");
+        account.setBalance(new BigDecimal("5000.00"));
+        account.setUser(owner);
+        return accountRepository.save(account).getId();
+    }
+
+    private void signIn(User signedIn) {
+        UserDetails principal = userDetailsService.loadUserByUsername(signedIn.getEmail());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
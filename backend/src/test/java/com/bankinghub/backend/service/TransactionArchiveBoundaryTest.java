@@ -0,0 +1,186 @@
+package com.bankinghub.backend.service;
+
+import com.bankinghub.backend.dto.response.CursorPageResponseDTO;
+import com.bankinghub.backend.dto.response.TransactionResponseDTO;
+import com.bankinghub.backend.model.Account;
+import com.bankinghub.backend.model.Account.AccountType;
+import com.bankinghub.backend.model.Transaction;
+import com.bankinghub.backend.model.Transaction.TransactionType;
+import com.bankinghub.backend.model.User;
+import com.bankinghub.backend.repository.AccountRepository;
+import com.bankinghub.backend.repository.TransactionRepository;
+import com.bankinghub.backend.repository.UserRepository;
+import com.bankinghub.backend.security.CustomUserDetailsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Archives the older months of an account and checks that statement and
+ * history reads spanning the hot/archive boundary return every transaction
+ * exactly once, in order.
+ */
+// Own database: archiving moves every account's old rows, which the shared database's other tests read
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:archive;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "app.transactions.archive.dir=${java.io.tmpdir}/bankinghub-archive-test-${random.uuid}"
+})
+@ActiveProfiles("test")
+class TransactionArchiveBoundaryTest {
+
+    private static final int PAGE_SIZE = 3;
+
+    @Autowired
+    private TransactionArchiveService transactionArchiveService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Account account;
+    private LocalDateTime cutoff;
+    private final List<Transaction> archived = new ArrayList<>();
+    private final List<Transaction> hot = new ArrayList<>();
+
+    @BeforeEach
+    void createHistoryAcrossTheBoundary() {
+        User user = new User();
+        user.setFirstName("Archive");
+        user.setLastName("Reader");
+        user.setEmail("archive" + System.nanoTime() + "@melvinbank.zm");
+        user.setPassword("$2a$12$archiveReaderHashArchiveReaderHashArchiveReaderHashArc");
+        user = userRepository.save(user);
+
+        account = new Account();
+        account.setAccountNumber("MBARCH" + System.nanoTime() % 100_000_000L);
+        account.setAccountType(AccountType.CHECKING);
+        account.setAccountName("Archive Test");
+        account.setBalance(BigDecimal.valueOf(1000));
+        account.setUser(user);
+        account = accountRepository.save(account);
+
+        YearMonth firstHotMonth = YearMonth.now().minusMonths(12);
+        cutoff = firstHotMonth.atDay(1).atStartOfDay();
+        LocalDateTime oldInstant = firstHotMonth.minusMonths(3).atDay(10).atTime(12, 0);
+        LocalDateTime recent = LocalDateTime.now().minusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        for (int i = 0; i < 4; i++) {
+            archived.add(save(oldInstant));
+        }
+        archived.add(save(cutoff.minusDays(2)));
+        archived.add(save(cutoff.minusNanos(1_000)));
+        archived.add(save(cutoff.minusNanos(1_000)));
+        hot.add(save(cutoff));
+        hot.add(save(cutoff));
+        for (int i = 0; i < 3; i++) {
+            hot.add(save(recent));
+        }
+
+        transactionArchiveService.archiveBefore(firstHotMonth);
+
+        SecurityContextHolder.getContext().setAuthentication(authenticated(user.getEmail()));
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void onlyMonthsBeforeTheCutoffLeaveTheTable() {
+        assertThat(archived).allSatisfy(row -> assertThat(transactionRepository.findById(row.getId())).isEmpty());
+        assertThat(hot).allSatisfy(row -> assertThat(transactionRepository.findById(row.getId())).isPresent());
+    }
+
+    @Test
+    void statementRangeAcrossTheBoundaryReturnsEachRowOnce() {
+        assertThat(statementIds(archived.get(0).getTransactionDate(), LocalDateTime.now()))
+                .containsExactlyElementsOf(idsOldestFirst(all()));
+        assertThat(statementIds(cutoff.minusNanos(1_000), cutoff))
+                .containsExactlyElementsOf(idsOldestFirst(List.of(archived.get(5), archived.get(6), hot.get(0), hot.get(1))));
+    }
+
+    @Test
+    void historyPagesAcrossTheBoundaryReturnEachRowOnce() {
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPageResponseDTO<TransactionResponseDTO> page = transactionService.getTransactionHistory(cursor, PAGE_SIZE);
+            assertThat(page.getContent()).hasSizeLessThanOrEqualTo(PAGE_SIZE);
+            page.getContent().forEach(row -> seen.add(row.getId()));
+            cursor = page.getNextCursor();
+            assertThat(++pages).isLessThanOrEqualTo(all().size());
+        } while (cursor != null);
+
+        List<Long> newestFirst = idsOldestFirst(all());
+        Collections.reverse(newestFirst);
+        assertThat(seen).containsExactlyElementsOf(newestFirst);
+    }
+
+    private List<Long> statementIds(LocalDateTime from, LocalDateTime to) {
+        return transactionTemplate.execute(status -> {
+            try (Stream<Transaction> rows = transactionArchiveService.withArchived(
+                    transactionRepository.streamByAccountIdAndDateBetween(account.getId(), from, to),
+                    account.getId(), from, to)) {
+                return rows.map(Transaction::getId).toList();
+            }
+        });
+    }
+
+    private List<Transaction> all() {
+        List<Transaction> all = new ArrayList<>(archived);
+        all.addAll(hot);
+        return all;
+    }
+
+    private static List<Long> idsOldestFirst(List<Transaction> rows) {
+        return new ArrayList<>(rows.stream().sorted(TransactionArchiveService.OLDEST_FIRST).map(Transaction::getId).toList());
+    }
+
+    private Transaction save(LocalDateTime transactionDate) {
+        Transaction transaction = new Transaction();
+        transaction.setAccount(account);
+        transaction.setType(TransactionType.DEPOSIT);
+        transaction.setAmount(BigDecimal.TEN);
+        transaction.setDescription("Boundary " + transactionDate);
+        transaction.setTransactionDate(transactionDate);
+        return transactionRepository.save(transaction);
+    }
+
+    private UsernamePasswordAuthenticationToken authenticated(String email) {
+        UserDetails principal = userDetailsService.loadUserByUsername(email);
+        return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+}
@@ -0,0 +1,139 @@
+package com.bankinghub.backend.service;
+
+import com.bankinghub.backend.model.Account;
+import com.bankinghub.backend.model.Transaction;
+import com.bankinghub.backend.model.Transaction.TransactionStatus;
+import com.bankinghub.backend.model.Transaction.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TransactionArchiveFormatTest {
+
+    private static final LocalDateTime MONTH_START = LocalDateTime.of(2023, 3, 1, 0, 0);
+
+    @Test
+    void rowsRoundTripWithNullsAndNegativeDeltas() {
+        Account account = account(7L);
+        List<Transaction> rows = new ArrayList<>();
+        // Ids, amounts and balances all fall from one row to the next, so every delta column goes negative
+        rows.add(row(900L, MONTH_START.plusHours(1), "250.00", "1250.00", TransactionType.DEPOSIT,
+                "Salary", "Employer Ltd", "March salary"));
+        rows.add(row(120L, MONTH_START.plusHours(2), "10.50", "1239.50", TransactionType.WITHDRAWAL,
+                null, null, null));
+        rows.add(row(45L, MONTH_START.plusDays(3).plusNanos(123_456_000), "0.01", null, TransactionType.PAYMENT,
+                "Groceries", null, "Corner shop"));
+        rows.add(row(46L, MONTH_START.plusDays(30).plusHours(23), "-3.25", "-12.75", TransactionType.FEE,
+                null, "Bank", "Overdraft fee"));
+        rows.get(3).setStatus(TransactionStatus.CANCELLED);
+        // A reversal pointing back at an earlier row and one pointing at a later id
+        rows.get(1).setReversalOfId(900L);
+        rows.get(2).setReversalOfId(3_000_000_000L);
+
+        List<Transaction> decoded = TransactionArchiveFormat.decode(
+                TransactionArchiveFormat.encode(account.getId(), 3L, rows), account);
+
+        assertThat(decoded).hasSize(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            assertThat(fields(decoded.get(i))).isEqualTo(fields(rows.get(i)));
+            assertThat(decoded.get(i).getUserId()).isEqualTo(3L);
+            assertThat(decoded.get(i).getAccount()).isSameAs(account);
+        }
+    }
+
+    @Test
+    void nanosecondTimestampsSurvive() {
+        Account account = account(7L);
+        Transaction row = row(1L, MONTH_START.plusNanos(1), "1.00", "1.00", TransactionType.DEPOSIT,
+                null, null, null);
+        row.setCreatedAt(MONTH_START.plusSeconds(5).plusNanos(999_999_999));
+
+        Transaction decoded = TransactionArchiveFormat.decode(
+                TransactionArchiveFormat.encode(account.getId(), null, List.of(row)), account).get(0);
+
+        assertThat(decoded.getTransactionDate()).isEqualTo(row.getTransactionDate());
+        assertThat(decoded.getCreatedAt()).isEqualTo(row.getCreatedAt());
+        assertThat(decoded.getUserId()).isNull();
+    }
+
+    @Test
+    void eachAccountMonthDecodesOnlyForItsAccount() {
+        Account first = account(7L);
+        Account second = account(8L);
+        List<Transaction> firstRows = List.of(
+                row(10L, MONTH_START.plusDays(1), "5.00", "5.00", TransactionType.DEPOSIT, "Gifts", null, null),
+                row(11L, MONTH_START.plusDays(2), "2.00", "3.00", TransactionType.WITHDRAWAL, "Gifts", null, null));
+        List<Transaction> secondRows = List.of(
+                row(12L, MONTH_START.plusDays(1), "7.00", "7.00", TransactionType.DEPOSIT, null, "Payroll", null));
+
+        byte[] firstFile = TransactionArchiveFormat.encode(first.getId(), 3L, firstRows);
+        byte[] secondFile = TransactionArchiveFormat.encode(second.getId(), 4L, secondRows);
+
+        assertThat(TransactionArchiveFormat.decode(firstFile, first)).extracting(Transaction::getId)
+                .containsExactly(10L, 11L);
+        assertThat(TransactionArchiveFormat.decode(secondFile, second)).extracting(Transaction::getId)
+                .containsExactly(12L);
+        assertThatThrownBy(() -> TransactionArchiveFormat.decode(firstFile, second))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void emptyMonthRoundTrips() {
+        Account account = account(7L);
+
+        assertThat(TransactionArchiveFormat.decode(TransactionArchiveFormat.encode(7L, 3L, List.of()), account))
+                .isEmpty();
+    }
+
+    @Test
+    void damagedFilesAreRejected() {
+        Account account = account(7L);
+        byte[] file = TransactionArchiveFormat.encode(account.getId(), 3L, List.of(
+                row(1L, MONTH_START, "1.00", "1.00", TransactionType.DEPOSIT, null, null, null)));
+
+        byte[] flipped = file.clone();
+        flipped[flipped.length / 2] ^= 0x01;
+        assertThatThrownBy(() -> TransactionArchiveFormat.decode(flipped, account))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> TransactionArchiveFormat.decode(Arrays.copyOf(file, 20), account))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static List<Object> fields(Transaction row) {
+        return Arrays.asList(row.getId(), row.getTransactionDate(), row.getCreatedAt(),
+                row.getAmount().toPlainString(),
+                row.getBalanceAfter() != null ? row.getBalanceAfter().toPlainString() : null,
+                row.getType(), row.getStatus(), row.getCategory(), row.getMerchant(), row.getDescription(),
+                row.getReferenceNumber(), row.getReversalOfId());
+    }
+
+    private static Transaction row(Long id, LocalDateTime date, String amount, String balanceAfter,
+                                   TransactionType type, String category, String merchant, String description) {
+        Transaction row = new Transaction();
+        row.setId(id);
+        row.setTransactionDate(date);
+        row.setCreatedAt(date.plusSeconds(2));
+        row.setAmount(new BigDecimal(amount));
+        row.setBalanceAfter(balanceAfter != null ? new BigDecimal(balanceAfter) : null);
+        row.setType(type);
+        row.setStatus(TransactionStatus.COMPLETED);
+        row.setCategory(category);
+        row.setMerchant(merchant);
+        row.setDescription(description);
+        row.setReferenceNumber(id % 2 == 0 ? "REF" + id : null);
+        return row;
+    }
+
+    private static Account account(Long id) {
+        Account account = new Account();
+        account.setId(id);
+        return account;
+    }
+}
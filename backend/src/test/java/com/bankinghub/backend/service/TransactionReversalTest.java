@@ -0,0 +1,247 @@
+package com.bankinghub.backend.service;
+
+import com.bankinghub.backend.dto.request.TransactionRequestDTO;
+import com.bankinghub.backend.dto.response.TransactionResponseDTO;
+import com.bankinghub.backend.exception.CustomBusinessException;
+import com.bankinghub.backend.model.Account;
+import com.bankinghub.backend.model.Account.AccountType;
+import com.bankinghub.backend.model.Budget;
+import com.bankinghub.backend.model.Transaction.TransactionStatus;
+import com.bankinghub.backend.model.Transaction.TransactionType;
+import com.bankinghub.backend.model.User;
+import com.bankinghub.backend.repository.AccountRepository;
+import com.bankinghub.backend.repository.BudgetRepository;
+import com.bankinghub.backend.repository.TransactionRepository;
+import com.bankinghub.backend.repository.UserRepository;
+import com.bankinghub.backend.security.CustomUserDetailsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Reverses posted transactions and checks that the balance, budget spend and
+ * daily rollups all move back, while the ledger keeps both rows so balances
+ * rebuilt from it stay right before and after the reversal, and stored
+ * statements rendered before it are not served again.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TransactionReversalTest {
+
+    private static final String CATEGORY = "Groceries";
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("500.00");
+
+    @Autowired
+    private PostingService postingService;
+
+    @Autowired
+    private SpendRollupService spendRollupService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BalanceCheckpointService balanceCheckpointService;
+
+    @Autowired
+    private StatementJobService statementJobService;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    private User user;
+    private Long accountId;
+    private Long budgetId;
+
+    @BeforeEach
+    void createUserWithBudget() {
+        user = new User();
+        user.setFirstName("Reversal");
+        user.setLastName("Tester");
+        user.setEmail("reversal" + System.nanoTime() + "@melvinbank.zm");
+        user.setPassword("$2a$12$reversalHashReversalHashReversalHashReversalHashRevers");
+        user = userRepository.save(user);
+
+        Account account = new Account();
+        account.setAccountNumber("MBREV" + System.nanoTime() % 100_000_000L);
+        account.setAccountType(AccountType.CHECKING);
+        account.setAccountName("Reversal Test");
+        account.setBalance(OPENING_BALANCE);
+        account.setUser(user);
+        accountId = accountRepository.save(account).getId();
+
+        Budget budget = new Budget();
+        budget.setUser(user);
+        budget.setCategory(CATEGORY);
+        budget.setBudgetLimit(new BigDecimal("1000.00"));
+        budget.setStartDate(LocalDate.now().withDayOfMonth(1));
+        budget.setEndDate(LocalDate.now().withDayOfMonth(1).plusMonths(1).minusDays(1));
+        budgetId = budgetRepository.save(budget).getId();
+
+        UserDetails principal = userDetailsService.loadUserByUsername(user.getEmail());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @AfterEach
+    void signOut() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void reversingASpendLowersBudgetSpentAndRollups() {
+        TransactionResponseDTO posted = postingService.post(user.getId(),
+                request(TransactionType.WITHDRAWAL, new BigDecimal("120.00")));
+        assertThat(currentSpent()).isEqualByComparingTo("120.00");
+        assertThat(rollupSpent()).isEqualByComparingTo("120.00");
+
+        TransactionResponseDTO reversal = postingService.reverse(user.getId(), posted.getId());
+
+        assertThat(currentSpent()).isEqualByComparingTo("0.00");
+        assertThat(rollupSpent()).isEqualByComparingTo("0.00");
+        assertThat(accountRepository.findBalanceById(accountId)).isEqualByComparingTo(OPENING_BALANCE);
+        assertThat(reversal.getType()).isEqualTo(TransactionType.REFUND);
+        assertThat(reversal.getReversalOfId()).isEqualTo(posted.getId());
+        assertThat(reversal.getBalanceAfter()).isEqualByComparingTo(OPENING_BALANCE);
+        // The original stays in the ledger as posted
+        assertThat(transactionRepository.findById(posted.getId()).orElseThrow().getStatus())
+                .isEqualTo(TransactionStatus.COMPLETED);
+    }
+
+    @Test
+    void balancesRebuiltFromTheLedgerSpanTheReversal() throws InterruptedException {
+        LocalDateTime beforePosting = pause();
+        TransactionResponseDTO posted = postingService.post(user.getId(),
+                request(TransactionType.WITHDRAWAL, new BigDecimal("75.00")));
+        LocalDateTime betweenPostingAndReversal = pause();
+        postingService.reverse(user.getId(), posted.getId());
+        LocalDateTime afterReversal = pause();
+
+        assertThat(balanceAsOf(beforePosting)).isEqualByComparingTo(OPENING_BALANCE);
+        assertThat(balanceAsOf(betweenPostingAndReversal)).isEqualByComparingTo("425.00");
+        assertThat(balanceAsOf(afterReversal)).isEqualByComparingTo(OPENING_BALANCE);
+
+        // A checkpoint taken after the reversal agrees with the live balance, and earlier moments still rebuild from it
+        balanceCheckpointService.checkpoint(afterReversal);
+        assertThat(balanceAsOf(afterReversal)).isEqualByComparingTo(OPENING_BALANCE);
+        assertThat(balanceAsOf(betweenPostingAndReversal)).isEqualByComparingTo("425.00");
+    }
+
+    @Test
+    void reversedTransactionsCannotBeRecategorized() {
+        TransactionResponseDTO posted = postingService.post(user.getId(),
+                request(TransactionType.WITHDRAWAL, new BigDecimal("30.00")));
+        TransactionResponseDTO reversal = postingService.reverse(user.getId(), posted.getId());
+
+        assertThatThrownBy(() -> transactionService.recategorizeTransaction(posted.getId(), "Dining"))
+                .isInstanceOf(CustomBusinessException.class);
+        assertThatThrownBy(() -> transactionService.recategorizeTransaction(reversal.getId(), "Dining"))
+                .isInstanceOf(CustomBusinessException.class);
+        assertThat(currentSpent()).isEqualByComparingTo("0.00");
+    }
+
+    @Test
+    void aTransactionIsReversedOnlyOnce() {
+        TransactionResponseDTO posted = postingService.post(user.getId(),
+                request(TransactionType.WITHDRAWAL, new BigDecimal("40.00")));
+        TransactionResponseDTO reversal = postingService.reverse(user.getId(), posted.getId());
+
+        assertThatThrownBy(() -> postingService.reverse(user.getId(), posted.getId()))
+                .isInstanceOf(CustomBusinessException.class);
+        assertThatThrownBy(() -> postingService.reverse(user.getId(), reversal.getId()))
+                .isInstanceOf(CustomBusinessException.class);
+        assertThat(currentSpent()).isEqualByComparingTo("0.00");
+        assertThat(accountRepository.findBalanceById(accountId)).isEqualByComparingTo(OPENING_BALANCE);
+    }
+
+    @Test
+    void reversingACreditTheAccountNoLongerCoversIsRejected() {
+        TransactionResponseDTO deposit = postingService.post(user.getId(),
+                request(TransactionType.DEPOSIT, new BigDecimal("100.00")));
+        postingService.post(user.getId(), request(TransactionType.WITHDRAWAL, new BigDecimal("550.00")));
+
+        assertThatThrownBy(() -> postingService.reverse(user.getId(), deposit.getId()))
+                .isInstanceOf(CustomBusinessException.class);
+        assertThat(transactionRepository.existsByReversalOfId(deposit.getId())).isFalse();
+        assertThat(accountRepository.findBalanceById(accountId)).isEqualByComparingTo("50.00");
+    }
+
+    @Test
+    void storedStatementsAreKeyedPastReversalsAndRecategorizations() {
+        TransactionResponseDTO posted = postingService.post(user.getId(),
+                request(TransactionType.WITHDRAWAL, new BigDecimal("20.00")));
+        TransactionResponseDTO other = postingService.post(user.getId(),
+                request(TransactionType.WITHDRAWAL, new BigDecimal("10.00")));
+        String afterPosting = statementETag();
+        assertThat(statementETag()).isEqualTo(afterPosting);
+
+        // Adds no row, so the highest transaction id in the period is unchanged
+        transactionService.recategorizeTransaction(other.getId(), "Dining");
+        String afterRecategorization = statementETag();
+        assertThat(afterRecategorization).isNotEqualTo(afterPosting);
+
+        postingService.reverse(user.getId(), posted.getId());
+        assertThat(statementETag()).isNotEqualTo(afterRecategorization);
+    }
+
+    private String statementETag() {
+        return statementJobService.resolveKey(accountId, StatementExportService.StatementFormat.CSV,
+                null, null).eTag();
+    }
+
+    private BigDecimal balanceAsOf(LocalDateTime asOf) {
+        return balanceCheckpointService.getBalanceAsOf(accountId, asOf).getBalance();
+    }
+
+    /** A moment strictly between whatever was posted before and after it */
+    private static LocalDateTime pause() throws InterruptedException {
+        Thread.sleep(5);
+        LocalDateTime now = LocalDateTime.now();
+        Thread.sleep(5);
+        return now;
+    }
+
+    private BigDecimal currentSpent() {
+        return budgetRepository.findById(budgetId).orElseThrow().getCurrentSpent();
+    }
+
+    private BigDecimal rollupSpent() {
+        return spendRollupService.sumAmount(user.getId(), CATEGORY, BudgetSpendService.SPENDING_TYPES,
+                LocalDate.now(), LocalDate.now());
+    }
+
+    private TransactionRequestDTO request(TransactionType type, BigDecimal amount) {
+        TransactionRequestDTO request = new TransactionRequestDTO();
+        request.setAccountId(accountId);
+        request.setType(type);
+        request.setAmount(amount);
+        request.setCategory(CATEGORY);
+        request.setDescription("Reversal test " + type);
+        return request;
+    }
+}
@@ -0,0 +1,144 @@
+package com.bankinghub.backend.service;
+
+import com.bankinghub.backend.model.Account;
+import com.bankinghub.backend.model.Account.AccountType;
+import com.bankinghub.backend.model.Transfer;
+import com.bankinghub.backend.model.Transfer.TransferStatus;
+import com.bankinghub.backend.model.Transfer.TransferType;
+import com.bankinghub.backend.model.User;
+import com.bankinghub.backend.repository.AccountRepository;
+import com.bankinghub.backend.repository.TransferRepository;
+import com.bankinghub.backend.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs opposing A&rarr;B and B&rarr;A transfers concurrently and checks that
+ * the ordered account locks let every one of them complete without a deadlock
+ * and without creating or losing money, and that per-account contention is
+ * reported without a meter series per account.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TransferExecutionContentionTest {
+
+    private static final int THREADS = 8;
+    private static final int TRANSFERS_PER_THREAD = 10;
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("1000.00");
+    private static final BigDecimal AMOUNT = new BigDecimal("3.00");
+
+    @Autowired
+    private TransferExecutionService transferExecutionService;
+
+    @Autowired
+    private TransferRepository transferRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void opposingTransfersAllCompleteAndConserveMoney() throws Exception {
+        User owner = userRepository.findByEmail("demo@melvinbank.zm").orElseThrow();
+        Account a = account(owner, "Contention A");
+        Account b = account(owner, "Contention B");
+
+        List<List<Long>> transfersPerThread = new ArrayList<>();
+        int aToB = 0;
+        for (int t = 0; t < THREADS; t++) {
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+                // Half the threads push A->B and half B->A, so every lock is contested from both sides
+                boolean forward = t % 2 == 0;
+                ids.add(pendingTransfer(forward ? a : b, forward ? b : a));
+                aToB += forward ? 1 : 0;
+            }
+            transfersPerThread.add(ids);
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<TransferStatus>>> results = new ArrayList<>();
+        for (List<Long> ids : transfersPerThread) {
+            results.add(pool.submit(() -> {
+                start.await();
+                List<TransferStatus> statuses = new ArrayList<>();
+                for (Long id : ids) {
+                    statuses.add(transferExecutionService.execute(id));
+                }
+                return statuses;
+            }));
+        }
+        start.countDown();
+
+        for (Future<List<TransferStatus>> result : results) {
+            assertThat(result.get(2, TimeUnit.MINUTES)).containsOnly(TransferStatus.COMPLETED);
+        }
+        pool.shutdown();
+
+        int bToA = THREADS * TRANSFERS_PER_THREAD - aToB;
+        BigDecimal net = AMOUNT.multiply(BigDecimal.valueOf(aToB - bToA));
+        assertThat(accountRepository.findBalanceById(a.getId())).isEqualByComparingTo(OPENING_BALANCE.subtract(net));
+        assertThat(accountRepository.findBalanceById(b.getId())).isEqualByComparingTo(OPENING_BALANCE.add(net));
+
+        for (Meter meter : meterRegistry.find("transfers.account.contention").meters()) {
+            assertThat(meter.getId().getTags()).extracting(Tag::getKey).doesNotContain("account");
+        }
+
+        // Per-account contention is a fixed set of ranked gauges, and only the two contested accounts can rank
+        Collection<Gauge> hot = meterRegistry.find("transfers.account.contention.hot").gauges();
+        assertThat(hot).hasSize(5);
+        for (Gauge rank : meterRegistry.find("transfers.account.contention.hot.account").gauges()) {
+            if (!Double.isNaN(rank.value())) {
+                assertThat((long) rank.value()).isIn(a.getId(), b.getId());
+            }
+        }
+    }
+
+    private Account account(User owner, String name) {
+        Account account = new Account();
+        account.setAccountNumber("MBLOCK" + System.nanoTime() % 100_000_000L);
+        account.setAccountType(AccountType.CHECKING);
+        account.setAccountName(name);
+        account.setBalance(OPENING_BALANCE);
+        account.setUser(owner);
+        return accountRepository.save(account);
+    }
+
+    private Long pendingTransfer(Account from, Account to) {
+        Transfer transfer = new Transfer();
+        transfer.setFromAccount(from);
+        transfer.setToAccount(to);
+        transfer.setAmount(AMOUNT);
+        transfer.setDescription("Contention test");
+        transfer.setTransferType(TransferType.INTERNAL);
+        transfer.setStatus(TransferStatus.PENDING);
+        transfer.setScheduledDate(LocalDateTime.now());
+        transfer.setReferenceNumber("LOCK" + System.nanoTime());
+        return transferRepository.save(transfer).getId();
+    }
+}
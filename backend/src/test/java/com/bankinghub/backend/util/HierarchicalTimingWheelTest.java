@@ -0,0 +1,125 @@
+package com.bankinghub.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that wheel entries fire at the first tick boundary at or after their
+ * due time, including entries parked on higher levels, and that rescheduling
+ * and cancelling take effect.
+ */
+class HierarchicalTimingWheelTest {
+
+    private static final long TICK = 10;
+    private static final int SIZE = 4;
+
+    @Test
+    void entriesFireAtTheTickBoundaryNeverEarlier() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, SIZE, 0);
+        assertThat(wheel.schedule("on-boundary", 20)).isTrue();
+        assertThat(wheel.schedule("mid-tick", 21)).isTrue();
+
+        assertThat(wheel.advance(19)).isEmpty();
+        assertThat(wheel.advance(20)).containsExactly("on-boundary");
+        assertThat(wheel.advance(29)).isEmpty();
+        assertThat(wheel.advance(30)).containsExactly("mid-tick");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void entriesBeyondTheLowestWheelCascadeDown() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, SIZE, 0);
+        // One rotation of the lowest wheel is 40ms, of the second 160ms, so these need the second and third levels
+        assertThat(wheel.schedule("second-level", 95)).isTrue();
+        assertThat(wheel.schedule("third-level", 1_234)).isTrue();
+
+        assertThat(wheel.advance(99)).isEmpty();
+        assertThat(wheel.advance(100)).containsExactly("second-level");
+        assertThat(wheel.advance(1_239)).isEmpty();
+        assertThat(wheel.contains("third-level")).isTrue();
+        assertThat(wheel.advance(1_240)).containsExactly("third-level");
+    }
+
+    @Test
+    void reschedulingReplacesTheDueTime() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, SIZE, 0);
+        wheel.schedule("moved", 30);
+        wheel.schedule("moved", 500);
+
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.advance(490)).isEmpty();
+        assertThat(wheel.advance(500)).containsExactly("moved");
+
+        wheel.schedule("earlier", 900);
+        wheel.schedule("earlier", 510);
+        assertThat(wheel.advance(510)).containsExactly("earlier");
+        assertThat(wheel.advance(1_000)).isEmpty();
+    }
+
+    @Test
+    void cancelledEntriesNeverFire() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, SIZE, 0);
+        wheel.schedule("near", 30);
+        wheel.schedule("far", 700);
+
+        assertThat(wheel.cancel("near")).isTrue();
+        assertThat(wheel.cancel("far")).isTrue();
+        assertThat(wheel.cancel("far")).isFalse();
+        assertThat(wheel.size()).isZero();
+        assertThat(wheel.advance(1_000)).isEmpty();
+    }
+
+    @Test
+    void pastDueTimesAreNotHeld() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, SIZE, 1_000);
+        wheel.schedule("queued", 2_000);
+        wheel.advance(1_500);
+
+        assertThat(wheel.schedule("past", 1_200)).isFalse();
+        assertThat(wheel.schedule("now", 1_500)).isFalse();
+        assertThat(wheel.contains("past")).isFalse();
+        // A key that was already scheduled loses its old entry too
+        assertThat(wheel.schedule("queued", 900)).isFalse();
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void randomScheduleFiresEachKeyOnceInDueOrder() {
+        Random random = new Random(42);
+        HierarchicalTimingWheel<Integer> wheel = new HierarchicalTimingWheel<>(TICK, SIZE, 0);
+        long[] due = new long[500];
+        for (int key = 0; key < due.length; key++) {
+            due[key] = 1 + random.nextInt(20_000);
+            wheel.schedule(key, due[key]);
+        }
+
+        List<Integer> fired = new ArrayList<>();
+        long previous = 0;
+        for (long now = 0; now <= 20_000; now += 1 + random.nextInt(35)) {
+            for (Integer key : wheel.advance(now)) {
+                // Fired no earlier than due, and not held back past a call that had reached its boundary
+                assertThat(now).isGreaterThanOrEqualTo(due[key]);
+                assertThat(boundary(due[key])).isGreaterThan(previous);
+                fired.add(key);
+            }
+            previous = now;
+        }
+        fired.addAll(wheel.advance(20_000));
+
+        assertThat(fired).hasSize(due.length).doesNotHaveDuplicates();
+        for (int i = 1; i < fired.size(); i++) {
+            assertThat(boundary(due[fired.get(i)])).isGreaterThanOrEqualTo(boundary(due[fired.get(i - 1)]));
+        }
+        assertThat(wheel.size()).isZero();
+    }
+
+    /** First tick boundary at or after {@code dueMs} */
+    private static long boundary(long dueMs) {
+        return (dueMs + TICK - 1) / TICK * TICK;
+    }
+}
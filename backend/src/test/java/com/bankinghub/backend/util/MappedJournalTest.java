@@ -0,0 +1,78 @@
+package com.bankinghub.backend.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tears the last entry of a multi-segment journal and checks that reopening it
+ * recovers up to the last intact entry and appends after it.
+ */
+class MappedJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void journalRecoversUpToTheLastIntactEntry() throws Exception {
+        try (MappedJournal journal = new MappedJournal(tempDir, 4096, 1)) {
+            for (int i = 1; i <= 200; i++) {
+                journal.append(("entry-" + i).getBytes(StandardCharsets.UTF_8));
+            }
+            journal.force();
+            assertThat(journal.segmentCount()).isGreaterThan(1);
+        }
+
+        // Tear the last entry: flip a byte of its payload in the newest segment
+        Path newest;
+        try (Stream<Path> files = Files.list(tempDir)) {
+            newest = files.sorted().reduce((first, second) -> second).orElseThrow();
+        }
+        try (MappedJournal journal = new MappedJournal(tempDir, 4096, 1)) {
+            List<MappedJournal.Entry> entries = journal.read(0, 1000);
+            assertThat(entries).hasSize(200);
+            assertThat(new String(entries.get(199).payload(), StandardCharsets.UTF_8)).isEqualTo("entry-200");
+        }
+        long lastPayloadByte = findLast(newest, "entry-200");
+        try (RandomAccessFile file = new RandomAccessFile(newest.toFile(), "rw")) {
+            file.seek(lastPayloadByte);
+            file.write('X');
+        }
+
+        try (MappedJournal journal = new MappedJournal(tempDir, 4096, 1)) {
+            assertThat(journal.durableSequence()).isEqualTo(199);
+            assertThat(journal.read(150, 1000)).extracting(MappedJournal.Entry::sequence)
+                    .containsExactlyElementsOf(Stream.iterate(151L, n -> n + 1).limit(49).toList());
+
+            long next = journal.append("entry-after-recovery".getBytes(StandardCharsets.UTF_8));
+            journal.force();
+            assertThat(next).isEqualTo(200);
+            assertThat(journal.deleteSegmentsUpTo(199)).isPositive();
+            assertThat(journal.read(199, 10)).extracting(entry -> new String(entry.payload(), StandardCharsets.UTF_8))
+                    .containsExactly("entry-after-recovery");
+        }
+    }
+
+    private static long findLast(Path file, String text) throws Exception {
+        byte[] content = Files.readAllBytes(file);
+        byte[] needle = text.getBytes(StandardCharsets.UTF_8);
+        for (int i = content.length - needle.length; i >= 0; i--) {
+            int j = 0;
+            while (j < needle.length && content[i + j] == needle[j]) {
+                j++;
+            }
+            if (j == needle.length) {
+                return i + needle.length - 1;
+            }
+        }
+        throw new IllegalStateException(text + " not found in " + file);
+    }
+}